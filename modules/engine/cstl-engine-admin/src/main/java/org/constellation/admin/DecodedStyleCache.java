@@ -0,0 +1,166 @@
+/*
+ *    Examind Community - An open source and standard compliant SDI
+ *    https://community.examind.com/
+ *
+ * Copyright 2026 Geomatys.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.constellation.admin;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.sis.style.Style;
+
+/**
+ * A LRU cache of the styles decoded from their stored body, keyed by style identifier.
+ * <p>
+ * The style table does not hold a version of the styles, so each entry is tagged with the generation of the cache
+ * at the time the body was read. The generation is incremented by each invalidation, and a style decoded before an
+ * invalidation is not added to the cache, even if the invalidation concerns another style.
+ * </p>
+ *
+ * This class is thread-safe.
+ */
+final class DecodedStyleCache {
+
+    /**
+     * Decoded styles, in access order.
+     */
+    private final LinkedHashMap<Integer, Style> entries = new LinkedHashMap<>(64, 0.75f, true);
+
+    /**
+     * Maximum number of cached styles, 0 to disable the cache.
+     */
+    private final int maxEntries;
+
+    /**
+     * Incremented by each invalidation. Guarded by {@link #entries}.
+     */
+    private long generation;
+
+    private final AtomicLong hits          = new AtomicLong();
+    private final AtomicLong misses        = new AtomicLong();
+    private final AtomicLong evictions     = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+    private final AtomicLong decodes       = new AtomicLong();
+    private final AtomicLong decodeTime    = new AtomicLong();
+
+    /**
+     * @param maxEntries Maximum number of cached styles, 0 to disable the cache.
+     */
+    DecodedStyleCache(final int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Return the cached style, or {@code null} if the style is not cached.
+     *
+     * @param styleId Style identifier.
+     */
+    Style get(final int styleId) {
+        final Style style;
+        synchronized (entries) {
+            style = entries.get(styleId);
+        }
+        if (style == null) {
+            misses.incrementAndGet();
+        } else {
+            hits.incrementAndGet();
+        }
+        return style;
+    }
+
+    /**
+     * Return the current generation, to be read before the style body.
+     */
+    long generation() {
+        synchronized (entries) {
+            return generation;
+        }
+    }
+
+    /**
+     * Add a decoded style to the cache, unless an invalidation happened since its body was read.
+     * The style must not be modified after this call.
+     *
+     * @param styleId Style identifier.
+     * @param readGeneration The generation returned by {@link #generation()} before reading the style body.
+     * @param style The decoded style.
+     * @param decodeNanos Time spent decoding the style, in nanoseconds.
+     */
+    void put(final int styleId, final long readGeneration, final Style style, final long decodeNanos) {
+        decodes.incrementAndGet();
+        decodeTime.addAndGet(decodeNanos);
+        if (maxEntries <= 0) {
+            return;
+        }
+        synchronized (entries) {
+            if (readGeneration != generation) {
+                return;
+            }
+            entries.put(styleId, style);
+            final Iterator<Style> it = entries.values().iterator();
+            while (entries.size() > maxEntries && it.hasNext()) {
+                it.next();
+                it.remove();
+                evictions.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Remove a style from the cache, after its modification or its deletion.
+     *
+     * @param styleId Style identifier, or {@code null} to remove all the styles.
+     */
+    void invalidate(final Integer styleId) {
+        synchronized (entries) {
+            generation++;
+            if (styleId == null) {
+                invalidations.addAndGet(entries.size());
+                entries.clear();
+            } else if (entries.remove(styleId) != null) {
+                invalidations.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Return the cache counters: hits, misses, hit rate (in percent), evictions, invalidations,
+     * number of decoded styles and decoding time (total in milliseconds, mean in microseconds).
+     *
+     * @return The current value of the cache counters.
+     */
+    Map<String, Long> getStatistics() {
+        final Map<String, Long> stats = new LinkedHashMap<>();
+        final long h = hits.get();
+        final long m = misses.get();
+        final long d = decodes.get();
+        final long t = decodeTime.get();
+        stats.put("hits",           h);
+        stats.put("misses",         m);
+        stats.put("hitRate",        h + m > 0 ? h * 100 / (h + m) : 0);
+        stats.put("evictions",      evictions.get());
+        stats.put("invalidations",  invalidations.get());
+        stats.put("decodes",        d);
+        stats.put("decodeTime",     t / 1_000_000);
+        stats.put("meanDecodeTime", d > 0 ? t / d / 1_000 : 0);
+        synchronized (entries) {
+            stats.put("entries", (long) entries.size());
+        }
+        return stats;
+    }
+}
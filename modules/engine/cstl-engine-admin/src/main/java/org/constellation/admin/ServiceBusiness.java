@@ -231,8 +231,21 @@ public class ServiceBusiness implements IServiceBusiness {
         if (id == null) {
             throw new ConfigurationException("Service instance identifier can't be null.");
         }
-        stop(id);
-        start(id);
+        final Service service = serviceRepository.findById(id);
+        if (service != null) {
+            service.setStatus(ServiceStatus.STARTED.toString());
+            serviceRepository.update(service);
+
+            // the workers supporting it keep serving the requests until the new one is ready.
+            final ClusterMessage request = clusterBusiness.createRequest(SRV_MESSAGE_TYPE_ID,false);
+            request.put(KEY_ACTION, SRV_VALUE_ACTION_RESTART);
+            request.put(SRV_KEY_TYPE, service.getType());
+            request.put(KEY_IDENTIFIER, service.getIdentifier());
+            clusterBusiness.publish(request);
+        } else {
+            throw new TargetNotFoundException("Service instance with identifier \"" + id
+                    + "\" not found. There is not configuration in the database.");
+        }
     }
 
     /**
@@ -84,6 +84,7 @@ public class ServiceMessageConsumer extends MessageListener{
         switch(action){
             case SRV_VALUE_ACTION_START : return start(message);
             case SRV_VALUE_ACTION_STOP : return stop(message);
+            case SRV_VALUE_ACTION_RESTART : return restart(message);
             case SRV_VALUE_ACTION_REFRESH : return refresh(message);
             case SRV_VALUE_ACTION_STATUS : return status(message);
             case SRV_VALUE_ACTION_CLEAR_CACHE : return clearCache(message);
@@ -129,6 +130,41 @@ public class ServiceMessageConsumer extends MessageListener{
         return null;
     }
 
+    private ClusterMessage restart(ClusterMessage message) throws ConfigurationException, MessageException {
+        final String serviceType = message.getString(SRV_KEY_TYPE,false);
+        final String serviceId = message.getString(KEY_IDENTIFIER,false);
+
+        if (serviceId == null || serviceId.isEmpty()) {
+            throw new ConfigurationException("Service instance identifier can't be null or empty.");
+        }
+        final Worker current = wsengine.getInstance(serviceType, serviceId);
+        if (current == null) {
+            return start(message);
+        }
+        if (!current.supportsHotRestart()) {
+            // the new worker may share resources with the running one (main stores, indexes, ...), which are released by its destroy.
+            wsengine.shutdownInstance(serviceType, serviceId);
+            return start(message);
+        }
+        // build the new worker while the current one keeps serving the requests, then swap them.
+        try {
+            final Worker worker = wsengine.buildWorker(serviceType, serviceId);
+            if (worker == null) {
+                throw new ConfigurationException("The instance " + serviceId + " can not be instanciated.");
+            }
+            if (worker.getState().equals(UP)) {
+                wsengine.addServiceInstance(serviceType, serviceId, worker);
+                return null;
+            }
+            // the new worker may conflict with the running one (locked index, ...), fallback to a stop and start.
+            worker.destroy();
+        } catch (IllegalArgumentException | ConstellationException ex) {
+            throw new ConfigurationException(ex.getMessage(), ex);
+        }
+        wsengine.shutdownInstance(serviceType, serviceId);
+        return start(message);
+    }
+
     private ClusterMessage refresh(ClusterMessage message) throws ConfigurationException, CstlServiceException, MessageException {
         final String serviceType = message.getString(SRV_KEY_TYPE,false);
         final String serviceId = message.getString(KEY_IDENTIFIER,false);
@@ -19,6 +19,7 @@
 package org.constellation.admin;
 
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import org.constellation.api.DataType;
 import org.constellation.api.StatisticState;
 import org.constellation.business.*;
@@ -44,6 +45,8 @@ import org.opengis.util.FactoryException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import jakarta.xml.bind.JAXBException;
 import java.io.IOException;
@@ -56,6 +59,8 @@ import org.constellation.exception.ConstellationException;
 import org.constellation.business.ClusterMessage;
 import org.constellation.business.IClusterBusiness;
 import org.constellation.business.IUserBusiness;
+import org.constellation.business.MessageException;
+import org.constellation.business.MessageListener;
 import org.constellation.dto.process.StyleProcessReference;
 import static org.constellation.business.ClusterMessageConstant.*;
 import static org.apache.sis.util.ArgumentChecks.ensureNonNull;
@@ -105,11 +110,49 @@ public class StyleBusiness implements IStyleBusiness {
     @Autowired(required = false)
     private Map<String, StyleSpecification> styleSpecifications;
     
+    /**
+     * The styles decoded by {@link #getStyle(int)}.
+     */
+    private final DecodedStyleCache styleCache = new DecodedStyleCache(Math.max(0, Application.getIntegerProperty(AppProperty.EXA_STYLE_CACHE_SIZE, 256)));
+
+    private String listenerUid;
+
     @PostConstruct
     private void init() {
         if (styleSpecifications == null) {
             styleSpecifications = Collections.EMPTY_MAP;
         }
+        //listen to the style modifications on the other members of the cluster to clear the decoded style cache
+        listenerUid = clusterBusiness.addMessageListener(new MessageListener() {
+            @Override
+            protected boolean filter(ClusterMessage message) {
+                return STY_MESSAGE_TYPE_ID.equals(message.getTypeId())
+                    && message.isRequest();
+            }
+
+            @Override
+            protected ClusterMessage process(ClusterMessage message) throws MessageException {
+                final String action = message.getString(KEY_ACTION, false);
+                if (STY_VALUE_ACTION_INVALIDATE.equals(action)) {
+                    styleCache.invalidate(message.getInteger(KEY_IDENTIFIER, true));
+                } else {
+                    throw new MessageException("Unknown request action : " + action);
+                }
+                return null;
+            }
+
+            @Override
+            protected IClusterBusiness getClusterBusiness() {
+                return clusterBusiness;
+            }
+        });
+    }
+
+    @PreDestroy
+    private void destroy() {
+        if (listenerUid != null) {
+            clusterBusiness.removeMessageListener(listenerUid);
+        }
     }
 
     private final StyleXmlIO sldParser = new StyleXmlIO();
@@ -377,12 +420,21 @@ public class StyleBusiness implements IStyleBusiness {
      */
     @Override
     public org.apache.sis.style.Style getStyle(int styleId) throws TargetNotFoundException {
+        final org.apache.sis.style.Style cached = styleCache.get(styleId);
+        if (cached != null) {
+            return cached;
+        }
+        // read the generation before the body, a style modified in between will not be cached.
+        final long generation = styleCache.generation();
         Style style = styleRepository.findById(styleId);
         if (style == null) {
             throw new TargetNotFoundException("Style with id" + styleId + " not found.");
         }
         try {
-            return specificationForName(style.getSpecification()).decode(style.getBody());
+            final long start = System.nanoTime();
+            final org.apache.sis.style.Style decoded = specificationForName(style.getSpecification()).decode(style.getBody());
+            styleCache.put(styleId, generation, decoded, System.nanoTime() - start);
+            return decoded;
         } catch (ConfigurationException ex) {
             //TODO should be something else but not a TargetNotFoundException
             throw new RuntimeException(ex);
@@ -433,6 +485,7 @@ public class StyleBusiness implements IStyleBusiness {
             s.setType(style instanceof MutableStyle ? getTypeFromMutableStyle((MutableStyle) style) : "VECTOR");
             if (styleName != null) s.setName(styleName);
             styleRepository.update(s);
+            styleChanged(id);
 
             // Force statistics and state to null for each StyledLayer linked to this style.
             // The cron on @LayerStatisticsJob will recompute the statistics for each layer.
@@ -456,6 +509,7 @@ public class StyleBusiness implements IStyleBusiness {
             final boolean styleFound = styleRepository.existsById(styleId);
             if (!styleFound) throw new TargetNotFoundException("Style " + styleId + " can't be found from database.");
             styleRepository.linkStyleToLayer(styleId, layerId);
+            styleChanged(styleId);
             if (Application.getBooleanProperty(AppProperty.LAYER_ACTIVATE_STATISTICS, Boolean.FALSE)) {
                 final Data data = dataRepository.findById(l.getDataId());
                 if (data == null) {
@@ -499,6 +553,7 @@ public class StyleBusiness implements IStyleBusiness {
             final boolean styleFound = styleRepository.existsById(styleId);
             if (!styleFound) throw new TargetNotFoundException("Style " + styleId + " can't be found from database.");
             styleRepository.unlinkStyleToLayer(styleId, layerId);
+            styleChanged(styleId);
             clearServiceCache(l.getService());
         } else {
             throw new TargetNotFoundException("Layer " + layerId + " can't be found from database.");
@@ -513,6 +568,7 @@ public class StyleBusiness implements IStyleBusiness {
             final boolean styleFound = styleRepository.existsById(styleId);
             if (!styleFound) throw new TargetNotFoundException("Style " + styleId + " can't be found from database.");
             styleRepository.setDefaultStyleToLayer(styleId, layerId);
+            styleChanged(styleId);
             clearServiceCache(l.getService());
         } else {
             throw new TargetNotFoundException("Layer " + layerId + " can't be found from database.");
@@ -531,7 +587,9 @@ public class StyleBusiness implements IStyleBusiness {
             StyleSpecification spec = specificationForName(brief.getSpecification());
             spec.deleteResources(getStyle(id));
         }
-        return styleRepository.delete(id);
+        final int result = styleRepository.delete(id);
+        styleChanged(id);
+        return result;
     }
 
     /**
@@ -540,7 +598,9 @@ public class StyleBusiness implements IStyleBusiness {
     @Override
     @Transactional
     public int deleteAll() throws ConfigurationException {
-        return styleRepository.deleteAll();
+        final int result = styleRepository.deleteAll();
+        styleChanged(null);
+        return result;
     }
 
     /**
@@ -589,6 +649,44 @@ public class StyleBusiness implements IStyleBusiness {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<String, Long> getStyleCacheStatistics() {
+        return styleCache.getStatistics();
+    }
+
+    /**
+     * Remove a modified style from the decoded style cache of all the members of the cluster.
+     * The removal is done again after the commit of the current transaction, if any,
+     * as the previous body can be read and cached again until then.
+     *
+     * @param styleId Style identifier, or {@code null} for all the styles.
+     */
+    private void styleChanged(final Integer styleId) {
+        styleCache.invalidate(styleId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publishStyleInvalidation(styleId);
+                }
+            });
+        } else {
+            publishStyleInvalidation(styleId);
+        }
+    }
+
+    private void publishStyleInvalidation(final Integer styleId) {
+        final ClusterMessage request = clusterBusiness.createRequest(STY_MESSAGE_TYPE_ID, false);
+        request.put(KEY_ACTION, STY_VALUE_ACTION_INVALIDATE);
+        if (styleId != null) {
+            request.put(KEY_IDENTIFIER, styleId);
+        }
+        clusterBusiness.publish(request);
+    }
+
     /**
      * Send an event to clear the specified service cache.
      *
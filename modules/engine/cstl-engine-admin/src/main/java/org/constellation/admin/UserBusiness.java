@@ -20,6 +20,8 @@ package org.constellation.admin;
 
 import java.util.List;
 import java.util.Optional;
+import org.constellation.business.ClusterMessage;
+import org.constellation.business.IClusterBusiness;
 import org.constellation.business.IUserBusiness;
 import org.constellation.dto.CstlUser;
 import org.constellation.dto.UserWithRole;
@@ -28,6 +30,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Primary;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.constellation.business.ClusterMessageConstant.*;
 
 /**
  *
@@ -40,6 +46,9 @@ public class UserBusiness implements IUserBusiness {
     @Autowired
     UserRepository userRepository;
 
+    @Autowired
+    private IClusterBusiness clusterBusiness;
+
     @Override
     public List<CstlUser> findAll() {
         return userRepository.findAll();
@@ -48,31 +57,40 @@ public class UserBusiness implements IUserBusiness {
     @Override
     @Transactional
     public Integer create(UserWithRole user) {
-        return userRepository.create(user);
+        final Integer id = userRepository.create(user);
+        userChanged();
+        return id;
     }
 
     @Override
     @Transactional
     public void update(UserWithRole user) {
         userRepository.update(user);
+        userChanged();
     }
 
     @Override
     @Transactional
     public int delete(int userId) {
-        return userRepository.delete(userId);
+        final int result = userRepository.delete(userId);
+        userChanged();
+        return result;
     }
 
     @Override
     @Transactional
     public int desactivate(int userId) {
-        return userRepository.desactivate(userId);
+        final int result = userRepository.desactivate(userId);
+        userChanged();
+        return result;
     }
 
     @Override
     @Transactional
     public int activate(int userId) {
-        return userRepository.activate(userId);
+        final int result = userRepository.activate(userId);
+        userChanged();
+        return result;
     }
 
     @Override
@@ -144,4 +162,26 @@ public class UserBusiness implements IUserBusiness {
     public Optional<UserWithRole> findOneWithRoleByMail(String mail) {
         return userRepository.findOneWithRoleByMail(mail);
     }
+
+    /**
+     * Send an event to clear the authentication caches, once the modification of a user is committed.
+     */
+    private void userChanged() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publishUserInvalidation();
+                }
+            });
+        } else {
+            publishUserInvalidation();
+        }
+    }
+
+    private void publishUserInvalidation() {
+        final ClusterMessage request = clusterBusiness.createRequest(USR_MESSAGE_TYPE_ID, false);
+        request.put(KEY_ACTION, USR_VALUE_ACTION_INVALIDATE);
+        clusterBusiness.publish(request);
+    }
 }
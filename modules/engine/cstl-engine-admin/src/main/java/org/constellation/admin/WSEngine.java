@@ -53,13 +53,15 @@ public class WSEngine implements IWSEngine {
 
     /**
      * A map of service worker.
+     * The worker map of each service type is an unmodifiable snapshot, replaced on each modification,
+     * so the worker lookup of the requests never blocks, even during the restart of a service.
      */
-    private final Map<String, Map<String, Worker>> WORKERS_MAP = new HashMap<>();
+    private final Map<String, Map<String, Worker>> WORKERS_MAP = new ConcurrentHashMap<>();
 
     /**
      * A map of service worker state.
      */
-    private final Map<String, Map<String, WorkerState>> WORKERS_STATE_MAP = new HashMap<>();
+    private final Map<String, Map<String, WorkerState>> WORKERS_STATE_MAP = new ConcurrentHashMap<>();
 
     /**
      * A map of the registred OGC services and their endpoint protocols (REST).
@@ -71,19 +73,19 @@ public class WSEngine implements IWSEngine {
      * {@inheritDoc}
      */
     @Override
-    public synchronized Map<String, Worker> getWorkersMap(final String specification) {
+    public Map<String, Worker> getWorkersMap(final String specification) {
         final Map<String, Worker> result = WORKERS_MAP.get(specification.toLowerCase());
         if (result == null) {
-            return new HashMap<>();
+            return Collections.emptyMap();
         }
-        return new HashMap<>(result);
+        return result;
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public synchronized int getInstanceSize(final String specification) {
+    public int getInstanceSize(final String specification) {
         final Map<String, Worker> workersMap = WORKERS_MAP.get(specification.toLowerCase());
         if (workersMap != null) {
             return workersMap.size();
@@ -95,7 +97,7 @@ public class WSEngine implements IWSEngine {
      * {@inheritDoc}
      */
     @Override
-    public synchronized boolean serviceInstanceExist(final String specification, final String serviceID) {
+    public boolean serviceInstanceExist(final String specification, final String serviceID) {
         final Map<String, Worker> workersMap = WORKERS_MAP.get(specification.toLowerCase());
         if (workersMap != null) {
             return workersMap.containsKey(serviceID);
@@ -107,19 +109,19 @@ public class WSEngine implements IWSEngine {
      * {@inheritDoc}
      */
     @Override
-    public synchronized Set<String> getInstanceNames(final String specification) {
+    public Set<String> getInstanceNames(final String specification) {
         final Map<String, Worker> workersMap = WORKERS_MAP.get(specification.toLowerCase());
         if (workersMap != null) {
             return workersMap.keySet();
         }
-        return Collections.EMPTY_SET;
+        return Collections.emptySet();
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public synchronized Worker getInstance(final String specification, final String serviceID) {
+    public Worker getInstance(final String specification, final String serviceID) {
         final Map<String, Worker> workersMap = WORKERS_MAP.get(specification.toLowerCase());
         if (workersMap != null) {
             return workersMap.get(serviceID);
@@ -131,13 +133,12 @@ public class WSEngine implements IWSEngine {
      * {@inheritDoc}
      */
     @Override
-    public synchronized void destroyInstances(final String specification) {
+    public void destroyInstances(final String specification) {
         final Map<String, Worker> workersMap = WORKERS_MAP.remove(specification.toLowerCase());
         if (workersMap != null) {
             for (final Worker worker : workersMap.values()) {
                 worker.destroy();
             }
-            workersMap.clear();
         }
     }
 
@@ -145,26 +146,57 @@ public class WSEngine implements IWSEngine {
      * {@inheritDoc}
      */
     @Override
-    public synchronized boolean isSetService(final String specification) {
-        final Map<String, Worker> workersMap = WORKERS_MAP.get(specification.toLowerCase());
-        return workersMap != null;
+    public boolean isSetService(final String specification) {
+        return WORKERS_MAP.containsKey(specification.toLowerCase());
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public synchronized void addServiceInstance(final String specification, final String serviceID, final Worker instance) {
-        Map<String, Worker> workersMap = WORKERS_MAP.get(specification.toLowerCase());
-        if (workersMap == null) {
-            workersMap = new HashMap<>();
-            WORKERS_MAP.put(specification.toLowerCase(), workersMap);
+    public void addServiceInstance(final String specification, final String serviceID, final Worker instance) {
+        final Worker current = getInstance(specification, serviceID);
+        if (current != null && current != instance && !current.supportsHotRestart()) {
+            // stop the old worker before registering the new one.
+            LOGGER.log(Level.INFO, "Destroying old worker: {0}({1})", new Object[]{specification.toLowerCase(), serviceID});
+            shutdownInstance(specification, serviceID);
         }
-        final Worker oldWorker = workersMap.put(serviceID, instance);
-        if (oldWorker != null) {
+        final Worker oldWorker = replace(specification, serviceID, instance);
+        if (oldWorker != null && oldWorker != instance) {
             LOGGER.log(Level.INFO, "Destroying old worker: {0}({1})", new Object[]{specification.toLowerCase(), serviceID});
             oldWorker.destroy();
         }
+        if (current != null && current != instance) {
+            // the old worker has recorded its stop in place of the state of the new one.
+            updateWorkerStatus(specification, serviceID, instance.getState());
+        }
+    }
+
+    /**
+     * Replace the worker of a service instance in a new snapshot of the worker map of its service type.
+     * The snapshot is swapped atomically: a request gets either the previous or the new worker.
+     *
+     * @param specification A service type (CSW, SOS, WMS, ...).
+     * @param serviceID The service instance identifier.
+     * @param instance The new worker, or {@code null} to remove the service instance.
+     *
+     * @return The previous worker, or {@code null}.
+     */
+    private Worker replace(final String specification, final String serviceID, final Worker instance) {
+        final Worker[] previous = new Worker[1];
+        WORKERS_MAP.compute(specification.toLowerCase(), (spec, current) -> {
+            if (current == null && instance == null) {
+                return null;
+            }
+            final Map<String, Worker> workersMap = current != null ? new HashMap<>(current) : new HashMap<>();
+            if (instance != null) {
+                previous[0] = workersMap.put(serviceID, instance);
+            } else {
+                previous[0] = workersMap.remove(serviceID);
+            }
+            return Collections.unmodifiableMap(workersMap);
+        });
+        return previous[0];
     }
 
     /**
@@ -179,9 +211,10 @@ public class WSEngine implements IWSEngine {
      * {@inheritDoc}
      */
     @Override
-    public synchronized Map<String, WorkerState> getWorkerStatus(final String specification) {
-        if (WORKERS_STATE_MAP.containsKey(specification.toLowerCase())) {
-            return new HashMap<>(WORKERS_STATE_MAP.get(specification.toLowerCase()));
+    public Map<String, WorkerState> getWorkerStatus(final String specification) {
+        final Map<String, WorkerState> workersMap = WORKERS_STATE_MAP.get(specification.toLowerCase());
+        if (workersMap != null) {
+            return new HashMap<>(workersMap);
         }
         return new HashMap<>();
     }
@@ -192,31 +225,23 @@ public class WSEngine implements IWSEngine {
     @Override
     public WorkerState getWorkerStatus(String specification, String serviceID) {
         final Map<String, WorkerState> workersMap = WORKERS_STATE_MAP.get(specification.toLowerCase());
-        if (workersMap != null) {
-            if (workersMap.containsKey(serviceID)) {
-                return workersMap.get(serviceID);
-            }
+        if (workersMap != null && serviceID != null) {
+            return workersMap.getOrDefault(serviceID, UNKNOWN);
         }
         return UNKNOWN;
     }
 
     @Override
     public void updateWorkerStatus(String specification, String serviceID, WorkerState workerState) {
-        final Map<String, WorkerState> workersMap;
-        if (WORKERS_STATE_MAP.containsKey(specification.toLowerCase())) {
-            workersMap = WORKERS_STATE_MAP.get(specification.toLowerCase());
-        } else {
-            workersMap = new HashMap<>();
-            WORKERS_STATE_MAP.put(specification.toLowerCase(), workersMap);
-        }
-        workersMap.put(serviceID, workerState);
+        WORKERS_STATE_MAP.computeIfAbsent(specification.toLowerCase(), spec -> new ConcurrentHashMap<>())
+                         .put(serviceID, workerState);
     }
 
     @Override
     public void removeWorkerStatus(String specification, String serviceID) {
-        final Map<String, WorkerState> workersMap;
-        if (WORKERS_STATE_MAP.containsKey(specification.toLowerCase())) {
-            WORKERS_STATE_MAP.get(specification.toLowerCase()).remove(serviceID);
+        final Map<String, WorkerState> workersMap = WORKERS_STATE_MAP.get(specification.toLowerCase());
+        if (workersMap != null) {
+            workersMap.remove(serviceID);
         }
     }
 
@@ -224,14 +249,11 @@ public class WSEngine implements IWSEngine {
      * {@inheritDoc}
      */
     @Override
-    public synchronized void shutdownInstance(final String specification, final String serviceID) {
-        final Map<String, Worker> workersMap = WORKERS_MAP.get(specification.toLowerCase());
-        if (workersMap != null) {
-            final Worker worker = workersMap.get(serviceID);
-            if (worker != null) {
-                worker.destroy();
-                workersMap.remove(serviceID);
-            }
+    public void shutdownInstance(final String specification, final String serviceID) {
+        // remove the worker first, so the new requests do not get a stopping worker.
+        final Worker worker = replace(specification, serviceID, null);
+        if (worker != null) {
+            worker.destroy();
         }
     }
 
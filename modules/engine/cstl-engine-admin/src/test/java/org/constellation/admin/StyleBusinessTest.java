@@ -18,6 +18,7 @@
  */
 package org.constellation.admin;
 
+import org.constellation.exception.TargetNotFoundException;
 import org.geotoolkit.style.DefaultMutableStyle;
 import org.junit.Assert;
 import org.junit.Test;
@@ -50,4 +51,31 @@ public class StyleBusinessTest extends AbstractBusinessTest {
         s = (Style) styleBusiness.getStyle("sld-temp", "hauteur du géoïde v2");
         Assert.assertNotNull(s);
     }
+
+    @Test
+    public void styleCache() throws Exception {
+        DefaultMutableStyle style = new DefaultMutableStyle();
+        style.setName("cached style");
+        Integer id = styleBusiness.createStyle("sld-temp", style);
+
+        Style s1 = (Style) styleBusiness.getStyle(id);
+        long hits = styleBusiness.getStyleCacheStatistics().get("hits");
+        Style s2 = (Style) styleBusiness.getStyle(id);
+        Assert.assertSame(s1, s2);
+        Assert.assertEquals(hits + 1, (long) styleBusiness.getStyleCacheStatistics().get("hits"));
+
+        style.setName("cached style v2");
+        styleBusiness.updateStyle(id, style);
+        s2 = (Style) styleBusiness.getStyle(id);
+        Assert.assertNotSame(s1, s2);
+        Assert.assertEquals("cached style v2", s2.getName());
+
+        styleBusiness.deleteStyle(id);
+        try {
+            styleBusiness.getStyle(id);
+            Assert.fail("deleted style should not be returned");
+        } catch (TargetNotFoundException ex) {
+            // expected
+        }
+    }
 }
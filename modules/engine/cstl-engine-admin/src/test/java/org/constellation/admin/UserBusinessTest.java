@@ -0,0 +1,94 @@
+/*
+ *    Examind Community - An open source and standard compliant SDI
+ *    https://community.examind.com/
+ *
+ * Copyright 2026 Geomatys.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.constellation.admin;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.constellation.business.ClusterMessage;
+import org.constellation.business.IClusterBusiness;
+import org.constellation.business.IUserBusiness;
+import org.constellation.business.MessageListener;
+import org.constellation.dto.UserWithRole;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import static org.constellation.business.ClusterMessageConstant.*;
+
+public class UserBusinessTest extends AbstractBusinessTest {
+
+    @Autowired
+    private IUserBusiness userBusiness;
+
+    @Autowired
+    private IClusterBusiness clusterBusiness;
+
+    @Test
+    public void invalidationMessage() throws Exception {
+        final AtomicInteger received = new AtomicInteger();
+        final String listenerUid = clusterBusiness.addMessageListener(new MessageListener() {
+            @Override
+            protected boolean filter(ClusterMessage message) {
+                return USR_MESSAGE_TYPE_ID.equals(message.getTypeId())
+                    && USR_VALUE_ACTION_INVALIDATE.equals(message.get(KEY_ACTION));
+            }
+
+            @Override
+            protected ClusterMessage process(ClusterMessage message) {
+                received.incrementAndGet();
+                return null;
+            }
+
+            @Override
+            protected IClusterBusiness getClusterBusiness() {
+                return clusterBusiness;
+            }
+        });
+        try {
+            UserWithRole user = new UserWithRole();
+            user.setFirstname("cache");
+            user.setLastname("user");
+            user.setLogin("cache-user");
+            user.setEmail("cache-user@examind.com");
+            user.setPassword("cache-password");
+            user.setActive(Boolean.TRUE);
+            user.setLocale("fr");
+            user.setRoles(Arrays.asList("admin"));
+            final Integer id = userBusiness.create(user);
+            Assert.assertEquals(1, received.get());
+
+            user = userBusiness.findOneWithRole(id).get();
+            user.setPassword("new-password");
+            userBusiness.update(user);
+            Assert.assertEquals(2, received.get());
+
+            userBusiness.desactivate(id);
+            Assert.assertEquals(3, received.get());
+            Assert.assertFalse(userBusiness.findById(id).get().getActive());
+
+            userBusiness.activate(id);
+            Assert.assertEquals(4, received.get());
+
+            userBusiness.delete(id);
+            Assert.assertEquals(5, received.get());
+        } finally {
+            clusterBusiness.removeMessageListener(listenerUid);
+        }
+    }
+}
@@ -18,9 +18,11 @@
  */
 package org.constellation.process.service;
 
+import org.constellation.api.WorkerState;
 import org.constellation.process.ExamindProcessFactory;
 import org.constellation.test.utils.Order;
 import org.constellation.test.utils.SpringTestRunner;
+import org.constellation.ws.Worker;
 import org.geotoolkit.process.ProcessDescriptor;
 import org.geotoolkit.process.ProcessException;
 import org.geotoolkit.process.ProcessFinder;
@@ -32,6 +34,9 @@ import org.opengis.util.NoSuchIdentifierException;
 import java.util.List;
 import java.util.Set;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -234,4 +239,38 @@ public abstract class RestartServiceTest extends ServiceProcessTest {
         }
     }
 
+    /**
+     * Restart an instance and send a request to the new worker.
+     */
+    @Test
+    @Order(order = 7)
+    public void testRequestAfterRestart() throws Exception {
+
+        LOGGER.info("TEST request after restart");
+
+        createInstance("restartInstance7");
+        startInstance("restartInstance7");
+
+        try {
+            final Worker before = engine.getInstance(serviceName, "restartInstance7");
+            assertNotNull(before);
+            final ProcessDescriptor desc = ProcessFinder.getProcessDescriptor(ExamindProcessFactory.NAME, RestartServiceDescriptor.NAME);
+
+            final ParameterValueGroup in = desc.getInputDescriptor().createValue();
+            in.parameter(RestartServiceDescriptor.SERVICE_TYPE_NAME).setValue(serviceName);
+            in.parameter(RestartServiceDescriptor.IDENTIFIER_NAME).setValue("restartInstance7");
+            org.geotoolkit.process.Process proc = desc.createProcess(in);
+            proc.call();
+
+            final Worker worker = engine.getInstance(serviceName, "restartInstance7");
+            assertNotNull(worker);
+            assertNotSame(before, worker);
+            assertEquals(WorkerState.UP, worker.getState());
+            assertEquals(WorkerState.UP, engine.getWorkerStatus(serviceName, "restartInstance7"));
+            assertNotNull(worker.getCapabilities(worker.getBestVersion(null).version.toString()));
+        } finally {
+            deleteInstance("restartInstance7");
+        }
+    }
+
 }
@@ -85,9 +85,7 @@ public abstract class ServiceProcessTest extends AbstractProcessTest {
         try {
             ServiceComplete s = serviceBusiness.getServiceByIdentifierAndType(serviceName.toLowerCase(), identifier);
             serviceBusiness.delete(s.getId());
-            if (engine.getWorkersMap(serviceName) != null) {
-                engine.getWorkersMap(serviceName).remove(identifier);
-            }
+            engine.shutdownInstance(serviceName, identifier);
         } catch (ConstellationException ex) {
             LOGGER.log(Level.SEVERE, null, ex);
         }
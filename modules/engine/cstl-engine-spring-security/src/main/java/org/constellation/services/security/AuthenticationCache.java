@@ -0,0 +1,185 @@
+/*
+ *    Examind Community - An open source and standard compliant SDI
+ *    https://community.examind.com/
+ *
+ * Copyright 2026 Geomatys.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.constellation.services.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetails;
+
+/**
+ * A short lived cache of the credentials verified by the authentication manager and of the loaded user details.
+ * <p>
+ * The credentials are never kept: a verified user name and password pair is identified by a digest salted with
+ * a random value drawn at the creation of the cache, so the keys can not be matched against precomputed digests.
+ * Only the successful authentications are cached. Both maps are bounded, the least recently used entries being
+ * removed first, and their entries expire after the time to live. An entry read before a {@link #clear()} is not
+ * added to the cache, as it may reflect the state of the user before its modification.
+ * </p>
+ *
+ * This class is thread-safe.
+ */
+final class AuthenticationCache {
+
+    /**
+     * Authentications by salted digest of the credentials, in access order. Guarded by itself.
+     */
+    private final Map<String, Entry<Authentication>> authentications;
+
+    /**
+     * User details by user name, in access order. Guarded by itself.
+     */
+    private final Map<String, Entry<UserDetails>> users;
+
+    private final byte[] salt = new byte[32];
+
+    /**
+     * Incremented by each {@link #clear()}.
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * Time to live of the entries in milliseconds.
+     */
+    private final long timeToLive;
+
+    /**
+     * @param timeToLive Time to live of the entries in milliseconds.
+     * @param maxEntries Maximum number of entries of each map.
+     */
+    AuthenticationCache(final long timeToLive, final int maxEntries) {
+        this.timeToLive      = timeToLive;
+        this.authentications = lruMap(maxEntries);
+        this.users           = lruMap(maxEntries);
+        new SecureRandom().nextBytes(salt);
+    }
+
+    private static <V> Map<String, Entry<V>> lruMap(final int maxEntries) {
+        return new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, Entry<V>> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Return the key identifying a user name and password pair.
+     */
+    String credentialKey(final String userName, final String password) {
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(salt);
+            digest.update(userName.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(password.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException ex) {
+            // should never happen, SHA-256 is mandatory for all java platforms.
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Return the current generation, to be read before the authentication or the loading of a user.
+     */
+    long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Return the authentication obtained for the credentials identified by the specified key, or {@code null}.
+     *
+     * @param key A key built by {@link #credentialKey(String, String)}.
+     */
+    Authentication getAuthentication(final String key) {
+        return get(authentications, key);
+    }
+
+    /**
+     * Keep the authentication obtained for the credentials identified by the specified key.
+     *
+     * @param key A key built by {@link #credentialKey(String, String)}.
+     * @param readGeneration The generation returned by {@link #generation()} before the authentication.
+     * @param authentication A successful authentication.
+     */
+    void putAuthentication(final String key, final long readGeneration, final Authentication authentication) {
+        put(authentications, key, readGeneration, authentication);
+    }
+
+    /**
+     * Return the details of the specified user, or {@code null}.
+     */
+    UserDetails getUser(final String userName) {
+        return get(users, userName);
+    }
+
+    /**
+     * Keep the details of the specified user.
+     *
+     * @param readGeneration The generation returned by {@link #generation()} before the loading of the user.
+     */
+    void putUser(final String userName, final long readGeneration, final UserDetails user) {
+        put(users, userName, readGeneration, user);
+    }
+
+    /**
+     * Remove all the entries, after the modification of a user or of its roles.
+     */
+    void clear() {
+        generation.incrementAndGet();
+        synchronized (authentications) {
+            authentications.clear();
+        }
+        synchronized (users) {
+            users.clear();
+        }
+    }
+
+    private static <V> V get(final Map<String, Entry<V>> map, final String key) {
+        synchronized (map) {
+            final Entry<V> entry = map.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (System.currentTimeMillis() > entry.expiration) {
+                map.remove(key);
+                return null;
+            }
+            return entry.value;
+        }
+    }
+
+    private <V> void put(final Map<String, Entry<V>> map, final String key, final long readGeneration, final V value) {
+        final Entry<V> entry = new Entry<>(value, System.currentTimeMillis() + timeToLive);
+        synchronized (map) {
+            if (readGeneration == generation.get()) {
+                map.put(key, entry);
+            }
+        }
+    }
+
+    private record Entry<V>(V value, long expiration) {}
+}
@@ -19,8 +19,13 @@
 package org.constellation.services.security;
 
 import java.util.Base64;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.constellation.business.ClusterMessage;
+import org.constellation.business.IClusterBusiness;
+import org.constellation.business.MessageListener;
 import org.constellation.configuration.AppProperty;
 import org.constellation.configuration.Application;
 
@@ -35,6 +40,8 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 
+import static org.constellation.business.ClusterMessageConstant.*;
+
 public class CstlUserDetailsExtractor implements UserDetailsExtractor{
 
     private UserDetailsService userDetailsService;
@@ -45,6 +52,50 @@ public class CstlUserDetailsExtractor implements UserDetailsExtractor{
     @Qualifier("authenticationManager")
     private AuthenticationManager authManager;
 
+    @Autowired
+    private IClusterBusiness clusterBusiness;
+
+    /**
+     * Verified credentials and loaded user details, or {@code null} if disabled.
+     */
+    private AuthenticationCache cache;
+
+    private String listenerUid;
+
+    @PostConstruct
+    public void init() {
+        final int ttl = Application.getIntegerProperty(AppProperty.EXA_AUTH_CACHE_TTL, 60);
+        if (ttl > 0) {
+            cache = new AuthenticationCache(ttl * 1000L, Application.getIntegerProperty(AppProperty.EXA_AUTH_CACHE_SIZE, 1000));
+            //listen to the user modifications to clear the cache
+            listenerUid = clusterBusiness.addMessageListener(new MessageListener() {
+                @Override
+                protected boolean filter(ClusterMessage message) {
+                    return USR_MESSAGE_TYPE_ID.equals(message.getTypeId())
+                        && USR_VALUE_ACTION_INVALIDATE.equals(message.get(KEY_ACTION));
+                }
+
+                @Override
+                protected ClusterMessage process(ClusterMessage message) {
+                    cache.clear();
+                    return null;
+                }
+
+                @Override
+                protected IClusterBusiness getClusterBusiness() {
+                    return clusterBusiness;
+                }
+            });
+        }
+    }
+
+    @PreDestroy
+    public void destroy() {
+        if (listenerUid != null) {
+            clusterBusiness.removeMessageListener(listenerUid);
+        }
+    }
+
     @Override
     public UserDetails userDetails(HttpServletRequest request, HttpServletResponse response) {
         String userName = tokenService.getUserName(request);
@@ -55,7 +106,16 @@ public class CstlUserDetailsExtractor implements UserDetailsExtractor{
             }
         }
         if (userName != null) {
-            return userDetailsService.loadUserByUsername(userName);
+            if (cache == null) {
+                return userDetailsService.loadUserByUsername(userName);
+            }
+            UserDetails user = cache.getUser(userName);
+            if (user == null) {
+                final long generation = cache.generation();
+                user = userDetailsService.loadUserByUsername(userName);
+                cache.putUser(userName, generation, user);
+            }
+            return user;
         }
         return null;
     }
@@ -90,8 +150,17 @@ public class CstlUserDetailsExtractor implements UserDetailsExtractor{
                 String userName = userpwd.substring(0, indexOf);
                 String password = userpwd.substring(indexOf + 1);
                 try {
-                    final UsernamePasswordAuthenticationToken at = new UsernamePasswordAuthenticationToken(userName, password);
-                    final Authentication authentication = this.authManager.authenticate(at);
+                    // the password verification is costly, and the clients using basic authentication send it with each request.
+                    final String key = cache != null ? cache.credentialKey(userName, password) : null;
+                    Authentication authentication = key != null ? cache.getAuthentication(key) : null;
+                    if (authentication == null) {
+                        final long generation = cache != null ? cache.generation() : 0;
+                        final UsernamePasswordAuthenticationToken at = new UsernamePasswordAuthenticationToken(userName, password);
+                        authentication = this.authManager.authenticate(at);
+                        if (key != null) {
+                            cache.putAuthentication(key, generation, authentication);
+                        }
+                    }
                     SecurityContextHolder.getContext().setAuthentication(authentication);
                     return userName;
                 } catch (Exception ex) {
@@ -0,0 +1,106 @@
+/*
+ *    Examind Community - An open source and standard compliant SDI
+ *    https://community.examind.com/
+ *
+ * Copyright 2026 Geomatys.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.constellation.services.security;
+
+import java.util.List;
+import org.junit.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class AuthenticationCacheTest {
+
+    private static UserDetails user(final String name) {
+        return new User(name, "", List.of());
+    }
+
+    private static Authentication authentication(final String name) {
+        return new UsernamePasswordAuthenticationToken(name, null, List.of());
+    }
+
+    @Test
+    public void credentialKeyTest() {
+        final AuthenticationCache cache = new AuthenticationCache(60_000, 10);
+        assertEquals(cache.credentialKey("admin", "admin"), cache.credentialKey("admin", "admin"));
+        assertNotEquals(cache.credentialKey("admin", "admin"), cache.credentialKey("admin", "admin2"));
+        // the separator between the user name and the password is part of the digest
+        assertNotEquals(cache.credentialKey("ab", "c"), cache.credentialKey("a", "bc"));
+
+        // the keys are salted per cache
+        assertNotEquals(cache.credentialKey("admin", "admin"), new AuthenticationCache(60_000, 10).credentialKey("admin", "admin"));
+    }
+
+    @Test
+    public void timeToLiveTest() throws Exception {
+        final AuthenticationCache cache = new AuthenticationCache(50, 10);
+        final String key = cache.credentialKey("admin", "admin");
+        final Authentication auth = authentication("admin");
+        final UserDetails user = user("admin");
+        cache.putAuthentication(key, cache.generation(), auth);
+        cache.putUser("admin", cache.generation(), user);
+        assertSame(auth, cache.getAuthentication(key));
+        assertSame(user, cache.getUser("admin"));
+
+        Thread.sleep(100);
+        assertNull(cache.getAuthentication(key));
+        assertNull(cache.getUser("admin"));
+    }
+
+    @Test
+    public void generationTest() {
+        final AuthenticationCache cache = new AuthenticationCache(60_000, 10);
+        cache.putUser("admin", cache.generation(), user("admin"));
+
+        // a user loaded before the modification of the users is not cached
+        final long generation = cache.generation();
+        cache.clear();
+        assertNull(cache.getUser("admin"));
+        cache.putUser("admin", generation, user("admin"));
+        cache.putAuthentication(cache.credentialKey("admin", "admin"), generation, authentication("admin"));
+        assertNull(cache.getUser("admin"));
+        assertNull(cache.getAuthentication(cache.credentialKey("admin", "admin")));
+
+        // a user loaded after the modification is cached
+        final UserDetails user = user("admin");
+        cache.putUser("admin", cache.generation(), user);
+        assertSame(user, cache.getUser("admin"));
+    }
+
+    @Test
+    public void maxEntriesTest() {
+        final AuthenticationCache cache = new AuthenticationCache(60_000, 2);
+        final UserDetails u1 = user("u1");
+        final UserDetails u2 = user("u2");
+        cache.putUser("u1", cache.generation(), u1);
+        cache.putUser("u2", cache.generation(), u2);
+
+        // u1 is now the most recently used, u2 is removed by the third entry
+        assertSame(u1, cache.getUser("u1"));
+        cache.putUser("u3", cache.generation(), user("u3"));
+        assertSame(u1, cache.getUser("u1"));
+        assertNull(cache.getUser("u2"));
+        assertEquals("u3", cache.getUser("u3").getUsername());
+    }
+}
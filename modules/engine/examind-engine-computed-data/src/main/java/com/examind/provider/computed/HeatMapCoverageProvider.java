@@ -21,11 +21,16 @@ package com.examind.provider.computed;
 import com.examind.image.pointcloud.FeatureSetAsPointsCloud;
 import com.examind.image.heatmap.HeatMapImage;
 import com.examind.image.heatmap.HeatMapResource;
+import com.examind.image.heatmap.PointGridPyramid;
 import com.examind.image.pointcloud.PointCloudResource;
+import org.apache.sis.geometry.Envelopes;
 import org.apache.sis.parameter.Parameters;
+import org.apache.sis.storage.DataStore;
 import org.apache.sis.storage.DataStoreException;
+import org.apache.sis.storage.Resource;
 import org.apache.sis.util.iso.Names;
 import org.constellation.admin.SpringHelper;
+import org.constellation.configuration.ConfigDirectory;
 import org.constellation.exception.ConfigurationException;
 import org.constellation.exception.ConstellationException;
 import org.constellation.provider.Data;
@@ -38,6 +43,18 @@ import org.opengis.parameter.ParameterValueGroup;
 import org.opengis.util.FactoryException;
 
 import java.awt.*;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Level;
 import static com.examind.provider.computed.AggregateUtils.getData;
 import static com.examind.provider.computed.HeatMapCoverageProviderDescriptor.*;
 
@@ -47,11 +64,32 @@ import static com.examind.provider.computed.HeatMapCoverageProviderDescriptor.*;
  */
 public class HeatMapCoverageProvider extends ComputedResourceProvider {
 
+    /**
+     * Builds the point counts pyramids in background, one at a time as they read the whole source.
+     */
+    private static final ExecutorService AGGREGATE_EXECUTOR = Executors.newSingleThreadExecutor(r -> {
+        final Thread t = new Thread(r, "heatmap-aggregate-builder");
+        t.setDaemon(true);
+        return t;
+    });
+
     private final int[] dataIds;
     private final Dimension tilingDimension;
     private final float distanceX, distanceY;
     private final HeatMapImage.Algorithm algorithm;
     private final boolean directPoint;
+    private final boolean aggregate;
+    private final int aggregateResolution;
+
+    /**
+     * Build of the point counts pyramid in progress, or {@code null}.
+     */
+    private volatile Future<?> aggregateBuild;
+
+    /**
+     * The last point counts pyramid attached to a computed resource, or {@code null}. Guarded by {@code this}.
+     */
+    private PointGridPyramid currentAggregate;
 
     public HeatMapCoverageProvider(String providerId, DataProviderFactory service, ParameterValueGroup param) throws FactoryException {
         super(providerId, service, param);
@@ -77,16 +115,135 @@ public class HeatMapCoverageProvider extends ComputedResourceProvider {
         directPoint = input.getValue(DIRECT_POINT);
         algorithm = HeatMapImage.Algorithm.valueOf(input.getValue(ALGORITHM));
 
+        final Boolean aggregateParam = input.getValue(AGGREGATE);
+        aggregate = aggregateParam != null && aggregateParam;
+        final Integer resolutionParam = input.getValue(AGGREGATE_RESOLUTION);
+        aggregateResolution = resolutionParam != null ? resolutionParam : 4096;
 
     }
 
     @Override
     protected Data computeData() throws DataStoreException, ConstellationException {
-        final HeatMapResource res = new HeatMapResource(dataToPointCloud(), tilingDimension, distanceX, distanceY, algorithm);
+        final PointCloudResource pointCloud = dataToPointCloud();
+        final HeatMapResource res = new HeatMapResource(pointCloud, tilingDimension, distanceX, distanceY, algorithm);
+        if (aggregate) {
+            attachAggregate(res, pointCloud);
+        }
         final String resultDataName = getDataName().orElse("HeatMap");
         return new DefaultCoverageData(Names.createLocalName(null, ":", resultDataName), res, null);
     }
 
+    /**
+     * Open the point counts pyramid of the source if it is up to date, or start its build in background.
+     * The tiles are computed from the points until the pyramid is available.
+     */
+    private void attachAggregate(final HeatMapResource res, final PointCloudResource pointCloud) throws ConstellationException, DataStoreException {
+        final String envelope = pointCloud.getEnvelope().map(Envelopes::toString).orElse("");
+        final String fingerprint;
+        final Path root;
+        try {
+            fingerprint = sourceState() + "|" + envelope + "|" + aggregateResolution;
+            root = ConfigDirectory.getDataIntegratedDirectory(getId(), true).resolve("heatmap-aggregate");
+            final PointGridPyramid pyramid = PointGridPyramid.open(root, fingerprint);
+            if (pyramid != null) {
+                res.setAggregate(pyramid);
+                replaceAggregate(root, pyramid);
+                return;
+            }
+        } catch (IOException ex) {
+            LOGGER.log(Level.WARNING, "Unable to open the point counts pyramid of the heatmap provider " + getId(), ex);
+            return;
+        }
+        cancelAggregateBuild();
+        aggregateBuild = AGGREGATE_EXECUTOR.submit(() -> {
+            try {
+                final PointGridPyramid pyramid = PointGridPyramid.build(pointCloud, root, aggregateResolution, fingerprint);
+                res.setAggregate(pyramid);
+                replaceAggregate(root, pyramid);
+                LOGGER.info("Point counts pyramid of the heatmap provider " + getId() + " built.");
+            } catch (CancellationException ex) {
+                LOGGER.fine("Build of the point counts pyramid of the heatmap provider " + getId() + " cancelled.");
+            } catch (Exception ex) {
+                LOGGER.log(Level.WARNING, "Unable to build the point counts pyramid of the heatmap provider " + getId(), ex);
+            }
+        });
+    }
+
+    /**
+     * Describe the state of the source data: its files with their size and modification date when the source
+     * is stored in files, so a modification of the files is detected, or its integration date otherwise.
+     */
+    private String sourceState() throws ConstellationException, DataStoreException, IOException {
+        final DataRepository repo = SpringHelper.getBean(DataRepository.class)
+                .orElseThrow(() -> new ConstellationException("No spring context available"));
+        final Data<?> data = getData(repo, dataIds[0]);
+        Optional<Resource.FileSet> fs = Optional.empty();
+        if (data.getOrigin() instanceof Resource r) {
+            fs = r.getFileSet();
+        }
+        final DataStore store = data.getStore();
+        if (fs.isEmpty() && store != null) {
+            fs = store.getFileSet();
+        }
+        final StringBuilder state = new StringBuilder().append(dataIds[0]);
+        if (fs.isPresent()) {
+            final List<Path> files = new ArrayList<>(fs.get().getPaths());
+            files.sort(null);
+            for (final Path file : files) {
+                final BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
+                state.append('|').append(file).append('|').append(attrs.size()).append('|').append(attrs.lastModifiedTime().toMillis());
+            }
+        } else {
+            final org.constellation.dto.Data source = repo.findById(dataIds[0]);
+            state.append('|').append(source.getDate() != null ? source.getDate().getTime() : 0);
+        }
+        return state.toString();
+    }
+
+    /**
+     * Keep the pyramid attached to the last computed resource. The files of the previous pyramid are deleted once
+     * it is released by the resources computed before, and the files left by a previous execution are deleted.
+     */
+    private synchronized void replaceAggregate(final Path root, final PointGridPyramid pyramid) {
+        final PointGridPyramid previous = currentAggregate;
+        currentAggregate = pyramid;
+        if (previous == null) {
+            try {
+                PointGridPyramid.deleteOthers(root, pyramid);
+            } catch (IOException ex) {
+                LOGGER.log(Level.FINE, "Unable to delete the previous point counts pyramids of the heatmap provider " + getId(), ex);
+            }
+        } else if (previous != pyramid && !previous.getFingerprint().equals(pyramid.getFingerprint())) {
+            previous.discard();
+        }
+    }
+
+    private void cancelAggregateBuild() {
+        final Future<?> build = aggregateBuild;
+        if (build != null) {
+            build.cancel(true);
+            aggregateBuild = null;
+        }
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void reload() {
+        cancelAggregateBuild();
+        super.reload();
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void dispose() {
+        cancelAggregateBuild();
+        super.dispose();
+    }
+
     private PointCloudResource dataToPointCloud() throws ConstellationException, DataStoreException {
 
         if (dataIds.length == 0) {
@@ -49,6 +49,9 @@ public class HeatMapCoverageProviderDescriptor extends ComputedResourceProviderD
     
     public static final ParameterDescriptor<Boolean> DIRECT_POINT;
 
+    public static final ParameterDescriptor<Boolean> AGGREGATE;
+    public static final ParameterDescriptor<Integer> AGGREGATE_RESOLUTION;
+
     public static final ParameterDescriptorGroup PARAMETERS_DESCRIPTOR;
 
     public static final ParameterDescriptor<Integer> DATA_IDS =
@@ -92,9 +95,19 @@ public class HeatMapCoverageProviderDescriptor extends ComputedResourceProviderD
         DIRECT_POINT = builder.addName("direct.point")
                 .setDescription("Set this flag to true if your featureset geometry is point only")
                 .create(Boolean.class, false);
+
+        AGGREGATE = builder.addName("aggregate")
+                .setDescription("Set this flag to true to pre-compute a pyramid of point counts, used instead of the points for the low resolution tiles.")
+                .setRequired(false)
+                .create(Boolean.class, false);
+
+        AGGREGATE_RESOLUTION = builder.addName("aggregate.resolution")
+                .setDescription("Number of cells along the largest dimension of the finest level of the point counts pyramid.")
+                .setRequired(false)
+                .createBounded(1, 65536, 4096);
         
         PARAMETERS_DESCRIPTOR = builder.addName(NAME)
-                .createGroup(IDENTIFIER, DATA_NAME, DATA_IDS, TILING_DIMENSION_X, TILING_DIMENSION_Y, DISTANCE_X, DISTANCE_Y, ALGORITHM, DIRECT_POINT);
+                .createGroup(IDENTIFIER, DATA_NAME, DATA_IDS, TILING_DIMENSION_X, TILING_DIMENSION_Y, DISTANCE_X, DISTANCE_Y, ALGORITHM, DIRECT_POINT, AGGREGATE, AGGREGATE_RESOLUTION);
     }
 
     @Override
@@ -76,6 +76,18 @@ public final class HeatMapImage extends ComputedImage {
      */
     private final boolean pixelOnly;
 
+    /**
+     * Pre-computed point counts used instead of the points for the low resolution tiles, or {@code null}.
+     */
+    private final PointGridPyramid aggregate;
+
+    HeatMapImage(final Dimension imageDimension, final Dimension tilingDimension, final PointCloudResource dataSource,
+                 final MathTransform dataCrsToGridCenter, final MathTransform gridCornerToDataCrs,
+                 final double distanceX, final double distanceY,
+                 Algorithm algorithm) {
+        this(imageDimension, tilingDimension, dataSource, null, dataCrsToGridCenter, gridCornerToDataCrs, distanceX, distanceY, algorithm);
+    }
+
     /**
      * HeatMapImage using input algorithm strategy from the input {@link PointCloudResource}.
      *
@@ -89,18 +101,20 @@ public final class HeatMapImage extends ComputedImage {
      * @param imageDimension  : not null, dimension in pixel of the computed image
      * @param tilingDimension : not null, the dimension to be used to define the tiles of the computed image.
      * @param dataSource      : points source to be used to compute the heatMap.
+     * @param aggregate       : point counts of the source to be used for the low resolution tiles, can be null.
      * @param distanceX       : distance on the 1st direction (x) to be used to compute the gaussian function. THe distance is in **pixels**
      * @param distanceY       : distance on the 2nd direction (y) to be used to compute the gaussian function The distance is in **pixels**
      * @param algorithm       : algorithm to use in order to define the influence of each data point in the heatMap
      */
     HeatMapImage(final Dimension imageDimension, final Dimension tilingDimension, final PointCloudResource dataSource,
-                 final MathTransform dataCrsToGridCenter, final MathTransform gridCornerToDataCrs,
+                 final PointGridPyramid aggregate, final MathTransform dataCrsToGridCenter, final MathTransform gridCornerToDataCrs,
                  final double distanceX, final double distanceY,
                  Algorithm algorithm) {
         super(new BandedSampleModel(DataBuffer.TYPE_DOUBLE, tilingDimension.width, tilingDimension.height, 1));
         this.tilingDimension = tilingDimension;
         this.imageDimension = imageDimension;
         this.dataSource = dataSource;
+        this.aggregate = aggregate;
 
         this.gridCornerToDataCRS = gridCornerToDataCrs;
         this.dataCRSToGridCenter = dataCrsToGridCenter;
@@ -143,65 +157,58 @@ public final class HeatMapImage extends ComputedImage {
             Logger.getLogger(Loggers.APPLICATION).log(Level.FINE, "Reuse of previous raster not implemented yet in HeatMapImage.class");
         }
 
-        if (pixelOnly) {
-            var data = new double[getTileWidth() * getTileHeight()];
-            var roi = Envelopes.transform(this.gridCornerToDataCRS, new Envelope2D(null, startXPixel, startYPixel, tilingDimension.width, tilingDimension.height));
-            roi.setCoordinateReferenceSystem(dataSource.getCoordinateReferenceSystem());
-            try (var stream = this.dataSource.batchPoints(roi, false, BATCH_SIZE)) {
-                stream.forEach(geoPts -> {
-                    final int nbValues = geoPts.length; //it is not necessary equals to BATCH_SIZE/2 for the last chunk
-                    if (nbValues < 2) return;
-
-                    var packedPts = new double[nbValues];
-                    try {
-                        dataCRSToGridCenter.transform(geoPts, 0, packedPts, 0, nbValues / 2);
-                    } catch (TransformException e) {
-                        throw new BackingStoreException("Cannot project data points in image space", e);
-                    }
-
-                    for (int i = 0; i < packedPts.length; i += 2) {
-                        final int x = Math.max((int) Math.floor(packedPts[i]), startXPixel);
-                        final int y = Math.max((int) Math.floor(packedPts[i + 1]), startYPixel);
-                        data[(y - startYPixel) * tilingDimension.width + (x - startXPixel)] += 1;
-                    }
-                });
-            }
-            final DataBufferDouble db = new DataBufferDouble(data, data.length);
-            return WritableRaster.createWritableRaster(getSampleModel(), db, new Point(startXPixel, startYPixel));
-
-
+        final Envelope2D tileGrid = new Envelope2D(null, startXPixel, startYPixel, tilingDimension.width, tilingDimension.height);
+        final Envelope2D imageGrid = pixelOnly ? tileGrid : new Envelope2D(null, startXPixel - distanceX, startYPixel - distanceY, tilingDimension.width + distanceX * 2, tilingDimension.height + distanceY * 2);
+        var roi = Envelopes.transform(this.gridCornerToDataCRS, imageGrid);
+        roi.setCoordinateReferenceSystem(dataSource.getCoordinateReferenceSystem());
+
+        var data = new double[getTileWidth() * getTileHeight()];
+        final PointGridPyramid.Level level = aggregate == null ? null
+                : aggregate.selectLevel(Envelopes.transform(this.gridCornerToDataCRS, tileGrid), tilingDimension.width, tilingDimension.height);
+        if (level != null) {
+            // low resolution tile: each cell of the aggregate is used as a weighted point
+            final PointGridPyramid.Cells cells = level.cells(roi);
+            writePoints(cells.centers(), cells.weights(), data, startXPixel, startYPixel);
         } else {
-            final Envelope2D imageGrid = new Envelope2D(null, startXPixel - distanceX, startYPixel - distanceY, tilingDimension.width + distanceX * 2, tilingDimension.height + distanceY * 2);
-            var roi = Envelopes.transform(this.gridCornerToDataCRS, imageGrid);
-            roi.setCoordinateReferenceSystem(dataSource.getCoordinateReferenceSystem());
+            try (final Stream<double[]> points = this.dataSource.batchPoints(roi, false, BATCH_SIZE)) {
+                points.forEach(geoPts -> writePoints(geoPts, null, data, startXPixel, startYPixel));
+            }
+        }
+        final DataBufferDouble db = new DataBufferDouble(data, data.length);
+        return WritableRaster.createWritableRaster(getSampleModel(), db, new Point(startXPixel, startYPixel));
+    }
 
+    /**
+     * Add the influence of a batch of points to the tile.
+     *
+     * @param geoPts  : densely packed points in the data CRS.
+     * @param weights : weight of each point, or null for a weight of 1.
+     */
+    private void writePoints(final double[] geoPts, final double[] weights, final double[] tileData, final int startXPixel, final int startYPixel) {
+        final int nbValues = geoPts.length; //it is not necessary equals to BATCH_SIZE/2 for the last chunk
+        if (nbValues < 2) return;
+
+        var packedPts = new double[nbValues];
+        try {
+            dataCRSToGridCenter.transform(geoPts, 0, packedPts, 0, nbValues / 2);
+        } catch (TransformException e) {
+            throw new BackingStoreException("Cannot project data points in image space", e);
+        }
 
-            try (final Stream<double[]> points = this.dataSource.batchPoints(roi, false, BATCH_SIZE)) {
-                var data = new double[getTileWidth() * getTileHeight()];
-                points.forEach(geoPts -> {
-                    final int nbValues = geoPts.length; //it is not necessary equals to BATCH_SIZE/2 for the last chunk
-                    if (nbValues < 2) return;
-
-                    var packedPts = new double[nbValues];
-                    try {
-                        dataCRSToGridCenter.transform(geoPts, 0, packedPts, 0, nbValues / 2);
-                    } catch (TransformException e) {
-                        throw new BackingStoreException("Cannot project data points in image space", e);
-                    }
-
-                    for (int i = 0; i < packedPts.length; i += 2) {
-                        writeGridPoint(packedPts[i], packedPts[i + 1], data, startXPixel, startYPixel);
-                    }
-                });
-
-                final DataBufferDouble db = new DataBufferDouble(data, data.length);
-                return WritableRaster.createWritableRaster(getSampleModel(), db, new Point(startXPixel, startYPixel));
+        for (int i = 0; i < packedPts.length; i += 2) {
+            final double weight = weights == null ? 1 : weights[i >> 1];
+            if (pixelOnly) {
+                final int x = Math.min(Math.max((int) Math.floor(packedPts[i]), startXPixel), startXPixel + tilingDimension.width - 1);
+                final int y = Math.min(Math.max((int) Math.floor(packedPts[i + 1]), startYPixel), startYPixel + tilingDimension.height - 1);
+                tileData[(y - startYPixel) * tilingDimension.width + (x - startXPixel)] += weight;
+            } else {
+                writeGridPoint(packedPts[i], packedPts[i + 1], weight, tileData, startXPixel, startYPixel);
             }
         }
     }
 
 
-    private void writeGridPoint(double x, double y, double[] tileData, final int tileMinX, final int tileMinY) {
+    private void writeGridPoint(double x, double y, double weight, double[] tileData, final int tileMinX, final int tileMinY) {
 
         final double minXInfluence = x - distanceX, minYInfluence = y - distanceY;
 
@@ -216,7 +223,7 @@ public final class HeatMapImage extends ComputedImage {
 
         for (int j = inclusiveStartY; j < exclusiveEndY; j++) {
             for (int i = inclusiveStartX; i < exclusiveEndX; i++) {
-                tileData[(j - tileMinY) * tilingDimension.width + (i - tileMinX)] += a * op.apply(i - x, j - y);
+                tileData[(j - tileMinY) * tilingDimension.width + (i - tileMinX)] += a * weight * op.apply(i - x, j - y);
             }
         }
     }
@@ -74,6 +74,11 @@ public class HeatMapResource implements GridCoverageResource {
 
     private final Cache<CoordinateReferenceSystem, ComputationParameters> parameterCache = new Cache<>(2,5, true);
 
+    /**
+     * Pre-computed point counts of the source, used for the low resolution tiles. {@code null} until available.
+     */
+    private volatile PointGridPyramid aggregate;
+
     /**
      *
      *
@@ -114,6 +119,15 @@ public class HeatMapResource implements GridCoverageResource {
 
     }
 
+    /**
+     * Set the pre-computed point counts of the source, to be used by the next computed coverages.
+     *
+     * @param aggregate point counts built from the source of this resource, or {@code null} to use only the points.
+     */
+    public void setAggregate(final PointGridPyramid aggregate) {
+        this.aggregate = aggregate;
+    }
+
     @Override
     public GridGeometry getGridGeometry() {
         return defaultGridGeometry;
@@ -180,7 +194,7 @@ public class HeatMapResource implements GridCoverageResource {
             final HeatMapImage image;
 
             if (pixelOnly) {
-                image = new HeatMapImage(imageDim, tilingDimension == null ? imageDim : tilingDimension, pointCloudSource, pointCrsToGridCenter, gridCornerToPointCRS, 0, 0, algorithm);
+                image = new HeatMapImage(imageDim, tilingDimension == null ? imageDim : tilingDimension, pointCloudSource, aggregate, pointCrsToGridCenter, gridCornerToPointCRS, 0, 0, algorithm);
             } else {
                 final double distancePixelX, distancePixelY;
                 {
@@ -209,7 +223,7 @@ public class HeatMapResource implements GridCoverageResource {
 
                     }
                 }
-                image = new HeatMapImage(imageDim, tilingDimension == null ? imageDim : tilingDimension, pointCloudSource, pointCrsToGridCenter, gridCornerToPointCRS, Math.max(distancePixelX, 1), Math.max(distancePixelY, 1), algorithm);
+                image = new HeatMapImage(imageDim, tilingDimension == null ? imageDim : tilingDimension, pointCloudSource, aggregate, pointCrsToGridCenter, gridCornerToPointCRS, Math.max(distancePixelX, 1), Math.max(distancePixelY, 1), algorithm);
             }
 
             return new GridCoverage2D(domain, getSampleDimensions(), image);
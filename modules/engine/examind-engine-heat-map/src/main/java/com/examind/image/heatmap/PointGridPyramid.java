@@ -0,0 +1,508 @@
+/*
+ *    Examind community - An open source and standard compliant SDI
+ *    https://community.examind.com/
+ *
+ * Copyright 2026 Geomatys.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.examind.image.heatmap;
+
+import com.examind.image.pointcloud.PointCloudResource;
+import org.apache.sis.storage.DataStoreException;
+import org.opengis.geometry.Envelope;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.ref.Cleaner;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * A multi-resolution grid of the number of points of a {@link PointCloudResource}, used to render the low zoom levels
+ * of a heat map without reading all the points.
+ * <p>
+ * The grid covers the envelope of the point cloud, in its CRS. The finest level has the requested resolution along
+ * the longest axis, and each coarser level halves the resolution of the previous one. The counts are stored in
+ * memory-mapped files, one per level, so the grid is kept out of the Java heap and reused after a restart.
+ * A header file, written last, describes the grid and the state of the source it has been computed from
+ * (see {@link #getFingerprint()}).
+ * </p><p>
+ * Each grid is stored in its own sub-directory of a root directory, named after the fingerprint. A grid is built
+ * in a temporary directory which is renamed once complete, so the files of a grid in use are never modified.
+ * The files of a grid replaced by a new one are deleted by {@link #discard()} once the grid is no longer used.
+ * </p>
+ */
+public final class PointGridPyramid {
+
+    private static final Logger LOGGER = Logger.getLogger("com.examind.image.heatmap");
+
+    private static final String HEADER_FILE = "pyramid.header";
+
+    /**
+     * Deletes the files of the discarded grids once they are unreachable, so their files are not mapped anymore.
+     */
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    private static final int FORMAT_VERSION = 1;
+
+    /**
+     * Number of coordinates read at once while building the grid.
+     */
+    private static final int BUILD_BATCH_SIZE = 2_000_000;
+
+    /**
+     * Minimal number of cells by pixel along each axis for a level to be used instead of the points.
+     * The aggregated points are the cell centers, so the position error stays below a quarter of pixel.
+     */
+    private static final int CELLS_BY_PIXEL = 4;
+
+    private final String fingerprint;
+
+    /**
+     * Levels from the finest to the coarsest.
+     */
+    private final Level[] levels;
+
+    /**
+     * Deletion of the grid files, enabled by {@link #discard()}.
+     */
+    private final Release release;
+
+    private PointGridPyramid(final String fingerprint, final Level[] levels, final Path directory) {
+        this.fingerprint = fingerprint;
+        this.levels      = levels;
+        this.release     = new Release(directory);
+        CLEANER.register(this, release);
+    }
+
+    /**
+     * @return The description of the source state given when the grid was built.
+     */
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * @return The number of levels, including the finest one.
+     */
+    public int getLevelCount() {
+        return levels.length;
+    }
+
+    /**
+     * @param index Index of the level, 0 being the finest.
+     */
+    Level getLevel(final int index) {
+        return levels[index];
+    }
+
+    /**
+     * Mark this grid as replaced: its files are deleted once this grid is no longer used.
+     */
+    public void discard() {
+        release.discarded = true;
+    }
+
+    /**
+     * Delete the files of the other grids of the root directory (previous builds, interrupted builds).
+     *
+     * @param root Root directory of the grids.
+     * @param inUse Grids whose files must be kept, {@code null} elements being ignored.
+     */
+    public static void deleteOthers(final Path root, final PointGridPyramid... inUse) throws IOException {
+        if (!Files.isDirectory(root)) {
+            return;
+        }
+        final Set<Path> kept = Arrays.stream(inUse).filter(p -> p != null)
+                .map(p -> p.release.directory).collect(Collectors.toSet());
+        try (Stream<Path> files = Files.list(root)) {
+            for (final Path file : (Iterable<Path>) files::iterator) {
+                if (!kept.contains(file)) {
+                    delete(file);
+                }
+            }
+        }
+    }
+
+    /**
+     * Open a grid previously built in the specified root directory.
+     *
+     * @param root Root directory of the grids.
+     * @param fingerprint Description of the current state of the source.
+     * @return The grid, or {@code null} if no complete grid has been built from this state of the source.
+     */
+    public static PointGridPyramid open(final Path root, final String fingerprint) throws IOException {
+        final Path directory = root.resolve(directoryName(fingerprint));
+        final Path header = directory.resolve(HEADER_FILE);
+        if (!Files.isRegularFile(header)) {
+            return null;
+        }
+        final double minX, minY, cellWidth, cellHeight;
+        final int width, height, nbLevels;
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(header))) {
+            if (in.readInt() != FORMAT_VERSION || !in.readUTF().equals(fingerprint)) {
+                return null;
+            }
+            minX       = in.readDouble();
+            minY       = in.readDouble();
+            cellWidth  = in.readDouble();
+            cellHeight = in.readDouble();
+            width      = in.readInt();
+            height     = in.readInt();
+            nbLevels   = in.readInt();
+        }
+        final Level[] levels = new Level[nbLevels];
+        int w = width, h = height;
+        double cw = cellWidth, ch = cellHeight;
+        for (int i = 0; i < nbLevels; i++) {
+            final Path file = levelFile(directory, i);
+            final long size = (long) w * h * Integer.BYTES;
+            if (!Files.isRegularFile(file) || Files.size(file) != size) {
+                return null;
+            }
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                levels[i] = new Level(w, h, minX, minY, cw, ch, channel.map(FileChannel.MapMode.READ_ONLY, 0, size).asIntBuffer());
+            }
+            w = Math.ceilDiv(w, 2);
+            h = Math.ceilDiv(h, 2);
+            cw *= 2;
+            ch *= 2;
+        }
+        return new PointGridPyramid(fingerprint, levels, directory);
+    }
+
+    /**
+     * Count the points of the source and write the grid in a new sub-directory of the specified root directory.
+     * The grids built from other states of the source are not modified.
+     * This method reads all the points of the source, it should be called in background.
+     * It stops with a {@link CancellationException} if the current thread is interrupted.
+     *
+     * @param source The point cloud to aggregate.
+     * @param root Root directory of the grids, created if needed.
+     * @param resolution Number of cells of the finest level along the longest axis of the source envelope.
+     * @param fingerprint Description of the current state of the source, used to detect a modification of the source.
+     */
+    public static PointGridPyramid build(final PointCloudResource source, final Path root, final int resolution,
+                                         final String fingerprint) throws DataStoreException, IOException {
+        final Envelope envelope = source.getEnvelope()
+                .orElseThrow(() -> new DataStoreException("Failed to retrieve Envelope from PointCloud"));
+        final double spanX = envelope.getSpan(0);
+        final double spanY = envelope.getSpan(1);
+        final int width, height;
+        if (spanX >= spanY) {
+            width  = resolution;
+            height = spanX > 0 ? Math.max(1, (int) Math.ceil(resolution * spanY / spanX)) : 1;
+        } else {
+            height = resolution;
+            width  = Math.max(1, (int) Math.ceil(resolution * spanX / spanY));
+        }
+        if ((long) width * height * Integer.BYTES > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Aggregation resolution too high: " + resolution);
+        }
+        final double cellWidth  = spanX / width;
+        final double cellHeight = spanY / height;
+
+        final String name = directoryName(fingerprint);
+        final Path building = Files.createDirectories(root.resolve(name + '-' + UUID.randomUUID() + ".tmp"));
+        try {
+            write(source, building, envelope, width, height, cellWidth, cellHeight, fingerprint);
+            // an incomplete grid of the same state (no readable header), not used
+            final Path directory = root.resolve(name);
+            delete(directory);
+            Files.move(building, directory, StandardCopyOption.ATOMIC_MOVE);
+        } catch (Throwable ex) {
+            try {
+                delete(building);
+            } catch (IOException | UncheckedIOException e) {
+                ex.addSuppressed(e);
+            }
+            throw ex;
+        }
+        // the files are mapped again from their final location
+        final PointGridPyramid pyramid = open(root, fingerprint);
+        if (pyramid == null) {
+            throw new IOException("Unable to open the point counts grid built in " + root);
+        }
+        return pyramid;
+    }
+
+    /**
+     * Write the grid files in the specified directory.
+     */
+    private static void write(final PointCloudResource source, final Path directory, final Envelope envelope,
+                                 final int width, final int height, final double cellWidth, final double cellHeight,
+                                 final String fingerprint) throws DataStoreException, IOException {
+        final double minX = envelope.getMinimum(0);
+        final double minY = envelope.getMinimum(1);
+        final List<Level> levels = new ArrayList<>();
+        final MappedByteBuffer finest = map(levelFile(directory, 0), (long) width * height * Integer.BYTES);
+        final IntBuffer counts = finest.asIntBuffer();
+        try (Stream<double[]> batches = source.batchPoints(envelope, false, BUILD_BATCH_SIZE)) {
+            batches.forEach(points -> {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new CancellationException("Aggregation of the points interrupted");
+                }
+                for (int i = 0; i + 1 < points.length; i += 2) {
+                    final int x = cellIndex(points[i],     minX, cellWidth,  width);
+                    final int y = cellIndex(points[i + 1], minY, cellHeight, height);
+                    if (x >= 0 && y >= 0) {
+                        final int index = y * width + x;
+                        final int count = counts.get(index);
+                        if (count != Integer.MAX_VALUE) {
+                            counts.put(index, count + 1);
+                        }
+                    }
+                }
+            });
+        }
+        finest.force();
+        levels.add(new Level(width, height, minX, minY, cellWidth, cellHeight, counts.asReadOnlyBuffer()));
+
+        // the coarser levels are computed from the previous one
+        Level previous = levels.get(0);
+        while (previous.width > 1 || previous.height > 1) {
+            final int w = Math.ceilDiv(previous.width, 2);
+            final int h = Math.ceilDiv(previous.height, 2);
+            final MappedByteBuffer buffer = map(levelFile(directory, levels.size()), (long) w * h * Integer.BYTES);
+            final IntBuffer sums = buffer.asIntBuffer();
+            for (int y = 0; y < previous.height; y++) {
+                for (int x = 0; x < previous.width; x++) {
+                    final int count = previous.counts.get(y * previous.width + x);
+                    if (count != 0) {
+                        final int index = (y >> 1) * w + (x >> 1);
+                        sums.put(index, (int) Math.min(Integer.MAX_VALUE, (long) sums.get(index) + count));
+                    }
+                }
+            }
+            buffer.force();
+            previous = new Level(w, h, minX, minY, previous.cellWidth * 2, previous.cellHeight * 2, sums.asReadOnlyBuffer());
+            levels.add(previous);
+        }
+
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(directory.resolve(HEADER_FILE)))) {
+            out.writeInt(FORMAT_VERSION);
+            out.writeUTF(fingerprint);
+            out.writeDouble(minX);
+            out.writeDouble(minY);
+            out.writeDouble(cellWidth);
+            out.writeDouble(cellHeight);
+            out.writeInt(width);
+            out.writeInt(height);
+            out.writeInt(levels.size());
+        }
+    }
+
+    /**
+     * Return the coarsest level precise enough to replace the points of the specified tile,
+     * or {@code null} if the points must be read.
+     *
+     * @param tileEnvelope Envelope of the tile in the CRS of the points.
+     * @param tileWidth Width of the tile in pixels.
+     * @param tileHeight Height of the tile in pixels.
+     */
+    Level selectLevel(final Envelope tileEnvelope, final int tileWidth, final int tileHeight) {
+        final double maxCellWidth  = tileEnvelope.getSpan(0) / tileWidth  / CELLS_BY_PIXEL;
+        final double maxCellHeight = tileEnvelope.getSpan(1) / tileHeight / CELLS_BY_PIXEL;
+        for (int i = levels.length - 1; i >= 0; i--) {
+            final Level level = levels[i];
+            if (level.cellWidth <= maxCellWidth && level.cellHeight <= maxCellHeight) {
+                return level;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Return the index of the cell containing the specified coordinate, or -1 if it is outside the grid.
+     * The coordinates on the upper bound of the grid belong to the last cell.
+     */
+    private static int cellIndex(final double value, final double min, final double cellSize, final int size) {
+        if (!(cellSize > 0)) {
+            return value == min ? 0 : -1;
+        }
+        final double index = Math.floor((value - min) / cellSize);
+        if (index < 0 || index > size) {
+            return -1;
+        }
+        return Math.min((int) index, size - 1);
+    }
+
+    /**
+     * Return the name of the directory of the grid built from the specified state of the source.
+     */
+    private static String directoryName(final String fingerprint) {
+        try {
+            final byte[] digest = MessageDigest.getInstance("SHA-256").digest(fingerprint.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException ex) {
+            // should never happen, SHA-256 is mandatory for all java platforms.
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Delete a file or a directory with its content, if it exists.
+     */
+    private static void delete(final Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(file)) {
+            for (final Path f : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.deleteIfExists(f);
+            }
+        }
+    }
+
+    private static Path levelFile(final Path directory, final int level) {
+        return directory.resolve("level-" + level + ".bin");
+    }
+
+    private static MappedByteBuffer map(final Path file, final long size) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                                                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+    }
+
+    /**
+     * Deletion of the files of a discarded grid, run when the grid is unreachable.
+     * This object must not reference the grid.
+     */
+    private static final class Release implements Runnable {
+
+        private final Path directory;
+
+        private volatile boolean discarded;
+
+        private Release(final Path directory) {
+            this.directory = directory;
+        }
+
+        @Override
+        public void run() {
+            if (discarded) {
+                try {
+                    delete(directory);
+                } catch (IOException | UncheckedIOException ex) {
+                    // the files will be deleted by the next build
+                    LOGGER.log(java.util.logging.Level.FINE, "Unable to delete the point counts grid " + directory, ex);
+                }
+            }
+        }
+    }
+
+    /**
+     * A level of the grid: the number of points in each cell, row by row from the minimal coordinates.
+     */
+    static final class Level {
+
+        final int width, height;
+
+        final double minX, minY;
+
+        final double cellWidth, cellHeight;
+
+        private final IntBuffer counts;
+
+        private Level(final int width, final int height, final double minX, final double minY,
+                      final double cellWidth, final double cellHeight, final IntBuffer counts) {
+            this.width      = width;
+            this.height     = height;
+            this.minX       = minX;
+            this.minY       = minY;
+            this.cellWidth  = cellWidth;
+            this.cellHeight = cellHeight;
+            this.counts     = counts;
+        }
+
+        /**
+         * Return the number of points of a cell.
+         */
+        int count(final int x, final int y) {
+            return counts.get(y * width + x);
+        }
+
+        /**
+         * Return the non-empty cells whose center is inside the specified envelope.
+         *
+         * @param roi Envelope in the CRS of the points.
+         * @return The cell centers, as interleaved coordinates, and the number of points of each cell.
+         */
+        Cells cells(final Envelope roi) {
+            final double roiMinX = roi.getMinimum(0), roiMaxX = roi.getMaximum(0);
+            final double roiMinY = roi.getMinimum(1), roiMaxY = roi.getMaximum(1);
+            // a grid of null span on one axis (points aligned) has a single cell on this axis
+            final int x0 = cellWidth  > 0 ? Math.max(0,      (int) Math.floor((roiMinX - minX) / cellWidth))  : 0;
+            final int x1 = cellWidth  > 0 ? Math.min(width,  (int) Math.ceil ((roiMaxX - minX) / cellWidth))  : width;
+            final int y0 = cellHeight > 0 ? Math.max(0,      (int) Math.floor((roiMinY - minY) / cellHeight)) : 0;
+            final int y1 = cellHeight > 0 ? Math.min(height, (int) Math.ceil ((roiMaxY - minY) / cellHeight)) : height;
+            int n = 0;
+            for (int y = y0; y < y1; y++) {
+                for (int x = x0; x < x1; x++) {
+                    if (counts.get(y * width + x) != 0) n++;
+                }
+            }
+            final double[] centers = new double[n * 2];
+            final double[] weights = new double[n];
+            n = 0;
+            for (int y = y0; y < y1; y++) {
+                final double cy = minY + (y + 0.5) * cellHeight;
+                if (cy < roiMinY || cy >= roiMaxY) continue;
+                for (int x = x0; x < x1; x++) {
+                    final int count = counts.get(y * width + x);
+                    if (count == 0) continue;
+                    final double cx = minX + (x + 0.5) * cellWidth;
+                    if (cx < roiMinX || cx >= roiMaxX) continue;
+                    centers[n * 2]     = cx;
+                    centers[n * 2 + 1] = cy;
+                    weights[n++]       = count;
+                }
+            }
+            if (n * 2 < centers.length) {
+                return new Cells(Arrays.copyOf(centers, n * 2), Arrays.copyOf(weights, n));
+            }
+            return new Cells(centers, weights);
+        }
+    }
+
+    /**
+     * Aggregated points of a region.
+     *
+     * @param centers Densely packed cell centers ([x1, y1, x2, y2, ...xn, yn]).
+     * @param weights Number of points of each cell.
+     */
+    record Cells(double[] centers, double[] weights) {}
+}
@@ -0,0 +1,105 @@
+/*
+ *    Examind community - An open source and standard compliant SDI
+ *    https://community.examind.com/
+ *
+ * Copyright 2026 Geomatys.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.examind.image.heatmap;
+
+import com.examind.image.pointcloud.FeatureSetAsPointsCloud;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.stream.Stream;
+import org.apache.sis.geometry.DirectPosition2D;
+import org.apache.sis.geometry.Envelope2D;
+import org.apache.sis.referencing.CommonCRS;
+import org.junit.Assert;
+import org.junit.Test;
+
+import static com.examind.image.heatmap.FeatureSetAsPointsCloudTest.createTestFeatureSet;
+
+public final class PointGridPyramidTest {
+
+    /**
+     * Build a pyramid from the test sample of {@link FeatureSetAsPointsCloudTest#createTestFeatureSet()}
+     * and verify that all the points are counted at each level.
+     */
+    @Test
+    public void buildAndOpenTest() throws Exception {
+        final FeatureSetAsPointsCloud pointCloud = new FeatureSetAsPointsCloud(createTestFeatureSet(), false);
+        final Path directory = Files.createTempDirectory("heatmap-aggregate");
+
+        final PointGridPyramid built = PointGridPyramid.build(pointCloud, directory, 64, "v1");
+        Assert.assertEquals("v1", built.getFingerprint());
+        Assert.assertTrue(built.getLevelCount() > 1);
+        for (int i = 0; i < built.getLevelCount(); i++) {
+            Assert.assertEquals(30, total(built.getLevel(i)));
+        }
+        final PointGridPyramid.Level coarsest = built.getLevel(built.getLevelCount() - 1);
+        Assert.assertEquals(1, coarsest.width);
+        Assert.assertEquals(1, coarsest.height);
+
+        // all the cells of the envelope of the points
+        final Envelope2D env = new Envelope2D(
+                new DirectPosition2D(CommonCRS.defaultGeographic(), 3, 43),
+                new DirectPosition2D(CommonCRS.defaultGeographic(), 5, 45));
+        final PointGridPyramid.Cells cells = built.getLevel(0).cells(env);
+        Assert.assertEquals(30, Arrays.stream(cells.weights()).sum(), 0);
+        Assert.assertEquals(cells.weights().length * 2, cells.centers().length);
+
+        final PointGridPyramid opened = PointGridPyramid.open(directory, "v1");
+        Assert.assertNotNull(opened);
+        Assert.assertEquals(built.getLevelCount(), opened.getLevelCount());
+        Assert.assertEquals(30, total(opened.getLevel(0)));
+
+        // the source has changed since the build
+        Assert.assertNull(PointGridPyramid.open(directory, "v2"));
+    }
+
+    /**
+     * Verify that a new build does not modify the files of the grid in use,
+     * and that the files of the other grids are deleted on request.
+     */
+    @Test
+    public void rebuildTest() throws Exception {
+        final FeatureSetAsPointsCloud pointCloud = new FeatureSetAsPointsCloud(createTestFeatureSet(), false);
+        final Path root = Files.createTempDirectory("heatmap-aggregate");
+
+        final PointGridPyramid v1 = PointGridPyramid.build(pointCloud, root, 64, "v1");
+        final PointGridPyramid v2 = PointGridPyramid.build(pointCloud, root, 16, "v2");
+        Assert.assertEquals(30, total(v1.getLevel(0)));
+        Assert.assertEquals(30, total(v2.getLevel(0)));
+        Assert.assertNotEquals(v1.getLevel(0).width, v2.getLevel(0).width);
+        try (Stream<Path> files = Files.list(root)) {
+            Assert.assertEquals(2, files.count());
+        }
+        Assert.assertNotNull(PointGridPyramid.open(root, "v1"));
+
+        PointGridPyramid.deleteOthers(root, v2);
+        Assert.assertNull(PointGridPyramid.open(root, "v1"));
+        Assert.assertNotNull(PointGridPyramid.open(root, "v2"));
+    }
+
+    private static long total(final PointGridPyramid.Level level) {
+        long total = 0;
+        for (int y = 0; y < level.height; y++) {
+            for (int x = 0; x < level.width; x++) {
+                total += level.count(x, y);
+            }
+        }
+        return total;
+    }
+}
@@ -20,6 +20,11 @@ public class ClusterMessageConstant {
 
     public static final String SRV_VALUE_ACTION_START = "start";
     public static final String SRV_VALUE_ACTION_STOP = "stop";
+    /**
+     * Restart the service: stop then start it, or build a new worker and swap it with the running one
+     * if this one supports a hot restart.
+     */
+    public static final String SRV_VALUE_ACTION_RESTART = "restart";
     public static final String SRV_VALUE_ACTION_REFRESH = "refresh";
     public static final String SRV_VALUE_ACTION_STATUS = "status";
     public static final String SRV_VALUE_ACTION_CLEAR_CACHE = "clearCache";
@@ -34,4 +39,29 @@ public class ClusterMessageConstant {
      */
     public static final String PRV_VALUE_ACTION_UPDATED = "updated";
 
+    public static final String STY_MESSAGE_TYPE_ID = "style";
+
+    /**
+     * Send by the style business when a style is modified or deleted, to clear the decoded styles caches.
+     * The identifier is absent when all the styles are concerned.
+     */
+    public static final String STY_VALUE_ACTION_INVALIDATE = "invalidate";
+
+    public static final String USR_MESSAGE_TYPE_ID = "user";
+
+    /**
+     * Send by the user business when a user or its roles are modified, to clear the authentication caches.
+     */
+    public static final String USR_VALUE_ACTION_INVALIDATE = "invalidate";
+
+    public static final String FTC_MESSAGE_TYPE_ID = "featureCount";
+
+    public static final String FTC_KEY_LAYERS = "layers";
+
+    /**
+     * Send by a WFS worker after a transaction, to remove the cached feature counts of the modified layers
+     * on the other members of the cluster. The identifier is the service one.
+     */
+    public static final String FTC_VALUE_ACTION_INVALIDATE = "invalidate";
+
 }
@@ -112,6 +112,7 @@ public interface IStyleBusiness {
 
     /**
      * Gets and returns the {@link org.apache.sis.style.Style} that matches with the specified id.
+     * The decoded styles are cached: the returned instance is shared and must not be modified.
      *
      * @param styleId style entity id.
      * @return the {@link org.apache.sis.style.Style} instance
@@ -319,4 +320,12 @@ public interface IStyleBusiness {
      */
     void addExtraInfoForStyleAndLayer(final Integer styleId, final Integer layerId, final String extraInfo) throws TargetNotFoundException;
 
+    /**
+     * Return the counters of the cache of the styles returned by {@link #getStyle(int)}:
+     * hits, misses, hit rate (in percent), evictions, invalidations and decoding time.
+     *
+     * @return The current value of the cache counters.
+     */
+    Map<String, Long> getStyleCacheStatistics();
+
 }
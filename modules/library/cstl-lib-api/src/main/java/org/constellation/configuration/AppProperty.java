@@ -259,11 +259,57 @@ public enum AppProperty {
 
     EXA_WPS_AUTHENTICATED_URLS("exa.wps.authenticated.urls", true, List.class),
 
+    /**
+     * Maximum number of WPS jobs running at the same time (default: number of processors).
+     */
+    EXA_WPS_JOB_MAX_RUNNING("examind.wps.job.max.running", false, Integer.class),
+
+    /**
+     * Maximum number of WPS jobs running at the same time for a user (default: no limit).
+     */
+    EXA_WPS_JOB_MAX_RUNNING_USER("examind.wps.job.max.running.user", false, Integer.class),
+
+    /**
+     * Maximum number of WPS jobs running at the same time for a process (default: no limit).
+     */
+    EXA_WPS_JOB_MAX_RUNNING_PROCESS("examind.wps.job.max.running.process", false, Integer.class),
+
+    /**
+     * Maximum number of WPS jobs waiting for execution, the next jobs are rejected (default: 100).
+     */
+    EXA_WPS_JOB_MAX_QUEUED("examind.wps.job.max.queued", false, Integer.class),
+
+    /**
+     * Number of WPS job slots reserved to the synchronous executions, for which a client is waiting (default: 1).
+     * At least one slot stays available for the asynchronous jobs.
+     */
+    EXA_WPS_JOB_RESERVED_SYNC("examind.wps.job.reserved.sync", false, Integer.class),
+
+    /**
+     * Maximum size in megabytes of the parsed metadata records kept in memory by the CSW readers (default: 64, 0 to disable).
+     */
+    EXA_METADATA_NODE_CACHE_SIZE("examind.metadata.node.cache.size", false, Integer.class),
+
+    /**
+     * Maximum number of decoded styles kept in memory (default: 256, 0 to disable).
+     */
+    EXA_STYLE_CACHE_SIZE("examind.style.cache.size", false, Integer.class),
+
     EXA_ALLOWED_FS_PATH("exa.allowed.fs.path", false, List.class),
 
     EXA_ENABLE_BASIC_AUTH("examind.enable.basic.auth", false, Boolean.class),
     EXA_ENABLE_PARAM_TOKEN("examind.enable.param.token", false, Boolean.class),
 
+    /**
+     * Time to live in seconds of the verified credentials and user details kept by the authentication filter (default: 60, 0 to disable).
+     */
+    EXA_AUTH_CACHE_TTL("examind.auth.cache.ttl", false, Integer.class),
+
+    /**
+     * Maximum number of verified credentials and of user details kept by the authentication filter (default: 1000).
+     */
+    EXA_AUTH_CACHE_SIZE("examind.auth.cache.size", false, Integer.class),
+
     EXA_SERVICE_WARMUP("examind.service.warmup", false, Boolean.class),
 
     EXA_GLOBAL_USER_PERMIT("examind.global.user.permit", false, String.class),
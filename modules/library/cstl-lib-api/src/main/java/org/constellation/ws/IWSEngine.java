@@ -68,6 +68,8 @@ public interface IWSEngine {
 
     /**
      * Add a new Worker instance to the registered worker pool.
+     * If a worker is already registered for this identifier, it is destroyed before the registration of the new one,
+     * unless it {@linkplain Worker#supportsHotRestart() supports a hot restart}: it is then replaced atomically then destroyed.
      *
      * @param specification The OGC service type (WMS, CSW, WFS, ...).
      * @param serviceID The identifier of the new {@link Worker}.
@@ -84,6 +86,7 @@ public interface IWSEngine {
 
     /**
      * Return the service instance identifier for the specified service type.
+     * The returned set is an unmodifiable snapshot.
      *
      * @param specification A service type (CSW, SOS, WMS, ...).
 
@@ -111,6 +114,7 @@ public interface IWSEngine {
 
     /**
      * Return a map of the service instances workers for the specified service type.
+     * The returned map is an unmodifiable snapshot.
      *
      * @param specification A service type (CSW, SOS, WMS, ...).
 
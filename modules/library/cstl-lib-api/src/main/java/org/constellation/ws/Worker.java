@@ -36,6 +36,17 @@ public interface Worker {
      */
     void destroy();
 
+    /**
+     * Return {@code true} if a new worker can be built for the same service instance while this one is still
+     * running, so the service can be restarted without interruption. A worker releasing shared resources in
+     * {@link #destroy()} (metadata stores, indexes, ...) must be stopped before its replacement is built.
+     *
+     * @return {@code true} if this worker can be replaced by a worker built while it is running.
+     */
+    default boolean supportsHotRestart() {
+        return false;
+    }
+
     /**
      * Initialize the serviceUrl of the service.
      */
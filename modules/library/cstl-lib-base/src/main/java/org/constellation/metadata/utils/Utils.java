@@ -45,6 +45,7 @@ import org.apache.sis.util.Classes;
 import org.apache.sis.util.SimpleInternationalString;
 import org.apache.sis.xml.IdentifierSpace;
 
+import org.constellation.util.MetadataPath;
 import org.constellation.util.NodeUtilities;
 import org.constellation.util.ReflectionUtilities;
 import org.constellation.util.Util;
@@ -589,43 +590,15 @@ public final class Utils {
 
         if (paths != null) {
             for (String fullPathID : paths) {
-               if (!ReflectionUtilities.pathMatchObjectType(metadata, fullPathID)) {
-                   continue;
-               }
-                String pathID;
-                String conditionalAttribute = null;
-                String conditionalValue     = null;
-
-                // if the path ID contains a # we have a conditional value (codeList element) next to the searched value.
-                final int separator = fullPathID.indexOf('#');
-                if (separator != -1) {
-                    pathID               = fullPathID.substring(0, separator);
-                    conditionalAttribute = fullPathID.substring(separator + 1, fullPathID.indexOf('='));
-                    conditionalValue     = fullPathID.substring(fullPathID.indexOf('=') + 1);
-                    int nextSeparator    = conditionalValue.indexOf(':');
-                    if (nextSeparator == -1) {
-                        throw new IllegalArgumentException("A conditionnal path must be in the form ....:attribute#attibuteconditional=value:otherattribute");
-                    } else {
-                        pathID = pathID + conditionalValue.substring(nextSeparator);
-                        conditionalValue = conditionalValue.substring(0, nextSeparator);
-                    }
-                    LOGGER.finer("pathID              : " + pathID               + '\n' +
-                                 "conditionalAttribute: " + conditionalAttribute + '\n' +
-                                 "conditionalValue    : " + conditionalValue);
-
-                } else {
-                    pathID = fullPathID;
+                final MetadataPath path = MetadataPath.compile(fullPathID);
+                if (!path.matchObjectType(metadata)) {
+                    continue;
                 }
-
-                if (conditionalAttribute == null) {
-                    final Object brutValue   = ReflectionUtilities.getValuesFromPath(pathID, metadata);
-                    final List<Object> value = getStringValue(brutValue);
-                    if (value != null && !value.isEmpty() && !value.equals(Arrays.asList(NULL_VALUE))) {
-                        response.addAll(value);
-                    }
-                } else {
-                    final Object brutValue   = ReflectionUtilities.getConditionalValuesFromPath(pathID, conditionalAttribute, conditionalValue, metadata);
-                    final List<Object> value = getStringValue(brutValue);
+                final Object brutValue   = path.getValues(metadata);
+                final List<Object> value = getStringValue(brutValue);
+                if (path.isConditional()) {
+                    response.addAll(value);
+                } else if (!value.isEmpty() && !value.equals(Arrays.asList(NULL_VALUE))) {
                     response.addAll(value);
                 }
             }
@@ -0,0 +1,331 @@
+/*
+ *    Examind Community - An open source and standard compliant SDI
+ *    https://community.examind.com/
+ *
+ * Copyright 2026 Geomatys.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.constellation.util;
+
+import jakarta.xml.bind.JAXBElement;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+import org.apache.sis.metadata.iso.ISOMetadata;
+import org.apache.sis.xml.IdentifierSpace;
+
+/**
+ * A compiled MDWeb path (Standard:Type:attribute1:attribute2 with an optional condition
+ * attribute1#condAttribute=value:attribute2) used to extract values from a metadata object.
+ * <p>
+ * The path is parsed once, and each attribute getter is resolved once by metadata class
+ * into a {@link MethodHandle}, then reused for all the following metadata.
+ * The extracted values are the same as the ones returned by
+ * {@link ReflectionUtilities#getValuesFromPath(String, Object)} and
+ * {@link ReflectionUtilities#getConditionalValuesFromPath(String, String, String, Object)}.
+ * </p>
+ * This class is thread-safe.
+ */
+public final class MetadataPath {
+
+    private static final Logger LOGGER = Logger.getLogger("org.constellation.util");
+
+    /**
+     * The compiled paths, by full path ID. The number of paths is bounded by the queryables.
+     */
+    private static final Map<String, MetadataPath> PATHS = new ConcurrentHashMap<>();
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    /**
+     * Used for the attributes without getter in a class.
+     */
+    private static final MethodHandle NO_GETTER = MethodHandles.constant(Object.class, null);
+
+    private static final MethodHandle INVOKE_METHOD;
+    static {
+        try {
+            INVOKE_METHOD = MethodHandles.lookup().findStatic(ReflectionUtilities.class, "invokeMethod",
+                    MethodType.methodType(Object.class, Object.class, Method.class));
+        } catch (ReflectiveOperationException ex) {
+            throw new ExceptionInInitializerError(ex);
+        }
+    }
+
+    private final String pathID;
+
+    private final Attribute[] attributes;
+
+    /**
+     * The conditional attribute, applied on the object owning the last attribute, or {@code null}.
+     */
+    private final Attribute conditionalAttribute;
+    private final String conditionalValue;
+    private final Pattern conditionalPattern;
+
+    /**
+     * Does this path apply to a metadata class.
+     */
+    private final ClassValue<Boolean> matchType = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            return ReflectionUtilities.pathMatchObjectType(type, pathID);
+        }
+    };
+
+    private MetadataPath(final String fullPathID) {
+        String path;
+        final int separator = fullPathID.indexOf('#');
+        if (separator != -1) {
+            path = fullPathID.substring(0, separator);
+            final String condAttribute = fullPathID.substring(separator + 1, fullPathID.indexOf('='));
+            String condValue           = fullPathID.substring(fullPathID.indexOf('=') + 1);
+            final int nextSeparator    = condValue.indexOf(':');
+            if (nextSeparator == -1) {
+                throw new IllegalArgumentException("A conditionnal path must be in the form ....:attribute#attibuteconditional=value:otherattribute");
+            }
+            path      = path + condValue.substring(nextSeparator);
+            condValue = condValue.substring(0, nextSeparator);
+            this.conditionalAttribute = new Attribute(condAttribute);
+            this.conditionalValue     = condValue;
+            this.conditionalPattern   = condValue.contains("[") ? Pattern.compile(condValue) : null;
+        } else {
+            path = fullPathID;
+            this.conditionalAttribute = null;
+            this.conditionalValue     = null;
+            this.conditionalPattern   = null;
+        }
+        this.pathID = path;
+
+        // the path always start with STANDARD:TYPE:
+        String attributePath = path.substring(path.indexOf(':') + 1);
+        attributePath = attributePath.substring(attributePath.indexOf(':') + 1);
+        final List<Attribute> atts = new ArrayList<>();
+        if (!attributePath.isEmpty()) {
+            for (String attributeName : attributePath.split(":")) {
+                atts.add(new Attribute(attributeName));
+            }
+        }
+        this.attributes = atts.toArray(Attribute[]::new);
+    }
+
+    /**
+     * Return the compiled form of the specified path, compiling it at the first call.
+     *
+     * @param fullPathID A path on the form Standard:Type:attribute1:attribute2, with an optional condition.
+     * @return The compiled path.
+     * @throws IllegalArgumentException if the condition of the path is malformed.
+     */
+    public static MetadataPath compile(final String fullPathID) {
+        MetadataPath path = PATHS.get(fullPathID);
+        if (path == null) {
+            path = PATHS.computeIfAbsent(fullPathID, MetadataPath::new);
+        }
+        return path;
+    }
+
+    /**
+     * Return {@code true} if this path is applicable to the specified metadata type.
+     */
+    public boolean matchObjectType(final Object metadata) {
+        return metadata != null && matchType.get(metadata.getClass());
+    }
+
+    /**
+     * Return {@code true} if the path contains a condition.
+     */
+    public boolean isConditional() {
+        return conditionalAttribute != null;
+    }
+
+    /**
+     * Extract the value denoted by this path in the specified metadata.
+     *
+     * @param metadata A metadata object.
+     * @return The extracted value, a list if the path go through collections, or {@code null}.
+     */
+    public Object getValues(Object metadata) {
+        if (!matchObjectType(metadata)) {
+            return null;
+        }
+        for (int i = 0; i < attributes.length; i++) {
+            final Attribute attribute = attributes[i];
+            final boolean last = i == attributes.length - 1;
+            if (conditionalAttribute == null) {
+                if (metadata instanceof Collection<?> col) {
+                    final List<Object> tmp = new ArrayList<>();
+                    for (Object subMeta : col) {
+                        addNonNull(tmp, attribute.getValue(subMeta));
+                    }
+                    metadata = tmp;
+                } else {
+                    metadata = attribute.getValue(metadata);
+                }
+            } else {
+                if (metadata instanceof Collection<?> col) {
+                    final List<Object> tmp = new ArrayList<>();
+                    if (last) {
+                        for (Object subMeta : col) {
+                            if (matchCondition(subMeta)) {
+                                tmp.add(attribute.getValue(subMeta));
+                            }
+                        }
+                    } else {
+                        for (Object subMeta : col) {
+                            addNonNull(tmp, attribute.getValue(subMeta));
+                        }
+                    }
+                    metadata = tmp.size() == 1 ? tmp.get(0) : tmp;
+                } else if (last && !matchCondition(metadata)) {
+                    metadata = null;
+                } else {
+                    metadata = attribute.getValue(metadata);
+                }
+            }
+        }
+        return metadata;
+    }
+
+    private static void addNonNull(final List<Object> list, final Object obj) {
+        if (obj instanceof Collection<?> col) {
+            for (Object o : col) {
+                if (o != null) {list.add(o);}
+            }
+        } else if (obj != null) {
+            list.add(obj);
+        }
+    }
+
+    private boolean matchCondition(final Object metadata) {
+        final Object conditionalObj = conditionalAttribute.getValue(metadata);
+        final String attributValue;
+        if (conditionalObj instanceof org.opengis.util.CodeList<?> cl) {
+            attributValue = cl.name();
+        } else if (conditionalObj != null) {
+            attributValue = conditionalObj.toString();
+        } else {
+            attributValue = "null";
+        }
+        if (conditionalPattern != null) {
+            return conditionalPattern.matcher(attributValue).matches();
+        }
+        return conditionalValue.equalsIgnoreCase(attributValue);
+    }
+
+    @Override
+    public String toString() {
+        return "[MetadataPath]" + pathID + (conditionalAttribute != null ? " #" + conditionalAttribute.name + '=' + conditionalValue : "");
+    }
+
+    /**
+     * An attribute of the path, with its getters resolved by class.
+     * The attribute name can be on the form "attributeName[i]" to select a value in a collection.
+     */
+    private static final class Attribute {
+
+        private final String name;
+        private final int ordinal;
+
+        private final ClassValue<MethodHandle> getters = new ClassValue<>() {
+            @Override
+            protected MethodHandle computeValue(Class<?> type) {
+                return resolveGetter(type);
+            }
+        };
+
+        private Attribute(String attributeName) {
+            int ord = -1;
+            final int bracket = attributeName.indexOf('[');
+            if (bracket != -1) {
+                final String tmp = attributeName.substring(bracket + 1, attributeName.length() - 1);
+                attributeName    = attributeName.substring(0, bracket);
+                try {
+                    ord = Integer.parseInt(tmp);
+                } catch (NumberFormatException ex) {
+                    LOGGER.log(Level.WARNING, "Unable to parse the ordinal {0}", tmp);
+                }
+            }
+            if (attributeName.equalsIgnoreCase("referenceSystemIdentifier")) {
+                attributeName = "name";
+            }
+            this.name    = attributeName;
+            this.ordinal = ord;
+        }
+
+        private MethodHandle resolveGetter(final Class<?> type) {
+            final Method getter = ReflectionUtilities.getGetterFromName(name, type);
+            if (getter == null) {
+                LOGGER.finer("No getter have been found for attribute " + name + " in the class " + type.getName());
+                return NO_GETTER;
+            }
+            try {
+                getter.setAccessible(true);
+                MethodHandle mh = MethodHandles.lookup().unreflect(getter);
+                if (Modifier.isStatic(getter.getModifiers())) {
+                    mh = MethodHandles.dropArguments(mh.asType(MethodType.methodType(Object.class)), 0, Object.class);
+                }
+                return mh.asType(GETTER_TYPE);
+            } catch (IllegalAccessException | RuntimeException ex) {
+                // the getter is not accessible to the method handles, keep the reflective call.
+                LOGGER.log(Level.FINER, "Unable to build a method handle for " + getter, ex);
+                return MethodHandles.insertArguments(INVOKE_METHOD, 1, getter);
+            }
+        }
+
+        private Object getValue(Object object) {
+            Object result = null;
+            if (object != null) {
+                if (object instanceof JAXBElement<?> elem) {
+                    object = elem.getValue();
+                }
+                if (object != null) {
+                    final MethodHandle getter = getters.get(object.getClass());
+                    if (getter != NO_GETTER) {
+                        try {
+                            result = getter.invokeExact(object);
+                        } catch (Throwable ex) {
+                            LOGGER.log(Level.WARNING, "Unable to invoke the getter of " + name + " in the class " + object.getClass().getName(), ex);
+                        }
+                    } else if (object instanceof ISOMetadata iso && "uuid".equals(name)) {
+                        result = iso.getIdentifierMap().getSpecialized(IdentifierSpace.UUID);
+                    }
+                }
+            }
+            if (result instanceof JAXBElement<?> elem) {
+                result = elem.getValue();
+            }
+            if (ordinal != -1 && result instanceof Collection<?> c) {
+                final Iterator<?> t = c.iterator();
+                int i = 0;
+                while (t.hasNext()) {
+                    result = t.next();
+                    if (i == ordinal) {return result;}
+                    i++;
+                }
+            }
+            return result;
+        }
+    }
+}
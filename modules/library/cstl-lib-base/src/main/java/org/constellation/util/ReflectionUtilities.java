@@ -766,16 +766,29 @@ public final class ReflectionUtilities {
     @SuppressWarnings("squid:S1872")
     public static boolean pathMatchObjectType(Object metadata, String pathID) {
         if (metadata == null) {return false;}
+        return pathMatchObjectType(metadata.getClass(), pathID);
+    }
 
-        return (pathID.startsWith("ISO 19115:MD_Metadata")         && "DefaultMetadata".equals(metadata.getClass().getSimpleName())) ||
-               (pathID.startsWith("ISO 19115-2:MI_Metadata")       && "MI_Metadata".equals(metadata.getClass().getSimpleName())) ||
-               (pathID.startsWith("ISO 19115:CI_ResponsibleParty") && "DefaultResponsibleParty".equals(metadata.getClass().getSimpleName())) ||
-               (pathID.startsWith("Catalog Web Service:Record")    && "RecordType".equals(metadata.getClass().getSimpleName())) ||
-               (pathID.startsWith("ISO 19110:FC_FeatureCatalogue") && "FeatureCatalogueImpl".equals(metadata.getClass().getSimpleName())) ||
-               (pathID.startsWith("SensorML:SensorML")             && "SensorML".equals(metadata.getClass().getSimpleName())) ||
-               (pathID.startsWith("NASA Directory Interchange Format:DIF") && "DIF".equals(metadata.getClass().getSimpleName())) ||
-               (pathID.startsWith("Ebrim v2.5:*")                  && metadata.getClass().getName().startsWith("org.geotoolkit.ebrim.xml.v250")||
-               (pathID.startsWith("Ebrim v3.0:*")                  && metadata.getClass().getName().startsWith("org.geotoolkit.ebrim.xml.v300")));
+    /**
+     * Return true if the path is applicable to the specified metadata class.
+     *
+     * @param metadataClass A metadata class.
+     * @param pathID A path on the form Standard:Type:attribute1:attribute2
+     *
+     * @return True if the specified path starts with the type of the metadata class
+     */
+    @SuppressWarnings("squid:S1872")
+    public static boolean pathMatchObjectType(Class<?> metadataClass, String pathID) {
+        final String simpleName = metadataClass.getSimpleName();
+        return (pathID.startsWith("ISO 19115:MD_Metadata")         && "DefaultMetadata".equals(simpleName)) ||
+               (pathID.startsWith("ISO 19115-2:MI_Metadata")       && "MI_Metadata".equals(simpleName)) ||
+               (pathID.startsWith("ISO 19115:CI_ResponsibleParty") && "DefaultResponsibleParty".equals(simpleName)) ||
+               (pathID.startsWith("Catalog Web Service:Record")    && "RecordType".equals(simpleName)) ||
+               (pathID.startsWith("ISO 19110:FC_FeatureCatalogue") && "FeatureCatalogueImpl".equals(simpleName)) ||
+               (pathID.startsWith("SensorML:SensorML")             && "SensorML".equals(simpleName)) ||
+               (pathID.startsWith("NASA Directory Interchange Format:DIF") && "DIF".equals(simpleName)) ||
+               (pathID.startsWith("Ebrim v2.5:*")                  && metadataClass.getName().startsWith("org.geotoolkit.ebrim.xml.v250")||
+               (pathID.startsWith("Ebrim v3.0:*")                  && metadataClass.getName().startsWith("org.geotoolkit.ebrim.xml.v300")));
     }
 
      /**
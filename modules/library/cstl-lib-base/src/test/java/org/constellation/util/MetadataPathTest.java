@@ -0,0 +1,103 @@
+/*
+ *    Examind Community - An open source and standard compliant SDI
+ *    https://community.examind.com/
+ *
+ * Copyright 2026 Geomatys.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.constellation.util;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import org.apache.sis.metadata.iso.DefaultMetadata;
+import org.apache.sis.metadata.iso.citation.DefaultCitation;
+import org.apache.sis.metadata.iso.citation.DefaultCitationDate;
+import org.apache.sis.metadata.iso.citation.DefaultResponsibleParty;
+import org.apache.sis.metadata.iso.identification.DefaultDataIdentification;
+import org.apache.sis.util.SimpleInternationalString;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+import org.opengis.metadata.citation.DateType;
+import org.opengis.metadata.citation.Role;
+
+public class MetadataPathTest {
+
+    private static DefaultMetadata buildMetadata(String title) {
+        final DefaultMetadata metadata = new DefaultMetadata();
+        final DefaultDataIdentification identification = new DefaultDataIdentification();
+        final DefaultCitation citation = new DefaultCitation(title);
+        citation.setDates(Arrays.asList(new DefaultCitationDate(new Date(1245587454), DateType.CREATION),
+                                        new DefaultCitationDate(new Date(1266687454), DateType.REVISION)));
+        identification.setCitation(citation);
+        final DefaultResponsibleParty poc1 = new DefaultResponsibleParty(Role.ORIGINATOR);
+        poc1.setOrganisationName(new SimpleInternationalString("orgniz1"));
+        final DefaultResponsibleParty poc2 = new DefaultResponsibleParty(Role.PUBLISHER);
+        poc2.setOrganisationName(new SimpleInternationalString("orgniz2"));
+        identification.setPointOfContacts(Arrays.asList(poc1, poc2));
+        metadata.setIdentificationInfo(Arrays.asList(identification));
+        return metadata;
+    }
+
+    @Test
+    public void getValuesTest() {
+        final String pathID = "ISO 19115:MD_Metadata:identificationInfo:citation:title";
+        final MetadataPath path = MetadataPath.compile(pathID);
+        assertSame(path, MetadataPath.compile(pathID));
+        assertFalse(path.isConditional());
+
+        // the compiled getters are reused for each metadata
+        for (String title : List.of("title 1", "title 2")) {
+            final DefaultMetadata metadata = buildMetadata(title);
+            final Object result = path.getValues(metadata);
+            assertEquals(ReflectionUtilities.getValuesFromPath(pathID, metadata), result);
+            assertEquals(List.of(new SimpleInternationalString(title)), result);
+        }
+
+        final MetadataPath unknown = MetadataPath.compile("ISO 19115:MD_Metadata:identificationInfo:citation:unknownAttribute");
+        assertEquals(List.of(), unknown.getValues(buildMetadata("title")));
+
+        // the path does not apply to this type
+        final MetadataPath record = MetadataPath.compile("Catalog Web Service:Record:title:content");
+        assertFalse(record.matchObjectType(buildMetadata("title")));
+        assertNull(record.getValues(buildMetadata("title")));
+    }
+
+    @Test
+    public void getConditionalValuesTest() {
+        final DefaultMetadata metadata = buildMetadata("title");
+
+        MetadataPath path = MetadataPath.compile("ISO 19115:MD_Metadata:identificationInfo:citation:date#dateType=revision:date");
+        assertTrue(path.isConditional());
+        Object result = path.getValues(metadata);
+        assertEquals(ReflectionUtilities.getConditionalValuesFromPath("ISO 19115:MD_Metadata:identificationInfo:citation:date:date", "dateType", "revision", metadata), result);
+        assertTrue(result instanceof java.time.Instant);
+        assertEquals(1266687454, ((java.time.Instant) result).toEpochMilli());
+
+        path = MetadataPath.compile("ISO 19115:MD_Metadata:identificationInfo:pointOfContact#role=publisher:organisationName");
+        assertEquals(new SimpleInternationalString("orgniz2"), path.getValues(metadata));
+
+        path = MetadataPath.compile("ISO 19115:MD_Metadata:identificationInfo:pointOfContact#role=[A-Z]+TOR:organisationName");
+        assertEquals(new SimpleInternationalString("orgniz1"), path.getValues(metadata));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void malformedConditionTest() {
+        MetadataPath.compile("ISO 19115:MD_Metadata:identificationInfo:pointOfContact#role=publisher");
+    }
+}
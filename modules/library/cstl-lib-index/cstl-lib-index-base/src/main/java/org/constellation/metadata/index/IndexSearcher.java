@@ -18,6 +18,7 @@
  */
 package org.constellation.metadata.index;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.logging.Level;
@@ -38,6 +39,18 @@ public interface IndexSearcher {
     Map<String, Character> getNumericFields();
     
     String identifierQuery(final String id) throws SearchingException;
+
+    /**
+     * Return the sorted values indexed for the specified field, each value being repeated for every document
+     * containing it. This is used to answer the CSW GetDomain request without reading all the records.
+     *
+     * @param fieldName The name of an indexed queryable.
+     * @return The values of the field, or {@code null} if the field has no indexed string values.
+     * @throws SearchingException If an error occurs while reading the index.
+     */
+    default List<String> getFieldValues(final String fieldName) throws SearchingException {
+        return null;
+    }
     
     void refresh() throws IndexingException;
     
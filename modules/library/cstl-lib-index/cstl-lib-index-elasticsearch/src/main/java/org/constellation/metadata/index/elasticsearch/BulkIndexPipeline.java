@@ -0,0 +1,275 @@
+/*
+ *    Examind Community - An open source and standard compliant SDI
+ *    https://community.examind.com/
+ *
+ * Copyright 2026 Geomatys.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.constellation.metadata.index.elasticsearch;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.constellation.metadata.index.elasticsearch.ElasticSearchClient.BulkResult;
+import org.geotoolkit.index.IndexingException;
+
+/**
+ * A pipeline sending documents to ElasticSearch in bulk requests.
+ * <p>
+ * The documents are built on a bounded pool of workers, then grouped in batches
+ * bounded by a number of documents and an (estimated) size in bytes.
+ * A full batch is sent by the worker which filled it, so the building is slowed down when ElasticSearch can not follow.
+ * The number of documents submitted and not yet added to a batch is bounded too, so the producer
+ * (usually an iterator on the metadata store) is blocked when the workers are busy.
+ * </p><p>
+ * The documents rejected for a transient reason (queue full, node unavailable, network error) are sent again
+ * with an exponential backoff, up to a maximum number of retries.
+ * </p>
+ */
+final class BulkIndexPipeline implements AutoCloseable {
+
+    private static final Logger LOGGER = Logger.getLogger("org.constellation.metadata.index.elasticsearch");
+
+    /**
+     * Delay before the first retry of a rejected batch, doubled at each retry.
+     */
+    private static final long RETRY_DELAY = 200;
+
+    /**
+     * Number of indexed documents between two progress messages.
+     */
+    private static final long PROGRESS_STEP = 10000;
+
+    /**
+     * Send a batch of documents.
+     */
+    @FunctionalInterface
+    interface BulkSender {
+        BulkResult send(Map<String, Map> documents) throws IOException;
+    }
+
+    /**
+     * Build a document.
+     */
+    @FunctionalInterface
+    interface DocumentBuilder {
+        Map build() throws IndexingException;
+    }
+
+    private final BulkSender sender;
+    private final ExecutorService workers;
+    private final Semaphore pending;
+    private final int maxDocuments;
+    private final long maxBytes;
+    private final int maxRetries;
+    private final String name;
+
+    /**
+     * The batch currently filled. Guarded by {@code this}.
+     */
+    private Map<String, Map> batch = new LinkedHashMap<>();
+    private long batchBytes;
+
+    /**
+     * Set by {@link #abort()}, the remaining documents are then not sent at closing.
+     */
+    private volatile boolean aborted;
+
+    private final AtomicLong nbIndexed = new AtomicLong();
+    private final AtomicLong nbFailed  = new AtomicLong();
+    private final long start = System.currentTimeMillis();
+
+    /**
+     * @param sender The bulk request sender.
+     * @param nbWorkers Number of threads building and sending the documents.
+     * @param maxDocuments Maximum number of documents in a bulk request.
+     * @param maxBytes Maximum estimated size of a bulk request in bytes.
+     * @param maxRetries Maximum number of times a rejected document is sent again.
+     * @param name Name of the index, used in the log messages.
+     */
+    BulkIndexPipeline(final BulkSender sender, final int nbWorkers, final int maxDocuments, final long maxBytes, final int maxRetries, final String name) {
+        this.sender       = sender;
+        this.workers      = Executors.newFixedThreadPool(nbWorkers);
+        this.pending      = new Semaphore(nbWorkers * 4);
+        this.maxDocuments = maxDocuments;
+        this.maxBytes     = maxBytes;
+        this.maxRetries   = maxRetries;
+        this.name         = name;
+    }
+
+    /**
+     * Submit a document to index. This method block if too many documents are waiting to be built.
+     *
+     * @param id Identifier of the document.
+     * @param builder Build the document content, executed on a worker thread.
+     */
+    void submit(final String id, final DocumentBuilder builder) throws InterruptedException {
+        pending.acquire();
+        try {
+            workers.execute(() -> {
+                Map<String, Map> toSend = null;
+                try {
+                    final Map doc = builder.build();
+                    synchronized (this) {
+                        batch.put(id, doc);
+                        batchBytes += estimateSize(doc);
+                        if (batch.size() >= maxDocuments || batchBytes >= maxBytes) {
+                            toSend = swapBatch();
+                        }
+                    }
+                } catch (IndexingException | RuntimeException ex) {
+                    nbFailed.incrementAndGet();
+                    LOGGER.log(Level.WARNING, "Error while building the document: " + id, ex);
+                } finally {
+                    pending.release();
+                }
+                if (toSend != null) {
+                    send(toSend);
+                }
+            });
+        } catch (RuntimeException ex) {
+            pending.release();
+            throw ex;
+        }
+    }
+
+    /**
+     * Send the remaining documents and wait for the end of all the bulk requests.
+     * Nothing is sent if the pipeline has been aborted.
+     */
+    @Override
+    public void close() throws InterruptedException {
+        workers.shutdown();
+        workers.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        if (aborted) {
+            return;
+        }
+        final Map<String, Map> toSend;
+        synchronized (this) {
+            toSend = swapBatch();
+        }
+        if (!toSend.isEmpty()) {
+            send(toSend);
+        }
+        LOGGER.log(Level.INFO, "{0}: {1} documents indexed, {2} failures in {3} ms.",
+                new Object[]{name, nbIndexed.get(), nbFailed.get(), System.currentTimeMillis() - start});
+    }
+
+    /**
+     * Stop the indexation, the documents not yet sent are discarded.
+     * This method wait for the end of the bulk requests in progress, so no document
+     * is added to the target index after its return.
+     */
+    void abort() throws InterruptedException {
+        aborted = true;
+        workers.shutdownNow();
+        workers.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+    }
+
+    long getNbIndexed() {
+        return nbIndexed.get();
+    }
+
+    long getNbFailed() {
+        return nbFailed.get();
+    }
+
+    private Map<String, Map> swapBatch() {
+        final Map<String, Map> full = batch;
+        batch = new LinkedHashMap<>();
+        batchBytes = 0;
+        return full;
+    }
+
+    private void send(Map<String, Map> documents) {
+        int retry = 0;
+        while (!documents.isEmpty()) {
+            final int sent = documents.size();
+            Collection<String> rejected;
+            try {
+                final BulkResult result = sender.send(documents);
+                for (Entry<String, String> failure : result.failures().entrySet()) {
+                    LOGGER.log(Level.WARNING, "Unable to index document {0}: {1}", new Object[]{failure.getKey(), failure.getValue()});
+                }
+                nbFailed.addAndGet(result.failures().size());
+                rejected = result.retry();
+                progress(sent - rejected.size() - result.failures().size());
+            } catch (IOException ex) {
+                LOGGER.log(Level.WARNING, "Error while sending a bulk request of " + sent + " documents", ex);
+                rejected = new ArrayList<>(documents.keySet());
+            }
+            if (rejected.isEmpty()) {
+                return;
+            }
+            if (retry++ >= maxRetries) {
+                LOGGER.log(Level.WARNING, "{0} documents rejected after {1} retries.", new Object[]{rejected.size(), maxRetries});
+                nbFailed.addAndGet(rejected.size());
+                return;
+            }
+            final Map<String, Map> retryDocuments = new LinkedHashMap<>();
+            for (String id : rejected) {
+                retryDocuments.put(id, documents.get(id));
+            }
+            documents = retryDocuments;
+            try {
+                Thread.sleep(RETRY_DELAY << (retry - 1));
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                nbFailed.addAndGet(documents.size());
+                return;
+            }
+        }
+    }
+
+    private void progress(final int indexed) {
+        final long before = nbIndexed.getAndAdd(indexed);
+        final long after  = before + indexed;
+        if (before / PROGRESS_STEP != after / PROGRESS_STEP) {
+            final long elapsed = Math.max(1, System.currentTimeMillis() - start);
+            LOGGER.log(Level.INFO, "{0}: {1} documents indexed ({2} docs/s)", new Object[]{name, after, after * 1000 / elapsed});
+        }
+    }
+
+    /**
+     * Rough estimation of the size of a document, in bytes.
+     */
+    private static long estimateSize(final Object value) {
+        if (value instanceof Map<?, ?> map) {
+            long size = 2;
+            for (Entry<?, ?> entry : map.entrySet()) {
+                size += estimateSize(entry.getKey()) + estimateSize(entry.getValue()) + 2;
+            }
+            return size;
+        } else if (value instanceof Collection<?> col) {
+            long size = 2;
+            for (Object o : col) {
+                size += estimateSize(o) + 1;
+            }
+            return size;
+        } else if (value instanceof CharSequence cs) {
+            return cs.length() + 2;
+        }
+        return 16;
+    }
+}
@@ -46,6 +46,14 @@ import org.apache.http.client.CredentialsProvider;
 import org.apache.http.impl.client.BasicCredentialsProvider;
 import org.apache.http.impl.nio.client.HttpAsyncClientBuilder;
 import org.elasticsearch.action.admin.cluster.settings.ClusterUpdateSettingsResponse;
+import org.elasticsearch.action.admin.indices.alias.IndicesAliasesRequest;
+import org.elasticsearch.action.admin.indices.alias.IndicesAliasesRequest.AliasActions;
+import org.elasticsearch.action.admin.indices.alias.get.GetAliasesRequest;
+import org.elasticsearch.action.admin.indices.refresh.RefreshRequest;
+import org.elasticsearch.action.admin.indices.settings.put.UpdateSettingsRequest;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
 import org.elasticsearch.action.search.SearchResponse;
 import org.elasticsearch.index.query.QueryBuilders;
 import org.elasticsearch.search.SearchHit;
@@ -73,6 +81,7 @@ import org.elasticsearch.client.indices.GetIndexRequest;
 import org.elasticsearch.common.Strings;
 import org.elasticsearch.common.unit.TimeValue;
 import org.elasticsearch.index.query.QueryBuilder;
+import org.elasticsearch.rest.RestStatus;
 import org.elasticsearch.script.Script;
 import org.elasticsearch.search.Scroll;
 import org.elasticsearch.search.aggregations.AggregationBuilders;
@@ -192,6 +201,15 @@ public class ElasticSearchClient {
     }
 
     public boolean deleteIndex(final String indexName) throws IOException {
+        // an alias can not be deleted as an index, we remove the indices behind it.
+        final Set<String> aliased = getAliasIndices(indexName);
+        if (!aliased.isEmpty()) {
+            boolean acknowledged = true;
+            for (String aliasedIndex : aliased) {
+                acknowledged = deleteIndex(aliasedIndex) && acknowledged;
+            }
+            return acknowledged;
+        }
         final boolean exist = indexExist(indexName);
         if (exist) {
             final DeleteIndexRequest request = new DeleteIndexRequest(indexName);
@@ -207,6 +225,133 @@ public class ElasticSearchClient {
         return Result.CREATED.equals(response.getResult()) || Result.UPDATED.equals(response.getResult());
     }
 
+    /**
+     * Index a set of documents in a single bulk request.
+     * The index is not refreshed, the caller must call {@link #refreshIndex(String)} to make the documents visible.
+     *
+     * @param indexName Name of the index.
+     * @param documents Documents to index, by identifier.
+     *
+     * @return The identifiers of the documents rejected by a transient error (to be retried), and the permanent failures.
+     * @throws IOException If the request fails.
+     */
+    public BulkResult indexDocs(final String indexName, final Map<String, Map> documents) throws IOException {
+        final BulkRequest request = new BulkRequest();
+        for (Entry<String, Map> document : documents.entrySet()) {
+            request.add(new IndexRequest(indexName).id(document.getKey()).source(document.getValue()));
+        }
+        final BulkResponse response = client.bulk(request, RequestOptions.DEFAULT);
+        final List<String> retry          = new ArrayList<>();
+        final Map<String, String> failures = new LinkedHashMap<>();
+        if (response.hasFailures()) {
+            for (BulkItemResponse item : response.getItems()) {
+                if (item.isFailed()) {
+                    if (isTransientFailure(item.getFailure().getStatus())) {
+                        retry.add(item.getId());
+                    } else {
+                        failures.put(item.getId(), item.getFailureMessage());
+                    }
+                }
+            }
+        }
+        return new BulkResult(retry, failures);
+    }
+
+    /**
+     * Return {@code true} if a document rejected with the specified status can be sent again:
+     * the bulk queue of the node is full (429) or the node is unavailable (503).
+     * The other failures (mapping error, version conflict, ...) would fail again.
+     */
+    static boolean isTransientFailure(final RestStatus status) {
+        return RestStatus.TOO_MANY_REQUESTS.equals(status) || RestStatus.SERVICE_UNAVAILABLE.equals(status);
+    }
+
+    /**
+     * Result of a bulk indexation.
+     *
+     * @param retry Identifiers of the documents rejected by a transient error, that can be sent again.
+     * @param failures Error message of the documents that can not be indexed, by identifier.
+     */
+    public record BulkResult(List<String> retry, Map<String, String> failures) {}
+
+    /**
+     * Set the refresh interval of an index.
+     * It is disabled (-1) during full indexations, to avoid building segments that will be merged afterward.
+     *
+     * @param indexName Name of the index.
+     * @param interval The refresh interval (ex: "1s"), or "-1" to disable the refresh.
+     */
+    public boolean setRefreshInterval(final String indexName, final String interval) throws IOException {
+        final UpdateSettingsRequest request = new UpdateSettingsRequest(indexName).settings(Map.of("index.refresh_interval", interval));
+        return client.indices().putSettings(request, RequestOptions.DEFAULT).isAcknowledged();
+    }
+
+    /**
+     * Make visible all the operations performed on the index since the last refresh.
+     */
+    public void refreshIndex(final String indexName) throws IOException {
+        client.indices().refresh(new RefreshRequest(indexName), RequestOptions.DEFAULT);
+    }
+
+    /**
+     * Return the indices pointed by an alias.
+     *
+     * @param alias Name of the alias.
+     * @return The indices of the alias, or an empty set if the alias does not exist.
+     */
+    public Set<String> getAliasIndices(final String alias) throws IOException {
+        final GetAliasesRequest request = new GetAliasesRequest(alias);
+        if (!client.indices().existsAlias(request, RequestOptions.DEFAULT)) {
+            return Set.of();
+        }
+        return new HashSet<>(client.indices().getAlias(request, RequestOptions.DEFAULT).getAliases().keySet());
+    }
+
+    /**
+     * Atomically move an alias on a new index.
+     * If a concrete index exist with the name of the alias (index created before the alias management), it is removed
+     * in the same request, so the name never points on nothing.
+     *
+     * @param alias Name of the alias.
+     * @param indexName The index that the alias will point on.
+     *
+     * @return The indices previously pointed by the alias.
+     */
+    public Set<String> switchAlias(final String alias, final String indexName) throws IOException {
+        final Set<String> current = getAliasIndices(alias);
+        final AliasSwitch plan = AliasSwitch.plan(indexName, current, current.isEmpty() && indexExist(alias));
+        final IndicesAliasesRequest request = new IndicesAliasesRequest();
+        if (plan.deleteLegacyIndex()) {
+            request.addAliasAction(AliasActions.removeIndex().index(alias));
+        }
+        request.addAliasAction(AliasActions.add().index(indexName).alias(alias));
+        for (String previousIndex : plan.previous()) {
+            request.addAliasAction(AliasActions.remove().index(previousIndex).alias(alias));
+        }
+        client.indices().updateAliases(request, RequestOptions.DEFAULT);
+        return plan.previous();
+    }
+
+    /**
+     * The actions needed to move an alias on a new index.
+     *
+     * @param deleteLegacyIndex {@code true} if a concrete index has the name of the alias and must be removed along with the alias creation.
+     * @param previous The indices to detach from the alias, then to remove once the alias is moved.
+     */
+    record AliasSwitch(boolean deleteLegacyIndex, Set<String> previous) {
+
+        /**
+         * @param indexName The index that the alias will point on.
+         * @param current The indices currently pointed by the alias.
+         * @param legacyIndexExists {@code true} if a concrete index exists with the name of the alias.
+         */
+        static AliasSwitch plan(final String indexName, final Set<String> current, final boolean legacyIndexExists) {
+            final Set<String> previous = new HashSet<>(current);
+            previous.remove(indexName);
+            return new AliasSwitch(current.isEmpty() && legacyIndexExists, previous);
+        }
+    }
+
     public boolean indexDoc(final String indexName,   final String id,
                             final String SpatialType, final String CRSNameCode,
                             final int spaceDim,       final double ...coordinates) throws IOException {
@@ -427,6 +572,29 @@ public class ElasticSearchClient {
         return results;
     }
 
+    /**
+     * Return the number of documents containing each value of the specified field, ordered by value.
+     * The keys are the bucket keys: a String for a keyword field, a Number for a numeric field.
+     */
+    public Map<Object, Long> getFieldValueCounts(final String index, final String field) throws IOException {
+        final TermsAggregationBuilder aggBuilder = AggregationBuilders.terms("agg1").field(field).size(Integer.MAX_VALUE).order(BucketOrder.key(true));
+        final SearchSourceBuilder builder = new SearchSourceBuilder();
+        builder.aggregation(aggBuilder);
+        builder.fetchSource(false);
+        builder.size(0);
+
+        final SearchRequest sRequest = new SearchRequest(index);
+        sRequest.source(builder);
+        final SearchResponse response = client.search(sRequest, RequestOptions.DEFAULT);
+
+        final Terms agg1 = response.getAggregations().get("agg1");
+        final Map<Object, Long> results = new LinkedHashMap<>();
+        for (Terms.Bucket b : agg1.getBuckets()) {
+            results.put(b.getKey(), b.getDocCount());
+        }
+        return results;
+    }
+
 
     public Map<String, Map<String, List<Object>>> getAggFieldValues(final String index, String field, List<String> subfields, List<String> subMaxfields, List<String> subMinfields, QueryBuilder query, SortOrder keySorted, Integer from, Integer size) throws IOException {
         SearchSourceBuilder builder = new SearchSourceBuilder();
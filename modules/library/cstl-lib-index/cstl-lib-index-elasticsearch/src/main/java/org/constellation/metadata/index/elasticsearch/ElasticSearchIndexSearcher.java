@@ -21,7 +21,10 @@ package org.constellation.metadata.index.elasticsearch;
 
 import java.io.IOException;
 import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.logging.Level;
@@ -94,6 +97,37 @@ public class ElasticSearchIndexSearcher implements IndexSearcher {
         return result;
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * The values are computed by a terms aggregation on the keyword field {@code <fieldName>_sort}.
+     */
+    @Override
+    public List<String> getFieldValues(String fieldName) throws SearchingException {
+        final Map<Object, Long> counts;
+        try {
+            counts = client.getFieldValueCounts(indexName, fieldName + "_sort");
+        } catch (IOException | ElasticsearchException ex) {
+            throw new SearchingException("Error while searching in elasticSearch", ex);
+        }
+        // an unmapped field returns no bucket
+        if (counts.isEmpty()) {
+            return null;
+        }
+        final List<String> results = new ArrayList<>();
+        for (Map.Entry<Object, Long> entry : counts.entrySet()) {
+            if (!(entry.getKey() instanceof String value)) {
+                // numeric field, the values would not be formatted as in the records
+                return null;
+            }
+            if (!"null".equals(value)) {
+                results.addAll(Collections.nCopies(entry.getValue().intValue(), value));
+            }
+        }
+        Collections.sort(results);
+        return results;
+    }
+
     @Override
     public void refresh() throws IndexingException {
         // do nothing for now
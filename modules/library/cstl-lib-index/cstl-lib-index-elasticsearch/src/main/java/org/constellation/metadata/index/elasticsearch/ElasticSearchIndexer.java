@@ -24,11 +24,13 @@ import java.net.UnknownHostException;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import static org.constellation.api.CommonConstants.NULL_VALUE;
@@ -70,6 +72,37 @@ public abstract class ElasticSearchIndexer<E> implements Indexer<E> {
 
     private boolean withPlugin = false;
 
+    /**
+     * Number of threads building and sending the documents during a bulk indexation.
+     */
+    private int nbIndexingThreads = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+
+    /**
+     * Maximum number of documents in a bulk request.
+     */
+    private int bulkSize = 500;
+
+    /**
+     * Maximum estimated size in bytes of a bulk request.
+     */
+    private long bulkBytes = 5 * 1024 * 1024;
+
+    /**
+     * Maximum number of times a document rejected by ElasticSearch is sent again.
+     */
+    private int bulkRetries = 3;
+
+    /**
+     * Maximum number of documents that can fail to be indexed during a full rebuild.
+     * Above, the rebuilt index is dropped and the current one is kept.
+     */
+    private long maxRebuildFailures = 0;
+
+    /**
+     * The documents indexed or removed while a rebuild is running.
+     */
+    private final RebuildTracker rebuildTracker = new RebuildTracker();
+
     /**
      * A flag to stop the indexation going on
      */
@@ -107,7 +140,7 @@ public abstract class ElasticSearchIndexer<E> implements Indexer<E> {
     }
 
 
-    private void createMapping() throws IOException {
+    private void createMapping(final String targetIndex) throws IOException {
         Map<String, Class> fields = new HashMap<>();
 
         fields.put("id", String.class);
@@ -129,7 +162,7 @@ public abstract class ElasticSearchIndexer<E> implements Indexer<E> {
         }
         // add spatial part
         fields.put("geoextent", Envelope.class);
-        client.prepareType(indexName, fields, withPlugin);
+        client.prepareType(targetIndex, fields, withPlugin);
     }
 
     /**
@@ -142,82 +175,179 @@ public abstract class ElasticSearchIndexer<E> implements Indexer<E> {
         LOGGER.log(Level.INFO, "Creating ElasticSearch index for please wait...");
 
         final long time     = System.currentTimeMillis();
-        final int nbEntries = toIndex.size();
-        try {
-            createMapping();
-
+        final long nbEntries = rebuild(pipeline -> {
             for (E entry : toIndex) {
-                if (!stopIndexing && !indexationToStop.contains(indexName)) {
-                    indexDocument(entry);
-                } else {
-                     LOGGER.info("Index creation stopped after " + (System.currentTimeMillis() - time) + " ms for service:" + indexName);
-                     stopIndexation(client, indexName);
-                     return;
+                if (isStopped()) {
+                    return false;
                 }
+                pipeline.submit(getIdentifier(entry), () -> createDocument(entry));
             }
-        } catch (IOException ex) {
-            LOGGER.log(Level.SEVERE,"error while indexing: ", ex.getMessage());
-            throw new IndexingException("IOException while indexing documents:" + ex.getMessage(), ex);
+            return true;
+        });
+        if (nbEntries >= 0) {
+            LOGGER.log(Level.INFO, "Index creation process in " + (System.currentTimeMillis() - time) + " ms\n" +
+                    " documents indexed: " + nbEntries);
         }
-        LOGGER.log(Level.INFO, "Index creation process in " + (System.currentTimeMillis() - time) + " ms\n" +
-                " documents indexed: " + nbEntries);
     }
 
     @Override
     public void createIndex() throws IndexingException {
         LOGGER.log(Level.INFO, "(light memory) Creating ElasticSearch index please wait...");
         final long time  = System.currentTimeMillis();
-        int nbEntries      = 0;
-        try {
-            LOGGER.log(Level.INFO, "starting indexing...");
-            createMapping();
-
+        LOGGER.log(Level.INFO, "starting indexing...");
+        final long nbEntries = rebuild(pipeline -> {
             if (store.supportEntryIterator()) {
                 final Iterator<E> entries = (Iterator<E>) store.getEntryIterator();
-                while (entries.hasNext()) {
-                    if (!stopIndexing && !indexationToStop.contains(indexName)) {
-
+                try {
+                    while (entries.hasNext()) {
+                        if (isStopped()) {
+                            return false;
+                        }
                         final E entry = entries.next();
-                        indexDocument(entry);
-                        nbEntries++;
-
-                    } else {
-                         LOGGER.info("Index creation stopped after " + (System.currentTimeMillis() - time) + " ms for service:" + indexName);
-                         stopIndexation(client, indexName);
-                         return;
+                        pipeline.submit(getIdentifier(entry), () -> createDocument(entry));
+                    }
+                } finally {
+                    if (entries instanceof CloseableIterator) {
+                        ((CloseableIterator)entries).close();
                     }
-                }
-                if (entries instanceof CloseableIterator) {
-                    ((CloseableIterator)entries).close();
                 }
             } else {
                 final Iterator<String> identifiers = store.getIdentifierIterator();
-                while (identifiers.hasNext()) {
-                    final String identifier = identifiers.next();
-                    if (!stopIndexing && !indexationToStop.contains(indexName)) {
+                try {
+                    while (identifiers.hasNext()) {
+                        final String identifier = identifiers.next();
+                        if (isStopped()) {
+                            return false;
+                        }
                         try {
                             final E entry = getEntry(identifier);
-                            indexDocument(entry);
-                            nbEntries++;
+                            pipeline.submit(getIdentifier(entry), () -> createDocument(entry));
                         } catch (IndexingException ex) {
                             LOGGER.warning("Metadata IO exeption while indexing metadata: " + identifier + " " + ex.getMessage() + "\nmove to next metadata...");
                         }
-                    } else {
-                         LOGGER.info("Index creation stopped after " + (System.currentTimeMillis() - time) + " ms for service:" + indexName);
-                         stopIndexation(client, indexName);
-                         return;
+                    }
+                } finally {
+                    if (identifiers instanceof CloseableIterator) {
+                        ((CloseableIterator)identifiers).close();
                     }
                 }
-                if (identifiers instanceof CloseableIterator) {
-                    ((CloseableIterator)identifiers).close();
+            }
+            return true;
+        });
+        if (nbEntries >= 0) {
+            LOGGER.log(Level.INFO, "Index creation process in " + (System.currentTimeMillis() - time) + " ms\n documents indexed: " + nbEntries + ".");
+        }
+    }
+
+    /**
+     * Submit the documents of a full rebuild to a pipeline.
+     */
+    @FunctionalInterface
+    private interface RebuildSource {
+        /**
+         * @return {@code false} if the indexation has been stopped before its end.
+         */
+        boolean submitAll(BulkIndexPipeline pipeline) throws IOException, MetadataIoException, InterruptedException;
+    }
+
+    /**
+     * Build a new physical index with the documents of the source, then expose it under {@link #indexName}.
+     * If the rebuild is stopped, fails, or if more than {@link #maxRebuildFailures} documents could not be indexed,
+     * the new index is removed and the current one stay available.
+     * The documents indexed or removed during the rebuild are sent to both indexes, then indexed again
+     * in the new index once exposed.
+     *
+     * @return The number of indexed documents, or {@code -1} if the indexation has been stopped.
+     */
+    private long rebuild(final RebuildSource source) throws IndexingException {
+        final long time = System.currentTimeMillis();
+        final String buildIndex = newPhysicalIndexName();
+        rebuildTracker.start(buildIndex);
+        boolean switched = false;
+        try {
+            startRebuild(buildIndex);
+
+            final BulkIndexPipeline pipeline = newPipeline(buildIndex);
+            boolean completed = false;
+            try {
+                completed = source.submitAll(pipeline);
+            } finally {
+                if (completed) {
+                    pipeline.close();
+                } else {
+                    // wait for the bulk requests in progress, before removing the index.
+                    pipeline.abort();
                 }
             }
+            if (!completed) {
+                LOGGER.info("Index creation stopped after " + (System.currentTimeMillis() - time) + " ms for service:" + indexName);
+                stopIndexation(indexName);
+                return -1;
+            }
+            if (pipeline.getNbFailed() > maxRebuildFailures) {
+                throw new IndexingException(pipeline.getNbFailed() + " documents could not be indexed, the index " + indexName + " is not replaced.");
+            }
+            final Set<String> previous = endRebuild(buildIndex);
+            switched = true;
+            for (String previousIndex : previous) {
+                client.deleteIndex(previousIndex);
+            }
+            return pipeline.getNbIndexed();
 
         } catch (MetadataIoException | IOException ex) {
             LOGGER.log(Level.SEVERE,"error while indexing: ", ex.getMessage());
             throw new IndexingException("IOException while indexing documents:" + ex.getMessage(), ex);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IndexingException("Indexation interrupted", ex);
+        } finally {
+            final Set<String> modified = rebuildTracker.finish();
+            if (switched) {
+                replay(modified);
+            } else {
+                try {
+                    client.deleteIndex(buildIndex);
+                } catch (IOException ex) {
+                    LOGGER.log(Level.WARNING, "Unable to remove the index " + buildIndex, ex);
+                }
+            }
+        }
+    }
+
+    private boolean isStopped() {
+        return stopIndexing || indexationToStop.contains(indexName);
+    }
+
+    /**
+     * Record the documents indexed or removed during a rebuild, to index them again once the new index is exposed.
+     *
+     * @return The physical index under construction, or {@code null} if no rebuild is running.
+     */
+    private String recordModifications(final Collection<String> ids) {
+        return rebuildTracker.record(ids);
+    }
+
+    /**
+     * Index again the documents modified during a rebuild, from their current state in the store,
+     * as the rebuild may have sent an older state of them. A document no longer present in the store is removed.
+     * Without store, the documents sent to the index under construction during the rebuild are kept as is.
+     */
+    private void replay(final Set<String> identifiers) {
+        if (store == null) {
+            return;
+        }
+        for (String identifier : identifiers) {
+            try {
+                final RecordInfo r = store.getMetadata(identifier, MetadataType.NATIVE);
+                if (r != null) {
+                    client.indexDoc(indexName, identifier, createDocument((E) r.node));
+                } else {
+                    client.removeDoc(indexName, identifier);
+                }
+            } catch (MetadataIoException | IndexingException | IOException ex) {
+                LOGGER.log(Level.WARNING, "Error while indexing again the document " + identifier + " modified during the rebuild", ex);
+            }
         }
-        LOGGER.log(Level.INFO, "Index creation process in " + (System.currentTimeMillis() - time) + " ms\n documents indexed: " + nbEntries + ".");
     }
 
     @Override
@@ -234,7 +364,12 @@ public abstract class ElasticSearchIndexer<E> implements Indexer<E> {
     public void indexDocument(E metadata) {
         try {
             String id = getIdentifier(metadata);
-            client.indexDoc(indexName, id, createDocument(metadata));
+            final Map doc = createDocument(metadata);
+            final String buildIndex = recordModifications(Set.of(id));
+            if (buildIndex != null) {
+                client.indexDoc(buildIndex, id, doc);
+            }
+            client.indexDoc(indexName, id, doc);
             LOGGER.log(Level.FINER, "Metadata: {0} indexed", id);
 
         } catch (IndexingException | IOException ex) {
@@ -242,19 +377,45 @@ public abstract class ElasticSearchIndexer<E> implements Indexer<E> {
         }
     }
 
-    /*
-    * TODO move to super class
-    */
     @Override
     public void indexDocuments(List<E> documents) {
-        for (E doc : documents) {
-            indexDocument(doc);
+        if (documents.size() == 1) {
+            indexDocument(documents.get(0));
+            return;
+        }
+        try {
+            // the documents are sent to the index under construction too, if there is one.
+            final BulkIndexPipeline pipeline = new BulkIndexPipeline(docs -> {
+                final String buildIndex = recordModifications(docs.keySet());
+                if (buildIndex != null) {
+                    client.indexDocs(buildIndex, docs);
+                }
+                return client.indexDocs(indexName, docs);
+            }, nbIndexingThreads, bulkSize, bulkBytes, bulkRetries, indexName);
+            try {
+                for (E doc : documents) {
+                    pipeline.submit(getIdentifier(doc), () -> createDocument(doc));
+                }
+            } finally {
+                pipeline.close();
+            }
+            // as the single document indexation, make the documents visible immediately
+            client.refreshIndex(indexName);
+        } catch (IOException ex) {
+            LOGGER.log(Level.WARNING, "Error while indexing documents", ex);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            LOGGER.log(Level.WARNING, "Indexation interrupted", ex);
         }
     }
 
     @Override
     public void removeDocument(String id) {
         try {
+            final String buildIndex = recordModifications(Set.of(id));
+            if (buildIndex != null) {
+                client.removeDoc(buildIndex, id);
+            }
             client.removeDoc(indexName, id);
         } catch (IOException ex) {
             LOGGER.log(Level.WARNING, "Error while removing single document", ex);
@@ -423,8 +584,7 @@ public abstract class ElasticSearchIndexer<E> implements Indexer<E> {
         stopIndexing = true;
     }
 
-    private void stopIndexation(final ElasticSearchClient client, final String serviceID) throws IOException {
-        client.deleteIndex(indexName);
+    private void stopIndexation(final String serviceID) {
         if (indexationToStop.contains(serviceID)) {
             indexationToStop.remove(serviceID);
         }
@@ -433,6 +593,37 @@ public abstract class ElasticSearchIndexer<E> implements Indexer<E> {
         }
     }
 
+    /**
+     * Return the name of a new physical index for a full rebuild.
+     * The index is exposed under {@link #indexName} by an alias, at the end of the rebuild.
+     */
+    private String newPhysicalIndexName() {
+        return indexName + "_" + System.currentTimeMillis();
+    }
+
+    /**
+     * Create the physical index of a full rebuild, with the refresh disabled.
+     */
+    private void startRebuild(final String buildIndex) throws IOException {
+        createMapping(buildIndex);
+        client.setRefreshInterval(buildIndex, "-1");
+    }
+
+    /**
+     * Enable the refresh of the rebuilt index, then atomically replace the current index by the new one.
+     *
+     * @return The previous physical indexes, to be removed.
+     */
+    private Set<String> endRebuild(final String buildIndex) throws IOException {
+        client.setRefreshInterval(buildIndex, "1s");
+        client.refreshIndex(buildIndex);
+        return client.switchAlias(indexName, buildIndex);
+    }
+
+    private BulkIndexPipeline newPipeline(final String targetIndex) {
+        return new BulkIndexPipeline(docs -> client.indexDocs(targetIndex, docs), nbIndexingThreads, bulkSize, bulkBytes, bulkRetries, targetIndex);
+    }
+
     /**
      * Remove the mapping of the specified Queryable set if it is overridden by one in the additional Queryable set.
      *
@@ -590,4 +781,27 @@ public abstract class ElasticSearchIndexer<E> implements Indexer<E> {
     public void setWithPlugin(boolean withPlugin) {
         this.withPlugin = withPlugin;
     }
+
+    /**
+     * Set the parameters of the bulk indexation.
+     *
+     * @param nbThreads Number of threads building and sending the documents.
+     * @param bulkSize Maximum number of documents in a bulk request.
+     * @param bulkBytes Maximum estimated size in bytes of a bulk request.
+     * @param retries Maximum number of times a document rejected by ElasticSearch is sent again.
+     */
+    public void setBulkParameters(int nbThreads, int bulkSize, long bulkBytes, int retries) {
+        this.nbIndexingThreads = nbThreads;
+        this.bulkSize          = bulkSize;
+        this.bulkBytes         = bulkBytes;
+        this.bulkRetries       = retries;
+    }
+
+    /**
+     * Set the maximum number of documents that can fail to be indexed during a full rebuild,
+     * before the rebuilt index is dropped (default 0).
+     */
+    public void setMaxRebuildFailures(long maxRebuildFailures) {
+        this.maxRebuildFailures = maxRebuildFailures;
+    }
 }
@@ -0,0 +1,78 @@
+/*
+ *    Examind Community - An open source and standard compliant SDI
+ *    https://community.examind.com/
+ *
+ * Copyright 2026 Geomatys.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.constellation.metadata.index.elasticsearch;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Track the documents indexed or removed while a full rebuild of an index is running.
+ * <p>
+ * The rebuild may have read an older state of those documents, so they must be indexed again
+ * once the rebuilt index is exposed.
+ * </p>
+ *
+ * This class is thread-safe.
+ */
+final class RebuildTracker {
+
+    /**
+     * Identifiers of the documents modified since the start of the rebuild.
+     */
+    private final Set<String> modified = new HashSet<>();
+
+    /**
+     * The physical index under construction, or {@code null} if no rebuild is running.
+     */
+    private String buildIndex;
+
+    /**
+     * Start tracking the modifications for the rebuild of the specified physical index.
+     */
+    synchronized void start(final String buildIndex) {
+        this.buildIndex = buildIndex;
+        modified.clear();
+    }
+
+    /**
+     * Record the documents indexed or removed, if a rebuild is running.
+     *
+     * @return The physical index under construction, to which the modifications must be sent too,
+     *         or {@code null} if no rebuild is running.
+     */
+    synchronized String record(final Collection<String> ids) {
+        if (buildIndex != null) {
+            modified.addAll(ids);
+        }
+        return buildIndex;
+    }
+
+    /**
+     * Stop tracking the modifications.
+     *
+     * @return The documents modified during the rebuild.
+     */
+    synchronized Set<String> finish() {
+        buildIndex = null;
+        final Set<String> result = new HashSet<>(modified);
+        modified.clear();
+        return result;
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ *    Examind Community - An open source and standard compliant SDI
+ *    https://community.examind.com/
+ *
+ * Copyright 2026 Geomatys.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.constellation.metadata.index.elasticsearch;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.constellation.metadata.index.elasticsearch.ElasticSearchClient.BulkResult;
+import org.geotoolkit.index.IndexingException;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ * Test the bulk indexation pipeline with a bulk sender standing for the ElasticSearch endpoint.
+ */
+public class BulkIndexPipelineTest {
+
+    @Test
+    public void batchTest() throws Exception {
+        final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        final Set<String> indexed = ConcurrentHashMap.newKeySet();
+        final BulkIndexPipeline pipeline = new BulkIndexPipeline(docs -> {
+            batchSizes.add(docs.size());
+            indexed.addAll(docs.keySet());
+            return new BulkResult(List.of(), Map.of());
+        }, 3, 10, Long.MAX_VALUE, 3, "test");
+
+        for (int i = 0; i < 95; i++) {
+            final String id = "doc-" + i;
+            pipeline.submit(id, () -> Map.of("id", id));
+        }
+        pipeline.close();
+
+        assertEquals(95, indexed.size());
+        assertEquals(95, pipeline.getNbIndexed());
+        assertEquals(0, pipeline.getNbFailed());
+        for (Integer size : batchSizes) {
+            assertTrue(size <= 10);
+        }
+        // 9 full batches and the remaining documents sent at closing.
+        assertEquals(10, batchSizes.size());
+    }
+
+    @Test
+    public void retryTest() throws Exception {
+        final AtomicBoolean rejected = new AtomicBoolean(false);
+        final List<List<String>> requests = new CopyOnWriteArrayList<>();
+        final BulkIndexPipeline pipeline = new BulkIndexPipeline(docs -> {
+            requests.add(new ArrayList<>(docs.keySet()));
+            // first request: doc-1 is rejected because of a full queue, doc-2 is invalid.
+            if (rejected.compareAndSet(false, true)) {
+                return new BulkResult(List.of("doc-1"), Map.of("doc-2", "mapper_parsing_exception"));
+            }
+            return new BulkResult(List.of(), Map.of());
+        }, 1, 100, Long.MAX_VALUE, 3, "test");
+
+        for (int i = 0; i < 5; i++) {
+            final String id = "doc-" + i;
+            pipeline.submit(id, () -> Map.of("id", id));
+        }
+        pipeline.close();
+
+        assertEquals(2, requests.size());
+        assertEquals(List.of("doc-1"), requests.get(1));
+        assertEquals(4, pipeline.getNbIndexed());
+        assertEquals(1, pipeline.getNbFailed());
+    }
+
+    @Test
+    public void failureTest() throws Exception {
+        final BulkIndexPipeline pipeline = new BulkIndexPipeline(docs -> {
+            throw new IOException("connection refused");
+        }, 2, 100, Long.MAX_VALUE, 1, "test");
+
+        for (int i = 0; i < 5; i++) {
+            final String id = "doc-" + i;
+            pipeline.submit(id, () -> {
+                if (id.equals("doc-0")) {
+                    throw new IndexingException("unreadable metadata");
+                }
+                return Map.of("id", id);
+            });
+        }
+        pipeline.close();
+
+        assertEquals(0, pipeline.getNbIndexed());
+        assertEquals(5, pipeline.getNbFailed());
+    }
+
+    @Test
+    public void abortTest() throws Exception {
+        final CountDownLatch sending = new CountDownLatch(1);
+        final AtomicBoolean inFlight = new AtomicBoolean();
+        final List<String> sent = new CopyOnWriteArrayList<>();
+        final BulkIndexPipeline pipeline = new BulkIndexPipeline(docs -> {
+            inFlight.set(true);
+            sending.countDown();
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException ex) {
+                // a bulk request in progress is not interrupted
+            }
+            sent.addAll(docs.keySet());
+            inFlight.set(false);
+            return new BulkResult(List.of(), Map.of());
+        }, 1, 2, Long.MAX_VALUE, 0, "test");
+
+        pipeline.submit("doc-0", () -> Map.of("id", "doc-0"));
+        pipeline.submit("doc-1", () -> Map.of("id", "doc-1"));
+        pipeline.submit("doc-2", () -> Map.of("id", "doc-2"));
+        sending.await();
+        pipeline.abort();
+
+        // the request in progress is ended, the remaining document is discarded.
+        assertFalse(inFlight.get());
+        pipeline.close();
+        assertEquals(List.of("doc-0", "doc-1"), sent);
+    }
+}
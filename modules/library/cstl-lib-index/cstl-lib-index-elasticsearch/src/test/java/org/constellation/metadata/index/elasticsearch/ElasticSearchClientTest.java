@@ -0,0 +1,84 @@
+/*
+ *    Examind Community - An open source and standard compliant SDI
+ *    https://community.examind.com/
+ *
+ * Copyright 2026 Geomatys.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.constellation.metadata.index.elasticsearch;
+
+import java.util.Set;
+import org.constellation.metadata.index.elasticsearch.ElasticSearchClient.AliasSwitch;
+import org.elasticsearch.rest.RestStatus;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ * Test the decisions of the ElasticSearch client which do not need a server.
+ */
+public class ElasticSearchClientTest {
+
+    /**
+     * Only a full bulk queue or an unavailable node lead to a retry.
+     */
+    @Test
+    public void transientFailureTest() {
+        assertTrue(ElasticSearchClient.isTransientFailure(RestStatus.TOO_MANY_REQUESTS));
+        assertTrue(ElasticSearchClient.isTransientFailure(RestStatus.SERVICE_UNAVAILABLE));
+
+        assertFalse(ElasticSearchClient.isTransientFailure(RestStatus.BAD_REQUEST));
+        assertFalse(ElasticSearchClient.isTransientFailure(RestStatus.NOT_FOUND));
+        assertFalse(ElasticSearchClient.isTransientFailure(RestStatus.CONFLICT));
+        assertFalse(ElasticSearchClient.isTransientFailure(RestStatus.INTERNAL_SERVER_ERROR));
+        assertFalse(ElasticSearchClient.isTransientFailure(RestStatus.GATEWAY_TIMEOUT));
+        assertFalse(ElasticSearchClient.isTransientFailure(null));
+    }
+
+    /**
+     * An index created before the alias management is removed before creating the alias.
+     */
+    @Test
+    public void legacyIndexSwitchTest() {
+        final AliasSwitch plan = AliasSwitch.plan("csw_2", Set.of(), true);
+        assertTrue(plan.deleteLegacyIndex());
+        assertTrue(plan.previous().isEmpty());
+    }
+
+    /**
+     * The first rebuild of a new index has nothing to remove.
+     */
+    @Test
+    public void firstSwitchTest() {
+        final AliasSwitch plan = AliasSwitch.plan("csw_1", Set.of(), false);
+        assertFalse(plan.deleteLegacyIndex());
+        assertTrue(plan.previous().isEmpty());
+    }
+
+    /**
+     * The indices previously behind the alias are detached, then returned to be removed.
+     */
+    @Test
+    public void rebuildSwitchTest() {
+        final AliasSwitch plan = AliasSwitch.plan("csw_3", Set.of("csw_1", "csw_2"), false);
+        assertFalse(plan.deleteLegacyIndex());
+        assertEquals(Set.of("csw_1", "csw_2"), plan.previous());
+
+        // switching again on the current index never removes it
+        final AliasSwitch same = AliasSwitch.plan("csw_3", Set.of("csw_3"), false);
+        assertFalse(same.deleteLegacyIndex());
+        assertTrue(same.previous().isEmpty());
+    }
+}
@@ -57,6 +57,7 @@ import org.geotoolkit.gml.xml.v321.DirectPositionType;
 import org.geotoolkit.gml.xml.v321.EnvelopeType;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import org.opengis.filter.Filter;
 import org.opengis.filter.FilterFactory;
@@ -1288,6 +1289,39 @@ public class ElasticSearchIndexTest {
 
     }
 
+    /**
+     * Test the full rebuild of an index created before the alias management:
+     * the concrete index is replaced by an alias, and each rebuild removes the previous physical index.
+     */
+    @Test
+    @Order(order = 12)
+    public void rebuildTest() throws Exception {
+        if (!ES_SERVER_PRESENT) return;
+        final String indexName = ("RebuildTest" + UUID.randomUUID().toString()).toLowerCase();
+        final ElasticSearchClient client = ElasticSearchClient.getClientInstance("localhost", 9200, null, null, null);
+        final Map<String, Class> fields = new HashMap<>();
+        fields.put("id", String.class);
+        client.prepareType(indexName, fields, false);
+        assertTrue(client.getAliasIndices(indexName).isEmpty());
+
+        final ElasticSearchNodeIndexer rebuilt = new ElasticSearchNodeIndexer(fillTestData(), "localhost", 9200, null, null, null, indexName, new HashMap<>(), false);
+        try {
+            rebuilt.createIndex(fillTestData());
+            final Set<String> first = client.getAliasIndices(indexName);
+            assertEquals(1, first.size());
+
+            rebuilt.createIndex(fillTestData());
+            final Set<String> second = client.getAliasIndices(indexName);
+            assertEquals(1, second.size());
+            assertFalse(second.equals(first));
+            assertFalse(client.indexExist(first.iterator().next()));
+        } finally {
+            client.deleteIndex(indexName);
+            rebuilt.destroy();
+            ElasticSearchClient.releaseClientInstance("localhost", 9200, null);
+        }
+    }
+
     public static List<Node> fillTestData() throws Exception {
         List<Node> result = new ArrayList<>();
 
@@ -0,0 +1,62 @@
+/*
+ *    Examind Community - An open source and standard compliant SDI
+ *    https://community.examind.com/
+ *
+ * Copyright 2026 Geomatys.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.constellation.metadata.index.elasticsearch;
+
+import java.util.List;
+import java.util.Set;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ * Test the tracking of the documents modified during a full rebuild, which are indexed again once the rebuild is exposed.
+ */
+public class RebuildTrackerTest {
+
+    @Test
+    public void trackTest() {
+        final RebuildTracker tracker = new RebuildTracker();
+
+        // no rebuild running: the modifications are only sent to the current index
+        assertNull(tracker.record(List.of("doc-0")));
+
+        tracker.start("csw_1");
+        assertEquals("csw_1", tracker.record(List.of("doc-1")));
+        assertEquals("csw_1", tracker.record(List.of("doc-2", "doc-1")));
+
+        // the documents modified during the rebuild are returned once, to be replayed
+        assertEquals(Set.of("doc-1", "doc-2"), tracker.finish());
+        assertNull(tracker.record(List.of("doc-3")));
+        assertTrue(tracker.finish().isEmpty());
+    }
+
+    /**
+     * A new rebuild does not replay the modifications of a previous one.
+     */
+    @Test
+    public void restartTest() {
+        final RebuildTracker tracker = new RebuildTracker();
+        tracker.start("csw_1");
+        tracker.record(List.of("doc-1"));
+        tracker.start("csw_2");
+        assertEquals("csw_2", tracker.record(List.of("doc-2")));
+        assertEquals(Set.of("doc-2"), tracker.finish());
+    }
+}
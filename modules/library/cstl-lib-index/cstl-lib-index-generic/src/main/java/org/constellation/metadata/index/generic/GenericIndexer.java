@@ -39,6 +39,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -68,6 +69,11 @@ public class GenericIndexer extends AbstractCSWIndexer<Object> {
      */
     private final ExecutorService pool = Executors.newFixedThreadPool(6);
 
+    /**
+     * The MDWeb paths converted from the queryable XPaths, to avoid converting them for each metadata.
+     */
+    private final Map<List<String>, List<String>> mdPaths = new ConcurrentHashMap<>();
+
     /**
      * Creates a new Lucene Index into the specified directory with the specified generic database reader.
      *
@@ -225,7 +231,7 @@ public class GenericIndexer extends AbstractCSWIndexer<Object> {
 
                 @Override
                 public TermValue call() {
-                    final List<String> paths = XpathUtils.xpathToMDPath(queryableSet.get(term).paths);
+                    final List<String> paths = getMDPaths(queryableSet.get(term));
                     return new TermValue(term, Utils.extractValues(metadata, paths));
                 }
             });
@@ -288,10 +294,14 @@ public class GenericIndexer extends AbstractCSWIndexer<Object> {
     @Override
     @Deprecated
     protected List<Object> getValues(final Object metadata, final PathType pathType) {
-        final List<String> mdpaths = XpathUtils.xpathToMDPath(pathType.paths);
+        final List<String> mdpaths = getMDPaths(pathType);
         return  Utils.extractValues(metadata, mdpaths);
     }
 
+    private List<String> getMDPaths(final PathType pathType) {
+        return mdPaths.computeIfAbsent(pathType.paths, XpathUtils::xpathToMDPath);
+    }
+
     @Override
     public void destroy() {
         LOGGER.info("shutting down generic indexer");
@@ -18,11 +18,29 @@
  */
 package org.constellation.metadata.index.generic;
 
+import java.io.IOException;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.MultiBits;
+import org.apache.lucene.index.MultiTerms;
+import org.apache.lucene.index.PostingsEnum;
+import org.apache.lucene.index.Terms;
+import org.apache.lucene.index.TermsEnum;
+import org.apache.lucene.search.DocIdSetIterator;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.util.Bits;
+import org.apache.lucene.util.BytesRef;
 import org.constellation.metadata.index.IndexSearcher;
 import org.geotoolkit.index.IndexingException;
+import org.geotoolkit.index.SearchingException;
+import org.geotoolkit.lucene.LuceneUtils;
+
+import static org.constellation.api.CommonConstants.NULL_VALUE;
 
 /**
  *
@@ -41,4 +59,52 @@ public class LuceneIndexSearcher extends org.geotoolkit.lucene.index.LuceneIndex
     public LuceneIndexSearcher(final Path configDir, final String serviceID, final Analyzer analyzer, final boolean envelopeOnly) throws IndexingException {
         super(configDir, serviceID, analyzer, envelopeOnly);
     }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The values are read from the terms of the untokenized field {@code <fieldName>_raw} written by the indexer.
+     */
+    @Override
+    public List<String> getFieldValues(final String fieldName) throws SearchingException {
+        try (final Directory directory = LuceneUtils.getAppropriateDirectory(getFileDirectory());
+             final DirectoryReader reader = DirectoryReader.open(directory)) {
+            final Terms terms = MultiTerms.getTerms(reader, fieldName + "_raw");
+            if (terms == null) {
+                return null;
+            }
+            final Bits liveDocs   = MultiBits.getLiveDocs(reader);
+            final List<String> results = new ArrayList<>();
+            final TermsEnum it    = terms.iterator();
+            PostingsEnum postings = null;
+            BytesRef term;
+            while ((term = it.next()) != null) {
+                final String value = term.utf8ToString();
+                if (NULL_VALUE.equals(value)) {
+                    continue;
+                }
+                int count;
+                if (liveDocs == null) {
+                    count = it.docFreq();
+                } else {
+                    // the document frequency includes the deleted documents
+                    count    = 0;
+                    postings = it.postings(postings, PostingsEnum.NONE);
+                    for (int doc = postings.nextDoc(); doc != DocIdSetIterator.NO_MORE_DOCS; doc = postings.nextDoc()) {
+                        if (liveDocs.get(doc)) {
+                            count++;
+                        }
+                    }
+                }
+                for (int i = 0; i < count; i++) {
+                    results.add(value);
+                }
+            }
+            // the terms are in UTF-8 byte order, which may differ from the String order
+            Collections.sort(results);
+            return results;
+        } catch (IOException ex) {
+            throw new SearchingException("Error while reading the values of the field " + fieldName, ex);
+        }
+    }
 }
@@ -148,7 +148,7 @@ public class OM2MeasureFieldFilteredRemover extends OM2MeasureHandler {
                     throw new IllegalArgumentException("Unexpected observation time bounds type:" + obsInfo.time.getClass().getName());
                 }
 
-                final ResultValuesIterator vi = new ResultValuesIterator(cr, dialect);
+                final ResultValuesIterator vi = new ResultValuesIterator(cr);
                 final List<DataLine> blocks = vi.getDataLines();
 
                 for (DataLine block : blocks) {
@@ -116,7 +116,7 @@ public class OM2MeasureRemover extends OM2MeasureHandler {
                     throw new IllegalArgumentException("A time filter must be supplied");
                 }
 
-                final ResultValuesIterator vi = new ResultValuesIterator(cr, dialect);
+                final ResultValuesIterator vi = new ResultValuesIterator(cr);
                 final List<DataLine> blocks = vi.getDataLines();
 
                 int rmCount = 0;
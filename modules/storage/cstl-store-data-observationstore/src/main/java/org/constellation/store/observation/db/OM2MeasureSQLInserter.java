@@ -25,94 +25,83 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
-import java.util.Set;
+import java.util.TreeMap;
 import org.apache.sis.storage.DataStoreException;
 import static org.constellation.store.observation.db.OM2Utils.flatFields;
 import static org.constellation.store.observation.db.model.OMSQLDialect.*;
-import org.constellation.util.SQLBatch;
 import org.constellation.store.observation.db.ResultValuesIterator.DataLine;
 import org.constellation.store.observation.db.model.ProcedureInfo;
+import org.constellation.util.PreparedSQLBatch;
 import org.constellation.util.Util;
 import org.geotoolkit.observation.model.ComplexResult;
 
 /**
+ * Insert the measures of a complex result into the measure tables of a procedure.
+ *
+ * The values are bound to prepared multi-rows insertion statements, built once by table and reused for all the lines.
+ * In update mode, the existing measures are looked up by block of lines with a single query.
  *
  * @author Guilhem Legal (Geomatys)
  */
 public class OM2MeasureSQLInserter extends OM2MeasureHandler {
 
+    /**
+     * Number of lines extracted and looked up (in update mode) at once.
+     */
+    private static final int LINE_BLOCK_SIZE = 500;
+
+    /**
+     * Maximum number of lines inserted by a single statement.
+     */
+    private static final int MAX_ROWS_BY_STATEMENT = 100;
+
+    /**
+     * Maximum number of parameters in a single statement (postgres limit is 32767).
+     */
+    private static final int MAX_PARAMETERS = 30000;
+
+    /**
+     * Number of statements added to a batch before executing it.
+     */
+    private static final int MAX_STATEMENTS_BY_BATCH = 10;
+
     private final List<InsertDbField> fields;
 
-    // calculated
-    private final Map<Integer, String> insertRequests;
+    /**
+     * Index of the fields in {@link #fields} by table number.
+     * The tables without fields are included, as a line must be inserted in all of them.
+     */
+    private final Map<Integer, List<Integer>> tableFields;
 
     public OM2MeasureSQLInserter(final ProcedureInfo pi, final String schemaPrefix, final OMSQLDialect dialect, final List<InsertDbField> fields) throws DataStoreException {
         super(pi, schemaPrefix, dialect);
         this.fields = flatFields(fields);
-        this.insertRequests = buildInsertRequests();
-    }
-
-    /**
-     * Build the measure insertion requests.
-     *
-     * @return A SQL request.
-     * @throws DataStoreException If a field contains forbidden characters.
-     */
-    private Map<Integer, String> buildInsertRequests() throws DataStoreException {
-        Set<Integer> tableIndexes = new HashSet<>();
+        this.tableFields = new TreeMap<>();
         for (int i = 1; i <= pi.nbTable; i++) {
-            tableIndexes.add(i);
+            tableFields.put(i, new ArrayList<>());
         }
-        Map<Integer, StringBuilder> builders = new HashMap<>();
-        for (DbField field : fields) {
+        for (int i = 0; i < this.fields.size(); i++) {
+            DbField field = this.fields.get(i);
             if (Util.containsForbiddenCharacter(field.name)) {
                 throw new DataStoreException("Invalid field name");
             }
-            StringBuilder sql = builders.computeIfAbsent(field.tableNumber, tn ->
-            {
-                tableIndexes.remove(tn);
-                String suffix = "";
-                if (tn > 1) {
-                    suffix = "_" + tn;
-                }
-                return new StringBuilder("INSERT INTO \"" + schemaPrefix + "mesures\".\"" + baseTableName + suffix + "\" (\"id_observation\", \"id\", ");
-            });
-            sql.append('"').append(field.name).append("\",");
-        }
-
-        // add statement for un involved tables
-        // main table should never be in that list
-        for (Integer tn : tableIndexes) {
-            String suffix = "";
-            if (tn > 1) {
-                suffix = "_" + tn;
-            }
-            builders.put(tn, new StringBuilder("INSERT INTO \"" + schemaPrefix + "mesures\".\"" + baseTableName + suffix + "\" (\"id_observation\", \"id\" "));
-        }
-
-        Map<Integer, String> results = new HashMap<>();
-        for (Entry<Integer, StringBuilder> builder : builders.entrySet()) {
-            StringBuilder sql = builder.getValue();
-            sql.setCharAt(sql.length() - 1, ' ');
-            sql.append(") VALUES ");
-            results.put(builder.getKey(), sql.toString());
+            tableFields.computeIfAbsent(field.tableNumber, tn -> new ArrayList<>()).add(i);
         }
-        return results;
     }
 
-    private Map<Integer, StringBuilder> newInsertBatch() {
-        Map<Integer, StringBuilder>  results = new HashMap<>();
-        for (Entry<Integer, String> ir : insertRequests.entrySet()) {
-            results.put(ir.getKey(), new StringBuilder(ir.getValue()));
+    private String getTableName(int tableNumber) {
+        String suffix = "";
+        if (tableNumber > 1) {
+            suffix = "_" + tableNumber;
         }
-        return results;
+        return "\"" + schemaPrefix + "mesures\".\"" + baseTableName + suffix + "\"";
     }
 
     /**
@@ -127,92 +116,151 @@ public class OM2MeasureSQLInserter extends OM2MeasureHandler {
      * @throws DataStoreException
      */
     public void fillMesureTable(final Connection c, final int oid, final ComplexResult cr, boolean update) throws SQLException, DataStoreException {
-         ResultValuesIterator vi = new ResultValuesIterator(cr, dialect);
+        ResultValuesIterator vi = new ResultValuesIterator(cr);
 
         if (update) LOGGER.info("Inserting measure in update mode");
 
         final List<DataLine> blocks = vi.getDataLines();
         int mid =  update ? getLastMeasureId(c, oid) : 1;
-        int sqlCpt = 0;
-        try (final Statement stmtSQL = c.createStatement()) {
-            SQLBatch sqlBatch = new SQLBatch(stmtSQL, dialect.supportBatch);
-            Map<Integer, StringBuilder> builders = newInsertBatch();
-            for (DataLine block : blocks) {
-
-                List<Entry<InsertDbField, String>> fieldValues = block.extractValues(fields);
 
-                // look for an existing line to update
+        final List<TableInserter> inserters = new ArrayList<>();
+        final List<TableUpdater> updaters = new ArrayList<>();
+        try {
+            for (Map.Entry<Integer, List<Integer>> entry : tableFields.entrySet()) {
+                inserters.add(new TableInserter(c, oid, entry.getKey(), entry.getValue()));
                 if (update) {
-                    final Entry<InsertDbField, String> main = fieldValues.get(0);
-                    try (final PreparedStatement measExist = c.prepareStatement("SELECT \"id\" FROM \"" + schemaPrefix + "mesures\".\"" + baseTableName + "\" " +
-                                                                        "WHERE \"id_observation\" = ? AND \"" + main.getKey().name + "\" = " + main.getValue())) {
-                        measExist.setInt(1, oid);
-                        try (final ResultSet rs = measExist.executeQuery()) {
-                            // there is an existing line
-                            if (rs.next()) {
-                                List<String> upSqls = buildUpdateLines(rs.getInt(1), oid, fieldValues);
-                                for (String upSql : upSqls) {
-                                    sqlBatch.addBatch(upSql);
-                                }
-                                continue;
-                            } else {
-                                buildInsertLine(mid, oid, fieldValues, builders);
-                            }
-                        }
+                    // the main field is never updated
+                    final List<Integer> updated = new ArrayList<>(entry.getValue());
+                    updated.remove(Integer.valueOf(0));
+                    if (!updated.isEmpty()) {
+                        updaters.add(new TableUpdater(c, oid, entry.getKey(), updated));
                     }
-                } else {
-                    buildInsertLine(mid, oid, fieldValues, builders);
                 }
-                mid++;
-                sqlCpt++;
-                if (sqlCpt > 99) {
-                    endBatch(builders);
-                    for (StringBuilder builder : builders.values()) {
-                        sqlBatch.addBatch(builder.toString());
+            }
+            for (int from = 0; from < blocks.size(); from += LINE_BLOCK_SIZE) {
+                final List<DataLine> subBlocks = blocks.subList(from, Math.min(from + LINE_BLOCK_SIZE, blocks.size()));
+                final List<Object[]> lines = new ArrayList<>(subBlocks.size());
+                for (DataLine block : subBlocks) {
+                    lines.add(block.extractTypedValues(fields));
+                }
+
+                // look for the existing lines to update
+                final Map<Object, Integer> existing = update ? findExistingMeasures(c, oid, lines) : Map.of();
+
+                for (Object[] values : lines) {
+                    final Integer existingId = existing.get(mainValueKey(values[0]));
+                    if (existingId != null) {
+                        for (TableUpdater updater : updaters) {
+                            updater.update(existingId, values);
+                        }
+                    } else {
+                        for (TableInserter inserter : inserters) {
+                            inserter.insert(mid, values);
+                        }
+                        mid++;
                     }
-                    sqlCpt = 0;
-                    builders = newInsertBatch();
                 }
             }
-            if (sqlCpt > 0) {
-                endBatch(builders);
-                for (StringBuilder builder : builders.values()) {
-                    sqlBatch.addBatch(builder.toString());
-                }
+            for (TableInserter inserter : inserters) {
+                inserter.finish();
+            }
+            for (TableUpdater updater : updaters) {
+                updater.finish();
+            }
+        } finally {
+            for (TableInserter inserter : inserters) {
+                inserter.close();
+            }
+            for (TableUpdater updater : updaters) {
+                updater.close();
             }
-            sqlBatch.executeBatch();
         }
     }
 
     /**
-     * Build an SQL insertion line.
+     * Look for the already inserted measures matching the main value of the specified lines.
      *
-     * @param mid measure identifier.
+     * @param c SQL connection.
      * @param oid observation identifier.
-     * @param fieldValues Map of Field/value
+     * @param lines Lines values.
      *
-     * @return A SQL insert part, to add in a SQL Batch.
+     * @return A map of main value key to existing measure identifier.
+     * @throws SQLException
      */
-    private void buildInsertLine(int mid, int oid, List<Entry<InsertDbField, String>> fieldValues, Map<Integer, StringBuilder> builders) {
-
-        for (StringBuilder builder : builders.values()) {
-            builder.append('(').append(oid).append(',').append(mid).append(',');
+    private Map<Object, Integer> findExistingMeasures(Connection c, int oid, List<Object[]> lines) throws SQLException {
+        final InsertDbField main = fields.get(0);
+        final List<Object> mainValues = new ArrayList<>(lines.size());
+        for (Object[] line : lines) {
+            if (line[0] != null) {
+                mainValues.add(line[0]);
+            }
+        }
+        final Map<Object, Integer> results = new HashMap<>();
+        if (mainValues.isEmpty()) {
+            return results;
+        }
+        final StringBuilder sql = new StringBuilder("SELECT \"id\", \"").append(main.name).append("\" FROM ").append(getTableName(1))
+                                            .append(" WHERE \"id_observation\" = ? AND \"").append(main.name).append("\" IN (");
+        for (int i = 0; i < mainValues.size(); i++) {
+            sql.append(i == 0 ? "?" : ",?");
         }
-        for (Entry<InsertDbField, String> entry : fieldValues) {
-            StringBuilder builder = builders.get(entry.getKey().tableNumber);
-            String value = entry.getValue();
-            if (value != null && !value.isEmpty()) {
-                builder.append(value).append(",");
-            } else {
-                builder.append("NULL,");
+        sql.append(')');
+        try (final PreparedStatement measExist = c.prepareStatement(sql.toString())) {
+            measExist.setInt(1, oid);
+            for (int i = 0; i < mainValues.size(); i++) {
+                setValue(measExist, i + 2, main, mainValues.get(i));
             }
+            try (final ResultSet rs = measExist.executeQuery()) {
+                while (rs.next()) {
+                    results.putIfAbsent(mainValueKey(rs.getObject(2)), rs.getInt(1));
+                }
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Return a key comparable between a value extracted from the result and a value read in the database.
+     */
+    private static Object mainValueKey(Object value) {
+        if (value instanceof Date d) {
+            return d.getTime();
+        } else if (value instanceof Number n) {
+            return n.doubleValue();
         }
-        for (StringBuilder builder : builders.values()) {
-            builder.setCharAt(builder.length() - 1, ' ');
-            builder.append("),\n");
+        return value;
+    }
+
+    /**
+     * Bind a typed value to a statement parameter.
+     */
+    private void setValue(PreparedStatement stmt, int index, InsertDbField field, Object value) throws SQLException {
+        switch (value) {
+            case null        -> stmt.setNull(index, getSQLType(field));
+            case Timestamp t -> stmt.setTimestamp(index, t);
+            case String s    -> stmt.setString(index, s);
+            case Boolean b   -> {
+                if (dialect.equals(DERBY)) {
+                    stmt.setInt(index, b ? 1 : 0);
+                } else {
+                    stmt.setBoolean(index, b);
+                }
+            }
+            case Double d    -> stmt.setDouble(index, d);
+            default          -> stmt.setObject(index, value);
         }
     }
 
+    private int getSQLType(InsertDbField field) {
+        return switch (field.type) {
+            case TIME     -> Types.TIMESTAMP;
+            case TEXT     -> Types.VARCHAR;
+            case BOOLEAN  -> dialect.equals(DERBY) ? Types.INTEGER : Types.BOOLEAN;
+            case QUANTITY -> Types.DOUBLE;
+            default       -> Types.NULL;
+        };
+    }
+
     /**
      * return the next available measure id, for the specified observation.
      *
@@ -223,7 +271,7 @@ public class OM2MeasureSQLInserter extends OM2MeasureHandler {
      * @throws SQLException
      */
     private int getLastMeasureId(Connection c, int oid) throws SQLException {
-        try (final PreparedStatement maxId = c.prepareStatement("SELECT max(\"id\") FROM \"" + schemaPrefix + "mesures\".\"" + baseTableName + "\" WHERE \"id_observation\" = ? ")) {
+        try (final PreparedStatement maxId = c.prepareStatement("SELECT max(\"id\") FROM " + getTableName(1) + " WHERE \"id_observation\" = ? ")) {
             maxId.setInt(1, oid);
             try (final ResultSet rs = maxId.executeQuery()) {
                 // there is an existing line
@@ -236,62 +284,147 @@ public class OM2MeasureSQLInserter extends OM2MeasureHandler {
     }
 
     /**
-     * Build an SQL update line.
-     *
-     * @param mid measure identifier.
-     * @param oid observation identifier.
-     * @param fieldValues Map of Field/value
-     *
-     * @return A SQL update query, to add in a SQL Batch.
+     * Insert the lines in a single measure table, using a reused multi-rows prepared statement.
      */
-    private List<String> buildUpdateLines(int mid, int oid, List<Entry<InsertDbField, String>> fieldValues) {
-        Map<Integer, StringBuilder> builders = new HashMap<>();
-        
-        for (int i = 1; i < fieldValues.size(); i++) {
-            Entry<InsertDbField, String> entry = fieldValues.get(i);
-
-            StringBuilder sql = builders.computeIfAbsent(entry.getKey().tableNumber, tn ->
-            {
-                String suffix = "";
-                if (tn > 1) {
-                    suffix = "_" + tn;
+    private final class TableInserter implements AutoCloseable {
+
+        private final Connection c;
+        private final int oid;
+        private final List<Integer> fieldIndexes;
+        private final String sqlPrefix;
+        private final String sqlRow;
+        private final int rowsByStatement;
+
+        private final List<Object[]> pendingLines = new ArrayList<>();
+        private final List<Integer> pendingIds = new ArrayList<>();
+        private PreparedStatement stmt;
+        private PreparedSQLBatch batch;
+        private int nbBatched;
+
+        private TableInserter(Connection c, int oid, int tableNumber, List<Integer> fieldIndexes) {
+            this.c = c;
+            this.oid = oid;
+            this.fieldIndexes = fieldIndexes;
+            final StringBuilder sql = new StringBuilder("INSERT INTO ").append(getTableName(tableNumber)).append(" (\"id_observation\", \"id\"");
+            final StringBuilder row = new StringBuilder("(?,?");
+            for (Integer i : fieldIndexes) {
+                sql.append(", \"").append(fields.get(i).name).append('"');
+                row.append(",?");
+            }
+            this.sqlPrefix = sql.append(") VALUES ").toString();
+            this.sqlRow = row.append(')').toString();
+            this.rowsByStatement = Math.max(1, Math.min(MAX_ROWS_BY_STATEMENT, MAX_PARAMETERS / (fieldIndexes.size() + 2)));
+        }
+
+        private String buildRequest(int nbRows) {
+            final StringBuilder sql = new StringBuilder(sqlPrefix);
+            for (int i = 0; i < nbRows; i++) {
+                if (i > 0) sql.append(',');
+                sql.append(sqlRow);
+            }
+            return sql.toString();
+        }
+
+        private void insert(int mid, Object[] values) throws SQLException {
+            pendingIds.add(mid);
+            pendingLines.add(values);
+            if (pendingLines.size() == rowsByStatement) {
+                if (stmt == null) {
+                    stmt = c.prepareStatement(buildRequest(rowsByStatement));
+                    batch = new PreparedSQLBatch(stmt, dialect.supportBatch);
+                }
+                bind(stmt);
+                batch.addBatch();
+                if (++nbBatched == MAX_STATEMENTS_BY_BATCH) {
+                    batch.executeBatch();
+                    nbBatched = 0;
                 }
-                return new StringBuilder("UPDATE \"" + schemaPrefix + "mesures\".\"" + baseTableName + suffix + "\" SET ");
-            });
-            sql.append('"').append(entry.getKey().name).append("\" = ");
-            String value = entry.getValue();
-            if (value != null && !value.isEmpty()) {
-                sql.append(value).append(",");
-            } else {
-                sql.append("NULL,");
             }
         }
-        List<String> results = new ArrayList<>();
-        for (Entry<Integer, StringBuilder> builder : builders.entrySet()) {
-            StringBuilder sql = builder.getValue();
-            sql.setCharAt(sql.length() - 1, ' ');
-            sql.append(" WHERE \"id\" = ").append(mid).append(" AND \"id_observation\" = ").append(oid);
-            if (dialect.equals(POSTGRES)) {
-                sql.append(';');
+
+        private void bind(PreparedStatement ps) throws SQLException {
+            int p = 1;
+            for (int i = 0; i < pendingLines.size(); i++) {
+                final Object[] values = pendingLines.get(i);
+                ps.setInt(p++, oid);
+                ps.setInt(p++, pendingIds.get(i));
+                for (Integer fi : fieldIndexes) {
+                    setValue(ps, p++, fields.get(fi), values[fi]);
+                }
+            }
+            pendingLines.clear();
+            pendingIds.clear();
+        }
+
+        private void finish() throws SQLException {
+            if (nbBatched > 0) {
+                batch.executeBatch();
+                nbBatched = 0;
+            }
+            if (!pendingLines.isEmpty()) {
+                try (final PreparedStatement last = c.prepareStatement(buildRequest(pendingLines.size()))) {
+                    bind(last);
+                    last.executeUpdate();
+                }
+            }
+        }
+
+        @Override
+        public void close() throws SQLException {
+            if (stmt != null) {
+                stmt.close();
             }
-            results.add(sql.toString());
         }
-        return results;
     }
 
     /**
-     * close a batch.
-     *
-     * @param sql A builder containing a SQL batch.
+     * Update the existing lines in a single measure table, using a reused prepared statement.
      */
-    private void endBatch(Map<Integer, StringBuilder> builders) {
-        for (StringBuilder builder : builders.values()) {
-            builder.setCharAt(builder.length() - 2, ' ');
-            if (dialect.equals(POSTGRES)) {
-                builder.setCharAt(builder.length() - 1, ';');
-            } else {
-                builder.setCharAt(builder.length() - 1, ' ');
+    private final class TableUpdater implements AutoCloseable {
+
+        private final int oid;
+        private final List<Integer> fieldIndexes;
+        private final PreparedStatement stmt;
+        private final PreparedSQLBatch batch;
+        private int nbBatched;
+
+        private TableUpdater(Connection c, int oid, int tableNumber, List<Integer> fieldIndexes) throws SQLException {
+            this.oid = oid;
+            this.fieldIndexes = fieldIndexes;
+            final StringBuilder sql = new StringBuilder("UPDATE ").append(getTableName(tableNumber)).append(" SET ");
+            for (int i = 0; i < fieldIndexes.size(); i++) {
+                if (i > 0) sql.append(", ");
+                sql.append('"').append(fields.get(fieldIndexes.get(i)).name).append("\" = ?");
+            }
+            sql.append(" WHERE \"id\" = ? AND \"id_observation\" = ?");
+            this.stmt = c.prepareStatement(sql.toString());
+            this.batch = new PreparedSQLBatch(stmt, dialect.supportBatch);
+        }
+
+        private void update(int mid, Object[] values) throws SQLException {
+            int p = 1;
+            for (Integer fi : fieldIndexes) {
+                setValue(stmt, p++, fields.get(fi), values[fi]);
             }
+            stmt.setInt(p++, mid);
+            stmt.setInt(p, oid);
+            batch.addBatch();
+            if (++nbBatched == MAX_ROWS_BY_STATEMENT) {
+                batch.executeBatch();
+                nbBatched = 0;
+            }
+        }
+
+        private void finish() throws SQLException {
+            if (nbBatched > 0) {
+                batch.executeBatch();
+                nbBatched = 0;
+            }
+        }
+
+        @Override
+        public void close() throws SQLException {
+            stmt.close();
         }
     }
 }
@@ -714,8 +714,9 @@ public class OM2ObservationFilterReader extends OM2ObservationFilter {
                 processor.processResults(rs, fieldOffset);
             }
             switch (values.getMode()) {
-                case DATA_ARRAY:  return new ComplexResult(fields, values.getDataArray(), null);
-                case CSV:         return new ComplexResult(fields, values.getEncoding(), values.getStringValues(), null);
+                // the number of values is returned with the data, to avoid a second count request
+                case DATA_ARRAY:  return new ComplexResult(fields, values.getDataArray(), processor.getNbValues());
+                case CSV:         return new ComplexResult(fields, values.getEncoding(), values.getStringValues(), processor.getNbValues());
                 case COUNT:       return new ComplexResult(values.getCount());
                 default: throw new IllegalArgumentException("Unexpected result mode");
             }
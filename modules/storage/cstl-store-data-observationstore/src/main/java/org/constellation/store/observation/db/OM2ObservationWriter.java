@@ -46,6 +46,12 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.logging.Level;
 import org.constellation.dto.service.config.sos.OM2ResultEventDTO;
 import static org.constellation.store.observation.db.OM2BaseReader.LOGGER;
@@ -97,6 +103,25 @@ public class OM2ObservationWriter extends OM2BaseReader implements ObservationWr
 
     private final int maxFieldByTable;
 
+    /**
+     * Lock held in shared mode by the operations on a single procedure (or on the dictionary tables),
+     * and in exclusive mode by the operations removing entities across procedures.
+     */
+    private final ReentrantReadWriteLock storeLock = new ReentrantReadWriteLock();
+
+    /**
+     * One lock by procedure, to serialize the writes on the same procedure measure tables and offering.
+     * The writes on distinct procedures are performed in parallel.
+     * A lock is removed from the map when its last user releases it.
+     */
+    private final Map<String, ProcedureLock> procedureLocks = new ConcurrentHashMap<>();
+
+    /**
+     * Next observation / procedure identifiers available, used to reserve identifiers between concurrent writes.
+     */
+    private final AtomicInteger nextObservationId = new AtomicInteger();
+    private final AtomicInteger nextProcedureId   = new AtomicInteger();
+
     /**
      * Build a new Observation writer for the given data source.
      *
@@ -119,9 +144,10 @@ public class OM2ObservationWriter extends OM2BaseReader implements ObservationWr
      * {@inheritDoc}
      */
     @Override
-    public synchronized String writeObservation(final Observation observation) throws DataStoreException {
-        try(final Connection c = source.getConnection()) {
-            final int generatedID   = getNewObservationId(c);
+    public String writeObservation(final Observation observation) throws DataStoreException {
+        try(final WriterLock lock = lockProcedures(List.of(observation));
+            final Connection c = source.getConnection()) {
+            final int generatedID   = getNewObservationId(c, 1);
             final String oid        = writeObservation(observation, c, generatedID);
             return oid;
         } catch (SQLException ex) {
@@ -133,10 +159,11 @@ public class OM2ObservationWriter extends OM2BaseReader implements ObservationWr
      * {@inheritDoc}
      */
     @Override
-    public synchronized List<String> writeObservations(final List<Observation> observations) throws DataStoreException {
+    public List<String> writeObservations(final List<Observation> observations) throws DataStoreException {
         final List<String> results = new ArrayList<>();
-        try(final Connection c = source.getConnection()) {
-            int generatedID = getNewObservationId(c);
+        try(final WriterLock lock = lockProcedures(observations);
+            final Connection c = source.getConnection()) {
+            int generatedID = getNewObservationId(c, observations.size());
             for (Observation observation : observations) {
                 final String oid = writeObservation(observation, c, generatedID);
                 results.add(oid);
@@ -499,8 +526,9 @@ public class OM2ObservationWriter extends OM2BaseReader implements ObservationWr
      * {@inheritDoc}
      */
     @Override
-    public synchronized void writePhenomenons(final List<Phenomenon> phenomenons) throws DataStoreException {
-        try(final Connection c = source.getConnection()) {
+    public void writePhenomenons(final List<Phenomenon> phenomenons) throws DataStoreException {
+        try(final WriterLock lock = lockShared();
+            final Connection c = source.getConnection()) {
             for (Phenomenon phenomenon : phenomenons) {
                 writePhenomenon(phenomenon, c, false);
             }
@@ -551,7 +579,10 @@ public class OM2ObservationWriter extends OM2BaseReader implements ObservationWr
                     } else {
                         stmtInsert.setNull(5, java.sql.Types.VARCHAR);
                     }
-                    stmtInsert.executeUpdate();
+                    if (!insertIfAbsent(stmtInsert)) {
+                        // inserted by a concurrent write, which take care of the properties and components.
+                        return;
+                    }
                     writeProperties("observed_properties_properties", phenomenonId, phenomenon.getProperties(), c);
                 }
                 if (phenomenon instanceof CompositePhenomenon composite) {
@@ -616,7 +647,8 @@ public class OM2ObservationWriter extends OM2BaseReader implements ObservationWr
      */
     @Override
     public void writeProcedure(final ProcedureDataset procedure) throws DataStoreException {
-        try(final Connection c = source.getConnection()) {
+        try(final WriterLock lock = lockProcedure(procedure.getId());
+            final Connection c = source.getConnection()) {
             writeProcedure(procedure, null, c);
         } catch (SQLException | FactoryException ex) {
             throw new DataStoreException("Error while inserting procedure.", ex);
@@ -629,7 +661,8 @@ public class OM2ObservationWriter extends OM2BaseReader implements ObservationWr
     @Override
     public void updateProcedure(Procedure procedure) throws DataStoreException {
         final String procedureID = procedure.getId();
-        try(final Connection c = source.getConnection()) {
+        try(final WriterLock lock = lockProcedure(procedureID);
+            final Connection c = source.getConnection()) {
             if (procedure instanceof ProcedureDataset pd) {
                 writeProcedure(pd, null, c);
             } else {
@@ -685,6 +718,7 @@ public class OM2ObservationWriter extends OM2BaseReader implements ObservationWr
                         if (rs2.next()) {
                             pid = rs2.getInt(1) + 1;
                         }
+                        pid = reserveIdentifiers(nextProcedureId, pid, 1);
                     }
 
                     // compute the number of measure table needed
@@ -884,7 +918,10 @@ public class OM2ObservationWriter extends OM2BaseReader implements ObservationWr
                             stmtInsert.setNull(5, java.sql.Types.VARBINARY);
                             stmtInsert.setNull(6, java.sql.Types.INTEGER);
                         }
-                        stmtInsert.executeUpdate();
+                        if (!insertIfAbsent(stmtInsert)) {
+                            // inserted by a concurrent write, which take care of the properties.
+                            return;
+                        }
                     }
                     // write properties
                     writeProperties("sampling_features_properties", foi.getId(), foi.getProperties(), c);
@@ -1182,9 +1219,10 @@ public class OM2ObservationWriter extends OM2BaseReader implements ObservationWr
      * {@inheritDoc}
      */
     @Override
-    public synchronized void writeOffering(final Offering offering) throws DataStoreException {
+    public void writeOffering(final Offering offering) throws DataStoreException {
         if (offering == null) return;
-        try (final Connection c = source.getConnection()) {
+        try (final WriterLock lock = lockProcedure(offering.getProcedure());
+             final Connection c = source.getConnection()) {
 
             boolean exist;
             try (final PreparedStatement stmtExist = c.prepareStatement("SELECT \"identifier\" FROM \"" + schemaPrefix + "om\".\"offerings\" where \"identifier\" = ?")) {//NOSONAR
@@ -1275,13 +1313,14 @@ public class OM2ObservationWriter extends OM2BaseReader implements ObservationWr
      * {@inheritDoc}
      */
     @Override
-    public synchronized void recordProcedureLocation(final String physicalID, final Geometry position) throws DataStoreException {
+    public void recordProcedureLocation(final String physicalID, final Geometry position) throws DataStoreException {
         if (position == null) return;
         final String query = switch(dialect) {
             case POSTGRES, DERBY -> "UPDATE \"" + schemaPrefix + "om\".\"procedures\" SET \"shape\"=?, \"crs\"=? WHERE \"id\"=?";
             case DUCKDB          -> "UPDATE \"" + schemaPrefix + "om\".\"procedures\" SET \"shape\"=ST_GeomFromText(?), \"crs\"=? WHERE \"id\"=?";
         };
-        try (final Connection c    = source.getConnection();
+        try (final WriterLock lock = lockProcedure(physicalID);
+            final Connection c    = source.getConnection();
             PreparedStatement ps   = c.prepareStatement(query)) {//NOSONAR
             ps.setString(3, physicalID);
             int srid = position.getSRID();
@@ -1302,7 +1341,7 @@ public class OM2ObservationWriter extends OM2BaseReader implements ObservationWr
     /**
      * {@inheritDoc}
      */
-    private int getNewObservationId(Connection c) throws DataStoreException {
+    private int getNewObservationId(Connection c, int count) throws DataStoreException {
         try(final Statement stmt       = c.createStatement();
             final ResultSet rs         = stmt.executeQuery("SELECT max(\"id\") FROM \"" + schemaPrefix + "om\".\"observations\"")) {//NOSONAR
             int resultNum;
@@ -1311,25 +1350,143 @@ public class OM2ObservationWriter extends OM2BaseReader implements ObservationWr
             } else {
                 resultNum = 1;
             }
-            return resultNum;
+            return reserveIdentifiers(nextObservationId, resultNum, count);
         } catch (SQLException ex) {
             throw new DataStoreException("Error while looking for available observation id.", ex);
         }
     }
 
+    /**
+     * Reserve a range of identifiers, starting at least at the next identifier found in the database.
+     * This avoid two concurrent writes (on distinct procedures) to use the same identifier,
+     * as the range found in the database is not yet filled by the other one.
+     *
+     * @param sequence Next identifier reserved by this writer.
+     * @param dbNext Next identifier available in the database.
+     * @param count Number of identifiers to reserve.
+     *
+     * @return The first reserved identifier.
+     */
+    private static int reserveIdentifiers(AtomicInteger sequence, int dbNext, int count) {
+        while (true) {
+            final int current = sequence.get();
+            final int start = Math.max(current, dbNext);
+            if (sequence.compareAndSet(current, start + count)) {
+                return start;
+            }
+        }
+    }
+
+    /**
+     * Execute an insertion which may fail because the same entity has been inserted by a concurrent write.
+     * The primary key of the table is used to detect this case.
+     *
+     * @param stmtInsert A prepared insertion statement.
+     *
+     * @return {@code false} if the entity already exist.
+     * @throws SQLException If the insertion fails for another reason.
+     */
+    private static boolean insertIfAbsent(PreparedStatement stmtInsert) throws SQLException {
+        try {
+            stmtInsert.executeUpdate();
+            return true;
+        } catch (SQLException ex) {
+            // integrity constraint violation (duckdb does not fill the SQL state)
+            if ((ex.getSQLState() != null && ex.getSQLState().startsWith("23")) ||
+                (ex.getMessage() != null && ex.getMessage().contains("Duplicate key"))) {
+                LOGGER.log(Level.FINER, "Entity already inserted by a concurrent write", ex);
+                return false;
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Acquire the locks on the procedures of the specified observations.
+     * The locks are acquired in the identifier order, to avoid dead locks between concurrent writes.
+     */
+    private WriterLock lockProcedures(List<Observation> observations) {
+        final Set<String> procedureIds = new TreeSet<>();
+        for (Observation observation : observations) {
+            if (observation.getProcedure() != null && observation.getProcedure().getId() != null) {
+                procedureIds.add(observation.getProcedure().getId());
+            }
+        }
+        return lockProcedures(procedureIds);
+    }
+
+    private WriterLock lockProcedures(Set<String> procedureIds) {
+        return new WriterLock(storeLock.readLock(), List.copyOf(procedureIds));
+    }
+
+    private WriterLock lockProcedure(String procedureId) {
+        return procedureId != null ? lockProcedures(Set.of(procedureId)) : lockShared();
+    }
+
+    private WriterLock lockShared() {
+        return new WriterLock(storeLock.readLock(), List.of());
+    }
+
+    private WriterLock lockExclusive() {
+        return new WriterLock(storeLock.writeLock(), List.of());
+    }
+
+    /**
+     * A procedure lock, with the number of writers holding it or waiting for it.
+     * The count is only modified inside the atomic operations of {@link #procedureLocks}.
+     */
+    private static final class ProcedureLock extends ReentrantLock {
+        private int users;
+    }
+
+    /**
+     * A store lock and a set of procedure locks, acquired at creation and released in reverse order at closing.
+     */
+    private final class WriterLock implements AutoCloseable {
+
+        private final Lock storeLock;
+        private final List<String> procedureIds;
+        private final List<ProcedureLock> locks = new ArrayList<>();
+
+        private WriterLock(Lock storeLock, List<String> procedureIds) {
+            this.storeLock = storeLock;
+            this.procedureIds = procedureIds;
+            storeLock.lock();
+            for (String procedureId : procedureIds) {
+                final ProcedureLock lock = procedureLocks.compute(procedureId, (id, l) -> {
+                    if (l == null) l = new ProcedureLock();
+                    l.users++;
+                    return l;
+                });
+                lock.lock();
+                locks.add(lock);
+            }
+        }
+
+        @Override
+        public void close() {
+            for (int i = locks.size() - 1; i >= 0; i--) {
+                locks.get(i).unlock();
+                procedureLocks.computeIfPresent(procedureIds.get(i), (id, l) -> --l.users == 0 ? null : l);
+            }
+            storeLock.unlock();
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
-    public synchronized void removeObservationForProcedure(final String procedureID) throws DataStoreException {
-        try (final Connection c = source.getConnection()) {
+    public void removeObservationForProcedure(final String procedureID) throws DataStoreException {
+        try (final WriterLock lock = lockProcedure(procedureID);
+             final Connection c = source.getConnection()) {
             removeObservationForProcedure(procedureID, c);
         } catch (SQLException ex) {
             throw new DataStoreException("Error while removing observation for procedure.", ex);
         }
     }
 
-    private synchronized void removeObservationForProcedure(final String procedureID, Connection c) throws DataStoreException, SQLException {
+    private void removeObservationForProcedure(final String procedureID, Connection c) throws DataStoreException, SQLException {
         final ProcedureInfo pi = getPIDFromProcedure(procedureID, c).orElse(null);
         if (pi != null) {
             // remove from measures tables
@@ -1369,9 +1526,10 @@ public class OM2ObservationWriter extends OM2BaseReader implements ObservationWr
      * {@inheritDoc}
      */
     @Override
-    public synchronized List<String> removeDataSet(ObservationDataset dataset) throws DataStoreException {
+    public List<String> removeDataSet(ObservationDataset dataset) throws DataStoreException {
         List<String> sensorRemoved = new ArrayList<>();
-        try (final Connection c = source.getConnection()) {
+        try (final WriterLock lock = lockExclusive();
+             final Connection c = source.getConnection()) {
 
             for (Observation obs : dataset.observations) {
                 // 1. look for intersecting observation based on time and phenomenon
@@ -1568,8 +1726,9 @@ public class OM2ObservationWriter extends OM2BaseReader implements ObservationWr
      * {@inheritDoc}
      */
     @Override
-    public synchronized void removeProcedure(final String procedureID) throws DataStoreException {
-        try (final Connection c = source.getConnection()) {
+    public void removeProcedure(final String procedureID) throws DataStoreException {
+        try (final WriterLock lock = lockExclusive();
+             final Connection c = source.getConnection()) {
             final ProcedureInfo pi = getPIDFromProcedure(procedureID, c).orElse(null);
             removeProcedure(pi, c);
         } catch (SQLException ex) {
@@ -1675,8 +1834,9 @@ public class OM2ObservationWriter extends OM2BaseReader implements ObservationWr
      * {@inheritDoc}
      */
     @Override
-    public synchronized void removeObservation(final String observationID) throws DataStoreException {
-        try (final Connection c = source.getConnection()) {
+    public void removeObservation(final String observationID) throws DataStoreException {
+        try (final WriterLock lock = lockExclusive();
+             final Connection c = source.getConnection()) {
              final ProcedureInfo pi = getPIDFromObservation(observationID, c).orElse(null);
             // observation does not exist
             if (pi == null) return;
@@ -1695,7 +1855,7 @@ public class OM2ObservationWriter extends OM2BaseReader implements ObservationWr
      * @param observationID Observation identifier.
      * @param c A SQL connection.
      */
-    private synchronized void removeObservation(final String observationID, final ProcedureInfo pi, Connection c) throws SQLException, DataStoreException {
+    private void removeObservation(final String observationID, final ProcedureInfo pi, Connection c) throws SQLException, DataStoreException {
 
         // remove from measure tables
         for (int i = 0; i < pi.nbTable; i++) {
@@ -1723,7 +1883,7 @@ public class OM2ObservationWriter extends OM2BaseReader implements ObservationWr
      * @param oid Observation identifier.
      * @param c A SQL connection.
      */
-    private synchronized void removeObservation(final int oid, final ProcedureInfo pi, Connection c) throws SQLException, DataStoreException {
+    private void removeObservation(final int oid, final ProcedureInfo pi, Connection c) throws SQLException, DataStoreException {
 
         // remove from measure tables
         for (int i = 0; i < pi.nbTable; i++) {
@@ -1911,7 +2071,7 @@ public class OM2ObservationWriter extends OM2BaseReader implements ObservationWr
      * @param c An SQL connection.
      *
      */
-    private synchronized void updateObservationPhenomenon(final ObservationInfos obsInfo, List<? extends Field> fieldsToRemove, Connection c) throws SQLException, DataStoreException {
+    private void updateObservationPhenomenon(final ObservationInfos obsInfo, List<? extends Field> fieldsToRemove, Connection c) throws SQLException, DataStoreException {
 
         /*
         * Update the new phenomenon of the observation
@@ -2262,7 +2422,8 @@ public class OM2ObservationWriter extends OM2BaseReader implements ObservationWr
 
     @Override
     public void removePhenomenon(String phenomenonID) throws DataStoreException {
-        try (final Connection c = source.getConnection()) {
+        try (final WriterLock lock = lockExclusive();
+             final Connection c = source.getConnection()) {
             Phenomenon phenToRemove = getPhenomenon(phenomenonID, c);
             if (phenToRemove != null) {
                 Set<ProcedureInfo> procedures = new HashSet<>();
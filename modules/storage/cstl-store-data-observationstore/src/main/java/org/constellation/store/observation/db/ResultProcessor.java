@@ -52,6 +52,12 @@ public class ResultProcessor {
     protected final int mainFieldIndex;
     protected final String idSuffix;
 
+    /**
+     * Number of values extracted by {@link #processResults(SQLResult, int)},
+     * or {@code null} if the extracted values does not reflect the number of matching measures (decimation).
+     */
+    protected Integer nbValues = null;
+
     public ResultProcessor(List<Field> fields, boolean includeId, boolean includeQuality, boolean includeParameter, boolean includeTimeInProfile, ProcedureInfo procedure, String idSuffix) {
         this.fields = fields;
         this.profile = "profile".equals(procedure.type);
@@ -116,5 +122,16 @@ public class ResultProcessor {
             }
             parser.parseLine(rs);
         }
+        nbValues = parser.getNbValueParsed();
+    }
+
+    /**
+     * Return the number of values extracted by the last call to {@link #processResults(SQLResult, int)}.
+     * This allow to return the data and the count of a result request in a single SQL query.
+     *
+     * @return The number of values extracted, or {@code null} if not available for this processor.
+     */
+    public Integer getNbValues() {
+        return nbValues;
     }
 }
@@ -18,19 +18,15 @@
  */
 package org.constellation.store.observation.db;
 
-import org.constellation.store.observation.db.model.OMSQLDialect;
 import org.constellation.store.observation.db.model.InsertDbField;
 import jakarta.annotation.Nullable;
 import java.sql.Timestamp;
-import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
-import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.apache.sis.storage.DataStoreException;
-import static org.constellation.store.observation.db.model.OMSQLDialect.DERBY;
 import org.constellation.util.Util;
 import org.geotoolkit.observation.model.ComplexResult;
 import static org.geotoolkit.observation.model.FieldType.BOOLEAN;
@@ -51,11 +47,9 @@ public class ResultValuesIterator {
     private final ComplexResult cr;
     private final TextEncoderProperties valueEncoding;
     private final ISODateParser dateParser = new ISODateParser();
-    private final OMSQLDialect dialect;
 
-    public ResultValuesIterator(ComplexResult cr, OMSQLDialect dialect) {
+    public ResultValuesIterator(ComplexResult cr) {
         this.cr = cr;
-        this.dialect = dialect;
         if (cr.getValues() != null && !cr.getValues().isEmpty()) {
             valueEncoding = cr.getTextEncodingProperties();
 
@@ -90,9 +84,18 @@ public class ResultValuesIterator {
     
     sealed interface DataLine {
         @Nullable Date getMainValue();
-        List<Map.Entry<InsertDbField, String>> extractValues(List<InsertDbField> fields) throws DataStoreException;
-    }
 
+        /**
+         * Extract the typed values of the line, in the order of the fields.
+         * The values are {@link Timestamp} for time fields, {@link String} for text fields,
+         * {@link Boolean} for boolean fields and {@link Double} (converted to the field unit) for quantity fields.
+         *
+         * @param fields The fields of the line.
+         * @return The line values, with {@code null} for the missing ones.
+         * @throws DataStoreException If a value does not match its field type or contains forbidden characters.
+         */
+        Object[] extractTypedValues(List<InsertDbField> fields) throws DataStoreException;
+    }
 
     private final class DataArrayDataLine implements DataLine {
 
@@ -103,13 +106,10 @@ public class ResultValuesIterator {
         }
 
         @Override
-        public List<Map.Entry<InsertDbField, String>> extractValues(List<InsertDbField> fields) throws DataStoreException {
-            List<Map.Entry<InsertDbField, String>> results = new ArrayList<>();
+        public Object[] extractTypedValues(List<InsertDbField> fields) throws DataStoreException {
+            final Object[] results = new Object[fields.size()];
             for (int i = 0; i < fields.size(); i++) {
-                final InsertDbField field = fields.get(i);
-                final Object measure = measures.get(i);
-                final String value = extractNextValue(measure, field);
-                results.add(new AbstractMap.SimpleEntry<>(field, value));
+                results[i] = extractNextValue(measures.get(i), fields.get(i));
             }
             return results;
         }
@@ -129,83 +129,76 @@ public class ResultValuesIterator {
             return null;
         }
 
-        private String extractNextValue(Object measure, InsertDbField field) throws DataStoreException {
-            String value = null;
+        private Object extractNextValue(Object measure, InsertDbField field) throws DataStoreException {
+            if (measure == null) {
+                return null;
+            }
             switch (field.type) {
                 case TIME -> {
-                    //format time
-                    if (measure != null) {
-                        if (measure instanceof Date d) {
-                            final long millis = d.getTime();
-                            value = "'" + new Timestamp(millis).toString() + "'";
-                        } else if (measure instanceof Long millis) {
-                            value = "'" + new Timestamp(millis).toString() + "'";
-                        } else {
-                            throw new DataStoreException("expecting timestamp for field " + field.name+ " value : " +measure);
-                        }
+                    if (measure instanceof Date d) {
+                        return new Timestamp(d.getTime());
+                    } else if (measure instanceof Long millis) {
+                        return new Timestamp(millis);
+                    } else {
+                        throw new DataStoreException("expecting timestamp for field " + field.name+ " value : " +measure);
                     }
                 }
                 case TEXT -> {
-                    if (measure != null) {
-                        if (measure instanceof String s) {
-                            if (Util.containsForbiddenCharacter(s)) {
-                                throw new DataStoreException("Invalid value inserted");
-                            }
-                            value = "'" + s + "'";
-                        } else {
-                            throw new DataStoreException("expecting timestamp for field " + field.name + " value : " +measure);
+                    if (measure instanceof String s) {
+                        if (Util.containsForbiddenCharacter(s)) {
+                            throw new DataStoreException("Invalid value inserted");
                         }
+                        return s;
+                    } else {
+                        throw new DataStoreException("expecting text for field " + field.name + " value : " +measure);
                     }
                 }
                 case BOOLEAN -> {
-                   if (measure != null) {
-                        if (measure instanceof Boolean b) {
-                            if (dialect.equals(DERBY)) {
-                                value = b ? "1" : "0";
-                            } else {
-                                value = Boolean.toString(b);
-                            }
-                        } else {
-                            throw new DataStoreException("expecting boolean for field " + field.name + " value : " + measure);
-                        }
-                   }
+                    if (measure instanceof Boolean b) {
+                        return b;
+                    } else {
+                        throw new DataStoreException("expecting boolean for field " + field.name + " value : " + measure);
+                    }
                 }
                 case QUANTITY -> {
-                    if (measure != null) {
-                        if (measure instanceof Double d) {
-                            d = (Double) field.convertValue(d);
-                            value = Double.toString(d);
-                        } else {
-                            throw new DataStoreException("expecting boolean for field " + field.name + " value : " + measure);
-                        }
+                    if (measure instanceof Double d) {
+                        return (Double) field.convertValue(d);
+                    } else {
+                        throw new DataStoreException("expecting double for field " + field.name + " value : " + measure);
                     }
                 }
             }
-            return value;
+            return null;
         }
     }
     
     private final class StringEncodedDataLine implements DataLine {
 
-        private String block;
+        private final String block;
 
         public StringEncodedDataLine(String block) {
             this.block = block;
         }
 
         @Override
-        public List<Map.Entry<InsertDbField, String>> extractValues(List<InsertDbField> fields) throws DataStoreException {
-            List<Map.Entry<InsertDbField, String>> results = new ArrayList<>();
-            if (valueEncoding != null) {
-                for (int i = 0; i < fields.size(); i++) {
-                    final InsertDbField field = fields.get(i);
-                    final boolean lastTokenInBlock = (i == fields.size() - 1);
-                    final String[] nextToken = extractNextValue(block, field, lastTokenInBlock, valueEncoding);
-                    final String value = nextToken[0];
-                    block = nextToken[1];
-
-                    results.add(new AbstractMap.SimpleEntry<>(field, value));
+        public Object[] extractTypedValues(List<InsertDbField> fields) throws DataStoreException {
+            final Object[] results = new Object[fields.size()];
+            final String tokenSeparator = valueEncoding.getTokenSeparator();
+            int start = 0;
+            for (int i = 0; i < fields.size(); i++) {
+                final boolean lastTokenInBlock = (i == fields.size() - 1);
+                final String value;
+                if (lastTokenInBlock) {
+                    value = block.substring(start);
+                } else {
+                    int separator = block.indexOf(tokenSeparator, start);
+                    if (separator == -1) {
+                        throw new DataStoreException("Bad encoding for datablock, unable to find the token separator:" + tokenSeparator + "in the block.");
+                    }
+                    value = block.substring(start, separator);
+                    start = separator + tokenSeparator.length();
                 }
+                results[i] = parseValue(value, fields.get(i));
             }
             return results;
         }
@@ -235,41 +228,20 @@ public class ResultValuesIterator {
         }
 
         /**
-         * Extract the next value for a field in a String block.
+         * Parse a single value of a String block.
          *
-         * @param block A line correspounding to a single mesure.
+         * @param value The token correspounding to the field.
          * @param field the current field to extract.
-         * @param lastTokenInBlock if set t true, it means that the block
-         * contain the entire last value.
-         * @param encoding text encoding infos.
          *
-         * @return A string array of a fixed value of 2. The first String is the
-         * value (quoted or not depeding on field type). The second String id
-         * the remaining block to parse.
-         * @throws DataStoreException Ifthe block is malformed, if a timestamp
-         * has a bad format, or if the text value contains forbidden character.
+         * @return The typed value, or {@code null} if empty.
+         * @throws DataStoreException If a timestamp has a bad format, or if the text value contains forbidden character.
          */
-        private String[] extractNextValue(String block, InsertDbField field, boolean lastTokenInBlock, final TextEncoderProperties encoding) throws DataStoreException {
-            String value;
-            if (lastTokenInBlock) {
-                value = block;
-            } else {
-                int separator = block.indexOf(encoding.getTokenSeparator());
-                if (separator != -1) {
-                    value = block.substring(0, separator);
-                    block = block.substring(separator + 1);
-                } else {
-                    throw new DataStoreException("Bad encoding for datablock, unable to find the token separator:" + encoding.getTokenSeparator() + "in the block.");
-                }
-            }
-
+        private Object parseValue(String value, InsertDbField field) throws DataStoreException {
             switch (field.type) {
                 case TIME -> {
-                    //format time
-                    if (value != null && !(value = value.trim()).isEmpty()) {
+                    if (!(value = value.trim()).isEmpty()) {
                         try {
-                            final long millis = dateParser.parseToMillis(value);
-                            value = "'" + new Timestamp(millis).toString() + "'";
+                            return new Timestamp(dateParser.parseToMillis(value));
                         } catch (IllegalArgumentException ex) {
                             throw new DataStoreException("Bad format of timestamp for:" + value);
                         }
@@ -279,25 +251,18 @@ public class ResultValuesIterator {
                     if (Util.containsForbiddenCharacter(value)) {
                         throw new DataStoreException("Invalid value inserted");
                     }
-                    value = "'" + value + "'";
+                    return value;
                 }
                 case BOOLEAN -> {
-                    boolean parsed = Boolean.parseBoolean(value);
-                    if (dialect.equals(DERBY)) {
-                        value = parsed ? "1" : "0";
-                    } else {
-                        value = Boolean.toString(parsed);
-                    }
+                    return Boolean.parseBoolean(value);
                 }
                 case QUANTITY -> {
-                    if (value != null && !(value = value.trim()).isEmpty()) {
-                        Double d = Double.valueOf(value);
-                        d = (Double) field.convertValue(d);
-                        value = Double.toString(d);
+                    if (!(value = value.trim()).isEmpty()) {
+                        return (Double) field.convertValue(Double.valueOf(value));
                     }
                 }
             }
-            return new String[]{value, block};
+            return null;
         }
     }
 }
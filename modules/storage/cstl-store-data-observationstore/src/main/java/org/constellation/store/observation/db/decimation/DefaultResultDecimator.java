@@ -22,14 +22,13 @@ import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.text.SimpleDateFormat;
+import java.util.Arrays;
 import java.util.Date;
-import java.util.LinkedHashSet;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.stream.Collectors;
 import org.apache.sis.storage.DataStoreException;
 import org.constellation.store.observation.db.model.DbField;
 import org.constellation.store.observation.db.OM2Utils;
@@ -51,6 +50,11 @@ public class DefaultResultDecimator extends AbstractResultDecimator {
 
     protected Map<Object, long[]> times = null;
 
+    /**
+     * Index of the fields by name, for the decimators receiving the values by field name.
+     */
+    private Map<String, Integer> fieldIndexes = null;
+
     public DefaultResultDecimator(List<Field> fields, boolean includeId, int width, List<Integer> fieldFilters,  boolean includeTimeInProfile, ProcedureInfo procedure) {
         // as this algorithm may produce two point by cell, we cut the size in 2
         super(fields, includeId, width / 2, fieldFilters, includeTimeInProfile, procedure);
@@ -129,7 +133,7 @@ public class DefaultResultDecimator extends AbstractResultDecimator {
                         start = start + step;
                     }
                 }
-                mapValues = new StepValues(start, step, fields, profile);
+                mapValues.reset(start);
             }
 
             for (int i = 0; i < fields.size(); i++) {
@@ -150,7 +154,7 @@ public class DefaultResultDecimator extends AbstractResultDecimator {
                 } else {
                     double value = rs.getDouble(field.name, rsIndex);
                     if (!rs.wasNull(rsIndex)) {
-                        mapValues.addToMapVal(currentMainValue, field.name, value);
+                        mapValues.addToMapVal(currentMainValue, i, value);
                     }
                 }
             }
@@ -160,16 +164,26 @@ public class DefaultResultDecimator extends AbstractResultDecimator {
         appendValue(t, cpt, mapValues, first, true, fieldOffset);
     }
 
+    /**
+     * Main values and min / max of each field for a decimation step.
+     * The min / max are stored in arrays indexed by field position, and the main values in a long array,
+     * to avoid boxing and hashing for each value. An instance can be reused for the next step with {@link #reset(long)}.
+     */
     protected class StepValues {
 
-        public final Set<Long> mainValues = new LinkedHashSet<>();
+        /**
+         * Distinct main values of the step, in insertion order (the results are ordered by main value).
+         */
+        private long[] mainValues = new long[16];
+        private int nbMainValues;
 
         public final long step;
-        public final long start;
+        public long start;
 
         public final List<Field> fields;
 
-        final Map<String, double[]> mapValues;
+        final double[] minValues;
+        final double[] maxValues;
 
         private final boolean profile;
 
@@ -178,39 +192,66 @@ public class DefaultResultDecimator extends AbstractResultDecimator {
             this.start = start;
             this.step = step;
             this.fields = fields;
-            mapValues =  fields.stream().collect(Collectors.toMap(
-                    field -> field.name,
-                    key -> new double[] { Double.MAX_VALUE, -Double.MAX_VALUE }));
+            this.minValues = new double[fields.size()];
+            this.maxValues = new double[fields.size()];
+            Arrays.fill(minValues, Double.MAX_VALUE);
+            Arrays.fill(maxValues, -Double.MAX_VALUE);
+        }
 
+        /**
+         * Clear the values to start a new step.
+         *
+         * @param start Start of the new step.
+         */
+        public void reset(long start) {
+            this.start = start;
+            this.nbMainValues = 0;
+            Arrays.fill(minValues, Double.MAX_VALUE);
+            Arrays.fill(maxValues, -Double.MAX_VALUE);
         }
 
-        public void addToMapVal(final Long main, final String field, final double current) {
+        public void addToMapVal(final long main, final String field, final double current) {
+            final Integer index = getFieldIndexes().get(field);
+            if (index == null) throw new IllegalArgumentException("Unknown field: "+field);
+            addToMapVal(main, index, current);
+        }
 
-            mainValues.add(main);
-            
-            final double[] previous = mapValues.get(field);
-            if (previous == null) throw new IllegalArgumentException("Unknown field: "+field);
-            final double minPrevious = previous[0];
-            final double maxPrevious = previous[1];
-            if (current > maxPrevious) {
-                previous[1] = current;
+        public void addToMapVal(final long main, final int fieldIndex, final double current) {
+            if (nbMainValues == 0 || mainValues[nbMainValues - 1] != main) {
+                if (nbMainValues == mainValues.length) {
+                    mainValues = Arrays.copyOf(mainValues, nbMainValues * 2);
+                }
+                mainValues[nbMainValues++] = main;
+            }
+            if (current > maxValues[fieldIndex]) {
+                maxValues[fieldIndex] = current;
             }
-            if (current < minPrevious) {
-                previous[0] = current;
+            if (current < minValues[fieldIndex]) {
+                minValues[fieldIndex] = current;
             }
         }
 
+        public int getNbMainValues() {
+            return nbMainValues;
+        }
+
+        public long getMainValue(int i) {
+            return mainValues[i];
+        }
+
         private boolean minMaxEquals() {
-            return fields.stream()
-                         .skip(mainFieldIndex + 1)
-                         .map(field -> mapValues.get(field.name))
-                         .noneMatch(minMax -> minMax[0] != minMax[1]);
+            for (int i = mainFieldIndex + 1; i < minValues.length; i++) {
+                if (minValues[i] != maxValues[i]) {
+                    return false;
+                }
+            }
+            return true;
         }
 
         public void debugPrint() {
             StringBuilder sb = new StringBuilder("values:\n");
-            for (Long mv : mainValues) {
-                sb.append(format(mv)).append('\n');
+            for (int i = 0; i < nbMainValues; i++) {
+                sb.append(format(mainValues[i])).append('\n');
             }
             sb.append("inserted in step: ").append(format(start)).append(" / ").append(format(start + step));
             LOGGER.info(sb.toString());
@@ -226,22 +267,33 @@ public class DefaultResultDecimator extends AbstractResultDecimator {
 
     }
 
+    private Map<String, Integer> getFieldIndexes() {
+        if (fieldIndexes == null) {
+            final Map<String, Integer> indexes = new HashMap<>();
+            for (int i = 0; i < fields.size(); i++) {
+                indexes.putIfAbsent(fields.get(i).name, i);
+            }
+            fieldIndexes = indexes;
+        }
+        return fieldIndexes;
+    }
+
     protected void appendValue(Date t, AtomicInteger cpt, StepValues sv, AtomicBoolean first, boolean last, int fieldOffset) throws DataStoreException {
         if (sv == null) {
             return;
         }
 
         // if there is only one value in the step, we use the original main value.
-        if (sv.mainValues.size() == 1) {
-            appendValue(t, cpt.getAndIncrement(), sv.mainValues.iterator().next(), sv.mapValues, Double.MAX_VALUE, 0, fieldOffset);
+        if (sv.getNbMainValues() == 1) {
+            appendValue(t, cpt.getAndIncrement(), sv.getMainValue(0), sv.minValues, Double.MAX_VALUE, fieldOffset);
 
         // if min and max are equals we only write one value in the middle of the step.
         } else if (sv.minMaxEquals() && !(first.get() || last)) {
-            appendValue(t, cpt.getAndIncrement(), sv.start + (sv.step / 2), sv.mapValues, Double.MAX_VALUE, 0, fieldOffset);
+            appendValue(t, cpt.getAndIncrement(), sv.start + (sv.step / 2), sv.minValues, Double.MAX_VALUE, fieldOffset);
 
         // special case where we have only one value in the series, main value has not been recorded
         } else if (first.get() && last) {
-            appendValue(t, cpt.getAndIncrement(), sv.start, sv.mapValues, Double.MAX_VALUE, 0, fieldOffset);
+            appendValue(t, cpt.getAndIncrement(), sv.start, sv.minValues, Double.MAX_VALUE, fieldOffset);
 
         // else we write the minimum value at the 1/3 of the step, and the max, at the 2/3 of the step.
         } else {
@@ -252,14 +304,14 @@ public class DefaultResultDecimator extends AbstractResultDecimator {
             long maxVal = (last) ? sv.start + sv.step : sv.start + 2*(sv.step / 3L);
 
             //min
-            appendValue(t, cpt.getAndIncrement(), minVal, sv.mapValues, Double.MAX_VALUE, 0, fieldOffset);
+            appendValue(t, cpt.getAndIncrement(), minVal, sv.minValues, Double.MAX_VALUE, fieldOffset);
             //max
-            appendValue(t, cpt.getAndIncrement(), maxVal, sv.mapValues, -Double.MAX_VALUE, 1, fieldOffset);
+            appendValue(t, cpt.getAndIncrement(), maxVal, sv.maxValues, -Double.MAX_VALUE, fieldOffset);
         }
         first.set(false);
     }
 
-    protected void appendValue(Date t, int cpt, long mainValue, Map<String, double[]> fieldValues, double undefinedValue, int index, int fieldOffset) throws DataStoreException {
+    protected void appendValue(Date t, int cpt, long mainValue, double[] fieldValues, double undefinedValue, int fieldOffset) throws DataStoreException {
         values.newBlock();
         for (int i = 0; i < fields.size(); i++) {
             Field field = fields.get(i);
@@ -285,7 +337,7 @@ public class DefaultResultDecimator extends AbstractResultDecimator {
             } else if (i < fieldOffset && field.type == FieldType.TEXT) {
                 values.appendString(procedure.procedureId + "-dec-" + cpt, false, field);
             } else {
-                final double value = fieldValues.get(field.name)[index];
+                final double value = fieldValues[i];
                 if (value != undefinedValue) {
                     values.appendDouble(value, true, field);
                 } else {
@@ -212,7 +212,7 @@ public class MixedResultDecimator extends DefaultResultDecimator {
                             start = start + step;
                         }
                     }
-                    mapValues = new StepValues(start, step, fields, profile);
+                    mapValues.reset(start);
                 }
                 if (includedFields.contains(fieldName)) {
                     mapValues.addToMapVal(mainValue, fieldName, value);
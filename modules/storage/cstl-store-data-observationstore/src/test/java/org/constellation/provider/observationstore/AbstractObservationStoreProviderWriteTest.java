@@ -20,7 +20,13 @@ package org.constellation.provider.observationstore;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Logger;
 import static org.constellation.api.CommonConstants.MEASUREMENT_QNAME;
 import static org.constellation.api.CommonConstants.OBSERVATION_QNAME;
 import org.constellation.business.IProviderBusiness;
@@ -58,6 +64,8 @@ public abstract class AbstractObservationStoreProviderWriteTest extends SpringCo
 
     protected static final FilterFactory ff = FilterUtilities.FF;
 
+    private static final Logger LOGGER = Logger.getLogger("org.constellation.provider.observationstore");
+
 
     private final String suffix;
 
@@ -964,4 +972,38 @@ public abstract class AbstractObservationStoreProviderWriteTest extends SpringCo
 
         assertEqualsMeasurement(measExpected, result, true);
     }
+
+    /**
+     * Write observations for distinct sensors in parallel.
+     * The sensors share the same phenomenon and feature of interest.
+     */
+    public void writeConcurrentObservationTest() throws Exception {
+        final String source = new String(Util.getResourceAsStream("com/examind/om/store/disjoint_sensor_observation" + suffix + ".json").readAllBytes(), StandardCharsets.UTF_8);
+        final int nbSensor = 8;
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.max(2, Runtime.getRuntime().availableProcessors()));
+        try {
+            final List<Future<String>> futures = new ArrayList<>();
+            final long start = System.currentTimeMillis();
+            for (int i = 0; i < nbSensor; i++) {
+                final String json = source.replace("urn:ogc:object:sensor:GEOM:disjoint_sensor", "urn:ogc:object:sensor:GEOM:concurrent_sensor_" + i)
+                                          .replace("urn:ogc:object:observation:GEOM:0001", "urn:ogc:object:observation:GEOM:concurrent-" + i);
+                final Observation obs = mapper.readValue(json, Observation.class);
+                futures.add(executor.submit(() -> omPr.writeObservation(obs)));
+            }
+            for (Future<String> future : futures) {
+                future.get();
+            }
+            LOGGER.info(nbSensor + " sensors written concurrently in " + (System.currentTimeMillis() - start) + " ms");
+        } finally {
+            executor.shutdown();
+        }
+
+        for (int i = 0; i < nbSensor; i++) {
+            ObservationQuery query = new ObservationQuery(OBSERVATION_QNAME, INLINE, null);
+            Filter filter = ff.equal(ff.property("procedure"), ff.literal("urn:ogc:object:sensor:GEOM:concurrent_sensor_" + i));
+            query.setSelection(filter);
+            List<Observation> results = omPr.getObservations(query);
+            assertEquals(1, results.size());
+        }
+    }
 }
@@ -137,4 +137,10 @@ public class ObservationStoreProviderWriteDATest  extends AbstractObservationSto
     public void writeObservationParameterTest() throws Exception {
         super.writeObservationParameterTest();
     }
+
+    @Test
+    @Override
+    public void writeConcurrentObservationTest() throws Exception {
+        super.writeConcurrentObservationTest();
+    }
 }
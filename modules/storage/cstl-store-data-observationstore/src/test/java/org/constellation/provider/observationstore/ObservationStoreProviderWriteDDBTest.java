@@ -157,4 +157,10 @@ public class ObservationStoreProviderWriteDDBTest extends AbstractObservationSto
     public void writeExtend2ObservationTest() throws Exception {
         super.writeExtend2ObservationTest();
     }
-}
\ No newline at end of file
+
+    @Test
+    @Override
+    public void writeConcurrentObservationTest() throws Exception {
+        super.writeConcurrentObservationTest();
+    }
+}
@@ -137,4 +137,10 @@ public class ObservationStoreProviderWriteTest extends AbstractObservationStoreP
     public void writeObservationParameterTest() throws Exception {
         super.writeObservationParameterTest();
     }
-}
\ No newline at end of file
+
+    @Test
+    @Override
+    public void writeConcurrentObservationTest() throws Exception {
+        super.writeConcurrentObservationTest();
+    }
+}
@@ -155,6 +155,11 @@ public abstract class DomMetadataReader extends AbstractMetadataReader implement
 
     protected final Map<String, PathType> additionalQueryable;
 
+    /**
+     * Cache of the parsed records, shared by all the readers.
+     */
+    protected final MetadataNodeCache nodeCache = MetadataNodeCache.getInstance();
+
     public DomMetadataReader(final boolean isCacheEnabled, final boolean isThreadEnabled, final Map<String, PathType> additionalQueryable) throws MetadataIoException {
         super(isCacheEnabled, isThreadEnabled);
         dbf = DocumentBuilderFactory.newInstance();
@@ -210,6 +215,17 @@ public abstract class DomMetadataReader extends AbstractMetadataReader implement
         return result;
     }
 
+    /**
+     * Return the type of a parsed metadata, from its root element.
+     */
+    protected static MetadataType getMetadataType(final Node metadataNode) {
+        final MetadataType result = MetadataType.getFromTypeName(new QName(metadataNode.getNamespaceURI(), metadataNode.getLocalName()));
+        if (result == null) {
+            return MetadataType.NATIVE;
+        }
+        return result;
+    }
+
     private String formatDate(final String modValue) {
         try {
             final Date d = TemporalUtilities.parseDateCal(modValue).getTime();
@@ -0,0 +1,239 @@
+/*
+ *    Examind Community - An open source and standard compliant SDI
+ *    https://community.examind.com/
+ *
+ * Copyright 2026 Geomatys.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.constellation.metadata.io;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import org.constellation.configuration.AppProperty;
+import org.constellation.configuration.Application;
+import org.geotoolkit.metadata.MetadataType;
+import org.w3c.dom.Document;
+import org.w3c.dom.Node;
+
+/**
+ * A cache of the parsed metadata records, shared by the DOM metadata readers.
+ * <p>
+ * The entries are keyed by a record key (unique among all the readers) and a revision of the record,
+ * computed by the reader from the record source (content digest, file modification date, ...).
+ * An entry whose revision differs from the requested one is considered stale and replaced.
+ * The writers can also invalidate a record explicitly.
+ * </p><p>
+ * The cached documents are never exposed: each read returns a deep copy of the document, which can be freely
+ * modified by the caller. The cache is bounded by an estimation of the memory used by the documents,
+ * the least recently used entries being evicted first.
+ * </p>
+ *
+ * This class is thread-safe.
+ */
+public final class MetadataNodeCache {
+
+    /**
+     * Estimated number of bytes used by a DOM tree for each character of its XML source.
+     */
+    private static final int DOM_SIZE_FACTOR = 8;
+
+    private static MetadataNodeCache instance;
+
+    /**
+     * Entries in access order. Guarded by itself.
+     */
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+
+    /**
+     * Maximum estimated size in bytes of the cached documents.
+     */
+    private final long maxSize;
+
+    /**
+     * Current estimated size in bytes of the cached documents. Guarded by {@link #entries}.
+     */
+    private long size;
+
+    private final AtomicLong hits          = new AtomicLong();
+    private final AtomicLong misses        = new AtomicLong();
+    private final AtomicLong evictions     = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    /**
+     * @param maxSize Maximum estimated size in bytes of the cached documents, 0 to disable the cache.
+     */
+    public MetadataNodeCache(final long maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Return the cache shared by all the readers, sized by {@link AppProperty#EXA_METADATA_NODE_CACHE_SIZE}.
+     */
+    public static synchronized MetadataNodeCache getInstance() {
+        if (instance == null) {
+            final long mb = Application.getIntegerProperty(AppProperty.EXA_METADATA_NODE_CACHE_SIZE, 64);
+            instance = new MetadataNodeCache(Math.max(0, mb) * 1024 * 1024);
+        }
+        return instance;
+    }
+
+    /**
+     * Return a copy of the cached record, or {@code null} if the record is not cached for this revision.
+     *
+     * @param key Key of the record.
+     * @param revision Revision of the record source.
+     */
+    public Parsed get(final String key, final String revision) {
+        final Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+        }
+        if (entry == null || !entry.revision.equals(revision)) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return new Parsed(copy(entry.document), entry.type);
+    }
+
+    /**
+     * Add a parsed record to the cache. The document must not be modified after this call.
+     *
+     * @param key Key of the record.
+     * @param revision Revision of the record source.
+     * @param document The parsed record.
+     * @param type The type of the record.
+     * @param sourceLength Length of the XML source, used to estimate the memory used by the document.
+     *
+     * @return A copy of the record, to be used by the caller.
+     */
+    public Parsed put(final String key, final String revision, final Document document, final MetadataType type, final long sourceLength) {
+        final long entrySize = sourceLength * DOM_SIZE_FACTOR;
+        if (entrySize > maxSize) {
+            // not cached, the caller can use the document itself
+            return new Parsed(document.getDocumentElement(), type);
+        }
+        synchronized (entries) {
+            final Entry previous = entries.put(key, new Entry(revision, document, type, entrySize));
+            if (previous != null) {
+                size -= previous.size;
+            }
+            size += entrySize;
+            final Iterator<Entry> it = entries.values().iterator();
+            while (size > maxSize && it.hasNext()) {
+                size -= it.next().size;
+                it.remove();
+                evictions.incrementAndGet();
+            }
+        }
+        return new Parsed(copy(document), type);
+    }
+
+    /**
+     * Remove a record from the cache, after its modification or its deletion.
+     *
+     * @param key Key of the record.
+     */
+    public void invalidate(final String key) {
+        synchronized (entries) {
+            final Entry previous = entries.remove(key);
+            if (previous != null) {
+                size -= previous.size;
+                invalidations.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Remove all the records whose key starts with the specified prefix.
+     *
+     * @param prefix Prefix of the record keys.
+     */
+    public void invalidateAll(final String prefix) {
+        synchronized (entries) {
+            final Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+            while (it.hasNext()) {
+                final Map.Entry<String, Entry> e = it.next();
+                if (e.getKey().startsWith(prefix)) {
+                    size -= e.getValue().size;
+                    it.remove();
+                    invalidations.incrementAndGet();
+                }
+            }
+        }
+    }
+
+    /**
+     * Return the cache counters: hits, misses, hit rate (in percent), evictions, invalidations and current size.
+     *
+     * @return The current value of the cache counters.
+     */
+    public Map<String, Long> getStatistics() {
+        final Map<String, Long> stats = new LinkedHashMap<>();
+        final long h = hits.get();
+        final long m = misses.get();
+        stats.put("hits",          h);
+        stats.put("misses",        m);
+        stats.put("hitRate",       h + m > 0 ? h * 100 / (h + m) : 0);
+        stats.put("evictions",     evictions.get());
+        stats.put("invalidations", invalidations.get());
+        synchronized (entries) {
+            stats.put("entries", (long) entries.size());
+            stats.put("size",    size);
+        }
+        return stats;
+    }
+
+    /**
+     * Return a revision identifying the specified record content.
+     *
+     * @param content The XML source of the record.
+     * @return The SHA-256 digest of the content, in hexadecimal.
+     */
+    public static String revisionOf(final String content) {
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(content.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            // should never happen, SHA-256 is mandatory for all java platforms.
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Return a deep copy of the document element.
+     * The DOM implementations are not thread-safe even for reading (lazy node expansion), so the copies are serialized.
+     */
+    private static Node copy(final Document document) {
+        synchronized (document) {
+            return ((Document) document.cloneNode(true)).getDocumentElement();
+        }
+    }
+
+    /**
+     * A parsed record.
+     *
+     * @param node The root element of the record.
+     * @param type The type of the record, detected from the root element.
+     */
+    public record Parsed(Node node, MetadataType type) {}
+
+    private record Entry(String revision, Document document, MetadataType type, long size) {}
+}
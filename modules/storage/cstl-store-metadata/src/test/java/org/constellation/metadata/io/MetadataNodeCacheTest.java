@@ -0,0 +1,85 @@
+/*
+ *    Examind Community - An open source and standard compliant SDI
+ *    https://community.examind.com/
+ *
+ * Copyright 2026 Geomatys.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.constellation.metadata.io;
+
+import java.util.Map;
+import org.constellation.util.NodeUtilities;
+import org.geotoolkit.metadata.MetadataType;
+import org.junit.Assert;
+import org.junit.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+public class MetadataNodeCacheTest {
+
+    private static final String XML = "<csw:Record xmlns:csw=\"http://www.opengis.net/cat/csw/2.0.2\" "
+                                    + "xmlns:dc=\"http://purl.org/dc/elements/1.1/\"><dc:identifier>id-1</dc:identifier></csw:Record>";
+
+    @Test
+    public void getPutTest() throws Exception {
+        final MetadataNodeCache cache = new MetadataNodeCache(10_000);
+        Assert.assertNull(cache.get("k1", "1"));
+
+        final Document doc = NodeUtilities.getDocumentFromString(XML);
+        final MetadataNodeCache.Parsed put = cache.put("k1", "1", doc, MetadataType.DUBLINCORE_CSW202, XML.length());
+        Assert.assertEquals("Record", put.node().getLocalName());
+
+        // the returned nodes are copies, modifying them does not affect the cache
+        ((Element) put.node()).setAttribute("modified", "true");
+        final MetadataNodeCache.Parsed cached = cache.get("k1", "1");
+        Assert.assertNotNull(cached);
+        Assert.assertEquals(MetadataType.DUBLINCORE_CSW202, cached.type());
+        Assert.assertNotSame(put.node(), cached.node());
+        Assert.assertEquals("", ((Element) cached.node()).getAttribute("modified"));
+
+        // another revision of the record
+        Assert.assertNull(cache.get("k1", "2"));
+
+        cache.invalidate("k1");
+        Assert.assertNull(cache.get("k1", "1"));
+
+        final Map<String, Long> stats = cache.getStatistics();
+        Assert.assertEquals(Long.valueOf(1), stats.get("hits"));
+        Assert.assertEquals(Long.valueOf(3), stats.get("misses"));
+        Assert.assertEquals(Long.valueOf(1), stats.get("invalidations"));
+        Assert.assertEquals(Long.valueOf(0), stats.get("size"));
+    }
+
+    @Test
+    public void evictionTest() throws Exception {
+        // room for a single record
+        final MetadataNodeCache cache = new MetadataNodeCache(XML.length() * 8L + 1);
+        cache.put("internal:k1", "1", NodeUtilities.getDocumentFromString(XML), MetadataType.DUBLINCORE_CSW202, XML.length());
+        cache.put("internal:k2", "1", NodeUtilities.getDocumentFromString(XML), MetadataType.DUBLINCORE_CSW202, XML.length());
+        Assert.assertNull(cache.get("internal:k1", "1"));
+        Assert.assertNotNull(cache.get("internal:k2", "1"));
+        Assert.assertEquals(Long.valueOf(1), cache.getStatistics().get("evictions"));
+
+        cache.invalidateAll("internal:");
+        Assert.assertNull(cache.get("internal:k2", "1"));
+    }
+
+    @Test
+    public void revisionTest() throws Exception {
+        Assert.assertEquals(MetadataNodeCache.revisionOf(XML), MetadataNodeCache.revisionOf(new String(XML)));
+        // same length, same hash code
+        Assert.assertEquals("Aa".hashCode(), "BB".hashCode());
+        Assert.assertNotEquals(MetadataNodeCache.revisionOf("<a>Aa</a>"), MetadataNodeCache.revisionOf("<a>BB</a>"));
+    }
+}
@@ -19,6 +19,7 @@
 package org.constellation.store.metadata.filesystem;
 
 import org.constellation.metadata.io.DomMetadataReader;
+import org.constellation.metadata.io.MetadataNodeCache;
 import org.geotoolkit.metadata.ElementSetType;
 import org.geotoolkit.metadata.MetadataIoException;
 import org.geotoolkit.metadata.MetadataType;
@@ -28,6 +29,7 @@ import org.constellation.store.metadata.filesystem.sql.RecordIterator;
 import org.constellation.store.metadata.filesystem.sql.Session;
 import org.geotoolkit.nio.IOUtilities;
 import org.geotoolkit.util.collection.CloseableIterator;
+import org.w3c.dom.Document;
 import org.w3c.dom.Node;
 
 import javax.xml.namespace.QName;
@@ -51,7 +53,7 @@ import org.constellation.api.PathType;
 
 import static org.constellation.api.CommonConstants.XML_EXT;
 import static org.constellation.metadata.CSWQueryable.DUBLIN_CORE_QUERYABLE;
-import static org.constellation.util.NodeUtilities.getNodeFromPath;
+import static org.constellation.util.NodeUtilities.getDocumentFromPath;
 import org.geotoolkit.metadata.RecordInfo;
 import static org.geotoolkit.ows.xml.OWSExceptionCode.NO_APPLICABLE_CODE;
 import static org.geotoolkit.ows.xml.OWSExceptionCode.OPERATION_NOT_SUPPORTED;
@@ -126,20 +128,22 @@ public class FileMetadataReader extends DomMetadataReader {
 
         final Path metadataFile = getFileFromIdentifier(identifier);
         if (metadataFile != null) {
-            final MetadataType metadataMode;
-            try (InputStream in = Files.newInputStream(metadataFile)) {
-                metadataMode = getMetadataType(in, false);
-            } catch (IOException | XMLStreamException ex) {
-                throw new MetadataIoException(ex);
-            }
-            final Node metadataNode;
+            final MetadataNodeCache.Parsed parsed;
             try {
-                metadataNode = getNodeFromPath(metadataFile);
+                final BasicFileAttributes attrs = Files.readAttributes(metadataFile, BasicFileAttributes.class);
+                final String key      = metadataFile.toUri().toString();
+                final String revision = attrs.lastModifiedTime().toMillis() + "/" + attrs.size();
+                MetadataNodeCache.Parsed cached = nodeCache.get(key, revision);
+                if (cached == null) {
+                    final Document document = getDocumentFromPath(metadataFile);
+                    cached = nodeCache.put(key, revision, document, getMetadataType(document.getDocumentElement()), attrs.size());
+                }
+                parsed = cached;
             } catch (SAXException | IOException | ParserConfigurationException ex) {
                 throw new MetadataIoException("Error while reading file: " + metadataFile.getFileName(), ex, null);
             }
-
-            final Node n = convertAndApplyElementSet(metadataMode, mode, type, elementName, metadataNode);
+            final MetadataType metadataMode = parsed.type();
+            final Node n = convertAndApplyElementSet(metadataMode, mode, type, elementName, parsed.node());
             return new RecordInfo(identifier, n, metadataMode, mode);
         }
         return null;
@@ -23,8 +23,10 @@ import org.constellation.business.IInternalMetadataBusiness;
 import org.constellation.dto.metadata.InternalMetadata;
 import org.constellation.dto.metadata.Metadata;
 import org.constellation.dto.metadata.MetadataComplete;
+import org.constellation.metadata.io.MetadataNodeCache;
 import org.constellation.repository.InternalMetadataRepository;
 import org.constellation.repository.MetadataRepository;
+import org.constellation.store.metadata.internal.InternalMetadataReader;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
@@ -45,6 +47,11 @@ public class InternalMetadataBusiness implements IInternalMetadataBusiness{
     @Autowired
     protected MetadataRepository metadataRepository;
 
+    /**
+     * Parsed records of the CSW readers.
+     */
+    private final MetadataNodeCache nodeCache = MetadataNodeCache.getInstance();
+
     @Override
     public String getMetadata(String metadataID) {
         final InternalMetadata meta = intMetadataRepository.findByMetadataId(metadataID);
@@ -72,6 +79,7 @@ public class InternalMetadataBusiness implements IInternalMetadataBusiness{
             metadata.setId(metadataRepository.create(meta));
         }
         intMetadataRepository.create(metadata);
+        nodeCache.invalidate(InternalMetadataReader.cacheKey(metadataID));
     }
 
     @Override
@@ -90,6 +98,8 @@ public class InternalMetadataBusiness implements IInternalMetadataBusiness{
             metadata.setMetadataIso(metadataXML);
             intMetadataRepository.update(metadata);
         }
+        nodeCache.invalidate(InternalMetadataReader.cacheKey(metadataID));
+        nodeCache.invalidate(InternalMetadataReader.cacheKey(newIdentifier));
     }
 
     @Override
@@ -109,6 +119,7 @@ public class InternalMetadataBusiness implements IInternalMetadataBusiness{
 
     @Override
     public boolean deleteMetadata(String metadataID) {
+        nodeCache.invalidate(InternalMetadataReader.cacheKey(metadataID));
         return intMetadataRepository.delete(metadataID) > 0;
     }
 
@@ -116,5 +127,6 @@ public class InternalMetadataBusiness implements IInternalMetadataBusiness{
     @Transactional
     public void deleteAllMetadata() {
         intMetadataRepository.deleteAll();
+        nodeCache.invalidateAll(InternalMetadataReader.CACHE_PREFIX);
     }
 }
@@ -20,16 +20,16 @@ package org.constellation.store.metadata.internal;
 
 import org.constellation.admin.SpringHelper;
 import org.constellation.metadata.io.DomMetadataReader;
+import org.constellation.metadata.io.MetadataNodeCache;
 import org.geotoolkit.metadata.ElementSetType;
 import org.geotoolkit.metadata.MetadataIoException;
 import org.geotoolkit.metadata.MetadataType;
+import org.w3c.dom.Document;
 import org.w3c.dom.Node;
 
 import javax.xml.namespace.QName;
 import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.stream.XMLStreamException;
 import java.io.IOException;
-import java.io.StringReader;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
@@ -38,7 +38,7 @@ import java.util.Map;
 import org.constellation.api.PathType;
 import org.constellation.business.IInternalMetadataBusiness;
 
-import static org.constellation.util.NodeUtilities.getNodeFromReader;
+import static org.constellation.util.NodeUtilities.getDocumentFromString;
 import org.geotoolkit.metadata.RecordInfo;
 import static org.geotoolkit.ows.xml.OWSExceptionCode.OPERATION_NOT_SUPPORTED;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -55,6 +55,11 @@ import org.xml.sax.SAXException;
  */
 public class InternalMetadataReader extends DomMetadataReader {
 
+    /**
+     * Prefix of the internal metadata keys in the {@link MetadataNodeCache}.
+     */
+    public static final String CACHE_PREFIX = "internal:";
+
     @Autowired
     private IInternalMetadataBusiness internalMetadataBusiness;
 
@@ -94,21 +99,35 @@ public class InternalMetadataReader extends DomMetadataReader {
     public RecordInfo getMetadata(String identifier, MetadataType mode, ElementSetType type, List<QName> elementName) throws MetadataIoException {
         final String metadataString = internalMetadataBusiness.getMetadata(identifier);
         if (metadataString != null) {
-            final MetadataType metadataMode;
-            final Node metadataNode;
-            try {
-                metadataMode = getMetadataType(new StringReader(metadataString), false);
-                metadataNode = getNodeFromReader(new StringReader(metadataString));
-            } catch (IOException | XMLStreamException | ParserConfigurationException | SAXException ex) {
-                throw new MetadataIoException(ex);
+            // the revision is computed from the content, so a record modified by another node is never served stale.
+            final String key      = cacheKey(identifier);
+            final String revision = MetadataNodeCache.revisionOf(metadataString);
+            MetadataNodeCache.Parsed parsed = nodeCache.get(key, revision);
+            if (parsed == null) {
+                final Document document;
+                try {
+                    document = getDocumentFromString(metadataString);
+                } catch (IOException | ParserConfigurationException | SAXException ex) {
+                    throw new MetadataIoException(ex);
+                }
+                parsed = nodeCache.put(key, revision, document, getMetadataType(document.getDocumentElement()), metadataString.length());
             }
-
-            final Node n = convertAndApplyElementSet(metadataMode, mode, type, elementName, metadataNode);
+            final MetadataType metadataMode = parsed.type();
+            final Node n = convertAndApplyElementSet(metadataMode, mode, type, elementName, parsed.node());
             return new RecordInfo(identifier, n, metadataMode, mode);
         }
         return null;
     }
 
+    /**
+     * Return the key of an internal metadata in the {@link MetadataNodeCache}.
+     *
+     * @param identifier Metadata identifier.
+     */
+    public static String cacheKey(final String identifier) {
+        return CACHE_PREFIX + identifier;
+    }
+
     @Override
     public boolean existMetadata(final String identifier) throws MetadataIoException {
         return internalMetadataBusiness.existMetadata(identifier);
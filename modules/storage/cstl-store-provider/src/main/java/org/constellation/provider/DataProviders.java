@@ -24,6 +24,9 @@ import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.logging.Level;
@@ -92,8 +95,13 @@ public final class DataProviders extends Static{
      */
     public static final Logger LOGGER = Logger.getLogger("org.constellation.provider");
 
-    // TODO : use a by key lock
-    private static final Map<Integer,DataProvider> CACHE = new HashMap<>();
+    /**
+     * Loaded providers, by identifier.
+     * Each entry is a future which is completed by the first thread requesting the provider,
+     * so a provider is instantiated only once and the other threads requesting the same provider
+     * wait for its completion, without blocking the access to the other providers.
+     */
+    private static final ConcurrentHashMap<Integer,CompletableFuture<DataProvider>> CACHE = new ConcurrentHashMap<>();
 
     //all providers factories, unmodifiable
     private static final Collection<DataProviderFactory> FACTORIES;
@@ -142,10 +150,63 @@ public final class DataProviders extends Static{
      * @param providerId provider identifier.
      * @return Never {@code null}.
      */
-    public synchronized static DataProvider getProvider(final int providerId) throws ConfigurationException{
-        DataProvider provider = CACHE.get(providerId);
-        if(provider!=null) return provider;
+    public static DataProvider getProvider(final int providerId) throws ConfigurationException{
+        while (true) {
+            CompletableFuture<DataProvider> future = CACHE.get(providerId);
+            if (future == null) {
+                final CompletableFuture<DataProvider> created = new CompletableFuture<>();
+                future = CACHE.putIfAbsent(providerId, created);
+                if (future == null) {
+                    // we are in charge of the provider instantiation
+                    future = created;
+                    try {
+                        created.complete(createProvider(providerId));
+                    } catch (Throwable ex) {
+                        // do not keep a failed instantiation, next call will try again.
+                        // errors are caught too, otherwise the threads waiting for this future would wait forever.
+                        CACHE.remove(providerId, created);
+                        created.completeExceptionally(ex);
+                        throw ex;
+                    }
+                }
+            }
+            final DataProvider provider = getProviderResult(future, providerId);
+            // if the provider has been disposed during its instantiation, it must not be returned: load it again.
+            if (CACHE.get(providerId) == future) {
+                return provider;
+            }
+        }
+    }
+
+    /**
+     * Wait for the completion of a provider instantiation, and unwrap the failure if any.
+     */
+    private static DataProvider getProviderResult(final CompletableFuture<DataProvider> future, final int providerId) throws ConfigurationException {
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ConfigurationException("Interrupted while waiting for provider:" + providerId, ex);
+        } catch (ExecutionException ex) {
+            final Throwable cause = ex.getCause();
+            if (cause instanceof ConfigurationException ce) {
+                throw ce;
+            } else if (cause instanceof RuntimeException re) {
+                throw re;
+            } else if (cause instanceof Error err) {
+                throw err;
+            }
+            throw new ConfigurationException("Error while creating provider configuration for:" + providerId, cause);
+        }
+    }
 
+    /**
+     * Instanciate a new DataProvider from its configuration.
+     *
+     * @param providerId provider identifier.
+     * @return Never {@code null}.
+     */
+    private static DataProvider createProvider(final int providerId) throws ConfigurationException {
         //load provider from configuration
         final ProviderRepository repo = SpringHelper.getBean(ProviderRepository.class)
                                                     .orElseThrow(() ->  new ConfigurationException("Application context unavailable"));
@@ -164,13 +225,10 @@ public final class DataProviders extends Static{
             throw new ConfigurationException("Error while reading provider configuration for:" + providerId, ex);
         }
 
-        provider = factory.createProvider(config.getIdentifier(), params);
+        final DataProvider provider = factory.createProvider(config.getIdentifier(), params);
         if (provider == null) {
              throw new ConfigurationException("Error while creating provider configuration for:" + providerId);
         }
-
-        CACHE.put(providerId, provider);
-
         return provider;
     }
 
@@ -185,7 +243,7 @@ public final class DataProviders extends Static{
      *
      * @throws ConfigurationException If the Provider does not exist.
      */
-    public synchronized static Data getProviderData(final int providerId, final String namespace, final String name) throws ConfigurationException {
+    public static Data getProviderData(final int providerId, final String namespace, final String name) throws ConfigurationException {
         final DataProvider inProvider = DataProviders.getProvider(providerId);
         try {
             return inProvider.get(namespace, name);
@@ -204,7 +262,7 @@ public final class DataProviders extends Static{
      * @throws TargetNotFoundException If the Data does not exist.
      * @throws ConfigurationException If an error occur during the provider or data instanciation.
      */
-    public synchronized static Data getProviderData(final int dataId) throws ConfigurationException {
+    public static Data getProviderData(final int dataId) throws ConfigurationException {
         final org.constellation.dto.Data d = getDataFromId(dataId);
         final DataProvider inProvider = DataProviders.getProvider(d.getProviderId());
         try {
@@ -282,29 +340,30 @@ public final class DataProviders extends Static{
      *
      * @param providerId
      */
-    public synchronized static void dispose(int providerId) {
-        final DataProvider provider = CACHE.remove(providerId);
-        if(provider!=null){
-            try{
-                provider.dispose();
-            }catch(Exception ex){
-                //we must not fail here in any case
-                LOGGER.log(Level.WARNING, "Failed to dispose provider : " + provider.toString(),ex);
-            }
+    public static void dispose(int providerId) {
+        final CompletableFuture<DataProvider> future = CACHE.remove(providerId);
+        if (future != null) {
+            // if the provider is still in instantiation, it will be disposed when ready.
+            future.thenAccept(DataProviders::disposeProvider);
+        }
+    }
+
+    private static void disposeProvider(final DataProvider provider) {
+        try{
+            provider.dispose();
+        }catch(Exception ex){
+            //we must not fail here in any case
+            LOGGER.log(Level.WARNING, "Failed to dispose provider : " + provider.toString(),ex);
         }
     }
 
     /**
      * Release all loaded providers.
      */
-    public synchronized static void dispose() {
-        try {
-            //sproviders were loaded, dispose each of them
-            for (final Integer key : new HashSet<Integer>(CACHE.keySet())) {
-                dispose(key);
-            }
-        } finally {
-            CACHE.clear();
+    public static void dispose() {
+        //providers were loaded, dispose each of them
+        for (final Integer key : new HashSet<>(CACHE.keySet())) {
+            dispose(key);
         }
     }
 
@@ -111,6 +111,16 @@ public class InternalStyleRestAPI extends AbstractRestAPI {
         return new ResponseEntity(capabilities,OK);
     }
 
+    /**
+     * Return the counters of the decoded style cache.
+     *
+     * @return ResponseEntity never null, contains the cache counters (hits, misses, decoding time, ...)
+     */
+    @RequestMapping(value="/internal/styles/cache",method = GET, produces=MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity getStyleCacheStatistics(){
+        return new ResponseEntity(styleBusiness.getStyleCacheStatistics(),OK);
+    }
+
     /**
      * Create a new style with given template
      *
@@ -226,6 +236,8 @@ public class InternalStyleRestAPI extends AbstractRestAPI {
         try {
             org.apache.sis.style.Style style = styleBusiness.getStyle(styleId);
             final StyleSpecification specification = styleBusiness.specificationForClass(style.getClass());
+            // the cached style is shared, work on a copy.
+            style = specification.decode(specification.encode(style));
             style = specification.importFromEdition(style, subPath, update);
             styleBusiness.updateStyle(styleId, null, style);
             return new ResponseEntity(OK);
@@ -90,6 +90,13 @@ public class ResponseObject {
         this.status   = HttpStatus.OK;
     }
 
+    public ResponseObject(Object entity, String mimeType, Map<String, String> extraHeaders) {
+        this.entity   = entity;
+        this.mimeTypeSpecial = mimeType;
+        this.status   = HttpStatus.OK;
+        this.extraHeaders = extraHeaders;
+    }
+
     public ResponseObject(Object entity, String mimeType, Integer status) {
         this.entity   = entity;
         this.mimeTypeSpecial = mimeType;
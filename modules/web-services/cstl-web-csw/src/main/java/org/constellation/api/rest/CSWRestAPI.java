@@ -44,6 +44,7 @@ import org.constellation.json.metadata.Template;
 import org.constellation.json.metadata.bean.TemplateResolver;
 import org.constellation.metadata.core.CSWworker;
 import org.constellation.metadata.configuration.CSWConfigurer;
+import org.constellation.metadata.io.MetadataNodeCache;
 import org.geotoolkit.index.tree.manager.NamedEnvelope;
 import org.geotoolkit.util.StringUtilities;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -306,6 +307,16 @@ public class CSWRestAPI extends AbstractRestAPI {
         }
     }
 
+    /**
+     * Return the counters of the parsed metadata cache, shared by all the CSW services.
+     *
+     * @return ResponseEntity never null, contains the cache counters (hits, misses, evictions, ...)
+     */
+    @RequestMapping(value="/CSW/metadataCache",method=GET,produces=APPLICATION_JSON_VALUE)
+    public ResponseEntity getMetadataCacheStatistics() {
+        return new ResponseEntity(MetadataNodeCache.getInstance().getStatistics(), OK);
+    }
+
     @RequestMapping(value="/CSW/{id}/federatedCatalog",method=POST, consumes = APPLICATION_JSON_VALUE, produces=APPLICATION_JSON_VALUE)
     public ResponseEntity setFederatedCatalog(final @PathVariable("id") String id, @RequestBody StringList url) {
         try {
@@ -43,6 +43,7 @@ import org.geotoolkit.csw.xml.DescribeRecord;
 import org.geotoolkit.csw.xml.DescribeRecordResponse;
 import org.geotoolkit.csw.xml.DistributedSearch;
 import org.geotoolkit.csw.xml.DomainValues;
+import org.geotoolkit.csw.xml.v202.DomainValuesType;
 import org.geotoolkit.csw.xml.ElementSetName;
 import org.geotoolkit.csw.xml.ElementSetType;
 import org.geotoolkit.csw.xml.GetCapabilities;
@@ -95,9 +96,11 @@ import jakarta.xml.bind.JAXBException;
 import jakarta.xml.bind.Unmarshaller;
 import javax.xml.namespace.QName;
 import java.net.URI;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -105,6 +108,12 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.StringTokenizer;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Lock;
 import java.util.logging.Level;
 import org.apache.sis.storage.DataStore;
@@ -175,6 +184,19 @@ import org.w3._2005.atom.FeedType;
 @Scope(BeanDefinition.SCOPE_PROTOTYPE)
 public class CSWworker extends AbstractWorker<Automatic> implements Refreshable {
 
+    /**
+     * Maximum number of records read at the same time for a single GetRecords request,
+     * so a single request can not take all the threads of the pool.
+     */
+    private static final int RECORD_READ_AHEAD = 4;
+
+    /**
+     * Thread pool used to read the records of the GetRecords responses in parallel, shared by all the requests.
+     * Its size is read from the "recordPoolSize" property, and defaults to twice the number of processors.
+     * When all the threads are busy, the records are read by the request thread.
+     */
+    private final ThreadPoolExecutor recordExecutor;
+
     @Autowired
     private IClusterBusiness clusterBusiness;
 
@@ -190,6 +212,13 @@ public class CSWworker extends AbstractWorker<Automatic> implements Refreshable
 
     private Indexer indexer;
 
+    /**
+     * The values of the metadata properties requested by GetDomain, by property name.
+     * Only the queryable properties are cached, so the size of this map is bounded by their number.
+     * This map is replaced after each update of the index.
+     */
+    private volatile Map<String, DomainValues> domainCache = new ConcurrentHashMap<>();
+
     /**
      * A filter parser which create index query from OGC filter
      */
@@ -246,6 +275,7 @@ public class CSWworker extends AbstractWorker<Automatic> implements Refreshable
      */
     public CSWworker(final String serviceID) {
         super(serviceID, ServiceDef.Specification.CSW);
+        recordExecutor = createRecordExecutor();
         if (getState().equals(WorkerState.ERROR)) return;
         
         try {
@@ -334,6 +364,24 @@ public class CSWworker extends AbstractWorker<Automatic> implements Refreshable
         loadCascadedService();
     }
 
+    /**
+     * Build the thread pool reading the records of the GetRecords responses.
+     * The pool does not queue the tasks, a record submitted while all the threads are busy is read by the caller.
+     */
+    private ThreadPoolExecutor createRecordExecutor() {
+        int poolSize = 2 * Runtime.getRuntime().availableProcessors();
+        final String value = getProperty("recordPoolSize");
+        if (value != null && !value.isEmpty()) {
+            try {
+                poolSize = Math.max(1, Integer.parseInt(value));
+            } catch (NumberFormatException ex) {
+                LOGGER.log(Level.WARNING, "Invalid value for property recordPoolSize: {0}", value);
+            }
+        }
+        // unlike CallerRunsPolicy, also run the task after a shutdown, so a request in progress never waits forever.
+        return new ThreadPoolExecutor(0, poolSize, 60, TimeUnit.SECONDS, new SynchronousQueue<>(), (task, executor) -> task.run());
+    }
+
     @Override
     protected boolean getTransactionalProperty() {
         // look into deprecated configuration attribute.
@@ -831,23 +879,7 @@ public class CSWworker extends AbstractWorker<Automatic> implements Refreshable
             // we read a list of Record
             case RESULTS:
 
-                try {
-                    for (int i = startPos - 1; i < max; i++) {
-                        final RecordInfo obj = mdStore.getMetadata(results[i], mode, cstlSet(set), elementName);
-                        if (obj == null && (max + 1) < nbResults) {
-                            max++;
-
-                        } else if (obj != null) {
-                            records.add(obj);
-                        }
-                    }
-                } catch (MetadataIoException ex) {
-                    CodeList execptionCode = ex.getExceptionCode();
-                    if (execptionCode == null) {
-                        execptionCode = NO_APPLICABLE_CODE;
-                    }
-                    throw new CstlServiceException(ex, execptionCode);
-                }
+                records = readRecords(results, startPos - 1, max, mode, cstlSet(set), elementName);
                 /*
                  * Additional distributed result are now merged in 2.0.2 in CswXmlFactory
                  * TODO see if max ditributed is needed.
@@ -906,6 +938,55 @@ public class CSWworker extends AbstractWorker<Automatic> implements Refreshable
         return response;
     }
 
+    /**
+     * Read the records of a result page, in the order of the results.
+     * The records are read in parallel, with a bounded number of records read in advance.
+     * A record which can not be found anymore (removed since its indexation) is replaced by the next result.
+     *
+     * @param results The identifiers of all the matching records.
+     * @param start Index of the first result of the page.
+     * @param end Index after the last result of the page.
+     */
+    private List<RecordInfo> readRecords(final String[] results, final int start, final int end, final MetadataType mode,
+            final org.geotoolkit.metadata.ElementSetType set, final List<QName> elementName) throws CstlServiceException {
+        final List<RecordInfo> records = new ArrayList<>();
+        final Deque<Future<RecordInfo>> pending = new ArrayDeque<>();
+        int max  = end;
+        int next = start;
+        try {
+            for (int i = start; i < max; i++) {
+                while (next < max && next - i < RECORD_READ_AHEAD) {
+                    final String identifier = results[next++];
+                    pending.add(recordExecutor.submit(() -> mdStore.getMetadata(identifier, mode, set, elementName)));
+                }
+                final RecordInfo obj = pending.poll().get();
+                if (obj == null && (max + 1) < results.length) {
+                    max++;
+
+                } else if (obj != null) {
+                    records.add(obj);
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new CstlServiceException(ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof MetadataIoException mex) {
+                CodeList execptionCode = mex.getExceptionCode();
+                if (execptionCode == null) {
+                    execptionCode = NO_APPLICABLE_CODE;
+                }
+                throw new CstlServiceException(mex, execptionCode);
+            }
+            throw new CstlServiceException(ex, NO_APPLICABLE_CODE);
+        } finally {
+            for (Future<RecordInfo> future : pending) {
+                future.cancel(true);
+            }
+        }
+        return records;
+    }
+
     private org.geotoolkit.metadata.ElementSetType cstlSet(final ElementSetType set) {
         if (set != null) {
             return org.geotoolkit.metadata.ElementSetType.fromValue(set.value());
@@ -1217,14 +1298,22 @@ public class CSWworker extends AbstractWorker<Automatic> implements Refreshable
          * "PropertyName" return a list of metadata for a specific field.
          */
         } else if (propertyName != null) {
-            try {
-                responseList = mdStore.getFieldDomainofValues(propertyName);
-            } catch (MetadataIoException ex) {
-                CodeList execptionCode = ex.getExceptionCode();
-                if (execptionCode == null) {
-                    execptionCode = NO_APPLICABLE_CODE;
+            responseList = new ArrayList<>();
+            final Map<String, DomainValues> cache = domainCache;
+            final StringTokenizer tokens = new StringTokenizer(propertyName, ",");
+            while (tokens.hasMoreTokens()) {
+                final String token = tokens.nextToken().trim();
+                DomainValues value = cache.get(token);
+                if (value == null) {
+                    // reject the unknown properties before looking at the index or scanning the records.
+                    if (!isQueryable(token)) {
+                        throw new CstlServiceException("The property " + token + " is not queryable",
+                                                      INVALID_PARAMETER_VALUE, "propertyName");
+                    }
+                    value = getPropertyDomain(token);
+                    cache.put(token, value);
                 }
-                throw new CstlServiceException(ex, execptionCode);
+                responseList.add(value);
             }
 
         // if no parameter have been filled we launch an exception
@@ -1237,6 +1326,53 @@ public class CSWworker extends AbstractWorker<Automatic> implements Refreshable
         return CswXmlFactory.getDomainResponse(currentVersion, responseList);
     }
 
+    /**
+     * Return {@code true} if the specified property is a Dublin Core, ISO or additional queryable of the metadata store.
+     */
+    private boolean isQueryable(final String token) {
+        if (ISO_QUERYABLE.containsKey(token) || DUBLIN_CORE_QUERYABLE.containsKey(token)) {
+            return true;
+        }
+        for (QName name : mdStore.getAdditionalQueryableQName()) {
+            if (token.equals(name.getLocalPart())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Return the values of a metadata property. The values are read from the index when the property is indexed,
+     * otherwise they are extracted from all the records.
+     */
+    private DomainValues getPropertyDomain(final String token) throws CstlServiceException {
+        try {
+            final List<String> values = indexSearcher.getFieldValues(token);
+            if (values != null) {
+                return new DomainValuesType(null, token, values, METADATA_QNAME);
+            }
+        } catch (SearchingException ex) {
+            LOGGER.log(Level.WARNING, "Unable to read the values of the property " + token + " from the index", ex);
+        }
+        try {
+            return mdStore.getFieldDomainofValues(token).get(0);
+        } catch (MetadataIoException ex) {
+            CodeList execptionCode = ex.getExceptionCode();
+            if (execptionCode == null) {
+                execptionCode = NO_APPLICABLE_CODE;
+            }
+            throw new CstlServiceException(ex, execptionCode);
+        }
+    }
+
+    /**
+     * Refresh the index searcher after an update of the index, and discard the cached property domains.
+     */
+    private void refreshIndexSearcher() throws IndexingException {
+        indexSearcher.refresh();
+        domainCache = new ConcurrentHashMap<>();
+    }
+
     /**
      * A web service method allowing to Insert / update / delete record from the CSW.
      */
@@ -1409,7 +1545,7 @@ public class CSWworker extends AbstractWorker<Automatic> implements Refreshable
         }
         if (totalDeleted > 0 || totalInserted > 0 || totalUpdated > 0) {
             try {
-                indexSearcher.refresh();
+                refreshIndexSearcher();
             } catch (IndexingException ex) {
                 throw new CstlServiceException("The service does not succeed to refresh the index after deleting documents:" + ex.getMessage(),
                         NO_APPLICABLE_CODE);
@@ -1502,7 +1638,7 @@ public class CSWworker extends AbstractWorker<Automatic> implements Refreshable
         }
 
         try {
-            indexSearcher.refresh();
+            refreshIndexSearcher();
             mdStore.clearCache();
         } catch (IndexingException ex) {
             throw new CstlServiceException("The service does not succeed to refresh the index after deleting documents:" + ex.getMessage(),
@@ -1606,6 +1742,7 @@ public class CSWworker extends AbstractWorker<Automatic> implements Refreshable
         if (harvestTaskScheduler != null) {
             harvestTaskScheduler.destroy();
         }
+        recordExecutor.shutdownNow();
         stopped();
     }
 
@@ -1613,7 +1750,7 @@ public class CSWworker extends AbstractWorker<Automatic> implements Refreshable
     public void refresh() throws CstlServiceException {
         isWorking();
         try {
-            indexSearcher.refresh();
+            refreshIndexSearcher();
             mdStore.clearCache();
         } catch (IndexingException ex) {
             throw new CstlServiceException("Error while refreshing cache", ex);
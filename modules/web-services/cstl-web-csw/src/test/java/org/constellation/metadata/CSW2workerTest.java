@@ -1716,6 +1716,21 @@ public abstract class CSW2workerTest extends AbstractCSWworkerTest {
         }
         assertTrue(exLaunched);
 
+        /*
+         *  TEST 10 bis : getDomain 2.0.2 with an unknown propertyName
+         */
+        request = new GetDomainType("CSW", "2.0.2", "whatever", null);
+
+        exLaunched = false;
+        try {
+            worker.getDomain(request);
+        } catch (CstlServiceException ex) {
+            exLaunched = true;
+            assertEquals(ex.getLocator(), "propertyName");
+            assertEquals(ex.getExceptionCode(), INVALID_PARAMETER_VALUE);
+        }
+        assertTrue(exLaunched);
+
         /*
          *  TEST 11 : getDomain 2.0.2 with a bad parameterName (bad request name)
          */
@@ -38,6 +38,9 @@ import org.constellation.exception.ConstellationRuntimeException;
 import org.constellation.repository.StyledLayerRepository;
 import org.constellation.security.SecurityManager;
 import org.constellation.util.Util;
+import org.constellation.ws.IWSEngine;
+import org.constellation.ws.LayerWorker;
+import org.constellation.ws.Worker;
 import org.geotoolkit.ows.xml.v110.BoundingBoxType;
 import org.geotoolkit.ows.xml.v110.WGS84BoundingBoxType;
 import org.geotoolkit.wmts.WMTSUtilities;
@@ -92,6 +95,9 @@ public class MapRestAPI extends AbstractRestAPI {
     @Autowired
     private StyledLayerRepository styledLayerRepository;
 
+    @Autowired
+    private IWSEngine wsengine;
+
     /**
      * Extracts and returns the list of {@link LayerConfig}s available on a "map" service.
      *
@@ -519,6 +525,48 @@ public class MapRestAPI extends AbstractRestAPI {
         }
     }
 
+    /**
+     * Return the counters of the rendered tile cache of a "map" service.
+     *
+     * @param spec the service type
+     * @param id the service identifier
+     * @return the cache counters (hits, misses, evictions, sizes).
+     */
+    @RequestMapping(value="/MAP/{spec}/{id}/tilecache",method=GET,produces=APPLICATION_JSON_VALUE)
+    public ResponseEntity getRenderedTileCacheStatistics(final @PathVariable("spec") String spec, final @PathVariable("id") String id) {
+        try {
+            final Worker worker = wsengine.getInstance(spec, id);
+            if (worker instanceof LayerWorker lw && lw.getRenderedTileCache().isPresent()) {
+                return new ResponseEntity(lw.getRenderedTileCache().get().getStatistics(), OK);
+            }
+            return new ResponseEntity(AcknowlegementType.failure("No rendered tile cache for service " + id), OK);
+        } catch(Exception ex){
+            LOGGER.log(Level.WARNING, ex.getLocalizedMessage(), ex);
+            return new ErrorMessage(ex).build();
+        }
+    }
+
+    /**
+     * Empty the rendered tile cache of a "map" service.
+     *
+     * @param spec the service type
+     * @param id the service identifier
+     */
+    @RequestMapping(value="/MAP/{spec}/{id}/tilecache",method=DELETE,produces=APPLICATION_JSON_VALUE)
+    public ResponseEntity clearRenderedTileCache(final @PathVariable("spec") String spec, final @PathVariable("id") String id) {
+        try {
+            final Worker worker = wsengine.getInstance(spec, id);
+            if (worker instanceof LayerWorker lw && lw.getRenderedTileCache().isPresent()) {
+                lw.getRenderedTileCache().get().clear();
+                return new ResponseEntity(AcknowlegementType.success("The rendered tile cache has been cleared"), OK);
+            }
+            return new ResponseEntity(AcknowlegementType.failure("No rendered tile cache for service " + id), OK);
+        } catch(Exception ex){
+            LOGGER.log(Level.WARNING, ex.getLocalizedMessage(), ex);
+            return new ErrorMessage(ex).build();
+        }
+    }
+
     /**
      * Put an envelope in a map with key "dataExtent".
      */
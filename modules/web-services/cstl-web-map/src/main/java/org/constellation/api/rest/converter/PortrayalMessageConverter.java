@@ -78,6 +78,15 @@ public class PortrayalMessageConverter implements HttpMessageConverter<Portrayal
 
     @Override
     public void write(PortrayalResponse r, MediaType contentType, HttpOutputMessage outputMessage) throws IOException, HttpMessageNotWritableException {
+        // already encoded image
+        if (r.getBuffer() != null) {
+            try {
+                outputMessage.getBody().write(r.getBuffer());
+            } catch (IOException ex) {
+                LOGGER.log(Level.WARNING, "Error while Writing portrayal response:{0}", ex.getMessage());
+            }
+            return;
+        }
         try (final ByteArrayOutputStream out = new ByteArrayOutputStream()){
 
             OutputDef outdef = r.getOutputDef();
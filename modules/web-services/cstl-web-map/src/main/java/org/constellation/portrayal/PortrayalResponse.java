@@ -54,6 +54,20 @@ public final class PortrayalResponse {
         this.image = image;
     }
 
+    /**
+     * Build a response for an already encoded image.
+     *
+     * @param buffer The encoded image.
+     * @param outputDef The output definition used to encode the image.
+     */
+    public PortrayalResponse(byte[] buffer, OutputDef outputDef) {
+        this.canvasDef = null;
+        this.sceneDef = null;
+        this.outputDef = outputDef;
+        this.image = null;
+        this.buffer = buffer;
+    }
+
     public void prepareNow() throws PortrayalException{
         image = CstlPortrayalService.getInstance().portray(sceneDef, canvasDef);
     }
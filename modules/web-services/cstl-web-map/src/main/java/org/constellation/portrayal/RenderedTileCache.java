@@ -0,0 +1,413 @@
+/*
+ *    Examind Community - An open source and standard compliant SDI
+ *    https://community.examind.com/
+ *
+ * Copyright 2026 Geomatys.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.constellation.portrayal;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.geotoolkit.nio.IOUtilities;
+
+/**
+ * A cache for the encoded images rendered on the fly by a map service.
+ * <p>
+ * The cache has two tiers:
+ * <ul>
+ *   <li>an in-memory LRU tier, bounded by the total size of the cached images,</li>
+ *   <li>an optional on-disk tier, under the service instance directory, bounded by the total size of its files.</li>
+ * </ul>
+ * Both tiers evict their least recently used entries when they are full.
+ * Entries older than the time to live are ignored and removed when accessed.
+ * The disk tier is emptied at creation, as the data may have changed while the service was stopped.
+ * </p>
+ * <p>
+ * Each {@link #clear()} starts a new epoch. The callers read the {@link #epoch()} before rendering
+ * and give it back to {@link #put(String, long, byte[])}, so an image rendered before a clear is never cached.
+ * </p>
+ *
+ * This class is thread-safe.
+ */
+public final class RenderedTileCache {
+
+    private static final Logger LOGGER = Logger.getLogger("org.constellation.portrayal");
+
+    private static final byte[] EMPTY = new byte[0];
+
+    /**
+     * Delete the directories of the previous epochs, one at a time for all the caches.
+     */
+    private static final ExecutorService CLEANER = Executors.newSingleThreadExecutor(r -> {
+        final Thread t = new Thread(r, "RenderedTileCache cleaner");
+        t.setDaemon(true);
+        return t;
+    });
+
+    /**
+     * In memory entries, in access order.
+     */
+    private final LinkedHashMap<String, Entry> memory = new LinkedHashMap<>(64, 0.75f, true);
+
+    /**
+     * Maximum size in bytes of the in-memory tier.
+     */
+    private final long maxMemorySize;
+
+    /**
+     * Current size in bytes of the in-memory tier. Guarded by {@link #memory}.
+     */
+    private long memorySize;
+
+    /**
+     * Root directory of the on-disk tier, or {@code null} if disabled.
+     */
+    private final Path directory;
+
+    /**
+     * Directory of the current epoch of the on-disk tier. A fresh one is created by each {@link #clear()},
+     * so the previous one can be deleted without holding the lock. Guarded by {@link #disk}.
+     */
+    private Path epochDirectory;
+
+    /**
+     * Maximum size in bytes of the on-disk tier.
+     */
+    private final long maxDiskSize;
+
+    /**
+     * Files of the on-disk tier, in access order.
+     */
+    private final LinkedHashMap<String, Entry> disk = new LinkedHashMap<>(64, 0.75f, true);
+
+    /**
+     * Current size in bytes of the on-disk tier. Guarded by {@link #disk}.
+     */
+    private long diskSize;
+
+    /**
+     * Incremented by each {@link #clear()}, so an image rendered before a clear is not added to the cache.
+     * Modified while holding both the {@link #memory} and {@link #disk} locks.
+     */
+    private volatile long epoch;
+
+    /**
+     * Time to live of the entries in milliseconds, or 0 for no expiration.
+     */
+    private final long timeToLive;
+
+    private final AtomicLong memoryHits = new AtomicLong();
+    private final AtomicLong diskHits   = new AtomicLong();
+    private final AtomicLong misses     = new AtomicLong();
+    private final AtomicLong evictions  = new AtomicLong();
+
+    /**
+     * Build a new rendered tile cache.
+     *
+     * @param maxMemorySize Maximum size in bytes of the in-memory tier.
+     * @param directory Directory of the on-disk tier, or {@code null} to disable it.
+     * @param maxDiskSize Maximum size in bytes of the on-disk tier.
+     * @param timeToLive Time to live of the entries in milliseconds, or 0 for no expiration.
+     */
+    public RenderedTileCache(final long maxMemorySize, final Path directory, final long maxDiskSize, final long timeToLive) {
+        this.maxMemorySize = maxMemorySize;
+        this.maxDiskSize   = maxDiskSize;
+        this.timeToLive    = timeToLive;
+        this.directory     = directory;
+        if (directory != null) {
+            try {
+                if (Files.exists(directory)) {
+                    IOUtilities.deleteRecursively(directory);
+                }
+                Files.createDirectories(directory);
+                epochDirectory = Files.createTempDirectory(directory, "tiles");
+            } catch (IOException ex) {
+                LOGGER.log(Level.WARNING, "Unable to clear the tile cache directory: " + directory, ex);
+            }
+        }
+    }
+
+    /**
+     * Return the current epoch of the cache, to be read before rendering an image
+     * and given back to {@link #put(String, long, byte[])}.
+     *
+     * @return The current epoch.
+     */
+    public long epoch() {
+        return epoch;
+    }
+
+    /**
+     * Build a cache key from the parameters identifying a rendered tile.
+     * The parameters are expected to have a stable string representation.
+     *
+     * @param parts All the parameters affecting the rendering (layers, styles, envelope, size, format, dimensions, ...).
+     * @return A key suitable for the cache, and usable as a file name.
+     */
+    public static String key(final Object... parts) {
+        final StringBuilder sb = new StringBuilder();
+        for (Object part : parts) {
+            sb.append(part).append('\u001F');
+        }
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(sb.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            // should never happen, SHA-256 is mandatory for all java platforms.
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Return the cached image for the specified key.
+     *
+     * @param key A key built by {@link #key(Object...)}.
+     * @return The encoded image, or {@code null} if not in cache.
+     */
+    public byte[] get(final String key) {
+        final long now = System.currentTimeMillis();
+        final long start = epoch;
+        synchronized (memory) {
+            final Entry entry = memory.get(key);
+            if (entry != null) {
+                if (!isExpired(entry.creation, now)) {
+                    memoryHits.incrementAndGet();
+                    return entry.data;
+                }
+                memory.remove(key);
+                memorySize -= entry.data.length;
+                evictions.incrementAndGet();
+            }
+        }
+        if (directory != null) {
+            final Entry entry;
+            final Path file;
+            synchronized (disk) {
+                entry = disk.get(key);
+                file = (entry != null) ? getFile(key) : null;
+            }
+            if (entry != null) {
+                if (!isExpired(entry.creation, now)) {
+                    try {
+                        final byte[] data = Files.readAllBytes(file);
+                        diskHits.incrementAndGet();
+                        putInMemory(key, start, new Entry(data, entry.creation));
+                        return data;
+                    } catch (NoSuchFileException ex) {
+                        // evicted or cleared meanwhile
+                    } catch (IOException ex) {
+                        LOGGER.log(Level.FINE, "Unable to read cached tile", ex);
+                    }
+                } else {
+                    synchronized (disk) {
+                        if (disk.get(key) == entry) {
+                            removeFromDisk(key, entry);
+                            evictions.incrementAndGet();
+                        }
+                    }
+                }
+            }
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * Add an encoded image to the cache.
+     * The image is ignored if the cache has been cleared since the specified epoch.
+     *
+     * @param key A key built by {@link #key(Object...)}.
+     * @param start The {@link #epoch()} read before the rendering of the image.
+     * @param data The encoded image.
+     */
+    public void put(final String key, final long start, final byte[] data) {
+        putInMemory(key, start, new Entry(data, System.currentTimeMillis()));
+        if (directory != null && data.length <= maxDiskSize) {
+            final Path file;
+            synchronized (disk) {
+                if (start != epoch || epochDirectory == null) {
+                    return;
+                }
+                file = getFile(key);
+            }
+            Path tmp = null;
+            try {
+                Files.createDirectories(file.getParent());
+                // write in a temporary file then move it, to never expose a partial file to the readers.
+                tmp = Files.createTempFile(file.getParent(), null, ".tmp");
+                Files.write(tmp, data);
+                synchronized (disk) {
+                    if (start == epoch) {
+                        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                        tmp = null;
+                        final Entry entry = new Entry(EMPTY, System.currentTimeMillis(), data.length);
+                        final Entry previous = disk.put(key, entry);
+                        if (previous != null) {
+                            diskSize -= previous.size;
+                        }
+                        diskSize += data.length;
+                        final Iterator<Map.Entry<String, Entry>> it = disk.entrySet().iterator();
+                        while (diskSize > maxDiskSize && it.hasNext()) {
+                            final Map.Entry<String, Entry> eldest = it.next();
+                            it.remove();
+                            diskSize -= eldest.getValue().size;
+                            deleteFile(getFile(eldest.getKey()));
+                            evictions.incrementAndGet();
+                        }
+                    }
+                }
+            } catch (IOException ex) {
+                LOGGER.log(Level.FINE, "Unable to write cached tile", ex);
+            } finally {
+                if (tmp != null) {
+                    deleteFile(tmp);
+                }
+            }
+        }
+    }
+
+    /**
+     * Remove all the entries of the cache.
+     */
+    public void clear() {
+        final Path previous;
+        synchronized (memory) {
+            synchronized (disk) {
+                // the renderings and writes in progress will see the new epoch and discard their image.
+                epoch++;
+                memory.clear();
+                memorySize = 0;
+                disk.clear();
+                diskSize = 0;
+                previous = epochDirectory;
+                if (directory != null) {
+                    try {
+                        epochDirectory = Files.createTempDirectory(directory, "tiles");
+                    } catch (IOException ex) {
+                        epochDirectory = null;
+                        LOGGER.log(Level.WARNING, "Unable to create the tile cache directory in: " + directory, ex);
+                    }
+                }
+            }
+        }
+        if (previous != null) {
+            // deleting a large tree may take a while, do not block the requests meanwhile.
+            CLEANER.execute(() -> deleteDirectory(previous));
+        }
+    }
+
+    /**
+     * Return the cache counters: hits (by tier), misses, evictions and current sizes.
+     *
+     * @return The current value of the cache counters.
+     */
+    public Map<String, Long> getStatistics() {
+        final Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("memoryHits", memoryHits.get());
+        stats.put("diskHits",   diskHits.get());
+        stats.put("misses",     misses.get());
+        stats.put("evictions",  evictions.get());
+        synchronized (memory) {
+            stats.put("memoryEntries", (long) memory.size());
+            stats.put("memorySize",    memorySize);
+        }
+        synchronized (disk) {
+            stats.put("diskEntries", (long) disk.size());
+            stats.put("diskSize",    diskSize);
+        }
+        return stats;
+    }
+
+    private void putInMemory(final String key, final long start, final Entry entry) {
+        if (entry.data.length > maxMemorySize) {
+            return;
+        }
+        synchronized (memory) {
+            if (start != epoch) {
+                return;
+            }
+            final Entry previous = memory.put(key, entry);
+            if (previous != null) {
+                memorySize -= previous.data.length;
+            }
+            memorySize += entry.data.length;
+            final Iterator<Entry> it = memory.values().iterator();
+            while (memorySize > maxMemorySize && it.hasNext()) {
+                memorySize -= it.next().data.length;
+                it.remove();
+                evictions.incrementAndGet();
+            }
+        }
+    }
+
+    private boolean isExpired(final long creation, final long now) {
+        return timeToLive > 0 && now - creation > timeToLive;
+    }
+
+    private Path getFile(final String key) {
+        // use a sub-directory to avoid too many files in a single directory.
+        return epochDirectory.resolve(key.substring(0, 2)).resolve(key);
+    }
+
+    /**
+     * Remove an entry of the disk tier. Must be invoked while holding the {@link #disk} lock.
+     */
+    private void removeFromDisk(final String key, final Entry entry) {
+        disk.remove(key);
+        diskSize -= entry.size;
+        deleteFile(getFile(key));
+    }
+
+    private static void deleteFile(final Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ex) {
+            LOGGER.log(Level.FINE, "Unable to remove cached tile", ex);
+        }
+    }
+
+    private static void deleteDirectory(final Path dir) {
+        try {
+            IOUtilities.deleteRecursively(dir);
+        } catch (IOException ex) {
+            LOGGER.log(Level.WARNING, "Unable to clear the tile cache directory: " + dir, ex);
+        }
+    }
+
+    /**
+     * A cached image. For the disk tier, the data are not kept in memory and only the size of the file is recorded.
+     */
+    private record Entry(byte[] data, long creation, long size) {
+
+        private Entry(final byte[] data, final long creation) {
+            this(data, creation, data.length);
+        }
+    }
+}
@@ -87,8 +87,9 @@ import org.opengis.util.FactoryException;
 import org.springframework.beans.factory.annotation.Autowired;
 
 /**
- * Note about thread-safety: This object is <em>NOT</em> thread-safe.
- * It is user responsibility to synchronize accesses if (s)he uses it in a multi-threaded environment.
+ * Note about thread-safety: This object is shared between requests by the {@link LayerWorker} cache.
+ * Its only mutable state (the additional dimensions) is lazily computed and idempotent,
+ * so concurrent accesses are safe as long as the returned collections are not modified.
  *
  * @author Guilhem Legal (Geomatys)
  */
@@ -105,7 +106,7 @@ public class LayerCache {
     @Autowired
     private IDataBusiness dataBusiness;
 
-    private ExtraDimensions layerAdditionalDimensions;
+    private volatile ExtraDimensions layerAdditionalDimensions;
 
     public LayerCache(final NameInProvider nip, QName name, Data d, List<StyleReference> styles, final LayerConfig configuration) {
         SpringHelper.injectDependencies(this);
@@ -467,7 +468,8 @@ public class LayerCache {
     }
 
     private ExtraDimensions getOrCreateAdditionalDimensions() {
-        if (layerAdditionalDimensions != null) return layerAdditionalDimensions;
+        ExtraDimensions extra = layerAdditionalDimensions;
+        if (extra != null) return extra;
         final List<DimensionDef<?, ?, ?>> results = new ArrayList<>();
         DimensionDef<TemporalCRS, ?, ?> timeDim = null; DimensionDef<VerticalCRS, ?, ?> elevationDim = null;
         if (configuration != null && !configuration.getDimensions().isEmpty()) {
@@ -491,8 +493,9 @@ public class LayerCache {
             elevationDim = fd.getElevationDimension().orElse(null);
         }
 
-        layerAdditionalDimensions = new ExtraDimensions(timeDim, elevationDim, results);
-        return layerAdditionalDimensions;
+        extra = new ExtraDimensions(timeDim, elevationDim, results);
+        layerAdditionalDimensions = extra;
+        return extra;
     }
 
     private static DimensionDef<?, ?, ?> getDimensionDef(DimensionDefinition ddef) throws CQLException {
@@ -21,6 +21,7 @@ package org.constellation.ws;
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 import org.constellation.api.ServiceDef.Specification;
+import org.constellation.business.IConfigurationBusiness;
 import org.constellation.business.ILayerBusiness;
 import org.constellation.business.IStyleBusiness;
 import org.constellation.exception.ConfigurationException;
@@ -30,17 +31,22 @@ import org.constellation.dto.service.config.wxs.LayerConfig;
 import org.constellation.dto.service.config.wxs.LayerContext;
 import org.constellation.exception.TargetNotFoundException;
 import org.constellation.map.featureinfo.FeatureInfoUtilities;
+import org.constellation.portrayal.RenderedTileCache;
 import org.constellation.provider.Data;
 import org.constellation.provider.DataProviders;
 import org.constellation.ws.security.SimplePDP;
 
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
 import javax.xml.namespace.QName;
 import org.apache.sis.style.Style;
+import org.apache.sis.util.collection.Cache;
 import org.constellation.api.WorkerState;
 import org.constellation.business.ClusterMessage;
 import org.constellation.business.IClusterBusiness;
@@ -81,12 +87,42 @@ public abstract class LayerWorker extends AbstractWorker<LayerContext> {
     @Autowired
     protected IClusterBusiness clusterBusiness;
 
+    @Autowired
+    private IConfigurationBusiness configBusiness;
+
     protected final List<String> supportedLanguages = new ArrayList<>();
 
     private String defaultLanguage = null;
 
     private String listenerUid;
 
+    /**
+     * Resolved layers, by layer identifier and user login.
+     * Cleared each time the layers, styles or data of the service are modified.
+     */
+    private final Cache<LayerCacheKey, LayerCache> layerCaches = new Cache<>(50, 100, true);
+
+    /**
+     * Full names of the layers requested by name or alias, by requested name and user login.
+     * Only the names matching a layer are cached. Cleared with {@link #layerCaches}.
+     */
+    private final Cache<LayerNameKey, NameInProvider> layerNames = new Cache<>(50, 100, true);
+
+    /**
+     * Incremented each time the layer caches are cleared, so a layer resolved before a clear is not cached.
+     */
+    private final AtomicLong layerCacheGeneration = new AtomicLong();
+
+    /**
+     * use this flag to enable cache for the resolved layers.
+     */
+    protected boolean cacheLayers = true;
+
+    /**
+     * Cache of the images rendered on the fly, {@code null} if disabled (default).
+     */
+    protected RenderedTileCache renderedTileCache;
+
     public LayerWorker(final String id, final Specification specification) {
         super(id, specification);
         if (getState().equals(WorkerState.ERROR)) return;
@@ -110,6 +146,16 @@ public abstract class LayerWorker extends AbstractWorker<LayerContext> {
             if (cc != null && !cc.isEmpty()) {
                 cacheCapabilities = Boolean.parseBoolean(cc);
             }
+            // look for layer cache flag
+            final String cl = getProperty("cacheLayers");
+            if (cl != null && !cl.isEmpty()) {
+                cacheLayers = Boolean.parseBoolean(cl);
+            }
+            // look for rendered tile cache flag
+            final String crt = getProperty("cacheRenderedTiles");
+            if (crt != null && Boolean.parseBoolean(crt)) {
+                renderedTileCache = createRenderedTileCache();
+            }
 
             //Check  FeatureInfo configuration (if exist)
             FeatureInfoUtilities.checkConfiguration(configuration);
@@ -155,12 +201,80 @@ public abstract class LayerWorker extends AbstractWorker<LayerContext> {
     @Override
     public void destroy(){
         super.destroy();
+        layerCaches.clear();
         if (listenerUid != null) {
             clusterBusiness.removeMessageListener(listenerUid);
         }
         stopped();
     }
 
+    /**
+     * The layer workers do not release any shared resource when destroyed, except the on-disk tier of
+     * the rendered tile cache which is cleared by the new worker.
+     */
+    @Override
+    public boolean supportsHotRestart() {
+        return renderedTileCache == null || getLongProperty("tileCacheDiskSize", 0) <= 0;
+    }
+
+    /**
+     * Build the rendered tile cache from the service properties:
+     * <ul>
+     *   <li>tileCacheMemorySize: size of the in-memory tier in MB (default 64).</li>
+     *   <li>tileCacheDiskSize: size of the on-disk tier in MB (default 0, disabled).</li>
+     *   <li>tileCacheTTL: time to live of the entries in seconds (default 0, no expiration).</li>
+     * </ul>
+     */
+    private RenderedTileCache createRenderedTileCache() {
+        final long memorySize = getLongProperty("tileCacheMemorySize", 64) * 1024 * 1024;
+        final long diskSize   = getLongProperty("tileCacheDiskSize", 0) * 1024 * 1024;
+        final long ttl        = getLongProperty("tileCacheTTL", 0) * 1000;
+        final Path directory;
+        if (diskSize > 0) {
+            directory = configBusiness.getInstanceDirectory(specification.name(), id).resolve("tile-cache");
+        } else {
+            directory = null;
+        }
+        return new RenderedTileCache(memorySize, directory, diskSize, ttl);
+    }
+
+    protected long getLongProperty(final String propertyName, final long defaultValue) {
+        final String value = getProperty(propertyName);
+        if (value != null && !value.isEmpty()) {
+            try {
+                return Long.parseLong(value);
+            } catch (NumberFormatException ex) {
+                LOGGER.log(Level.WARNING, "Invalid value for property {0}: {1}", new Object[]{propertyName, value});
+            }
+        }
+        return defaultValue;
+    }
+
+    /**
+     * Return the cache of the images rendered on the fly, if enabled for this service.
+     *
+     * @return The rendered tile cache, or an empty optional if disabled.
+     */
+    public Optional<RenderedTileCache> getRenderedTileCache() {
+        return Optional.ofNullable(renderedTileCache);
+    }
+
+    /**
+     * Reset the capabilities cache, the resolved layers cache and the rendered tiles cache.
+     * This method is called when a layer, a style or a data of the service is modified.
+     */
+    @Override
+    public void clearCapabilitiesCache() {
+        super.clearCapabilitiesCache();
+        // the resolutions in progress will see the new generation and will not cache their result.
+        layerCacheGeneration.incrementAndGet();
+        layerCaches.clear();
+        layerNames.clear();
+        if (renderedTileCache != null) {
+            renderedTileCache.clear();
+        }
+    }
+
     protected List<NameInProvider> getLayerNames(final String login) {
         try {
             return layerBusiness.getLayerNames(getServiceId(), login);
@@ -193,7 +307,7 @@ public abstract class LayerWorker extends AbstractWorker<LayerContext> {
         if (name == null) {
             return null;
         }
-        return layerBusiness.getFullLayerName(getServiceId(), name.getLocalPart(), name.getNamespaceURI(), login);
+        return getFullLayerName(login, name.getLocalPart(), name.getNamespaceURI());
     }
 
     private NameInProvider getFullLayerName(final String login, final String name) throws ConfigurationException {
@@ -201,7 +315,23 @@ public abstract class LayerWorker extends AbstractWorker<LayerContext> {
             return null;
         }
         QName qname = Util.parseQName(name);
-        return layerBusiness.getFullLayerName(getServiceId(), qname.getLocalPart(), qname.getNamespaceURI(), login);
+        return getFullLayerName(login, qname.getLocalPart(), qname.getNamespaceURI());
+    }
+
+    private NameInProvider getFullLayerName(final String login, final String localPart, final String namespace) throws ConfigurationException {
+        if (!cacheLayers) {
+            return layerBusiness.getFullLayerName(getServiceId(), localPart, namespace, login);
+        }
+        final LayerNameKey key = new LayerNameKey(localPart, namespace, login);
+        NameInProvider nip = layerNames.peek(key);
+        if (nip == null) {
+            final long generation = layerCacheGeneration.get();
+            nip = layerBusiness.getFullLayerName(getServiceId(), localPart, namespace, login);
+            if (nip != null && generation == layerCacheGeneration.get()) {
+                layerNames.put(key, nip);
+            }
+        }
+        return nip;
     }
 
     protected Style getStyle(final StyleReference styleReference) throws CstlServiceException {
@@ -358,6 +488,29 @@ public abstract class LayerWorker extends AbstractWorker<LayerContext> {
     }
 
     private LayerCache getLayerCache(NameInProvider nip, String login) throws CstlServiceException {
+        if (!cacheLayers) {
+            return createLayerCache(nip, login);
+        }
+        final LayerCacheKey key = new LayerCacheKey(nip.layerId, login);
+        LayerCache layer = layerCaches.peek(key);
+        if (layer == null) {
+            final long generation = layerCacheGeneration.get();
+            final Cache.Handler<LayerCache> handler = layerCaches.lock(key);
+            LayerCache created = null;
+            try {
+                layer = handler.peek();
+                if (layer == null) {
+                    layer = created = createLayerCache(nip, login);
+                }
+            } finally {
+                // a layer built before a clear may hold a stale configuration, it is returned but not cached.
+                handler.putAndUnlock(created != null && generation != layerCacheGeneration.get() ? null : layer);
+            }
+        }
+        return layer;
+    }
+
+    private LayerCache createLayerCache(NameInProvider nip, String login) throws CstlServiceException {
         Data data = getData(nip);
         if (data != null) {
             final QName layerName = getNameFromNIP(nip);
@@ -380,6 +533,16 @@ public abstract class LayerWorker extends AbstractWorker<LayerContext> {
         }
     }
 
+    /**
+     * Key of the resolved layer cache, as the layer configuration depends on the user requesting it.
+     */
+    private record LayerCacheKey(Integer layerId, String login) {}
+
+    /**
+     * Key of the layer name cache, as the authorized layers depend on the user requesting them.
+     */
+    private record LayerNameKey(String name, String namespace, String login) {}
+
     /**
      * return a namespace prefixed identifier got a Layer.
      *
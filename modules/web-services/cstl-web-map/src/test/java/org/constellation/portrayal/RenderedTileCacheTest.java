@@ -0,0 +1,139 @@
+/*
+ *    Examind Community - An open source and standard compliant SDI
+ *    https://community.examind.com/
+ *
+ * Copyright 2026 Geomatys.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.constellation.portrayal;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import org.geotoolkit.nio.IOUtilities;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RenderedTileCacheTest {
+
+    @Test
+    public void memoryEvictionTest() throws Exception {
+        final RenderedTileCache cache = new RenderedTileCache(10, null, 0, 0);
+        final String k1 = RenderedTileCache.key("layer", 1, "png");
+        final String k2 = RenderedTileCache.key("layer", 2, "png");
+        Assert.assertNotEquals(k1, k2);
+
+        cache.put(k1, cache.epoch(), new byte[6]);
+        Assert.assertNotNull(cache.get(k1));
+
+        // exceed the memory limit, the least recently used entry is evicted
+        cache.put(k2, cache.epoch(), new byte[6]);
+        Assert.assertNull(cache.get(k1));
+        Assert.assertNotNull(cache.get(k2));
+
+        final Map<String, Long> stats = cache.getStatistics();
+        Assert.assertEquals(Long.valueOf(2), stats.get("memoryHits"));
+        Assert.assertEquals(Long.valueOf(1), stats.get("misses"));
+        Assert.assertEquals(Long.valueOf(1), stats.get("evictions"));
+        Assert.assertEquals(Long.valueOf(6), stats.get("memorySize"));
+
+        cache.clear();
+        Assert.assertNull(cache.get(k2));
+    }
+
+    @Test
+    public void diskTierTest() throws Exception {
+        final Path directory = Files.createTempDirectory("tile-cache");
+        try {
+            final RenderedTileCache cache = new RenderedTileCache(4, directory, 100, 0);
+            final String key = RenderedTileCache.key("layer", 1, "png");
+            final byte[] data = new byte[]{1, 2, 3, 4, 5, 6};
+
+            // too big for the memory tier, stored on disk only
+            cache.put(key, cache.epoch(), data);
+            Assert.assertArrayEquals(data, cache.get(key));
+            Assert.assertEquals(Long.valueOf(1), cache.getStatistics().get("diskHits"));
+            Assert.assertEquals(Long.valueOf(6), cache.getStatistics().get("diskSize"));
+
+            cache.clear();
+            Assert.assertNull(cache.get(key));
+            Assert.assertEquals(Long.valueOf(0), cache.getStatistics().get("diskSize"));
+        } finally {
+            delete(directory);
+        }
+    }
+
+    @Test
+    public void diskEvictionTest() throws Exception {
+        final Path directory = Files.createTempDirectory("tile-cache");
+        try {
+            final RenderedTileCache cache = new RenderedTileCache(0, directory, 10, 0);
+            final String k1 = RenderedTileCache.key("layer", 1, "png");
+            final String k2 = RenderedTileCache.key("layer", 2, "png");
+            final String k3 = RenderedTileCache.key("layer", 3, "png");
+
+            cache.put(k1, cache.epoch(), new byte[4]);
+            cache.put(k2, cache.epoch(), new byte[4]);
+            // k1 becomes the most recently used entry
+            Assert.assertNotNull(cache.get(k1));
+
+            // exceed the disk limit, the least recently used file is removed
+            cache.put(k3, cache.epoch(), new byte[4]);
+            Assert.assertNull(cache.get(k2));
+            Assert.assertNotNull(cache.get(k1));
+            Assert.assertNotNull(cache.get(k3));
+
+            final Map<String, Long> stats = cache.getStatistics();
+            Assert.assertEquals(Long.valueOf(2), stats.get("diskEntries"));
+            Assert.assertEquals(Long.valueOf(8), stats.get("diskSize"));
+            Assert.assertEquals(Long.valueOf(1), stats.get("evictions"));
+        } finally {
+            delete(directory);
+        }
+    }
+
+    @Test
+    public void staleRenderingTest() throws Exception {
+        final Path directory = Files.createTempDirectory("tile-cache");
+        try {
+            final RenderedTileCache cache = new RenderedTileCache(10, directory, 100, 0);
+            final String key = RenderedTileCache.key("layer", 1, "png");
+
+            // an image rendered before a clear must not reach any tier
+            final long epoch = cache.epoch();
+            cache.clear();
+            cache.put(key, epoch, new byte[4]);
+            Assert.assertNull(cache.get(key));
+            Assert.assertEquals(Long.valueOf(0), cache.getStatistics().get("memoryEntries"));
+            Assert.assertEquals(Long.valueOf(0), cache.getStatistics().get("diskEntries"));
+
+            cache.put(key, cache.epoch(), new byte[4]);
+            Assert.assertNotNull(cache.get(key));
+        } finally {
+            delete(directory);
+        }
+    }
+
+    /**
+     * The previous epochs are deleted by a background thread, which may race with the test cleanup.
+     */
+    private static void delete(final Path directory) {
+        try {
+            IOUtilities.deleteRecursively(directory);
+        } catch (IOException ex) {
+            // best effort, temporary directory.
+        }
+    }
+}
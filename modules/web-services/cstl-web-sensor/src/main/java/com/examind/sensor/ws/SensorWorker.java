@@ -19,7 +19,9 @@
 package com.examind.sensor.ws;
 
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.logging.Level;
 import static org.constellation.api.CommonConstants.TRANSACTIONAL;
 import org.constellation.api.ServiceDef;
@@ -231,4 +233,28 @@ public abstract class SensorWorker extends AbstractWorker<SOSConfiguration> {
             return sensorBusiness.getSensor(sensorId);
         }
     }
+
+    /**
+     * Return the sensor objects for the specified identifiers, with a {@code null} value for the ones not existing.
+     * In database mode, the sensors linked to the service are retrieved in a single query.
+     *
+     * @param sensorIds Sensor identifiers.
+     * @return a map of sensor object by identifier.
+     */
+    protected Map<String, Sensor> getSensors(Collection<String> sensorIds) {
+        final Map<String, Sensor> results = new HashMap<>();
+        if (!directProvider && sensorIds.size() > 1) {
+            for (Sensor s : sensorBusiness.getByServiceId(getServiceId())) {
+                if (sensorIds.contains(s.getIdentifier())) {
+                    results.put(s.getIdentifier(), s);
+                }
+            }
+        }
+        for (String sensorId : sensorIds) {
+            if (!results.containsKey(sensorId)) {
+                results.put(sensorId, getSensor(sensorId));
+            }
+        }
+        return results;
+    }
 }
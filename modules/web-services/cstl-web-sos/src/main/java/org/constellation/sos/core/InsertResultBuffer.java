@@ -0,0 +1,310 @@
+/*
+ *    Examind Community - An open source and standard compliant SDI
+ *    https://community.examind.com/
+ *
+ * Copyright 2026 Geomatys.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.constellation.sos.core;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.constellation.sos.core.ResultValuesParser.Parsed;
+import org.constellation.ws.CstlServiceException;
+
+/**
+ * A write-behind buffer for the InsertResult requests.
+ * <p>
+ * The values inserted for a result template are accumulated during a latency window, then written as a single
+ * observation. The window starts with the first values received for the template. A batch is written before the end
+ * of its window if it reaches the maximal number of rows, in the thread of the request which filled it.
+ * </p><p>
+ * As the values are written after the response to the request, a write failure can not be reported to the client.
+ * A batch whose write fails is kept and written again later, with an increasing delay, up to a maximal number of
+ * attempts. The batches still failing are logged and counted in the {@linkplain #getStatistics() statistics}.
+ * </p>
+ *
+ * This class is thread-safe.
+ */
+final class InsertResultBuffer implements AutoCloseable {
+
+    private static final Logger LOGGER = Logger.getLogger("org.constellation.sos.core");
+
+    /**
+     * Maximal time in seconds to wait for a running write when the buffer is closed.
+     */
+    private static final long CLOSE_TIMEOUT = 60;
+
+    /**
+     * Write the values of a batch.
+     */
+    @FunctionalInterface
+    interface Writer {
+        void write(String templateId, String version, List<Object> rows, String firstTime, String lastTime) throws CstlServiceException;
+    }
+
+    /**
+     * Pending batches by template identifier. Guarded by itself.
+     */
+    private final Map<String, Batch> batches = new HashMap<>();
+
+    /**
+     * Failed batches waiting for a new attempt. Guarded by {@link #batches}.
+     */
+    private final Set<Batch> retrying = new HashSet<>();
+
+    /**
+     * Set by {@link #close()}. Guarded by {@link #batches}.
+     */
+    private boolean closed;
+
+    private final ScheduledThreadPoolExecutor scheduler;
+
+    /**
+     * Latency window in milliseconds.
+     */
+    private final long delay;
+
+    /**
+     * Number of rows triggering the write of a batch before the end of its window.
+     */
+    private final int maxRows;
+
+    /**
+     * Maximal number of attempts to write a batch.
+     */
+    private final int maxAttempts;
+
+    private final Writer writer;
+
+    private final AtomicLong writtenBatches = new AtomicLong();
+    private final AtomicLong writtenRows    = new AtomicLong();
+    private final AtomicLong retries        = new AtomicLong();
+    private final AtomicLong failedBatches  = new AtomicLong();
+    private final AtomicLong failedRows     = new AtomicLong();
+
+    /**
+     * @param delay Latency window in milliseconds.
+     * @param maxRows Number of rows triggering the write of a batch before the end of its window.
+     * @param maxAttempts Maximal number of attempts to write a batch.
+     * @param writer Write the values of a batch.
+     */
+    InsertResultBuffer(final long delay, final int maxRows, final int maxAttempts, final Writer writer) {
+        this.delay       = delay;
+        this.maxRows     = maxRows;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.writer      = writer;
+        this.scheduler   = new ScheduledThreadPoolExecutor(1, r -> {
+            final Thread t = new Thread(r, "sos-insert-result-buffer");
+            t.setDaemon(true);
+            return t;
+        });
+        // the pending batches are written by close()
+        scheduler.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+    }
+
+    /**
+     * Add the values of an InsertResult request to the batch of its template.
+     *
+     * @param templateId Identifier of the result template.
+     * @param version Version of the request.
+     * @param parsed The values of the request.
+     */
+    void add(final String templateId, final String version, final Parsed parsed) {
+        Batch full = null;
+        synchronized (batches) {
+            if (closed) {
+                full = new Batch(templateId, version);
+                full.append(parsed);
+            } else {
+                Batch batch = batches.get(templateId);
+                if (batch == null) {
+                    final Batch created = new Batch(templateId, version);
+                    batches.put(templateId, created);
+                    scheduler.schedule(() -> flush(created), delay, TimeUnit.MILLISECONDS);
+                    batch = created;
+                }
+                batch.append(parsed);
+                if (batch.rows.size() >= maxRows) {
+                    batches.remove(templateId);
+                    full = batch;
+                }
+            }
+        }
+        if (full != null) {
+            write(full);
+        }
+    }
+
+    /**
+     * Write the batch at the end of its window, if it has not been written before.
+     */
+    private void flush(final Batch batch) {
+        synchronized (batches) {
+            if (batches.get(batch.templateId) != batch) {
+                return;
+            }
+            batches.remove(batch.templateId);
+        }
+        write(batch);
+    }
+
+    /**
+     * Write again a failed batch, if it has not been written by {@link #flushAll()} before.
+     */
+    private void retry(final Batch batch) {
+        synchronized (batches) {
+            if (!retrying.remove(batch)) {
+                return;
+            }
+        }
+        retries.incrementAndGet();
+        write(batch);
+    }
+
+    /**
+     * Write immediately all the pending batches, including the failed ones.
+     */
+    void flushAll() {
+        final List<Batch> pending;
+        synchronized (batches) {
+            pending = new ArrayList<>(batches.values());
+            pending.addAll(retrying);
+            batches.clear();
+            retrying.clear();
+        }
+        pending.forEach(this::write);
+    }
+
+    private void write(final Batch batch) {
+        final int nbRows = batch.rows.size();
+        try {
+            writer.write(batch.templateId, batch.version, batch.rows, batch.firstTime, batch.lastTime);
+            writtenBatches.incrementAndGet();
+            writtenRows.addAndGet(nbRows);
+        } catch (CstlServiceException | RuntimeException ex) {
+            if (++batch.attempts < maxAttempts && scheduleRetry(batch)) {
+                LOGGER.log(Level.WARNING, "Unable to write " + nbRows + " buffered results for the template " + batch.templateId
+                        + " (attempt " + batch.attempts + '/' + maxAttempts + "), they will be written again.", ex);
+            } else {
+                failedBatches.incrementAndGet();
+                failedRows.addAndGet(nbRows);
+                LOGGER.log(Level.SEVERE, "Unable to write " + nbRows + " buffered results for the template " + batch.templateId
+                        + " after " + batch.attempts + " attempts, the values are lost.", ex);
+            }
+        }
+    }
+
+    /**
+     * Schedule a new attempt to write a failed batch.
+     *
+     * @return {@code false} if the buffer is closed.
+     */
+    private boolean scheduleRetry(final Batch batch) {
+        synchronized (batches) {
+            if (closed) {
+                return false;
+            }
+            retrying.add(batch);
+            scheduler.schedule(() -> retry(batch), delay * batch.attempts, TimeUnit.MILLISECONDS);
+            return true;
+        }
+    }
+
+    /**
+     * Return the buffer counters: written batches and rows, new attempts, lost batches and rows,
+     * pending batches and failed batches waiting for a new attempt.
+     *
+     * @return The current value of the buffer counters.
+     */
+    Map<String, Long> getStatistics() {
+        final Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("writtenBatches", writtenBatches.get());
+        stats.put("writtenRows",    writtenRows.get());
+        stats.put("retries",        retries.get());
+        stats.put("failedBatches",  failedBatches.get());
+        stats.put("failedRows",     failedRows.get());
+        synchronized (batches) {
+            stats.put("pending",  (long) batches.size());
+            stats.put("retrying", (long) retrying.size());
+        }
+        return stats;
+    }
+
+    /**
+     * Stop the scheduled writes, wait for the running one, then write the pending batches.
+     * The values added after this call are written immediately.
+     */
+    @Override
+    public void close() {
+        synchronized (batches) {
+            closed = true;
+        }
+        scheduler.shutdown();
+        try {
+            if (!scheduler.awaitTermination(CLOSE_TIMEOUT, TimeUnit.SECONDS)) {
+                LOGGER.warning("The buffered results are still being written after " + CLOSE_TIMEOUT + " seconds.");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        flushAll();
+    }
+
+    /**
+     * The values accumulated for a template.
+     */
+    private static final class Batch {
+
+        private final String templateId;
+
+        private final String version;
+
+        private final List<Object> rows = new ArrayList<>();
+
+        private String firstTime, lastTime;
+
+        /**
+         * Number of failed writes.
+         */
+        private int attempts;
+
+        private Batch(final String templateId, final String version) {
+            this.templateId = templateId;
+            this.version    = version;
+        }
+
+        private void append(final Parsed parsed) {
+            if (rows.isEmpty()) {
+                firstTime = parsed.firstTime();
+                lastTime  = parsed.lastTime();
+            } else if (parsed.lastTime() != null) {
+                lastTime = parsed.lastTime();
+            } else if (parsed.firstTime() != null) {
+                lastTime = parsed.firstTime();
+            }
+            rows.addAll(parsed.rows());
+        }
+    }
+}
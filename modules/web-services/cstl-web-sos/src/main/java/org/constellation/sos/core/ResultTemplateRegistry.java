@@ -0,0 +1,241 @@
+/*
+ *    Examind Community - An open source and standard compliant SDI
+ *    https://community.examind.com/
+ *
+ * Copyright 2026 Geomatys.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.constellation.sos.core;
+
+import jakarta.xml.bind.JAXBElement;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.constellation.business.IServiceBusiness;
+import org.constellation.exception.ConstellationException;
+import org.constellation.util.Util;
+import org.geotoolkit.observation.model.ComplexResult;
+import org.geotoolkit.observation.model.Field;
+import org.geotoolkit.observation.model.FieldType;
+import org.geotoolkit.observation.model.Observation;
+import org.geotoolkit.observation.xml.AbstractObservation;
+import org.geotoolkit.sos.xml.InsertResultTemplate;
+import org.geotoolkit.sos.xml.ResultTemplate;
+import org.geotoolkit.sos.xml.SOSMarshallerPool;
+import org.geotoolkit.swe.xml.DataArrayProperty;
+import org.geotoolkit.swe.xml.DataRecord;
+import org.geotoolkit.swe.xml.TextBlock;
+
+import static org.geotoolkit.observation.model.ObservationTransformUtils.toModel;
+import static org.geotoolkit.sos.xml.SOSXmlFactory.buildDataArrayProperty;
+
+/**
+ * The result templates registered by the InsertResultTemplate requests of a SOS service.
+ * <p>
+ * Each template is stored with the mapping of its result structure (fields and text encoding), resolved once
+ * at registration, so the InsertResult requests do not have to resolve the structure again.
+ * The registration requests are saved in the configuration of the service, so the templates survive a restart
+ * or a reload of the worker and are available to all the members of a cluster. They are loaded on demand,
+ * when an InsertResult request refers to a template unknown to the worker. The identifiers missing from the
+ * configuration are remembered for a short time, so the requests referring to an unknown template do not query
+ * the configuration each time.
+ * </p><p>
+ * The identifier of a template is a digest of its registration request, so registering the same template again
+ * returns the existing identifier instead of saving a new copy of the template.
+ * </p>
+ *
+ * This class is thread-safe.
+ */
+final class ResultTemplateRegistry {
+
+    private static final Logger LOGGER = Logger.getLogger("org.constellation.sos.core");
+
+    private static final String FILE_PREFIX = "result-template-";
+
+    /**
+     * Maximum number of remembered missing identifiers.
+     */
+    private static final int MAX_MISSING = 1000;
+
+    private final String serviceId;
+
+    private final IServiceBusiness serviceBusiness;
+
+    private final Map<String, CompiledResultTemplate> templates = new ConcurrentHashMap<>();
+
+    /**
+     * Expiration time of the identifiers missing from the configuration, in access order. Guarded by itself.
+     */
+    private final Map<String, Long> missing = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<String, Long> eldest) {
+            return size() > MAX_MISSING;
+        }
+    };
+
+    /**
+     * Time in milliseconds during which a missing identifier is not searched again in the configuration.
+     * A template registered by another member of the cluster is visible after this delay.
+     */
+    private final long missingTimeToLive;
+
+    ResultTemplateRegistry(final String serviceId, final IServiceBusiness serviceBusiness) {
+        this(serviceId, serviceBusiness, 60_000);
+    }
+
+    /**
+     * @param missingTimeToLive Time in milliseconds during which a missing identifier is not searched again.
+     */
+    ResultTemplateRegistry(final String serviceId, final IServiceBusiness serviceBusiness, final long missingTimeToLive) {
+        this.serviceId         = serviceId;
+        this.serviceBusiness   = serviceBusiness;
+        this.missingTimeToLive = missingTimeToLive;
+    }
+
+    /**
+     * Register the template of an InsertResultTemplate request.
+     *
+     * @param request A request whose template has been validated.
+     * @return The identifier of the template, the existing one if the same template has already been registered.
+     * @throws ConstellationException If the request can not be written.
+     */
+    String register(final InsertResultTemplate request) throws ConstellationException {
+        final String templateID = digest(Util.writeConfigurationObject(request, SOSMarshallerPool.getInstance()));
+        if (templates.containsKey(templateID)) {
+            return templateID;
+        }
+        final CompiledResultTemplate compiled = compile(request.getTemplate(), request.getVersion().toString());
+        if (serviceBusiness != null) {
+            try {
+                serviceBusiness.setExtraConfiguration("SOS", serviceId, FILE_PREFIX + templateID + ".xml", request, SOSMarshallerPool.getInstance());
+            } catch (ConstellationException ex) {
+                LOGGER.log(Level.WARNING, "Unable to save the result template " + templateID + ", it will be lost on restart", ex);
+            }
+        }
+        templates.putIfAbsent(templateID, compiled);
+        synchronized (missing) {
+            missing.remove(templateID);
+        }
+        return templateID;
+    }
+
+    /**
+     * Return a registered template, loading it from the service configuration if needed.
+     *
+     * @param templateID Identifier of the template.
+     * @return The template, or {@code null} if there is no template with this identifier.
+     */
+    CompiledResultTemplate get(final String templateID) {
+        final CompiledResultTemplate template = templates.get(templateID);
+        if (template != null) {
+            return template;
+        }
+        synchronized (missing) {
+            final Long expiration = missing.get(templateID);
+            if (expiration != null) {
+                if (System.currentTimeMillis() < expiration) {
+                    return null;
+                }
+                missing.remove(templateID);
+            }
+        }
+        final CompiledResultTemplate loaded = load(templateID);
+        if (loaded == null) {
+            synchronized (missing) {
+                missing.put(templateID, System.currentTimeMillis() + missingTimeToLive);
+            }
+            return null;
+        }
+        final CompiledResultTemplate previous = templates.putIfAbsent(templateID, loaded);
+        return previous != null ? previous : loaded;
+    }
+
+    private CompiledResultTemplate load(final String templateID) {
+        if (serviceBusiness == null) {
+            return null;
+        }
+        try {
+            Object object = serviceBusiness.getExtraConfiguration("SOS", serviceId, FILE_PREFIX + templateID + ".xml", SOSMarshallerPool.getInstance());
+            if (object instanceof JAXBElement jb) {
+                object = jb.getValue();
+            }
+            if (object instanceof InsertResultTemplate request && request.getTemplate() != null) {
+                LOGGER.log(Level.FINE, "result template {0} loaded", templateID);
+                return compile(request.getTemplate(), request.getVersion().toString());
+            }
+        } catch (ConstellationException ex) {
+            // the template can be missing
+            LOGGER.log(Level.FINER, "unable to load the result template " + templateID, ex);
+        }
+        return null;
+    }
+
+    /**
+     * Return the identifier of a template, computed from its registration request.
+     */
+    private static String digest(final String request) {
+        try {
+            final byte[] digest = MessageDigest.getInstance("SHA-256").digest(request.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException ex) {
+            // should never happen, SHA-256 is mandatory for all java platforms.
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Resolve the fields of the result structure of a template.
+     * The fields are left to {@code null} if the structure or the encoding are not supported for a single pass parsing.
+     */
+    private static CompiledResultTemplate compile(final ResultTemplate template, final String version) {
+        if (template.getResultStructure() instanceof DataRecord structure
+                && template.getResultEncoding() instanceof TextBlock encoding
+                && template.getObservationTemplate() instanceof AbstractObservation obs) {
+            final DataArrayProperty array = buildDataArrayProperty(version, null, 0, null, structure, encoding, "", null);
+            final Observation model;
+            synchronized (obs) {
+                obs.setResult(array);
+                model = toModel(obs);
+                obs.setResult(null);
+            }
+            if (model.getResult() instanceof ComplexResult cr && !cr.getFields().isEmpty()) {
+                final List<Field> fields = List.copyOf(cr.getFields());
+                final List<FieldType> types = fields.stream().map(f -> f.type).toList();
+                return new CompiledResultTemplate(template, version, fields, types, encoding.getTokenSeparator(), encoding.getBlockSeparator());
+            }
+        }
+        return new CompiledResultTemplate(template, version, null, null, null, null);
+    }
+
+    /**
+     * A result template and the mapping of its result structure.
+     *
+     * @param template The template.
+     * @param version Version of the request which registered the template.
+     * @param fields The fields of the result, the first one being the main time field,
+     *               or {@code null} if the result is not a data record encoded as text blocks.
+     * @param types The type of each field, or {@code null}.
+     * @param tokenSeparator Separator between two values of a block, or {@code null}.
+     * @param blockSeparator Separator between two blocks, or {@code null}.
+     */
+    record CompiledResultTemplate(ResultTemplate template, String version, List<Field> fields, List<FieldType> types,
+                                  String tokenSeparator, String blockSeparator) {}
+}
@@ -0,0 +1,165 @@
+/*
+ *    Examind Community - An open source and standard compliant SDI
+ *    https://community.examind.com/
+ *
+ * Copyright 2026 Geomatys.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.constellation.sos.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.constellation.ws.CstlServiceException;
+import org.geotoolkit.observation.model.FieldType;
+import org.geotoolkit.temporal.object.ISODateParser;
+
+import static org.geotoolkit.ows.xml.OWSExceptionCode.INVALID_PARAMETER_VALUE;
+
+/**
+ * Parse the text encoded values of an InsertResult request in a single pass.
+ * <p>
+ * The values are validated against the fields of the result structure, converted to typed values
+ * and the sampling time bounds are extracted in the same pass. The rows are returned in the form expected
+ * by the data array of a {@link org.geotoolkit.observation.model.ComplexResult}: {@link java.util.Date} for
+ * the time fields, {@link Double} for the quantities, {@link Boolean} and {@link String} for the other fields,
+ * and {@code null} for the empty values.
+ * </p>
+ */
+final class ResultValuesParser {
+
+    private ResultValuesParser() {}
+
+    /**
+     * Parse the values.
+     *
+     * @param values The text encoded values.
+     * @param tokenSeparator Separator between two values of a block.
+     * @param blockSeparator Separator between two blocks.
+     * @param types The type of each field of the result structure, the first one being the main time field.
+     *
+     * @return The parsed rows.
+     * @throws CstlServiceException If a block does not match the result structure or if a value can not be parsed.
+     */
+    static Parsed parse(final String values, final String tokenSeparator, final String blockSeparator, final List<FieldType> types) throws CstlServiceException {
+        if (tokenSeparator == null || tokenSeparator.isEmpty() || blockSeparator == null || blockSeparator.isEmpty()) {
+            throw new CstlServiceException("The text encoding must define a token and a block separator", INVALID_PARAMETER_VALUE, "resultValues");
+        }
+        final int nbField = types.size();
+        final int length  = values.length();
+        final ISODateParser dateParser = new ISODateParser();
+        final List<Object> rows = new ArrayList<>();
+        String firstTime = null, lastTime = null;
+        int pos = 0;
+        while (pos < length) {
+            int blockEnd = indexOf(values, blockSeparator, pos, length);
+            if (blockEnd == -1) {
+                blockEnd = length;
+            }
+            if (blockEnd > pos) {
+                final Object[] row = new Object[nbField];
+                int start = pos;
+                for (int i = 0; i < nbField; i++) {
+                    int end = indexOf(values, tokenSeparator, start, blockEnd);
+                    if (i == nbField - 1) {
+                        if (end != -1) {
+                            throw badBlock(values, pos, blockEnd, nbField);
+                        }
+                        end = blockEnd;
+                    } else if (end == -1) {
+                        throw badBlock(values, pos, blockEnd, nbField);
+                    }
+                    final String token = values.substring(start, end);
+                    if (i == 0) {
+                        if (firstTime == null) {
+                            firstTime = token;
+                        } else {
+                            lastTime = token;
+                        }
+                    }
+                    row[i] = parseValue(token, types.get(i), dateParser);
+                    start = end + tokenSeparator.length();
+                }
+                rows.add(Arrays.asList(row));
+            }
+            pos = blockEnd + blockSeparator.length();
+        }
+        return new Parsed(rows, firstTime, lastTime);
+    }
+
+    /**
+     * Return the position of the separator in the specified range of the values, or -1.
+     */
+    private static int indexOf(final String values, final String separator, final int from, final int to) {
+        final char first = separator.charAt(0);
+        final int last   = to - separator.length();
+        for (int i = from; i <= last; i++) {
+            if (values.charAt(i) == first && values.startsWith(separator, i)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static CstlServiceException badBlock(final String values, final int start, final int end, final int nbField) {
+        return new CstlServiceException("The block \"" + values.substring(start, end) + "\" does not contain "
+                + nbField + " values", INVALID_PARAMETER_VALUE, "resultValues");
+    }
+
+    private static Object parseValue(final String token, final FieldType type, final ISODateParser dateParser) throws CstlServiceException {
+        switch (type) {
+            case TIME -> {
+                final String value = token.trim();
+                if (!value.isEmpty()) {
+                    try {
+                        return dateParser.parseToDate(value);
+                    } catch (IllegalArgumentException ex) {
+                        throw new CstlServiceException("Bad format of timestamp for:" + value, INVALID_PARAMETER_VALUE, "resultValues");
+                    }
+                }
+                return null;
+            }
+            case QUANTITY -> {
+                final String value = token.trim();
+                if (!value.isEmpty()) {
+                    try {
+                        return Double.valueOf(value);
+                    } catch (NumberFormatException ex) {
+                        throw new CstlServiceException("Bad format of quantity for:" + value, INVALID_PARAMETER_VALUE, "resultValues");
+                    }
+                }
+                return null;
+            }
+            case BOOLEAN -> {
+                final String value = token.trim();
+                if (!value.isEmpty()) {
+                    return Boolean.parseBoolean(value);
+                }
+                return null;
+            }
+            default -> {
+                return token;
+            }
+        }
+    }
+
+    /**
+     * The parsed values.
+     *
+     * @param rows One list of values by block.
+     * @param firstTime The main time value of the first block, or {@code null} if there is no block.
+     * @param lastTime The main time value of the last block, or {@code null} if there is a single block.
+     */
+    record Parsed(List<Object> rows, String firstTime, String lastTime) {}
+}
@@ -99,6 +99,22 @@ public final class SOSConstants {
      */
     public static final String MAX_OBSERVATIONS_BY_REQUEST = "maxObservationByRequest";
 
+    /**
+     * latency window (in ms) during which the values inserted by InsertResult requests for a same template
+     * are accumulated before being written as a single observation. 0 (default) to write each request immediately.
+     */
+    public static final String INSERT_RESULT_BUFFER_DELAY = "insertResultBufferDelay";
+
+    /**
+     * number of accumulated values triggering the write of an InsertResult batch before the end of its latency window.
+     */
+    public static final String INSERT_RESULT_BUFFER_SIZE = "insertResultBufferSize";
+
+    /**
+     * maximal number of attempts to write an InsertResult batch before its values are discarded (default 3).
+     */
+    public static final String INSERT_RESULT_BUFFER_ATTEMPTS = "insertResultBufferAttempts";
+
     /**
      * A list of supported MIME type
      */
@@ -113,6 +113,7 @@ import org.geotoolkit.sos.xml.InsertResultTemplate;
 import org.geotoolkit.sos.xml.InsertResultTemplateResponse;
 import org.geotoolkit.sos.xml.ObservationOffering;
 import org.geotoolkit.sos.xml.ResultTemplate;
+import org.constellation.sos.core.ResultTemplateRegistry.CompiledResultTemplate;
 import org.geotoolkit.sos.xml.SOSMarshallerPool;
 import static org.geotoolkit.sos.xml.SOSXmlFactory.*;
 import org.geotoolkit.sos.xml.SosInsertionMetadata;
@@ -124,6 +125,7 @@ import org.constellation.exception.ConstellationStoreException;
 import com.examind.sensor.ws.SensorUtils;
 import java.time.temporal.Temporal;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.Objects;
 import static org.constellation.api.CommonConstants.MEASUREMENT_MODEL;
 import static org.constellation.api.CommonConstants.OBSERVATION_MODEL;
@@ -161,7 +163,6 @@ import org.geotoolkit.swe.xml.DataArray;
 import org.geotoolkit.swe.xml.DataArrayProperty;
 import org.geotoolkit.swe.xml.DataRecord;
 import org.geotoolkit.swe.xml.PhenomenonProperty;
-import org.geotoolkit.swe.xml.TextBlock;
 import org.geotoolkit.swes.xml.DeleteSensor;
 import org.geotoolkit.swes.xml.DeleteSensorResponse;
 import org.geotoolkit.swes.xml.DescribeSensor;
@@ -211,12 +212,12 @@ public class SOSworker extends SensorWorker {
     /**
      * A list of temporary ObservationTemplate
      */
-    private final Map<String, Observation> templates = new HashMap<>();
+    private final Map<String, Observation> templates = new ConcurrentHashMap<>();
 
     /**
-     * A list of temporary resultTemplate
+     * The result templates registered by InsertResultTemplate.
      */
-    private final Map<String, ResultTemplate> resultTemplates = new HashMap<>();
+    private final ResultTemplateRegistry resultTemplates;
 
     /**
      * The valid time for a getObservation template (in ms).
@@ -265,6 +266,11 @@ public class SOSworker extends SensorWorker {
 
     private String sensorTypeFilter;
 
+    /**
+     * Accumulate the InsertResult values before writing them, or {@code null} if they are written immediately.
+     */
+    private InsertResultBuffer insertResultBuffer;
+
     /**
      * Initialize the database connection.
      *
@@ -273,6 +279,7 @@ public class SOSworker extends SensorWorker {
     public SOSworker(final String id) {
         super(id, ServiceDef.Specification.SOS);
         ISO8601_FORMAT.setTimeZone(TimeZone.getTimeZone("UTC"));
+        resultTemplates = new ResultTemplateRegistry(id, serviceBusiness);
 
         if (WorkerState.ERROR == getState()) return;
         // Database configuration
@@ -310,6 +317,13 @@ public class SOSworker extends SensorWorker {
             }
             templateValidTime = (h * 3600000L) + (m * 60000L);
 
+            final int bufferDelay = getIntegerProperty(INSERT_RESULT_BUFFER_DELAY, 0);
+            if (bufferDelay > 0) {
+                final int bufferSize     = getIntegerProperty(INSERT_RESULT_BUFFER_SIZE, 10000);
+                final int bufferAttempts = getIntegerProperty(INSERT_RESULT_BUFFER_ATTEMPTS, 3);
+                insertResultBuffer = new InsertResultBuffer(bufferDelay, bufferSize, bufferAttempts, this::writeBufferedResult);
+            }
+
             this.acceptedSensorMLFormats = sensorBusiness.getAcceptedSensorMLFormats(getServiceId());
 
             // we initialize the O&M reader/writer/filter
@@ -1496,8 +1510,12 @@ public class SOSworker extends SensorWorker {
             throw new CstlServiceException("ResultTemplate must contains resultStructure", MISSING_PARAMETER_VALUE, "resultStructure");
         }
 
-        final String templateID = UUID.randomUUID().toString();
-        resultTemplates.put(templateID, request.getTemplate());
+        final String templateID;
+        try {
+            templateID = resultTemplates.register(request);
+        } catch (ConstellationException ex) {
+            throw new CstlServiceException(ex);
+        }
 
         final InsertResultTemplateResponse result = buildInsertResultTemplateResponse(currentVersion, templateID);
         LOGGER.log(Level.FINE, "InsertResultTemplate processed in {0} ms", (System.currentTimeMillis() - start));
@@ -1516,10 +1534,11 @@ public class SOSworker extends SensorWorker {
         if (templateID == null || templateID.isEmpty()) {
             throw new CstlServiceException("template ID missing.", MISSING_PARAMETER_VALUE, "template");
         }
-        final ResultTemplate template = resultTemplates.get(templateID);
-        if (template == null) {
+        final CompiledResultTemplate compiled = resultTemplates.get(templateID);
+        if (compiled == null) {
             throw new CstlServiceException("template ID is invalid:" + templateID, INVALID_PARAMETER_VALUE, "template");
         }
+        final ResultTemplate template   = compiled.template();
         final AbstractObservation obs   = (AbstractObservation) template.getObservationTemplate();
         final AbstractEncoding encoding = template.getResultEncoding();
         final String values             = request.getResultValues();
@@ -1530,68 +1549,76 @@ public class SOSworker extends SensorWorker {
             throw new CstlServiceException("Only DataRecord is supported for a resultStructure");
         }
         final DataRecord structure =  (DataRecord) template.getResultStructure();
-        int count = 0;
-        if (encoding instanceof TextBlock textEnc) {
-
-            final String separator  = textEnc.getBlockSeparator();
-            count = values.split(separator).length;
-
-            // verify the structure
-            final String[] blocks = values.split(textEnc.getBlockSeparator());
-            for (String block : blocks) {
-                final int nbToken = block.split(textEnc.getTokenSeparator()).length;
-                if (nbToken != structure.getField().size()) {
-                    throw new CstlServiceException("ResultValues is empty", INVALID_PARAMETER_VALUE, "resultValues");
+        if (compiled.fields() != null) {
+            final ResultValuesParser.Parsed parsed = ResultValuesParser.parse(values, compiled.tokenSeparator(), compiled.blockSeparator(), compiled.types());
+            if (insertResultBuffer != null) {
+                insertResultBuffer.add(templateID, currentVersion, parsed);
+            } else {
+                writeResult(template, currentVersion, compiled.fields(), parsed.rows(), parsed.firstTime(), parsed.lastTime());
+            }
+        } else {
+            LOGGER.warning("unable to parse datablock unknown encoding");
+            final DataArrayProperty array = buildDataArrayProperty(currentVersion, null, 0, null, structure, encoding, values, null);
+            try {
+                final org.geotoolkit.observation.model.Observation model;
+                synchronized (obs) {
+                    obs.setName(null);
+                    obs.setResult(array);
+                    obs.setSamplingTimePeriod(SOSXmlFactory.buildTimePeriod(currentVersion, null, (String) null, (String) null));
+                    model = toModel(obs);
                 }
+                omProvider.writeObservation(model);
+            } catch (ConstellationStoreException ex) {
+                throw new CstlServiceException(ex);
             }
         }
-        final DataArrayProperty array = buildDataArrayProperty(currentVersion,
-                                               null,
-                                               count,
-                                               null,
-                                               structure,
-                                               encoding,
-                                               values,
-                                               null);
+        final InsertResultResponse result = buildInsertResultResponse(currentVersion);
+        LOGGER.log(Level.FINE, "InsertResult processed in {0} ms", (System.currentTimeMillis() - start));
+        return result;
+    }
+
+    /**
+     * Write an observation of a template with the specified typed values.
+     */
+    private void writeResult(final ResultTemplate template, final String version, final List<Field> fields,
+            final List<Object> rows, final String firstTime, final String lastTime) throws CstlServiceException {
+        final AbstractObservation obs = (AbstractObservation) template.getObservationTemplate();
         try {
-            obs.setName(null);
-            obs.setResult(array);
-            obs.setSamplingTimePeriod(extractTimeBounds(currentVersion, values, encoding));
-            omProvider.writeObservation(toModel(obs));
+            final org.geotoolkit.observation.model.Observation model;
+            synchronized (obs) {
+                obs.setName(null);
+                obs.setResult(null);
+                obs.setSamplingTimePeriod(SOSXmlFactory.buildTimePeriod(version, null, firstTime, lastTime));
+                model = toModel(obs);
+            }
+            model.setResult(new ComplexResult(fields, rows, rows.size()));
+            omProvider.writeObservation(model);
         } catch (ConstellationStoreException ex) {
             throw new CstlServiceException(ex);
         }
-        final InsertResultResponse result = buildInsertResultResponse(currentVersion);
-        LOGGER.log(Level.FINE, "InsertResult processed in {0} ms", (System.currentTimeMillis() - start));
-        return result;
     }
 
-    private static Period extractTimeBounds(final String version, final String brutValues, final AbstractEncoding abstractEncoding) {
-        final String[] result = new String[2];
-        if (abstractEncoding instanceof TextBlock encoding) {
-            final String[] blocks = brutValues.split(encoding.getBlockSeparator());
-            boolean first = true;
-            for (int i = 0; i < blocks.length; i++) {
-                final String block = blocks[i];
-                final int tokenEnd = block.indexOf(encoding.getTokenSeparator());
-                String samplingTimeValue;
-                if (tokenEnd != -1) {
-                    samplingTimeValue = block.substring(0, tokenEnd);
-                // only one field
-                } else {
-                    samplingTimeValue = block;
-                }
-                if (first) {
-                    result[0] = samplingTimeValue;
-                    first = false;
-                } else if (i == blocks.length -1) {
-                    result[1] = samplingTimeValue;
-                }
-            }
-        } else {
-            LOGGER.warning("unable to parse datablock unknown encoding");
+    /**
+     * Write a batch of values accumulated by the {@link InsertResultBuffer}.
+     */
+    private void writeBufferedResult(final String templateID, final String version, final List<Object> rows, final String firstTime, final String lastTime) throws CstlServiceException {
+        final CompiledResultTemplate compiled = resultTemplates.get(templateID);
+        if (compiled == null || compiled.fields() == null) {
+            throw new CstlServiceException("template ID is invalid:" + templateID, INVALID_PARAMETER_VALUE, "template");
+        }
+        writeResult(compiled.template(), version, compiled.fields(), rows, firstTime, lastTime);
+    }
+
+
+    /**
+     * Return the counters of the InsertResult buffer (written, retried and lost values), or an empty map
+     * if the InsertResult requests are not buffered.
+     */
+    public Map<String, Long> getInsertResultStatistics() {
+        if (insertResultBuffer != null) {
+            return insertResultBuffer.getStatistics();
         }
-        return SOSXmlFactory.buildTimePeriod(version, null, result[0], result[1]);
+        return Collections.emptyMap();
     }
 
 
@@ -2258,6 +2285,9 @@ public class SOSworker extends SensorWorker {
      */
     @Override
     public void destroy() {
+        if (insertResultBuffer != null) {
+            insertResultBuffer.close();
+        }
         super.destroy();
         schreduledTask.stream().forEach((t) -> {
             t.cancel();
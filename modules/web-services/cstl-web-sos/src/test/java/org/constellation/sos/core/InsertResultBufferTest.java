@@ -0,0 +1,148 @@
+/*
+ *    Examind Community - An open source and standard compliant SDI
+ *    https://community.examind.com/
+ *
+ * Copyright 2026 Geomatys.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.constellation.sos.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import org.constellation.ws.CstlServiceException;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class InsertResultBufferTest {
+
+    /**
+     * A batch written by the buffer.
+     */
+    private record Written(String templateId, int nbRows, String firstTime, String lastTime, String thread) {}
+
+    private static ResultValuesParser.Parsed values(final String firstTime, final String lastTime, final int nbRows) {
+        final List<Object> rows = new ArrayList<>();
+        for (int i = 0; i < nbRows; i++) {
+            rows.add(List.of(i));
+        }
+        return new ResultValuesParser.Parsed(rows, firstTime, lastTime);
+    }
+
+    private static void await(final BooleanSupplier condition) throws InterruptedException {
+        final long end = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > end) {
+                throw new AssertionError("condition not reached after 10 seconds");
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    public void sizeTriggerTest() throws Exception {
+        final List<Written> written = new CopyOnWriteArrayList<>();
+        try (InsertResultBuffer buffer = new InsertResultBuffer(60_000, 5, 3, (id, version, rows, first, last) ->
+                written.add(new Written(id, rows.size(), first, last, Thread.currentThread().getName())))) {
+
+            buffer.add("t1", "2.0.0", values("2012-01-01T00:01:00", "2012-01-01T00:02:00", 2));
+            buffer.add("t2", "2.0.0", values("2012-01-01T00:01:00", null, 1));
+            buffer.add("t1", "2.0.0", values("2012-01-01T00:03:00", null, 2));
+            assertTrue(written.isEmpty());
+
+            // the batch of t1 is full, it is written by the request which filled it
+            buffer.add("t1", "2.0.0", values("2012-01-01T00:04:00", "2012-01-01T00:05:00", 1));
+            assertEquals(1, written.size());
+            assertEquals(new Written("t1", 5, "2012-01-01T00:01:00", "2012-01-01T00:05:00", Thread.currentThread().getName()), written.get(0));
+            assertEquals(Long.valueOf(1), buffer.getStatistics().get("pending"));
+        }
+        // the pending batch of t2 is written on close
+        assertEquals(2, written.size());
+        assertEquals("t2", written.get(1).templateId());
+    }
+
+    @Test
+    public void delayTriggerTest() throws Exception {
+        final List<Written> written = new CopyOnWriteArrayList<>();
+        try (InsertResultBuffer buffer = new InsertResultBuffer(50, 1000, 3, (id, version, rows, first, last) ->
+                written.add(new Written(id, rows.size(), first, last, Thread.currentThread().getName())))) {
+
+            buffer.add("t1", "2.0.0", values("2012-01-01T00:01:00", null, 1));
+            buffer.add("t1", "2.0.0", values("2012-01-01T00:02:00", null, 1));
+            await(() -> !written.isEmpty());
+            assertEquals(new Written("t1", 2, "2012-01-01T00:01:00", "2012-01-01T00:02:00", "sos-insert-result-buffer"), written.get(0));
+
+            // a new window is started by the next values
+            buffer.add("t1", "2.0.0", values("2012-01-01T00:03:00", null, 1));
+            await(() -> written.size() == 2);
+            assertEquals(1, written.get(1).nbRows());
+            assertEquals(Long.valueOf(2), buffer.getStatistics().get("writtenBatches"));
+            assertEquals(Long.valueOf(3), buffer.getStatistics().get("writtenRows"));
+        }
+    }
+
+    @Test
+    public void failureTest() throws Exception {
+        // the two first writes fail
+        final AtomicInteger calls = new AtomicInteger();
+        try (InsertResultBuffer buffer = new InsertResultBuffer(20, 1000, 3, (id, version, rows, first, last) -> {
+            if (calls.incrementAndGet() <= 2) {
+                throw new CstlServiceException("store unavailable");
+            }
+        })) {
+            buffer.add("t1", "2.0.0", values("2012-01-01T00:01:00", null, 4));
+            await(() -> buffer.getStatistics().get("writtenBatches") == 1);
+            assertEquals(3, calls.get());
+            assertEquals(Long.valueOf(2), buffer.getStatistics().get("retries"));
+            assertEquals(Long.valueOf(0), buffer.getStatistics().get("failedBatches"));
+        }
+
+        // all the writes fail, the batch is lost after the last attempt
+        calls.set(0);
+        try (InsertResultBuffer buffer = new InsertResultBuffer(20, 1000, 2, (id, version, rows, first, last) -> {
+            calls.incrementAndGet();
+            throw new IllegalStateException("store unavailable");
+        })) {
+            buffer.add("t1", "2.0.0", values("2012-01-01T00:01:00", null, 4));
+            await(() -> buffer.getStatistics().get("failedBatches") == 1);
+            assertEquals(2, calls.get());
+            assertEquals(Long.valueOf(4), buffer.getStatistics().get("failedRows"));
+            assertEquals(Long.valueOf(0), buffer.getStatistics().get("retrying"));
+        }
+    }
+
+    @Test
+    public void closeTest() throws Exception {
+        // a failed batch waiting for a new attempt is written on close
+        final AtomicInteger calls = new AtomicInteger();
+        final InsertResultBuffer buffer = new InsertResultBuffer(60_000, 1, 3, (id, version, rows, first, last) -> {
+            if (calls.incrementAndGet() == 1) {
+                throw new CstlServiceException("store unavailable");
+            }
+        });
+        buffer.add("t1", "2.0.0", values("2012-01-01T00:01:00", null, 1));
+        assertEquals(Long.valueOf(1), buffer.getStatistics().get("retrying"));
+        buffer.close();
+        assertEquals(2, calls.get());
+        assertEquals(Long.valueOf(1), buffer.getStatistics().get("writtenBatches"));
+
+        // the values added after close are written immediately
+        buffer.add("t1", "2.0.0", values("2012-01-01T00:02:00", null, 1));
+        assertEquals(3, calls.get());
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ *    Examind Community - An open source and standard compliant SDI
+ *    https://community.examind.com/
+ *
+ * Copyright 2026 Geomatys.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.constellation.sos.core;
+
+import jakarta.xml.bind.JAXBElement;
+import jakarta.xml.bind.Unmarshaller;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.sis.xml.MarshallerPool;
+import org.constellation.business.IServiceBusiness;
+import org.constellation.sos.core.ResultTemplateRegistry.CompiledResultTemplate;
+import org.constellation.util.Util;
+import org.geotoolkit.observation.model.FieldType;
+import org.geotoolkit.observation.xml.v200.OMObservationType;
+import org.geotoolkit.sos.xml.SOSMarshallerPool;
+import org.geotoolkit.sos.xml.v200.InsertResultTemplateType;
+import org.geotoolkit.swe.xml.v200.AbstractDataComponentType;
+import org.geotoolkit.swe.xml.v200.AbstractEncodingType;
+import org.geotoolkit.swe.xml.v200.DataArrayPropertyType;
+import org.geotoolkit.swe.xml.v200.DataArrayType;
+import org.junit.Test;
+import org.springframework.util.StreamUtils;
+
+import static org.constellation.test.utils.TestEnvironment.EPSG_VERSION;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public class ResultTemplateRegistryTest {
+
+    /**
+     * The extra configuration files of the service, by file name.
+     */
+    private final Map<String, String> files = new ConcurrentHashMap<>();
+
+    /**
+     * Number of reads of the extra configuration.
+     */
+    private final AtomicInteger reads = new AtomicInteger();
+
+    /**
+     * A service business keeping the extra configuration files in {@link #files}.
+     */
+    private IServiceBusiness serviceBusiness() {
+        return (IServiceBusiness) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {IServiceBusiness.class}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "setExtraConfiguration" -> {
+                    files.put((String) args[2], Util.writeConfigurationObject(args[3], (MarshallerPool) args[4]));
+                    return null;
+                }
+                case "getExtraConfiguration" -> {
+                    reads.incrementAndGet();
+                    final String content = files.get((String) args[2]);
+                    return content != null ? Util.readConfigurationObject(content, Object.class, (MarshallerPool) args[3]) : null;
+                }
+                default -> throw new UnsupportedOperationException(method.getName());
+            }
+        });
+    }
+
+    private static InsertResultTemplateType request(final String offering) throws Exception {
+        final Unmarshaller unmarshaller = SOSMarshallerPool.getInstance().acquireUnmarshaller();
+        final OMObservationType template;
+        try (InputStream in = Util.getResourceAsStream("org/constellation/sos/v200/templates/template-3.xml")) {
+            final String content = StreamUtils.copyToString(in, StandardCharsets.UTF_8).replace("EPSG_VERSION", EPSG_VERSION);
+            template = (OMObservationType) ((JAXBElement) unmarshaller.unmarshal(new StringReader(content))).getValue();
+        }
+        SOSMarshallerPool.getInstance().recycle(unmarshaller);
+        final DataArrayType array = ((DataArrayPropertyType) template.getResult()).getDataArray();
+        final AbstractDataComponentType record = array.getElementType().getValue();
+        final AbstractEncodingType encoding = array.getEncoding();
+        template.setResult(null);
+        return new InsertResultTemplateType("2.0.0", offering, template, record, encoding);
+    }
+
+    @Test
+    public void registerTest() throws Exception {
+        final ResultTemplateRegistry registry = new ResultTemplateRegistry("default", serviceBusiness());
+        final String templateID = registry.register(request("offering-3"));
+
+        final CompiledResultTemplate compiled = registry.get(templateID);
+        assertNotNull(compiled);
+        assertEquals(",",  compiled.tokenSeparator());
+        assertEquals("@@", compiled.blockSeparator());
+        assertEquals(FieldType.TIME,     compiled.types().get(0));
+        assertEquals(FieldType.QUANTITY, compiled.types().get(1));
+
+        // the same template is registered only once
+        assertEquals(templateID, registry.register(request("offering-3")));
+        assertEquals(1, files.size());
+
+        // another template
+        final String otherID = registry.register(request("offering-4"));
+        assertNotNull(registry.get(otherID));
+        assertEquals(2, files.size());
+        assertEquals(0, reads.get());
+    }
+
+    @Test
+    public void reloadTest() throws Exception {
+        final String templateID = new ResultTemplateRegistry("default", serviceBusiness()).register(request("offering-3"));
+
+        // a new registry, as after a restart of the service or on another member of the cluster
+        final ResultTemplateRegistry registry = new ResultTemplateRegistry("default", serviceBusiness());
+        final CompiledResultTemplate compiled = registry.get(templateID);
+        assertNotNull(compiled);
+        assertEquals("2.0.0", compiled.version());
+        assertEquals(2, compiled.fields().size());
+
+        // the loaded template is kept
+        assertNotNull(registry.get(templateID));
+        assertEquals(1, reads.get());
+    }
+
+    @Test
+    public void missingTemplateTest() throws Exception {
+        final ResultTemplateRegistry registry = new ResultTemplateRegistry("default", serviceBusiness());
+        assertNull(registry.get("unknown"));
+        assertNull(registry.get("unknown"));
+        // the missing identifier is remembered
+        assertEquals(1, reads.get());
+
+        // a registration makes the template available immediately
+        final String templateID = registry.register(request("offering-3"));
+        assertNotNull(registry.get(templateID));
+
+        // a template registered by another member of the cluster is found once the missing identifier expired
+        final ResultTemplateRegistry member = new ResultTemplateRegistry("default", serviceBusiness(), 0);
+        final String otherID = new ResultTemplateRegistry("default", serviceBusiness()).register(request("offering-4"));
+        files.remove("result-template-" + otherID + ".xml");
+        assertNull(member.get(otherID));
+        new ResultTemplateRegistry("default", serviceBusiness()).register(request("offering-4"));
+        assertNotNull(member.get(otherID));
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ *    Examind Community - An open source and standard compliant SDI
+ *    https://community.examind.com/
+ *
+ * Copyright 2026 Geomatys.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.constellation.sos.core;
+
+import java.util.Date;
+import java.util.List;
+import org.constellation.ws.CstlServiceException;
+import org.geotoolkit.observation.model.FieldType;
+import org.junit.Test;
+
+import static org.geotoolkit.ows.xml.OWSExceptionCode.INVALID_PARAMETER_VALUE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ResultValuesParserTest {
+
+    private static final List<FieldType> TYPES = List.of(FieldType.TIME, FieldType.QUANTITY, FieldType.TEXT, FieldType.BOOLEAN);
+
+    @Test
+    public void parseTest() throws Exception {
+        final ResultValuesParser.Parsed parsed = ResultValuesParser.parse(
+                "2012-01-01T00:01:00.0,12.1,a,true@@2012-01-01T00:02:00.0,,b,false@@@@2012-01-01T00:03:00.0,13.1,,true@@",
+                ",", "@@", TYPES);
+
+        assertEquals(3, parsed.rows().size());
+        assertEquals("2012-01-01T00:01:00.0", parsed.firstTime());
+        assertEquals("2012-01-01T00:03:00.0", parsed.lastTime());
+
+        final List<?> first = (List<?>) parsed.rows().get(0);
+        assertTrue(first.get(0) instanceof Date);
+        assertEquals(12.1, first.get(1));
+        assertEquals("a", first.get(2));
+        assertEquals(Boolean.TRUE, first.get(3));
+
+        final List<?> second = (List<?>) parsed.rows().get(1);
+        assertNull(second.get(1));
+        assertEquals(Boolean.FALSE, second.get(3));
+
+        final List<?> third = (List<?>) parsed.rows().get(2);
+        assertEquals("", third.get(2));
+    }
+
+    @Test
+    public void missingBooleanTest() throws Exception {
+        final ResultValuesParser.Parsed parsed = ResultValuesParser.parse(
+                "2012-01-01T00:01:00.0,12.1,a,@@2012-01-01T00:02:00.0,13.1,b, TRUE ", ",", "@@", TYPES);
+        assertNull(((List<?>) parsed.rows().get(0)).get(3));
+        assertEquals(Boolean.TRUE, ((List<?>) parsed.rows().get(1)).get(3));
+    }
+
+    @Test
+    public void singleBlockTest() throws Exception {
+        final ResultValuesParser.Parsed parsed = ResultValuesParser.parse("2012-01-01T00:01:00.0", ",", "@@", List.of(FieldType.TIME));
+        assertEquals(1, parsed.rows().size());
+        assertEquals("2012-01-01T00:01:00.0", parsed.firstTime());
+        assertNull(parsed.lastTime());
+    }
+
+    @Test
+    public void badStructureTest() throws Exception {
+        for (String values : new String[] {"1234567890", "2012-01-01T00:01:00.0,12.1,a,true,extra", "2012-01-01T00:01:00.0,abc,a,true"}) {
+            try {
+                ResultValuesParser.parse(values, ",", "@@", TYPES);
+                fail("exception expected for: " + values);
+            } catch (CstlServiceException ex) {
+                assertEquals(INVALID_PARAMETER_VALUE, ex.getExceptionCode());
+                assertEquals("resultValues", ex.getLocator());
+            }
+        }
+    }
+}
@@ -34,12 +34,18 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.stream.Collectors;
@@ -156,6 +162,17 @@ public class DefaultSTSWorker extends SensorWorker implements STSWorker {
 
     private static final GeometryFactory JTS_GEOM_FACTORY = new GeometryFactory();
 
+    /**
+     * Maximum number of sensor results requested in parallel.
+     * It is kept low to not exhaust the connection pool of the observation store.
+     */
+    private static final int RESULT_POOL_SIZE = 4;
+
+    /**
+     * Thread pool used to request the results of the sensors in parallel.
+     */
+    private final ExecutorService resultExecutor = Executors.newFixedThreadPool(RESULT_POOL_SIZE);
+
     public DefaultSTSWorker(final String id) {
         super(id, ServiceDef.Specification.STS);
         started();
@@ -397,35 +414,30 @@ public class DefaultSTSWorker extends SensorWorker implements STSWorker {
             if (resultFormatted) {
                 final AbstractObservationQuery procSubquery = buildExtraFilterQuery(OMEntity.PROCEDURE, req, applyPaging);
 
-                ResultQuery resSubquery = new ResultQuery(model, INLINE, null, null);
-                resSubquery = (ResultQuery) buildExtraFilterQuery(resSubquery, req, applyPaging, new ArrayList<>());
-                resSubquery.setIncludeTimeForProfile(true);
-                resSubquery.setIncludeIdInDataBlock(true);
-                resSubquery.setDecimationSize(decimation);
-                resSubquery.setIncludeQualityFields(includeQUalityFields);
-
-                Map<String, ComplexResult> results = new HashMap<>();
+                Map<String, ComplexResult> results = new LinkedHashMap<>();
                 if (reqTop == null || reqTop > 0) {
                     Collection<String> sensorIds = omProvider.getIdentifiers(procSubquery);
                     count = req.getCount() ? new BigDecimal(0) : null;
-                    for (String sensorId : sensorIds) {
-                        resSubquery.setProcedure(sensorId);
-                        resSubquery.setResponseFormat(req.getResultFormat());
-                        ComplexResult resultArray = (ComplexResult) omProvider.getResults(resSubquery);
-                        results.put(sensorId, resultArray);
-                        if (req.getCount()) {
-                            resSubquery.setResponseFormat("count");
-                            ComplexResult countResult = (ComplexResult) omProvider.getResults(resSubquery);
+                    results = getResults(sensorIds, req, model, applyPaging, decimation, req.getResultFormat());
+                    if (req.getCount()) {
+                        // the number of values is returned with the data when the result is not decimated
+                        final List<String> toCount = new ArrayList<>();
+                        for (Entry<String, ComplexResult> entry : results.entrySet()) {
+                            Integer nbValues = entry.getValue().getNbValues();
+                            if (decimation == null && nbValues != null) {
+                                count = count.add(new BigDecimal(nbValues));
+                            } else {
+                                toCount.add(entry.getKey());
+                            }
+                        }
+                        for (ComplexResult countResult : getResults(toCount, req, model, applyPaging, decimation, "count").values()) {
                             count = count.add(new BigDecimal(countResult.getNbValues()));
                         }
                     }
                 } else if (req.getCount()) {
                     Collection<String> sensorIds = omProvider.getIdentifiers(procSubquery);
                     count = new BigDecimal(0);
-                    resSubquery.setResponseFormat("count");
-                    for (String sensorId : sensorIds) {
-                        resSubquery.setProcedure(sensorId);
-                        ComplexResult countResult = (ComplexResult) omProvider.getResults(resSubquery);
+                    for (ComplexResult countResult : getResults(sensorIds, req, model, applyPaging, decimation, "count").values()) {
                         count = count.add(new BigDecimal(countResult.getNbValues()));
                     }
                 }
@@ -469,6 +481,7 @@ public class DefaultSTSWorker extends SensorWorker implements STSWorker {
             
             final RequestCache cache = new RequestCache();
             final RequestOptions expObs = exp.subLevel("Observations");
+            cache.prefetchObservations(expObs, sps, forMds);
             List<Observation> values = new ArrayList<>();
             for (org.geotoolkit.observation.model.Observation sp : sps) {
                 Observation result = buildObservation(expObs, sp, forMds, cache);
@@ -485,6 +498,54 @@ public class DefaultSTSWorker extends SensorWorker implements STSWorker {
         }
     }
 
+    /**
+     * Execute a result request for each of the specified sensors.
+     * The requests are executed in parallel, each on its own connection.
+     *
+     * @param sensorIds Identifiers of the sensors.
+     * @param req The original STS request, used to build the result filters.
+     * @param model Result model.
+     * @param applyPaging If the request pagination must be applied.
+     * @param decimation Decimation size or {@code null}.
+     * @param responseFormat Format of the results or "count".
+     *
+     * @return The results by sensor identifier, in the order of the specified sensors.
+     */
+    private Map<String, ComplexResult> getResults(Collection<String> sensorIds, GetObservations req, QName model, boolean applyPaging,
+            Integer decimation, String responseFormat) throws CstlServiceException {
+        final Map<String, Future<Object>> futures = new LinkedHashMap<>();
+        final Map<String, ComplexResult> results = new LinkedHashMap<>();
+        try {
+            for (String sensorId : sensorIds) {
+                // the query is mutable, so each sensor must have its own.
+                ResultQuery query = new ResultQuery(model, INLINE, sensorId, responseFormat);
+                query = (ResultQuery) buildExtraFilterQuery(query, req, applyPaging, new ArrayList<>());
+                query.setIncludeTimeForProfile(true);
+                query.setIncludeIdInDataBlock(true);
+                query.setDecimationSize(decimation);
+                query.setIncludeQualityFields(true);
+                final ResultQuery sensorQuery = query;
+                futures.put(sensorId, resultExecutor.submit(() -> omProvider.getResults(sensorQuery)));
+            }
+            for (Entry<String, Future<Object>> future : futures.entrySet()) {
+                results.put(future.getKey(), (ComplexResult) future.getValue().get());
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new CstlServiceException(ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof Exception cause) {
+                throw new CstlServiceException(cause);
+            }
+            throw new CstlServiceException(ex);
+        } finally {
+            for (Future<Object> future : futures.values()) {
+                future.cancel(true);
+            }
+        }
+        return results;
+    }
+
     @Override
     public Observation getObservationById(GetObservationById req) throws CstlServiceException {
         try {
@@ -530,17 +591,7 @@ public class DefaultSTSWorker extends SensorWorker implements STSWorker {
             if (exp.multiDatastreams.expanded) {
                 // perform only on first for performance purpose
                 if (template == null && ob.getProcedure().getId() != null) {
-                    final ObservationQuery subquery = new ObservationQuery(OBSERVATION_QNAME, RESULT_TEMPLATE, null);
-                    BinaryComparisonOperator pe = ff.equal(ff.property("procedure"), ff.literal(ob.getProcedure().getId()));
-                    subquery.setSelection(pe);
-                    subquery.setIncludeFoiInTemplate(false);
-                    subquery.setIncludeTimeInTemplate(true);
-                    List<org.geotoolkit.observation.model.Observation> templates = omProvider.getObservations(subquery);
-                    if (templates.size() == 1) {
-                        template = templates.get(0);
-                    } else {
-                        throw new ConstellationStoreException("Inconsistent request found no or multiple template for observation");
-                    }
+                    template = cache.getObservationTemplate(ob, true);
                 }
             }
 
@@ -607,18 +658,9 @@ public class DefaultSTSWorker extends SensorWorker implements STSWorker {
         if (!fromMds) {
             if (exp.datastreams.expanded) {
                 if (obs.getProcedure().getId()!= null) {
-                    final ObservationQuery subquery = new ObservationQuery(MEASUREMENT_QNAME, RESULT_TEMPLATE, null);
-                    ResourceId pe = ff.resourceId(obs.getName().getCode());
-                    subquery.setSelection(pe);
-                    subquery.setIncludeFoiInTemplate(false);
-                    subquery.setIncludeTimeInTemplate(true);
-                    List<org.geotoolkit.observation.model.Observation> templates = omProvider.getObservations(subquery);
-                    if (templates.size() == 1) {
-                        Datastream ds = cache.getOrCreateDatastream(exp.subLevel("Datastreams"), templates.get(0));
-                        observation.setDatastream(ds);
-                    } else {
-                        throw new ConstellationStoreException("Inconsistent request found no or multiple template for observation");
-                    }
+                    final org.geotoolkit.observation.model.Observation template = cache.getObservationTemplate(obs, false);
+                    Datastream ds = cache.getOrCreateDatastream(exp.subLevel("Datastreams"), template);
+                    observation.setDatastream(ds);
                 }
             } else if (exp.datastreams.selected) {
                 observation.setDatastreamIotNavigationLink(selfLink + "/Datastreams");
@@ -626,17 +668,8 @@ public class DefaultSTSWorker extends SensorWorker implements STSWorker {
         } else {
             if (exp.multiDatastreams.expanded) {
                 if (obs.getProcedure().getId() != null) {
-                    final ObservationQuery subquery = new ObservationQuery(OBSERVATION_QNAME, RESULT_TEMPLATE, null);
-                    ResourceId pe = ff.resourceId(obs.getName().getCode());
-                    subquery.setSelection(pe);
-                    subquery.setIncludeFoiInTemplate(false);
-                    subquery.setIncludeTimeInTemplate(true);
-                    List<org.geotoolkit.observation.model.Observation> templates = omProvider.getObservations(subquery);
-                    if (templates.size() == 1) {
-                        observation.setMultiDatastream(cache.getOrCreateMultiDatastream(exp.subLevel("MultiDatastreams"), templates.get(0)));
-                    } else {
-                        throw new ConstellationStoreException("Inconsistent request found no or multiple template for observation");
-                    }
+                    final org.geotoolkit.observation.model.Observation template = cache.getObservationTemplate(obs, true);
+                    observation.setMultiDatastream(cache.getOrCreateMultiDatastream(exp.subLevel("MultiDatastreams"), template));
                 }
             } else if (exp.multiDatastreams.selected) {
                 observation.setMultiDatastreamIotNavigationLink(selfLink + "/MultiDatastreams");
@@ -821,6 +854,7 @@ public class DefaultSTSWorker extends SensorWorker implements STSWorker {
             final Integer reqTop = getRequestTop(req);
             if (reqTop == null || reqTop > 0) {
                 List<org.geotoolkit.observation.model.Observation> templates = omProvider.getObservations(subquery);
+                cache.prefetchDatastreams(exp, templates, false);
                 for (org.geotoolkit.observation.model.Observation template : templates) {
                     Datastream result = cache.getOrCreateDatastream(exp, template);
                     values.add(result);
@@ -888,7 +922,7 @@ public class DefaultSTSWorker extends SensorWorker implements STSWorker {
 
         if (exp.observations.expanded) {
             final RequestOptions obsExp = exp.subLevel("Observations");
-            for (org.geotoolkit.observation.model.Observation linkedObservation : getObservationsForDatastream(obs)) {
+            for (org.geotoolkit.observation.model.Observation linkedObservation : cache.getLinkedObservations(obs, false)) {
                 datastream.addObservationsItem(buildObservation(obsExp, linkedObservation, false, cache));
             }
         } else if (exp.observations.selected) {
@@ -968,6 +1002,7 @@ public class DefaultSTSWorker extends SensorWorker implements STSWorker {
             final Integer reqTop = getRequestTop(req);
             if (reqTop == null || reqTop > 0) {
                 List<org.geotoolkit.observation.model.Observation> templates = omProvider.getObservations(subquery);
+                cache.prefetchDatastreams(exp, templates, true);
                 for (org.geotoolkit.observation.model.Observation template : templates) {
                     MultiDatastream result = cache.getOrCreateMultiDatastream(exp, template);
                     values.add(result);
@@ -1063,7 +1098,7 @@ public class DefaultSTSWorker extends SensorWorker implements STSWorker {
 
          if (exp.observations.expanded) {
             final RequestOptions obsExp = exp.subLevel("Observations");
-            for (org.geotoolkit.observation.model.Observation linkedObservation : getObservationsForMultiDatastream(obs)) {
+            for (org.geotoolkit.observation.model.Observation linkedObservation : cache.getLinkedObservations(obs, true)) {
                 datastream.addObservationsItem(buildObservation(obsExp, linkedObservation, true, cache));
             }
         } else if (exp.observations.selected) {
@@ -1939,6 +1974,7 @@ public class DefaultSTSWorker extends SensorWorker implements STSWorker {
     @Override
     public void destroy() {
         super.destroy();
+        resultExecutor.shutdownNow();
         stopped();
     }
     
@@ -1955,6 +1991,160 @@ public class DefaultSTSWorker extends SensorWorker implements STSWorker {
         private final Map<String, FeatureOfInterest> featureOfInterest     = new HashMap<>();
         private final Map<String, GeoJSONGeometry> sensorArea              = new HashMap<>();
         private final Map<TemporalPrimitive, String> timesCache               = new HashMap<>();
+
+        /**
+         * Observation templates and linked observations, by template key (see {@link #templateKey(org.geotoolkit.observation.model.Observation, boolean)}).
+         */
+        private final Map<String, org.geotoolkit.observation.model.Observation> observationTemplates = new HashMap<>();
+        private final Map<String, List<org.geotoolkit.observation.model.Observation>> linkedObservations = new HashMap<>();
+
+        /**
+         * Resolve in batch the entities needed to expand a page of observations:
+         * the templates of their (multi)datastreams, and the sensors of these datastreams.
+         */
+        public void prefetchObservations(RequestOptions exp, List<org.geotoolkit.observation.model.Observation> observations, boolean forMds) throws ConstellationStoreException {
+            final RequestOptions dsExp;
+            if (forMds && exp.multiDatastreams.expanded) {
+                dsExp = exp.subLevel("MultiDatastreams");
+            } else if (!forMds && exp.datastreams.expanded) {
+                dsExp = exp.subLevel("Datastreams");
+            } else {
+                return;
+            }
+            prefetchObservationTemplates(observations, forMds);
+            if (dsExp.sensors.expanded || dsExp.things.expanded) {
+                prefetchSensorDtos(getProcedureIds(observations));
+            }
+        }
+
+        /**
+         * Resolve in batch the entities needed to expand a page of (multi)datastreams:
+         * their linked observations and sensors.
+         */
+        public void prefetchDatastreams(RequestOptions exp, List<org.geotoolkit.observation.model.Observation> templates, boolean forMds) throws ConstellationStoreException {
+            for (org.geotoolkit.observation.model.Observation template : templates) {
+                final String key = templateKey(template, forMds);
+                if (key != null) {
+                    observationTemplates.putIfAbsent(key, template);
+                }
+            }
+            if (exp.sensors.expanded || exp.things.expanded) {
+                prefetchSensorDtos(getProcedureIds(templates));
+            }
+            if (exp.observations.expanded) {
+                prefetchLinkedObservations(templates, forMds);
+            }
+        }
+
+        /**
+         * Return the template (datastream or multi-datastream) of an observation.
+         * If the template has not been resolved in batch, it is requested.
+         */
+        public org.geotoolkit.observation.model.Observation getObservationTemplate(org.geotoolkit.observation.model.Observation obs, boolean forMds) throws ConstellationStoreException {
+            final String key = templateKey(obs, forMds);
+            org.geotoolkit.observation.model.Observation result = key != null ? observationTemplates.get(key) : null;
+            if (result == null) {
+                final ObservationQuery subquery = new ObservationQuery(forMds ? OBSERVATION_QNAME : MEASUREMENT_QNAME, RESULT_TEMPLATE, null);
+                if (forMds) {
+                    subquery.setSelection(ff.equal(ff.property("procedure"), ff.literal(obs.getProcedure().getId())));
+                } else {
+                    subquery.setSelection(ff.resourceId(obs.getName().getCode()));
+                }
+                subquery.setIncludeFoiInTemplate(false);
+                subquery.setIncludeTimeInTemplate(true);
+                List<org.geotoolkit.observation.model.Observation> templates = omProvider.getObservations(subquery);
+                if (templates.size() == 1) {
+                    result = templates.get(0);
+                    if (key != null) {
+                        observationTemplates.put(key, result);
+                    }
+                } else {
+                    throw new ConstellationStoreException("Inconsistent request found no or multiple template for observation");
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Return the observations linked to a (multi)datastream template.
+         * If they have not been resolved in batch, they are requested.
+         */
+        public List<org.geotoolkit.observation.model.Observation> getLinkedObservations(org.geotoolkit.observation.model.Observation template, boolean forMds) throws ConstellationStoreException {
+            final String key = templateKey(template, forMds);
+            List<org.geotoolkit.observation.model.Observation> results = key != null ? linkedObservations.get(key) : null;
+            if (results == null) {
+                results = forMds ? getObservationsForMultiDatastream(template) : getObservationsForDatastream(template);
+            }
+            return results;
+        }
+
+        private void prefetchObservationTemplates(List<org.geotoolkit.observation.model.Observation> observations, boolean forMds) throws ConstellationStoreException {
+            final Set<String> procedureIds = new LinkedHashSet<>();
+            for (org.geotoolkit.observation.model.Observation obs : observations) {
+                final String key = templateKey(obs, forMds);
+                if (key != null && !observationTemplates.containsKey(key)) {
+                    procedureIds.add(obs.getProcedure().getId());
+                }
+            }
+            for (List<String> chunk : partition(procedureIds)) {
+                final ObservationQuery subquery = new ObservationQuery(forMds ? OBSERVATION_QNAME : MEASUREMENT_QNAME, RESULT_TEMPLATE, null);
+                subquery.setSelection(procedureFilter(chunk));
+                subquery.setIncludeFoiInTemplate(false);
+                subquery.setIncludeTimeInTemplate(true);
+                for (org.geotoolkit.observation.model.Observation template : omProvider.getObservations(subquery)) {
+                    final String key = templateKey(template, forMds);
+                    if (key != null) {
+                        observationTemplates.putIfAbsent(key, template);
+                    }
+                }
+            }
+        }
+
+        private void prefetchLinkedObservations(List<org.geotoolkit.observation.model.Observation> templates, boolean forMds) throws ConstellationStoreException {
+            final Set<String> procedureIds = new LinkedHashSet<>();
+            final Set<String> keys = new HashSet<>();
+            for (org.geotoolkit.observation.model.Observation template : templates) {
+                final String key = templateKey(template, forMds);
+                if (key != null && !linkedObservations.containsKey(key)) {
+                    procedureIds.add(template.getProcedure().getId());
+                    keys.add(key);
+                }
+            }
+            // for a single datastream, the direct request is more selective
+            if (keys.size() < 2) return;
+
+            for (String key : keys) {
+                linkedObservations.put(key, new ArrayList<>());
+            }
+            for (List<String> chunk : partition(procedureIds)) {
+                final ObservationQuery subquery = new ObservationQuery(forMds ? OBSERVATION_QNAME : MEASUREMENT_QNAME, INLINE, null);
+                subquery.setSelection(procedureFilter(chunk));
+                if (forMds) {
+                    subquery.setIncludeIdInDataBlock(true);
+                    subquery.setSeparatedMeasure(true);
+                    subquery.setIncludeTimeForProfile(true);
+                    subquery.setResultMode(ResultMode.DATA_ARRAY);
+                }
+                for (org.geotoolkit.observation.model.Observation obs : omProvider.getObservations(subquery)) {
+                    final List<org.geotoolkit.observation.model.Observation> linked = linkedObservations.get(templateKey(obs, forMds));
+                    if (linked != null) {
+                        linked.add(obs);
+                    }
+                }
+            }
+        }
+
+        private void prefetchSensorDtos(Collection<String> sensorIds) {
+            final List<String> missing = new ArrayList<>();
+            for (String sensorId : sensorIds) {
+                if (!exaSensors.containsKey(sensorId)) {
+                    missing.add(sensorId);
+                }
+            }
+            if (!missing.isEmpty()) {
+                exaSensors.putAll(getSensors(missing));
+            }
+        }
         
         public Datastream getOrCreateDatastream(RequestOptions exp, org.geotoolkit.observation.model.Observation template) throws ConstellationStoreException {
             String id = template.getId();
@@ -1996,11 +2186,11 @@ public class DefaultSTSWorker extends SensorWorker implements STSWorker {
         }
         
         public org.constellation.dto.Sensor getOrCreateSensorDto(String sensorId) throws ConstellationStoreException {
-            org.constellation.dto.Sensor result = exaSensors.get(sensorId);
-            if (result == null) {
-                result = getSensor(sensorId);
-                exaSensors.put(sensorId, result);
+            if (exaSensors.containsKey(sensorId)) {
+                return exaSensors.get(sensorId);
             }
+            org.constellation.dto.Sensor result = getSensor(sensorId);
+            exaSensors.put(sensorId, result);
             return result;
         }
         
@@ -2048,4 +2238,53 @@ public class DefaultSTSWorker extends SensorWorker implements STSWorker {
             return result;
         }
     }
+
+    /**
+     * Batch size of the procedure filters used to resolve the expanded entities.
+     */
+    private static final int PREFETCH_BATCH_SIZE = 100;
+
+    /**
+     * Return the key of the (multi)datastream of an observation or template:
+     * the procedure for a multi-datastream, the procedure and the observed property for a datastream.
+     */
+    private static String templateKey(org.geotoolkit.observation.model.Observation obs, boolean forMds) {
+        if (obs.getProcedure() == null || obs.getProcedure().getId() == null) {
+            return null;
+        }
+        if (forMds) {
+            return obs.getProcedure().getId();
+        }
+        if (obs.getObservedProperty() == null || obs.getObservedProperty().getId() == null) {
+            return null;
+        }
+        return obs.getProcedure().getId() + '\u0000' + obs.getObservedProperty().getId();
+    }
+
+    private static Set<String> getProcedureIds(List<org.geotoolkit.observation.model.Observation> observations) {
+        final Set<String> results = new LinkedHashSet<>();
+        for (org.geotoolkit.observation.model.Observation obs : observations) {
+            if (obs.getProcedure() != null && obs.getProcedure().getId() != null) {
+                results.add(obs.getProcedure().getId());
+            }
+        }
+        return results;
+    }
+
+    private static List<List<String>> partition(Collection<String> values) {
+        final List<List<String>> results = new ArrayList<>();
+        final List<String> all = new ArrayList<>(values);
+        for (int i = 0; i < all.size(); i += PREFETCH_BATCH_SIZE) {
+            results.add(all.subList(i, Math.min(i + PREFETCH_BATCH_SIZE, all.size())));
+        }
+        return results;
+    }
+
+    private Filter procedureFilter(List<String> procedureIds) {
+        final List<Filter> filters = new ArrayList<>();
+        for (String procedureId : procedureIds) {
+            filters.add(ff.equal(ff.property("procedure"), ff.literal(procedureId)));
+        }
+        return filters.size() == 1 ? filters.get(0) : ff.or(filters);
+    }
 }
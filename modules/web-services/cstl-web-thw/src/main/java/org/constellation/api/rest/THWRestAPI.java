@@ -243,6 +243,16 @@ public class THWRestAPI {
         }
     }
 
+    @RequestMapping(value="/THW/{thesaurusUri}/labelIndex",method=GET,produces=APPLICATION_JSON_VALUE)
+    public ResponseEntity getLabelIndexStatistics(@PathVariable("thesaurusUri") String thesaurusUri) {
+        try (ThesaurusDatabaseWriter thesaurus = getThesaurusWriter(thesaurusUri)) {
+            return new ResponseEntity(thesaurus.getLabelIndexStatistics(), OK);
+        } catch (Exception ex) {
+            LOGGER.log(Level.WARNING, ex.getLocalizedMessage(), ex);
+            return new ErrorMessage(ex).build();
+        }
+    }
+
     @RequestMapping(value="/THW/{thesaurusUri}/{lang}/concept/search/{keyword}",method=GET,produces=APPLICATION_JSON_VALUE)
     public ResponseEntity searchConcepts(@PathVariable("thesaurusUri") String thesaurusUri,
                                             @PathVariable("lang") String lang,
@@ -34,6 +34,7 @@ import org.constellation.ws.CstlServiceException;
 import org.constellation.thesaurus.io.sql.ThesaurusCSWCounter;
 import org.constellation.thesaurus.api.IThesaurusHandler;
 import org.constellation.thesaurus.io.sql.ThesaurusHandler;
+import org.constellation.thesaurus.io.sql.ThesaurusDatabaseWriter;
 
 
 // geotoolkit dependencies
@@ -77,7 +78,10 @@ public class THWworker extends AbstractWorker {
             final List<Thesaurus> thesaurus = new ArrayList<>();
 
             for (String thURI : linkedThesaurusURI) {
-                thesaurus.add(thesaurusBusiness.createThesaurusWriter(thURI));
+                final ThesaurusDatabaseWriter th = (ThesaurusDatabaseWriter) thesaurusBusiness.createThesaurusWriter(thURI);
+                // load the label index used by the searches
+                th.loadLabelIndex();
+                thesaurus.add(th);
             }
             handler = new ThesaurusHandler(thesaurus);
 
@@ -0,0 +1,306 @@
+/*
+ *    Examind Community - An open source and standard compliant SDI
+ *    https://community.examind.com/
+ *
+ * Copyright 2026 Geomatys.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.constellation.thesaurus.io.sql;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * An immutable in-memory index of the completion labels of a thesaurus (table "terme_completion").
+ * <p>
+ * The labels are sorted on their lower-cased value for the "starts with" searches, and on their reversed
+ * lower-cased value for the "ends with" searches. The "contains" searches use a trigram index, the candidates
+ * of the least frequent trigram of the term being verified one by one.
+ * </p><p>
+ * The matching rules follow the SQL queries of {@link ThesaurusDatabase}: the equality is case sensitive,
+ * the wildcard searches are case insensitive unless the index is built for a case sensitive LIKE operator.
+ * </p>
+ */
+final class LabelIndex {
+
+    /**
+     * A row of the completion table.
+     *
+     * @param label The label value.
+     * @param uri The concept URI.
+     * @param language The two letters language code, in lower case.
+     * @param theme The origin thesaurus of the label.
+     */
+    record Label(String label, String uri, String language, String theme) {}
+
+    private static final int NGRAM = 3;
+
+    private static final int[] EMPTY = new int[0];
+
+    private final Label[] labels;
+
+    /**
+     * The lower-cased labels and the reversed lower-cased labels, by label index.
+     */
+    private final String[] keys;
+    private final String[] reversedKeys;
+
+    /**
+     * Label indexes sorted by key and by reversed key.
+     */
+    private final int[] byKey;
+    private final int[] byReversedKey;
+
+    /**
+     * Sorted label indexes by trigram of the lower-cased labels.
+     */
+    private final Map<String, int[]> ngrams;
+
+    private final boolean caseSensitive;
+
+    /**
+     * @param rows The rows of the completion table.
+     * @param caseSensitive {@code true} if the wildcard searches are case sensitive (SQL LIKE instead of ILIKE).
+     */
+    LabelIndex(final List<Label> rows, final boolean caseSensitive) {
+        this.caseSensitive = caseSensitive;
+        this.labels        = rows.stream().filter(r -> r.label() != null).toArray(Label[]::new);
+        this.keys          = new String[labels.length];
+        this.reversedKeys  = new String[labels.length];
+        for (int i = 0; i < labels.length; i++) {
+            keys[i]         = normalize(labels[i].label());
+            reversedKeys[i] = new StringBuilder(keys[i]).reverse().toString();
+        }
+        this.byKey         = sortedIndexes(keys);
+        this.byReversedKey = sortedIndexes(reversedKeys);
+
+        final Map<String, Postings> postings = new HashMap<>();
+        for (int i = 0; i < keys.length; i++) {
+            final String key = keys[i];
+            for (int j = 0; j + NGRAM <= key.length(); j++) {
+                postings.computeIfAbsent(key.substring(j, j + NGRAM), k -> new Postings()).add(i);
+            }
+        }
+        this.ngrams = new HashMap<>(postings.size() * 4 / 3 + 1);
+        for (Map.Entry<String, Postings> entry : postings.entrySet()) {
+            final Postings p = entry.getValue();
+            ngrams.put(entry.getKey(), Arrays.copyOf(p.ids, p.size));
+        }
+    }
+
+    /**
+     * Growing list of label indexes, used while building the trigram index.
+     */
+    private static final class Postings {
+        private int[] ids = new int[4];
+        private int size;
+
+        private void add(final int id) {
+            // a label may contain the same trigram many times
+            if (size > 0 && ids[size - 1] == id) return;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+    }
+
+    private static String normalize(final String s) {
+        return s.toLowerCase(Locale.ROOT);
+    }
+
+    private static int[] sortedIndexes(final String[] values) {
+        final Integer[] ids = new Integer[values.length];
+        for (int i = 0; i < ids.length; i++) ids[i] = i;
+        Arrays.sort(ids, Comparator.comparing(i -> values[i]));
+        final int[] result = new int[ids.length];
+        for (int i = 0; i < ids.length; i++) result[i] = ids[i];
+        return result;
+    }
+
+    /**
+     * Number of labels in the index.
+     */
+    int size() {
+        return labels.length;
+    }
+
+    /**
+     * Rough estimation of the memory used by the index, in bytes.
+     */
+    long estimateMemory() {
+        long size = 0;
+        for (int i = 0; i < labels.length; i++) {
+            // label record + key + reversed key (the label, uri, theme and language strings are shared with the database rows)
+            size += 32 + 2 * (40 + 2L * keys[i].length());
+        }
+        size += 8L * (byKey.length + byReversedKey.length);
+        for (int[] ids : ngrams.values()) {
+            size += 48 + 16 + 4L * ids.length;
+        }
+        return size;
+    }
+
+    /**
+     * Labels equal to the term (case sensitive).
+     */
+    List<Label> equal(final String term, final String language, final Collection<String> themes) {
+        return range(term, true, language, themes, l -> l.label().equals(term));
+    }
+
+    /**
+     * Labels equal to the term, ignoring the case.
+     */
+    List<Label> equalIgnoreCase(final String term, final String language, final Collection<String> themes) {
+        return range(term, true, language, themes, l -> l.label().equalsIgnoreCase(term));
+    }
+
+    /**
+     * Labels starting with the term (SQL: label LIKE 'term%').
+     */
+    List<Label> startsWith(final String term, final String language, final Collection<String> themes) {
+        return range(term, false, language, themes, l -> !caseSensitive || l.label().startsWith(term));
+    }
+
+    /**
+     * Labels ending with the term (SQL: label LIKE '%term').
+     */
+    List<Label> endsWith(final String term, final String language, final Collection<String> themes) {
+        final String reversed = new StringBuilder(normalize(term)).reverse().toString();
+        final List<Label> results = new ArrayList<>();
+        for (int i = lowerBound(reversedKeys, byReversedKey, reversed); i < byReversedKey.length; i++) {
+            final int id = byReversedKey[i];
+            if (!reversedKeys[id].startsWith(reversed)) break;
+            final Label l = labels[id];
+            if ((!caseSensitive || l.label().endsWith(term)) && accept(l, language, themes)) {
+                results.add(l);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Labels containing the term (SQL: label LIKE '%term%').
+     */
+    List<Label> contains(final String term, final String language, final Collection<String> themes) {
+        final String key = normalize(term);
+        final List<Label> results = new ArrayList<>();
+        final int[] candidates = candidates(key);
+        if (candidates == null) {
+            for (int id = 0; id < labels.length; id++) {
+                addIfContains(id, key, term, language, themes, results);
+            }
+        } else {
+            for (int id : candidates) {
+                addIfContains(id, key, term, language, themes, results);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Labels matching the term where the specified characters match any character (SQL: label LIKE 'te_m').
+     */
+    List<Label> matchWildcard(final String term, final char wildcard, final String language, final Collection<String> themes) {
+        final int first = term.indexOf(wildcard);
+        if (first == -1) {
+            return range(term, true, language, themes, l -> matchWildcard(l.label(), term, wildcard));
+        }
+        return range(term.substring(0, first), false, language, themes, l -> matchWildcard(l.label(), term, wildcard));
+    }
+
+    private boolean matchWildcard(final String label, final String term, final char wildcard) {
+        if (label.length() != term.length()) return false;
+        for (int i = 0; i < term.length(); i++) {
+            final char t = term.charAt(i);
+            if (t == wildcard) continue;
+            final char c = label.charAt(i);
+            if (c != t && (caseSensitive || Character.toLowerCase(c) != Character.toLowerCase(t))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Return the labels whose key is equal to (or starts with) the key of the term, and accepted by the filter.
+     */
+    private List<Label> range(final String term, final boolean equal, final String language, final Collection<String> themes, final Predicate<Label> filter) {
+        final String key = normalize(term);
+        final List<Label> results = new ArrayList<>();
+        for (int i = lowerBound(keys, byKey, key); i < byKey.length; i++) {
+            final int id = byKey[i];
+            if (equal ? !keys[id].equals(key) : !keys[id].startsWith(key)) break;
+            final Label l = labels[id];
+            if (filter.test(l) && accept(l, language, themes)) {
+                results.add(l);
+            }
+        }
+        return results;
+    }
+
+    private void addIfContains(final int id, final String key, final String term, final String language, final Collection<String> themes, final List<Label> results) {
+        final Label l = labels[id];
+        if (keys[id].contains(key) && (!caseSensitive || l.label().contains(term)) && accept(l, language, themes)) {
+            results.add(l);
+        }
+    }
+
+    /**
+     * Return the labels containing the least frequent trigram of the key,
+     * or {@code null} if the key is too short to use the trigrams.
+     */
+    private int[] candidates(final String key) {
+        if (key.length() < NGRAM) {
+            return null;
+        }
+        int[] best = null;
+        for (int j = 0; j + NGRAM <= key.length(); j++) {
+            final int[] ids = ngrams.getOrDefault(key.substring(j, j + NGRAM), EMPTY);
+            if (best == null || ids.length < best.length) {
+                best = ids;
+                if (best.length == 0) break;
+            }
+        }
+        return best;
+    }
+
+    private static boolean accept(final Label l, final String language, final Collection<String> themes) {
+        return (language == null || language.equals(l.language()))
+            && (themes == null || themes.isEmpty() || themes.contains(l.theme()));
+    }
+
+    /**
+     * Return the first position in the sorted indexes whose key is greater or equals to the specified one.
+     */
+    private static int lowerBound(final String[] values, final int[] sorted, final String key) {
+        int low = 0, high = sorted.length;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (values[sorted[mid]].compareTo(key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,204 @@
+/*
+ *    Examind Community - An open source and standard compliant SDI
+ *    https://community.examind.com/
+ *
+ * Copyright 2026 Geomatys.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.constellation.thesaurus.io.sql;
+
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.sql.DataSource;
+
+/**
+ * The label indexes of the thesaurus, by datasource and database schema.
+ * <p>
+ * The thesaurus readers and writers are short-lived objects created for each request, so the indexes are shared
+ * between all the instances working on the same database schema. Each write on the completion labels increments
+ * the version of the index and discards it. A new index is then built in background, and the searches use the database
+ * until it is available. An index whose loading started before a modification is never published.
+ * </p>
+ */
+final class LabelIndexRegistry {
+
+    private static final Logger LOGGER = Logger.getLogger("org.constellation.thesaurus.io");
+
+    private static final Map<Key, Entry> INDEXES = new ConcurrentHashMap<>();
+
+    private static final ExecutorService BUILDER = Executors.newSingleThreadExecutor(r -> {
+        final Thread t = new Thread(r, "thesaurus-label-index");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private LabelIndexRegistry() {}
+
+    /**
+     * Return the up to date index of the thesaurus, or {@code null} if it is not available yet.
+     * In the later case, the index is built in background.
+     */
+    static LabelIndex get(final ThesaurusDatabase thesaurus) {
+        final Entry entry = INDEXES.computeIfAbsent(Key.of(thesaurus), k -> new Entry());
+        final LabelIndex index = entry.index;
+        if (index == null && entry.building.compareAndSet(false, true)) {
+            try {
+                BUILDER.execute(() -> {
+                    try {
+                        build(thesaurus, entry);
+                    } finally {
+                        entry.building.set(false);
+                    }
+                });
+            } catch (RuntimeException ex) {
+                entry.building.set(false);
+                LOGGER.log(Level.WARNING, "Unable to schedule the label index loading", ex);
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Load the index of the thesaurus in the current thread, if it is not already loaded.
+     */
+    static void load(final ThesaurusDatabase thesaurus) {
+        final Entry entry = INDEXES.computeIfAbsent(Key.of(thesaurus), k -> new Entry());
+        if (entry.index == null) {
+            build(thesaurus, entry);
+        }
+    }
+
+    /**
+     * Discard the index of a thesaurus, after a modification of its labels.
+     */
+    static void invalidate(final ThesaurusDatabase thesaurus) {
+        final Entry entry = INDEXES.get(Key.of(thesaurus));
+        if (entry != null) {
+            entry.discard();
+        }
+    }
+
+    /**
+     * Remove the index of a deleted thesaurus.
+     */
+    static void remove(final ThesaurusDatabase thesaurus) {
+        final Entry entry = INDEXES.remove(Key.of(thesaurus));
+        if (entry != null) {
+            entry.discard();
+        }
+    }
+
+    /**
+     * Record the duration of a search made with the index.
+     */
+    static void searched(final ThesaurusDatabase thesaurus, final long startNanos) {
+        final Entry entry = INDEXES.get(Key.of(thesaurus));
+        if (entry != null) {
+            entry.nbQueries.incrementAndGet();
+            entry.queryTime.addAndGet(System.nanoTime() - startNanos);
+        }
+    }
+
+    /**
+     * Return the statistics of the index of a thesaurus: number of labels, estimated memory (in bytes),
+     * duration of the last loading (in milliseconds), number of searches and mean search duration (in microseconds).
+     *
+     * @return The index statistics, empty if there is no index for this thesaurus.
+     */
+    static Map<String, Long> getStatistics(final ThesaurusDatabase thesaurus) {
+        final Map<String, Long> stats = new LinkedHashMap<>();
+        final Entry entry = INDEXES.get(Key.of(thesaurus));
+        if (entry == null) {
+            return stats;
+        }
+        final LabelIndex index = entry.index;
+        final long nb = entry.nbQueries.get();
+        stats.put("labels",        index != null ? (long) index.size() : 0);
+        stats.put("memory",        index != null ? index.estimateMemory() : 0);
+        stats.put("buildTime",     entry.buildTime);
+        stats.put("queries",       nb);
+        stats.put("meanQueryTime", nb > 0 ? entry.queryTime.get() / nb / 1000 : 0);
+        return stats;
+    }
+
+    private static void build(final ThesaurusDatabase thesaurus, final Entry entry) {
+        final long version = entry.version.get();
+        final long start   = System.currentTimeMillis();
+        final LabelIndex index;
+        try {
+            index = thesaurus.buildLabelIndex();
+        } catch (SQLException ex) {
+            LOGGER.log(Level.WARNING, "Unable to load the label index of the thesaurus " + thesaurus.getSchema(), ex);
+            return;
+        }
+        final long buildTime = System.currentTimeMillis() - start;
+        synchronized (entry) {
+            // the labels have been modified during the loading
+            if (entry.version.get() != version || INDEXES.get(Key.of(thesaurus)) != entry) {
+                return;
+            }
+            entry.index     = index;
+            entry.buildTime = buildTime;
+        }
+        LOGGER.log(Level.INFO, "Label index of thesaurus {0} loaded: {1} labels, ~{2} kB in {3} ms.",
+                new Object[]{thesaurus.getSchema(), index.size(), index.estimateMemory() / 1024, buildTime});
+    }
+
+    /**
+     * Identifies a thesaurus by the identity of its datasource and its schema,
+     * the same schema name may exist in distinct databases.
+     */
+    private record Key(DataSource datasource, String schema) {
+
+        static Key of(final ThesaurusDatabase thesaurus) {
+            return new Key(thesaurus.datasource, thesaurus.getSchema());
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            return obj instanceof Key k && k.datasource == datasource && Objects.equals(k.schema, schema);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(datasource) + Objects.hashCode(schema);
+        }
+    }
+
+    private static final class Entry {
+        private volatile LabelIndex index;
+        private volatile long buildTime;
+        private final AtomicLong version      = new AtomicLong();
+        private final AtomicBoolean building  = new AtomicBoolean();
+        private final AtomicLong nbQueries    = new AtomicLong();
+        private final AtomicLong queryTime    = new AtomicLong();
+
+        /**
+         * Discard the index, synchronized with {@link #build} so that an index loaded before the call is never published.
+         */
+        private synchronized void discard() {
+            version.incrementAndGet();
+            index = null;
+        }
+    }
+}
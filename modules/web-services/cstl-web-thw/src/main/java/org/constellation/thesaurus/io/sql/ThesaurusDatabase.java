@@ -156,6 +156,12 @@ public class ThesaurusDatabase implements Thesaurus, AutoCloseable {
 
     protected static final String TABLE_NAME = "propriete_concept";
 
+    /**
+     * Order of the modes tried for an automatic search of concepts and of labels.
+     */
+    private static final int[] CONCEPT_SEARCH_ORDER = {NO_WILD_CHAR, SUFFIX_REGEX, PREFIX_REGEX, PREFIX_SUFFIX_REGEX};
+    private static final int[] LABEL_SEARCH_ORDER   = {NO_WILD_CHAR, PREFIX_REGEX, SUFFIX_REGEX, PREFIX_SUFFIX_REGEX};
+
     protected final String likeOperator;
 
     protected boolean state;
@@ -372,6 +378,108 @@ public class ThesaurusDatabase implements Thesaurus, AutoCloseable {
         return request;
     }
 
+    /**
+     * Load the in-memory index of the completion labels of this thesaurus, if it is not already loaded.
+     * When the index is not loaded, it is built in background at the first search.
+     */
+    public void loadLabelIndex() {
+        LabelIndexRegistry.load(this);
+    }
+
+    /**
+     * Read all the completion labels of this thesaurus and index them.
+     */
+    LabelIndex buildLabelIndex() throws SQLException {
+        final List<LabelIndex.Label> rows = new ArrayList<>();
+        // the languages and themes are shared by many labels
+        final Map<String, String> shared = new HashMap<>();
+        try (Connection c = datasource.getConnection();
+             PreparedStatement stmt = c.prepareStatement("SELECT \"label\", \"uri_concept\", \"langage_iso\", \"thesaurus_origine\" FROM \"" + schema + "\".\"terme_completion\"");//NOSONAR
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                final String lang  = rs.getString(3);
+                final String theme = rs.getString(4);
+                rows.add(new LabelIndex.Label(rs.getString(1), rs.getString(2),
+                                              lang  != null ? shared.computeIfAbsent(lang, k -> k)  : null,
+                                              theme != null ? shared.computeIfAbsent(theme, k -> k) : null));
+            }
+        }
+        return new LabelIndex(rows, "derby".equals(dialect));
+    }
+
+    /**
+     * Must be called after each modification of the completion labels, to discard the label index.
+     */
+    protected void labelsChanged() {
+        LabelIndexRegistry.invalidate(this);
+    }
+
+    private static String languageCode(final ISOLanguageCode language) {
+        return language != null ? language.getTwoLetterCode().toLowerCase() : null;
+    }
+
+    /**
+     * Same as {@link #search(String, ISOLanguageCode)} but using the label index.
+     */
+    private List<ScoredConcept> search(final LabelIndex index, final String term, final ISOLanguageCode language) {
+        final String lang = languageCode(language);
+
+        // full matching => score 1.0
+        List<LabelIndex.Label> labels = index.equal(term, lang, null);
+        double score = 1.0;
+
+        // full matching case insensitive => score 0.9
+        if (labels.isEmpty()) {
+            labels = index.equalIgnoreCase(term, lang, null);
+            score  = 0.9;
+        }
+
+        // mispelled matching => score 0.8
+        if (labels.isEmpty() && language != null) {
+            String tmp = term;
+            for (char[] spe : language.getSpecialCharacter()) {
+                for (char s : spe) {
+                    tmp = tmp.replace(s, '_');
+                }
+            }
+            labels = index.matchWildcard(tmp, '_', lang, null);
+            score  = 0.8;
+        }
+
+        // partial matching => score 0.7
+        if (labels.isEmpty()) {
+            labels = index.contains(term, lang, null);
+            score  = 0.7;
+        }
+
+        final List<ScoredConcept> matchingConcept = new ArrayList<>(labels.size());
+        for (LabelIndex.Label label : labels) {
+            matchingConcept.add(new ScoredConcept(removePrefix(label.uri()), this, score, language));
+        }
+        return matchingConcept;
+    }
+
+    /**
+     * Search the labels in the index, trying the modes in the specified order for an automatic search.
+     */
+    private static List<LabelIndex.Label> search(final LabelIndex index, final String term, final int searchMode, final int[] autoOrder,
+            final List<String> themes, final ISOLanguageCode language) {
+        final String lang = languageCode(language);
+        for (int mode : autoOrder) {
+            if (searchMode != mode && searchMode != AUTO_SEARCH) continue;
+            final List<LabelIndex.Label> labels = switch (mode) {
+                case NO_WILD_CHAR -> index.equal(term, lang, themes);
+                case SUFFIX_REGEX -> index.startsWith(term, lang, themes);
+                case PREFIX_REGEX -> index.endsWith(term, lang, themes);
+                default           -> index.contains(term, lang, themes);
+            };
+            if (!labels.isEmpty() || searchMode == mode) {
+                return labels;
+            }
+        }
+        return Collections.emptyList();
+    }
+
     /**
      * Try to find the concept matching the specified term.
      *
@@ -381,6 +489,13 @@ public class ThesaurusDatabase implements Thesaurus, AutoCloseable {
      */
     @Override
     public List<ScoredConcept> search(final String brutTerm, final ISOLanguageCode language) {
+        final LabelIndex index = LabelIndexRegistry.get(this);
+        if (index != null) {
+            final long start = System.nanoTime();
+            final List<ScoredConcept> results = search(index, brutTerm, language);
+            LabelIndexRegistry.searched(this, start);
+            return results;
+        }
         final List<ScoredConcept> matchingConcept = new ArrayList<>();
 
         try (Connection c = datasource.getConnection()) {
@@ -490,6 +605,27 @@ public class ThesaurusDatabase implements Thesaurus, AutoCloseable {
     public List<Concept> search(final String term, final int searchMode, final boolean geometric, final List<String> themes, final ISOLanguageCode language) {
         final List<Concept> matchingConcept = new ArrayList<>();
 
+        // the geometric search need a join on the concept table
+        final LabelIndex index = geometric ? null : LabelIndexRegistry.get(this);
+        if (index != null) {
+            final long start = System.nanoTime();
+            final List<LabelIndex.Label> labels = search(index, term, searchMode, CONCEPT_SEARCH_ORDER, themes, language);
+            LabelIndexRegistry.searched(this, start);
+            if (!labels.isEmpty()) {
+                try (Connection c = datasource.getConnection()) {
+                    for (LabelIndex.Label label : labels) {
+                        final Concept concept = readConcept(removePrefix(label.uri()), false, c, null);
+                        if (!matchingConcept.contains(concept)) {
+                            matchingConcept.add(concept);
+                        }
+                    }
+                } catch (SQLException ex) {
+                    LOGGER.log(Level.WARNING, "exception in search:" + ex.getMessage(), ex);
+                }
+            }
+            return matchingConcept;
+        }
+
         final StringBuilder sb = new StringBuilder();
         if (geometric) {
             sb.append(" SELECT t.\"uri_concept\" FROM \"").append(schema).append("\".\"terme_completion\" t, \"").append(schema).append("\".\"concept\" c");
@@ -637,6 +773,16 @@ public class ThesaurusDatabase implements Thesaurus, AutoCloseable {
     public List<String> searchLabels(final String brutTerm, final int searchMode, final List<String> themes, final ISOLanguageCode language) {
         final List<String> results = new ArrayList<>();
 
+        final LabelIndex index = LabelIndexRegistry.get(this);
+        if (index != null) {
+            final long start = System.nanoTime();
+            for (LabelIndex.Label label : search(index, brutTerm, searchMode, LABEL_SEARCH_ORDER, themes, language)) {
+                results.add(label.label());
+            }
+            LabelIndexRegistry.searched(this, start);
+            return results;
+        }
+
         final String queryPrefix = "SELECT \"label\" FROM \"" + schema + "\".\"terme_completion\" ";
 
         try (Connection c      = datasource.getConnection();
@@ -1479,6 +1625,15 @@ public class ThesaurusDatabase implements Thesaurus, AutoCloseable {
         return schema;
     }
 
+    /**
+     * Return the statistics of the label index of this thesaurus, shared by all the instances on the same datasource and schema.
+     *
+     * @return The index statistics (labels, memory, buildTime, queries, meanQueryTime), empty if no index has been built.
+     */
+    public Map<String, Long> getLabelIndexStatistics() {
+        return LabelIndexRegistry.getStatistics(this);
+    }
+
     @Override
     public ISOLanguageCode getDefaultLanguage() {
         return defaultLanguage;
@@ -278,6 +278,10 @@ public class ThesaurusDatabaseWriter extends ThesaurusDatabase implements Writea
                 stmt.setString(5, property);
                 stmt.executeUpdate();
             }
+        } finally {
+            if (tableFlag == COMPLETION) {
+                labelsChanged();
+            }
         }
     }
 
@@ -291,6 +295,10 @@ public class ThesaurusDatabaseWriter extends ThesaurusDatabase implements Writea
         try (PreparedStatement deleteStmt = connection.prepareStatement("DELETE FROM \"" + schema + "\".\"" + table + "\" WHERE  \"uri_concept\"=?")) {//NOSONAR
             deleteStmt.setString(1, uriconcept);
             deleteStmt.executeUpdate();
+        } finally {
+            if (tableFlag == COMPLETION) {
+                labelsChanged();
+            }
         }
     }
 
@@ -303,6 +311,8 @@ public class ThesaurusDatabaseWriter extends ThesaurusDatabase implements Writea
             deleteStmt.executeUpdate();
             deleteStmt2.setString(1, language.getTwoLetterCode().toLowerCase());
             deleteStmt2.executeUpdate();
+        } finally {
+            labelsChanged();
         }
     }
 
@@ -636,6 +646,8 @@ public class ThesaurusDatabaseWriter extends ThesaurusDatabase implements Writea
 
         } catch (SQLException ex) {
             throw new RuntimeException("SQL exception in insertConcept()", ex);
+        } finally {
+            labelsChanged();
         }
     }
 
@@ -731,7 +743,9 @@ public class ThesaurusDatabaseWriter extends ThesaurusDatabase implements Writea
             } else {
                 stmt.executeUpdate("DROP SCHEMA \"" + schema + "\" CASCADE");//NOSONAR
             }
-        } 
+        } finally {
+            LabelIndexRegistry.remove(this);
+        }
     }
 
     @Override
@@ -0,0 +1,91 @@
+/*
+ *    Examind Community - An open source and standard compliant SDI
+ *    https://community.examind.com/
+ *
+ * Copyright 2026 Geomatys.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.constellation.thesaurus.io.sql;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import javax.sql.DataSource;
+import org.geotoolkit.thw.model.ISOLanguageCode;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LabelIndexRegistryTest {
+
+    private static final List<LabelIndex.Label> ROWS = List.of(
+            new LabelIndex.Label("Water", "urn:c1", "en", "th1"),
+            new LabelIndex.Label("Eau",   "urn:c1", "fr", "th1"));
+
+    /**
+     * A datasource never used, the labels are provided by {@link StubThesaurus}.
+     */
+    private static DataSource datasource() {
+        return (DataSource) Proxy.newProxyInstance(DataSource.class.getClassLoader(), new Class<?>[]{DataSource.class},
+                (proxy, method, args) -> { throw new UnsupportedOperationException(method.getName()); });
+    }
+
+    private static class StubThesaurus extends ThesaurusDatabase {
+
+        private final boolean modifyDuringBuild;
+
+        StubThesaurus(final DataSource datasource, final String schema, final boolean modifyDuringBuild) {
+            super(datasource, schema, "derby", "urn:thesau:" + schema, schema, null, List.of(ISOLanguageCode.ENG), ISOLanguageCode.ENG);
+            this.modifyDuringBuild = modifyDuringBuild;
+        }
+
+        @Override
+        LabelIndex buildLabelIndex() {
+            if (modifyDuringBuild) {
+                // a writer modifies the labels while they are loaded
+                labelsChanged();
+            }
+            return new LabelIndex(ROWS, true);
+        }
+    }
+
+    @Test
+    public void invalidateDuringBuildTest() {
+        final StubThesaurus th = new StubThesaurus(datasource(), "invalidated", true);
+        try {
+            th.loadLabelIndex();
+            Assert.assertEquals(Long.valueOf(0), th.getLabelIndexStatistics().get("labels"));
+        } finally {
+            LabelIndexRegistry.remove(th);
+        }
+    }
+
+    @Test
+    public void sameSchemaDistinctDatasourceTest() {
+        final StubThesaurus th1 = new StubThesaurus(datasource(), "shared", false);
+        final StubThesaurus th2 = new StubThesaurus(datasource(), "shared", false);
+        try {
+            th1.loadLabelIndex();
+            Assert.assertEquals(Long.valueOf(2), th1.getLabelIndexStatistics().get("labels"));
+            Assert.assertTrue(th2.getLabelIndexStatistics().isEmpty());
+
+            // a modification on the second database does not discard the index of the first one
+            th2.loadLabelIndex();
+            th2.labelsChanged();
+            Assert.assertEquals(Long.valueOf(0), th2.getLabelIndexStatistics().get("labels"));
+            Assert.assertEquals(Long.valueOf(2), th1.getLabelIndexStatistics().get("labels"));
+        } finally {
+            LabelIndexRegistry.remove(th1);
+            LabelIndexRegistry.remove(th2);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ *    Examind Community - An open source and standard compliant SDI
+ *    https://community.examind.com/
+ *
+ * Copyright 2026 Geomatys.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.constellation.thesaurus.io.sql;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LabelIndexTest {
+
+    private static final List<LabelIndex.Label> ROWS = List.of(
+            new LabelIndex.Label("Water",          "urn:c1", "en", "th1"),
+            new LabelIndex.Label("Eau",            "urn:c1", "fr", "th1"),
+            new LabelIndex.Label("Water quality",  "urn:c2", "en", "th1"),
+            new LabelIndex.Label("Sea water",      "urn:c3", "en", "th2"),
+            new LabelIndex.Label("Été",            "urn:c4", "fr", "th2"),
+            new LabelIndex.Label("Ground Water",   "urn:c5", "en", "th2"));
+
+    private static Set<String> uris(List<LabelIndex.Label> labels) {
+        return labels.stream().map(LabelIndex.Label::uri).collect(Collectors.toSet());
+    }
+
+    @Test
+    public void searchTest() {
+        final LabelIndex index = new LabelIndex(ROWS, false);
+        Assert.assertEquals(6, index.size());
+        Assert.assertTrue(index.estimateMemory() > 0);
+
+        Assert.assertEquals(Set.of("urn:c1"),                   uris(index.equal("Water", null, null)));
+        Assert.assertEquals(Set.of(),                           uris(index.equal("water", null, null)));
+        Assert.assertEquals(Set.of("urn:c1"),                   uris(index.equalIgnoreCase("water", null, null)));
+        Assert.assertEquals(Set.of("urn:c1", "urn:c2"),         uris(index.startsWith("wat", "en", null)));
+        Assert.assertEquals(Set.of("urn:c1", "urn:c3", "urn:c5"), uris(index.endsWith("WATER", "en", null)));
+        Assert.assertEquals(Set.of("urn:c1", "urn:c2", "urn:c3", "urn:c5"), uris(index.contains("ate", null, null)));
+        Assert.assertEquals(Set.of("urn:c3", "urn:c5"),         uris(index.contains("water", null, List.of("th2"))));
+        Assert.assertEquals(Set.of("urn:c3"),                   uris(index.contains("a w", "en", null)));
+        Assert.assertEquals(Set.of("urn:c1"),                   uris(index.contains("a", "fr", List.of("th1"))));
+
+        // mispelled search
+        Assert.assertEquals(Set.of("urn:c4"),                   uris(index.matchWildcard("_t_", '_', "fr", null)));
+        Assert.assertEquals(Set.of(),                           uris(index.matchWildcard("_t_", '_', "en", null)));
+    }
+
+    @Test
+    public void caseSensitiveTest() {
+        final LabelIndex index = new LabelIndex(ROWS, true);
+        Assert.assertEquals(Set.of(),                   uris(index.startsWith("wat", null, null)));
+        Assert.assertEquals(Set.of("urn:c1", "urn:c2"), uris(index.startsWith("Wat", null, null)));
+        Assert.assertEquals(Set.of("urn:c5"),           uris(index.contains("Water", null, List.of("th2"))));
+    }
+}
@@ -1206,6 +1206,7 @@ public final class DefaultWCSWorker extends LayerWorker implements WCSWorker {
                     if (geoExt != null) {
                         if (geoExt.getCompression() != null) {
                             if (geoExt.getCompression() == CompressionType.LZW ||
+                                geoExt.getCompression() == CompressionType.DEFLATE ||
                                 geoExt.getCompression() == CompressionType.PACK_BITS ||
                                 geoExt.getCompression() == CompressionType.NONE) {
                                 response.compression = geoExt.getCompression().value();
@@ -19,17 +19,24 @@
 
 package org.constellation.coverage.ws.rs;
 
+import java.awt.image.DataBuffer;
+import java.awt.image.RenderedImage;
+import java.awt.image.SampleModel;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.apache.sis.coverage.Category;
 import org.apache.sis.coverage.SampleDimension;
 import org.apache.sis.coverage.grid.DomainLinearizer;
 import org.apache.sis.coverage.grid.GridCoverage;
+import org.apache.sis.coverage.grid.GridCoverage2D;
+import org.apache.sis.coverage.grid.GridExtent;
 import org.apache.sis.coverage.grid.GridCoverageProcessor;
 import org.apache.sis.coverage.grid.GridGeometry;
 import org.apache.sis.coverage.grid.GridOrientation;
@@ -39,6 +46,9 @@ import org.constellation.util.CRSUtilities;
 import org.geotoolkit.nio.IOUtilities;
 import org.apache.sis.coverage.grid.PixelInCell;
 import org.apache.sis.storage.DataStores;
+import org.apache.sis.storage.StorageConnector;
+import org.apache.sis.storage.geotiff.Compression;
+import org.apache.sis.storage.geotiff.FormatModifier;
 import org.apache.sis.storage.geotiff.GeoTiffStore;
 import org.springframework.http.HttpInputMessage;
 import org.springframework.http.HttpOutputMessage;
@@ -55,6 +65,16 @@ public class GridCoverageWriter implements HttpMessageConverter<GeotiffResponse>
 
     private static final Logger LOGGER = Logger.getLogger("org.constellation.coverage.ws.rs");
 
+    /**
+     * Size of the tiles when no tiling is requested.
+     */
+    private static final int DEFAULT_TILE_SIZE = 256;
+
+    /**
+     * Size above which the file is written in BigTIFF format, with some margin for the compression overhead.
+     */
+    private static final long BIG_TIFF_THRESHOLD = 0xF0000000L;
+
     @Override
     public boolean canRead(Class<?> clazz, MediaType mediaType) {
         return false;
@@ -80,14 +100,9 @@ public class GridCoverageWriter implements HttpMessageConverter<GeotiffResponse>
         File f = null;
         try {
             f = writeInFile(entry);
-            byte[] buf = new byte[8192];
-            try (FileInputStream is = new FileInputStream(f);
-                    OutputStream out = outputMessage.getBody()) {
-                int c;
-                while ((c = is.read(buf, 0, buf.length)) > 0) {
-                    out.write(buf, 0, c);
-                    out.flush();
-                }
+            outputMessage.getHeaders().setContentLength(f.length());
+            try (OutputStream out = outputMessage.getBody()) {
+                Files.copy(f.toPath(), out);
             }
         } catch (IOException ex) {
             throw ex;
@@ -137,26 +152,93 @@ public class GridCoverageWriter implements HttpMessageConverter<GeotiffResponse>
             }
         }
 
-        // TIFF writer do no support writing in output stream currently, we have to write in a file before
-        final File f = File.createTempFile("data", ".tiff");
-        try (final GeoTiffStore iowriter = (GeoTiffStore) DataStores.openWritable(f, "GeoTIFF")) {
-            
-        // TODO apply on new store
-        
-        /*TiffImageWriteParam param = new TiffImageWriteParam(iowriter);
-        if (entry.compression != null && !entry.compression.equals("NONE")) {
-            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
-            param.setCompressionType(entry.compression);
+        /*
+         * The image is written by tiles, computed in parallel from the source coverage.
+         * The multi-dimensional coverages are written with their own layout.
+         */
+        PrefetchTiledImage tiled = null;
+        if (coverage.getGridGeometry().getDimension() == 2) {
+            final RenderedImage image = coverage.render(null);
+            final int tileWidth  = entry.tiling ? entry.tileWidth  : Math.min(DEFAULT_TILE_SIZE, image.getWidth());
+            final int tileHeight = entry.tiling ? entry.tileHeight : Math.min(DEFAULT_TILE_SIZE, image.getHeight());
+            if (image.getTileWidth() != tileWidth || image.getTileHeight() != tileHeight) {
+                tiled = new PrefetchTiledImage(image, tileWidth, tileHeight);
+                coverage = new GridCoverage2D(coverage.getGridGeometry(), coverage.getSampleDimensions(), tiled);
+            }
         }
-        if (entry.tiling) {
-            param.setTilingMode(ImageWriteParam.MODE_EXPLICIT);
-            param.setTiling(entry.tileWidth, entry.tileHeight, 0, 0);
+
+        try {
+            // TIFF writer needs to update the file offsets after writing the tiles, we have to write in a file before
+            final File f = File.createTempFile("data", ".tiff");
+            final StorageConnector connector = new StorageConnector(f.toPath());
+            final Compression compression = getCompression(entry.compression);
+            if (compression != null) {
+                connector.setOption(Compression.OPTION_KEY, compression);
+            }
+            final List<FormatModifier> modifiers = new ArrayList<>();
+            if (!isMultipleOf16(coverage)) {
+                modifiers.add(FormatModifier.ANY_TILE_SIZE);
+            }
+            if (estimateSize(coverage) > BIG_TIFF_THRESHOLD) {
+                modifiers.add(FormatModifier.BIG_TIFF);
+            }
+            if (!modifiers.isEmpty()) {
+                connector.setOption(FormatModifier.OPTION_KEY, modifiers.toArray(FormatModifier[]::new));
+            }
+            try (final GeoTiffStore iowriter = (GeoTiffStore) DataStores.openWritable(connector, "GeoTIFF")) {
+                iowriter.append(coverage, null);
+            } catch (Exception ex) {
+                IOUtilities.deleteSilently(f.toPath());
+                throw ex;
+            }
+            return f;
+        } finally {
+            if (tiled != null) tiled.close();
         }
-          iowriter.write(null, iioimage, param);
-        iowriter.dispose();
-         */
-        iowriter.append(coverage, null);
+    }
+
+    /**
+     * Return the TIFF compression for the name requested in the GeoTIFF coverage extension,
+     * or {@code null} for the default compression of the store.
+     */
+    private static Compression getCompression(final String name) {
+        if (name == null) {
+            return null;
+        }
+        switch (name.toUpperCase()) {
+            case "NONE":    return Compression.NONE;
+            case "LZW":     return Compression.LZW;
+            case "DEFLATE": return Compression.DEFLATE;
+            default:
+                LOGGER.log(Level.INFO, "Unsupported TIFF compression {0}, DEFLATE will be used instead.", name);
+                return Compression.DEFLATE;
+        }
+    }
+
+    private static boolean isMultipleOf16(final GridCoverage coverage) {
+        if (coverage instanceof GridCoverage2D c2d) {
+            final RenderedImage image = c2d.render(null);
+            return image.getTileWidth() % 16 == 0 && image.getTileHeight() % 16 == 0;
+        }
+        return true;
+    }
+
+    /**
+     * Estimate the uncompressed size of the coverage, in bytes.
+     */
+    private static long estimateSize(final GridCoverage coverage) {
+        final GridExtent extent = coverage.getGridGeometry().getExtent();
+        long size;
+        try {
+            final SampleModel model = coverage.render(null).getSampleModel();
+            size = Math.ceilDiv((long) model.getNumBands() * DataBuffer.getDataTypeSize(model.getDataType()), Byte.SIZE);
+        } catch (RuntimeException ex) {
+            // the coverage can not be rendered without a slice, assume the largest sample type.
+            size = coverage.getSampleDimensions().size() * (long) Double.BYTES;
+        }
+        for (int i = 0; i < extent.getDimension(); i++) {
+            size = Math.multiplyExact(size, extent.getSize(i));
         }
-        return f;
+        return size;
     }
 }
@@ -0,0 +1,189 @@
+/*
+ *    Examind Community - An open source and standard compliant SDI
+ *    https://community.examind.com/
+ *
+ * Copyright 2026 Geomatys.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.constellation.coverage.ws.rs;
+
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.image.ColorModel;
+import java.awt.image.ImagingOpException;
+import java.awt.image.Raster;
+import java.awt.image.RenderedImage;
+import java.awt.image.SampleModel;
+import java.awt.image.WritableRaster;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.apache.sis.image.PlanarImage;
+
+/**
+ * A view of an image with a different tile layout, whose tiles are computed in parallel.
+ * <p>
+ * The tiles are expected to be requested in row-major order, as done by the TIFF writer. When a tile is requested,
+ * the computation of the next tiles is started in background, so the source coverage is read and resampled
+ * by many threads while the previous tiles are compressed and written. The number of tiles computed in advance
+ * is bounded, so the whole image is never held in memory and a single request can not occupy all the threads.
+ * The tiles are computed by a pool shared by all the images, bounded by the number of processors,
+ * so concurrent requests do not multiply the number of threads. The computations not yet requested
+ * are cancelled by {@link #close()}.
+ * </p>
+ */
+final class PrefetchTiledImage extends PlanarImage implements AutoCloseable {
+
+    /**
+     * Threads computing the tiles in background, shared by all the images.
+     */
+    private static final ExecutorService EXECUTOR;
+    static {
+        final int nbThreads = Runtime.getRuntime().availableProcessors();
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(nbThreads, nbThreads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+            final Thread t = new Thread(r, "prefetch-tile");
+            t.setDaemon(true);
+            return t;
+        });
+        executor.allowCoreThreadTimeOut(true);
+        EXECUTOR = executor;
+    }
+
+    /**
+     * Maximum number of tiles computed in advance for a single image.
+     */
+    private static final int READ_AHEAD = Math.min(2 * Runtime.getRuntime().availableProcessors(), 16);
+
+    private final RenderedImage source;
+
+    private final SampleModel sampleModel;
+
+    private final Rectangle bounds;
+
+    private final int tileWidth, tileHeight;
+
+    private final int numXTiles, numYTiles;
+
+    /**
+     * Tiles being computed in background, by index in row-major order.
+     */
+    private final Map<Integer, FutureTask<Raster>> pending = new ConcurrentHashMap<>();
+
+    /**
+     * Index of the last tile whose computation has been started. Guarded by {@code this}.
+     */
+    private int lastScheduled = -1;
+
+    /**
+     * Whether {@link #close()} has been invoked. Guarded by {@code this}.
+     */
+    private boolean closed;
+
+    PrefetchTiledImage(final RenderedImage source, final int tileWidth, final int tileHeight) {
+        this.source      = source;
+        this.tileWidth   = tileWidth;
+        this.tileHeight  = tileHeight;
+        this.bounds      = new Rectangle(source.getMinX(), source.getMinY(), source.getWidth(), source.getHeight());
+        this.sampleModel = source.getSampleModel().createCompatibleSampleModel(tileWidth, tileHeight);
+        this.numXTiles   = Math.ceilDiv(bounds.width,  tileWidth);
+        this.numYTiles   = Math.ceilDiv(bounds.height, tileHeight);
+    }
+
+    @Override public ColorModel  getColorModel()  {return source.getColorModel();}
+    @Override public SampleModel getSampleModel() {return sampleModel;}
+    @Override public int getMinX()                {return bounds.x;}
+    @Override public int getMinY()                {return bounds.y;}
+    @Override public int getWidth()               {return bounds.width;}
+    @Override public int getHeight()              {return bounds.height;}
+    @Override public int getTileWidth()           {return tileWidth;}
+    @Override public int getTileHeight()          {return tileHeight;}
+    @Override public int getMinTileX()            {return 0;}
+    @Override public int getMinTileY()            {return 0;}
+    @Override public int getNumXTiles()           {return numXTiles;}
+    @Override public int getNumYTiles()           {return numYTiles;}
+    @Override public int getTileGridXOffset()     {return bounds.x;}
+    @Override public int getTileGridYOffset()     {return bounds.y;}
+
+    @Override
+    public Raster getTile(final int tileX, final int tileY) {
+        final int index = tileY * numXTiles + tileX;
+        final FutureTask<Raster> tile = pending.remove(index);
+        prefetch(index);
+        if (tile == null) {
+            return computeTile(tileX, tileY);
+        }
+        try {
+            // if the shared pool is saturated and the tile is still queued, compute it in the current thread.
+            tile.run();
+            return tile.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw (ImagingOpException) new ImagingOpException("Interrupted while computing tile " + tileX + ',' + tileY).initCause(ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw (ImagingOpException) new ImagingOpException("Unable to compute tile " + tileX + ',' + tileY).initCause(ex.getCause());
+        }
+    }
+
+    /**
+     * Start the computation of the tiles following the specified one.
+     */
+    private synchronized void prefetch(final int index) {
+        if (closed) {
+            return;
+        }
+        final int last = Math.min(index + READ_AHEAD, numXTiles * numYTiles - 1);
+        for (int i = Math.max(index, lastScheduled) + 1; i <= last; i++) {
+            final int tileX = i % numXTiles;
+            final int tileY = i / numXTiles;
+            try {
+                final FutureTask<Raster> task = new FutureTask<>(() -> computeTile(tileX, tileY));
+                pending.put(i, task);
+                EXECUTOR.execute(task);
+            } catch (RejectedExecutionException ex) {
+                // should not happen with an unbounded queue, the remaining tiles will be computed on request.
+                return;
+            }
+            lastScheduled = i;
+        }
+    }
+
+    private Raster computeTile(final int tileX, final int tileY) {
+        final int x = bounds.x + tileX * tileWidth;
+        final int y = bounds.y + tileY * tileHeight;
+        final WritableRaster tile = Raster.createWritableRaster(sampleModel, new Point(x, y));
+        // the last tiles may be larger than the image
+        final Rectangle area = new Rectangle(x, y, tileWidth, tileHeight).intersection(bounds);
+        source.copyData(tile.createWritableChild(area.x, area.y, area.width, area.height, area.x, area.y, null));
+        return tile;
+    }
+
+    /**
+     * Cancel the computation of the tiles which have not been requested.
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        pending.values().forEach(f -> f.cancel(true));
+        pending.clear();
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ *    Examind Community - An open source and standard compliant SDI
+ *    https://community.examind.com/
+ *
+ * Copyright 2026 Geomatys.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.constellation.coverage.ws.rs;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.Raster;
+import java.awt.image.RenderedImage;
+import java.awt.image.WritableRaster;
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.sis.coverage.grid.GridCoverage;
+import org.apache.sis.coverage.grid.GridCoverageBuilder;
+import org.apache.sis.geometry.GeneralEnvelope;
+import org.apache.sis.referencing.CommonCRS;
+import org.apache.sis.storage.DataStores;
+import org.apache.sis.storage.GridCoverageResource;
+import org.apache.sis.storage.geotiff.GeoTiffStore;
+import org.geotoolkit.nio.IOUtilities;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Write small coverages with {@link GridCoverageWriter} and read them back.
+ */
+public class GridCoverageWriterTest {
+
+    private static final int TAG_COMPRESSION = 259;
+    private static final int TAG_TILE_WIDTH  = 322;
+    private static final int TAG_TILE_HEIGHT = 323;
+
+    private static final int COMPRESSION_NONE = 1;
+    private static final int COMPRESSION_LZW  = 5;
+
+    @Test
+    public void tiledDeflateTest() throws Exception {
+        final BufferedImage source = createImage(100, 70);
+        final GeotiffResponse entry = createResponse(source, "DEFLATE");
+        entry.tiling     = true;
+        entry.tileWidth  = 32;
+        entry.tileHeight = 32;
+
+        final Path file = GridCoverageWriter.writeInFile(entry).toPath();
+        try {
+            final Map<Integer, Long> tags = readFirstDirectory(file);
+            assertEquals(Long.valueOf(32), tags.get(TAG_TILE_WIDTH));
+            assertEquals(Long.valueOf(32), tags.get(TAG_TILE_HEIGHT));
+            assertDeflate(tags.get(TAG_COMPRESSION));
+            assertSameValues(source, file);
+        } finally {
+            IOUtilities.deleteSilently(file);
+        }
+    }
+
+    @Test
+    public void lzwTest() throws Exception {
+        final BufferedImage source = createImage(64, 48);
+        final Path file = GridCoverageWriter.writeInFile(createResponse(source, "LZW")).toPath();
+        try {
+            assertEquals(Long.valueOf(COMPRESSION_LZW), readFirstDirectory(file).get(TAG_COMPRESSION));
+            assertSameValues(source, file);
+        } finally {
+            IOUtilities.deleteSilently(file);
+        }
+    }
+
+    @Test
+    public void noCompressionTest() throws Exception {
+        final BufferedImage source = createImage(64, 48);
+        final Path file = GridCoverageWriter.writeInFile(createResponse(source, "None")).toPath();
+        try {
+            assertEquals(Long.valueOf(COMPRESSION_NONE), readFirstDirectory(file).get(TAG_COMPRESSION));
+            assertSameValues(source, file);
+        } finally {
+            IOUtilities.deleteSilently(file);
+        }
+    }
+
+    /**
+     * PackBits is not supported by the TIFF writer, DEFLATE is used instead.
+     */
+    @Test
+    public void packBitsSubstitutionTest() throws Exception {
+        final BufferedImage source = createImage(64, 48);
+        final Path file = GridCoverageWriter.writeInFile(createResponse(source, "PackBits")).toPath();
+        try {
+            assertDeflate(readFirstDirectory(file).get(TAG_COMPRESSION));
+            assertSameValues(source, file);
+        } finally {
+            IOUtilities.deleteSilently(file);
+        }
+    }
+
+    private static BufferedImage createImage(final int width, final int height) {
+        final BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_BYTE_GRAY);
+        final WritableRaster raster = image.getRaster();
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                raster.setSample(x, y, 0, (x * 7 + y * 13) % 256);
+            }
+        }
+        return image;
+    }
+
+    private static GeotiffResponse createResponse(final RenderedImage image, final String compression) {
+        final GeneralEnvelope env = new GeneralEnvelope(CommonCRS.defaultGeographic());
+        env.setRange(0, -180, 180);
+        env.setRange(1, -90, 90);
+        final GridCoverageBuilder builder = new GridCoverageBuilder();
+        builder.setDomain(env);
+        builder.setValues(image);
+        final GeotiffResponse entry = new GeotiffResponse();
+        entry.coverage    = builder.build();
+        entry.compression = compression;
+        return entry;
+    }
+
+    private static void assertDeflate(final Long compression) {
+        assertNotNull(compression);
+        // 8 is the Adobe code, 32946 the legacy one.
+        assertTrue("Unexpected compression: " + compression, compression == 8 || compression == 32946);
+    }
+
+    private static void assertSameValues(final RenderedImage expected, final Path file) throws Exception {
+        try (GeoTiffStore store = (GeoTiffStore) DataStores.open(file, "GeoTIFF")) {
+            assertEquals(1, store.components().size());
+            final GridCoverage coverage = ((GridCoverageResource) store.components().get(0)).read(null);
+            final Raster actual = coverage.render(null).getData();
+            final Raster source = expected.getData();
+            assertEquals(source.getWidth(),  actual.getWidth());
+            assertEquals(source.getHeight(), actual.getHeight());
+            for (int y = 0; y < source.getHeight(); y++) {
+                for (int x = 0; x < source.getWidth(); x++) {
+                    assertEquals("Pixel " + x + ',' + y, source.getSample(x, y, 0),
+                            actual.getSample(actual.getMinX() + x, actual.getMinY() + y, 0));
+                }
+            }
+        }
+    }
+
+    /**
+     * Read the numeric tags of the first image file directory of a classic TIFF file.
+     */
+    private static Map<Integer, Long> readFirstDirectory(final Path file) throws Exception {
+        final ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+        buffer.order(buffer.get(0) == 'I' ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN);
+        assertEquals("Classic TIFF expected", 42, buffer.getShort(2));
+        int offset = buffer.getInt(4);
+        final int count = Short.toUnsignedInt(buffer.getShort(offset));
+        offset += 2;
+        final Map<Integer, Long> tags = new HashMap<>();
+        for (int i = 0; i < count; i++, offset += 12) {
+            final int tag   = Short.toUnsignedInt(buffer.getShort(offset));
+            final int type  = Short.toUnsignedInt(buffer.getShort(offset + 2));
+            final int n     = buffer.getInt(offset + 4);
+            if (n != 1) continue;
+            switch (type) {
+                case 3: tags.put(tag, (long) Short.toUnsignedInt(buffer.getShort(offset + 8))); break;   // SHORT
+                case 4: tags.put(tag, Integer.toUnsignedLong(buffer.getInt(offset + 8))); break;          // LONG
+            }
+        }
+        return tags;
+    }
+}
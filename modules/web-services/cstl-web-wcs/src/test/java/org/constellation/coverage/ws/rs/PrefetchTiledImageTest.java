@@ -0,0 +1,74 @@
+/*
+ *    Examind Community - An open source and standard compliant SDI
+ *    https://community.examind.com/
+ *
+ * Copyright 2026 Geomatys.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.constellation.coverage.ws.rs;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.Raster;
+import java.awt.image.WritableRaster;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class PrefetchTiledImageTest {
+
+    @Test
+    public void tileLayoutTest() throws Exception {
+        final BufferedImage source = new BufferedImage(100, 70, BufferedImage.TYPE_BYTE_GRAY);
+        final WritableRaster raster = source.getRaster();
+        for (int y = 0; y < 70; y++) {
+            for (int x = 0; x < 100; x++) {
+                raster.setSample(x, y, 0, (x + 3 * y) % 256);
+            }
+        }
+        try (PrefetchTiledImage tiled = new PrefetchTiledImage(source, 32, 16)) {
+            assertEquals(4, tiled.getNumXTiles());
+            assertEquals(5, tiled.getNumYTiles());
+            assertEquals(100, tiled.getWidth());
+            assertEquals(70, tiled.getHeight());
+            for (int ty = 0; ty < tiled.getNumYTiles(); ty++) {
+                for (int tx = 0; tx < tiled.getNumXTiles(); tx++) {
+                    final Raster tile = tiled.getTile(tx, ty);
+                    assertEquals(32, tile.getWidth());
+                    assertEquals(16, tile.getHeight());
+                    assertEquals(tx * 32, tile.getMinX());
+                    assertEquals(ty * 16, tile.getMinY());
+                    for (int y = tile.getMinY(); y < Math.min(tile.getMinY() + 16, 70); y++) {
+                        for (int x = tile.getMinX(); x < Math.min(tile.getMinX() + 32, 100); x++) {
+                            assertEquals(raster.getSample(x, y, 0), tile.getSample(x, y, 0));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * The tiles requested out of order, or after close, are computed in the current thread.
+     */
+    @Test
+    public void outOfOrderTest() throws Exception {
+        final BufferedImage source = new BufferedImage(64, 64, BufferedImage.TYPE_BYTE_GRAY);
+        source.getRaster().setSample(50, 50, 0, 7);
+        final PrefetchTiledImage tiled = new PrefetchTiledImage(source, 16, 16);
+        tiled.getTile(0, 0);
+        tiled.close();
+        assertEquals(7, tiled.getTile(3, 3).getSample(50, 50, 0));
+        assertEquals(0, tiled.getTile(1, 0).getSample(20, 5, 0));
+    }
+}
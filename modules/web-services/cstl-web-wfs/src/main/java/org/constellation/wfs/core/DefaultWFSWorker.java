@@ -43,6 +43,8 @@ import java.util.function.UnaryOperator;
 import java.util.logging.Level;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import jakarta.xml.bind.JAXBElement;
 import javax.xml.namespace.QName;
 import javax.xml.stream.XMLStreamException;
@@ -64,6 +66,11 @@ import org.apache.sis.util.Version;
 import org.apache.sis.util.logging.Logging;
 import org.apache.sis.xml.Namespaces;
 import static org.constellation.api.CommonConstants.OUTPUT_FORMAT;
+import org.constellation.business.ClusterMessage;
+import org.constellation.business.IClusterBusiness;
+import org.constellation.business.MessageException;
+import org.constellation.business.MessageListener;
+import static org.constellation.business.ClusterMessageConstant.*;
 import org.constellation.api.ServiceDef;
 import org.constellation.api.WorkerState;
 import org.constellation.dto.contact.Details;
@@ -257,14 +264,84 @@ public class DefaultWFSWorker extends LayerWorker implements WFSWorker {
 
     private List<StoredQueryDescription> storedQueries = new ArrayList<>();
 
+    /**
+     * Count of the features matched by the GetFeature / GetPropertyValue requests.
+     */
+    private FeatureCountCache featureCounts = new FeatureCountCache(FeatureCountCache.Mode.EXACT, 0);
+
+    private String countListenerUid;
+
     public DefaultWFSWorker(final String id) {
         super(id, ServiceDef.Specification.WFS);
         if (getState().equals(WorkerState.ERROR)) return;
+        /*
+         * numberMatched: count mode of the matched features (exact, estimate or unknown).
+         * numberMatchedCacheTTL: time to live in seconds of the cached exact counts (default 300).
+         */
+        featureCounts = new FeatureCountCache(FeatureCountCache.Mode.parse(getProperty("numberMatched")),
+                                              getLongProperty("numberMatchedCacheTTL", 300) * 1000);
         // loading stored queries
         loadStoredQueries();
         started();
     }
 
+    /**
+     * Reset the capabilities cache, the resolved layers cache and the cached feature counts.
+     * This method is called when a layer or a data of the service is modified.
+     */
+    @Override
+    public void clearCapabilitiesCache() {
+        super.clearCapabilitiesCache();
+        featureCounts.clear();
+    }
+
+    @PostConstruct
+    @Override
+    public void init() {
+        super.init();
+        //listen to the transactions made on the other members of the cluster to remove the cached feature counts
+        countListenerUid = clusterBusiness.addMessageListener(new MessageListener() {
+            @Override
+            protected boolean filter(ClusterMessage message) {
+                return FTC_MESSAGE_TYPE_ID.equals(message.getTypeId())
+                    && message.isRequest()
+                    && !message.getMemberUID().equals(clusterBusiness.getMemberUID())
+                    && getId().equals(message.get(KEY_IDENTIFIER));
+            }
+
+            @Override
+            protected ClusterMessage process(ClusterMessage message) throws MessageException {
+                final String action = message.getString(KEY_ACTION, false);
+                if (FTC_VALUE_ACTION_INVALIDATE.equals(action)) {
+                    final List<QName> layers = new ArrayList<>();
+                    if (message.get(FTC_KEY_LAYERS) instanceof Collection<?> names) {
+                        for (Object name : names) {
+                            layers.add(QName.valueOf(name.toString()));
+                        }
+                    }
+                    featureCounts.invalidate(layers);
+                } else {
+                    throw new MessageException("Unknown request action : " + action);
+                }
+                return null;
+            }
+
+            @Override
+            protected IClusterBusiness getClusterBusiness() {
+                return clusterBusiness;
+            }
+        });
+    }
+
+    @PreDestroy
+    @Override
+    public void destroy() {
+        if (countListenerUid != null) {
+            clusterBusiness.removeMessageListener(countListenerUid);
+        }
+        super.destroy();
+    }
+
     private void loadStoredQueries() {
         try {
             final Object obj = serviceBusiness.getExtraConfiguration("WFS", getId(), "StoredQueries.xml",  WFSMarshallerPool.getInstance());
@@ -1051,12 +1128,7 @@ public class DefaultWFSWorker extends LayerWorker implements WFSWorker {
                  }
 
                 // look for matching count before pagination
-                try {
-                    Long colMatch = FeatureStoreUtilities.getCount(origin.subset(subquery));
-                    nbMatched = nbMatched + colMatch.intValue();
-                } catch (DataStoreException ex) {
-                    throw new CstlServiceException(ex);
-                }
+                nbMatched = addMatchedCount(nbMatched, typeName, origin, cleanFilter, request.getResultType() == ResultTypeType.HITS);
 
                 if (startIndex != 0) {
                     subquery.setOffset(startIndex);
@@ -1165,6 +1237,32 @@ public class DefaultWFSWorker extends LayerWorker implements WFSWorker {
         return new FeatureSetWrapper(collections, schemaLocations, gmlVersion, currentVersion, nbMatched, nbReturned, singleFeature);
     }
 
+    /**
+     * Add the number of features of a layer matching the filter to the current number of matched features.
+     *
+     * @param nbMatched The current number of matched features, or {@code null} if unknown.
+     * @param typeName The requested layer.
+     * @param origin The feature set of the layer.
+     * @param filter The filter of the request on this layer.
+     * @param required {@code true} if the count has been explicitly requested by the client.
+     *
+     * @return The updated number of matched features, or {@code null} if unknown.
+     */
+    private Integer addMatchedCount(Integer nbMatched, QName typeName, FeatureSet origin, Filter filter, boolean required) throws CstlServiceException {
+        try {
+            // pagination, sort and projection do not change the count, and sorting the count query is costly.
+            final FeatureQuery countQuery = new FeatureQuery();
+            countQuery.setSelection(filter);
+            final Long colMatch = featureCounts.getCount(typeName, origin.subset(countQuery), filter, required);
+            if (nbMatched == null || colMatch == null) {
+                return null;
+            }
+            return nbMatched + colMatch.intValue();
+        } catch (DataStoreException ex) {
+            throw new CstlServiceException(ex);
+        }
+    }
+
     private boolean isAllFeatureTypes(List<QName> typeNames) {
         if (typeNames.isEmpty()) {
             return true;
@@ -1252,12 +1350,7 @@ public class DefaultWFSWorker extends LayerWorker implements WFSWorker {
                 subquery.setSelection(cleanFilter);
 
                 // look for matching count before pagination
-                try {
-                    Long colMatch = FeatureStoreUtilities.getCount(origin.subset(subquery));
-                    nbMatched = nbMatched + colMatch.intValue();
-                } catch (DataStoreException ex) {
-                    throw new CstlServiceException(ex);
-                }
+                nbMatched = addMatchedCount(nbMatched, layer.getName(), origin, cleanFilter, request.getResultType() == ResultTypeType.HITS);
 
                 if (startIndex != 0) {
                     subquery.setOffset(startIndex);
@@ -1354,6 +1447,34 @@ public class DefaultWFSWorker extends LayerWorker implements WFSWorker {
      */
     @Override
     public TransactionResponse transaction(final Transaction request) throws CstlServiceException {
+        final Set<QName> modifiedLayers = new HashSet<>();
+        try {
+            return transaction(request, modifiedLayers);
+        } finally {
+            // the cached counts are removed even on failure, as some actions may have been applied.
+            featureCounts.invalidate(modifiedLayers);
+            if (!modifiedLayers.isEmpty()) {
+                publishCountInvalidation(modifiedLayers);
+            }
+        }
+    }
+
+    /**
+     * Send an event to remove the cached counts of the modified layers on the other members of the cluster.
+     */
+    private void publishCountInvalidation(final Set<QName> modifiedLayers) {
+        final ArrayList<String> layers = new ArrayList<>();
+        for (QName layer : modifiedLayers) {
+            layers.add(layer.toString());
+        }
+        final ClusterMessage request = clusterBusiness.createRequest(FTC_MESSAGE_TYPE_ID, false);
+        request.put(KEY_ACTION, FTC_VALUE_ACTION_INVALIDATE);
+        request.put(KEY_IDENTIFIER, getId());
+        request.put(FTC_KEY_LAYERS, layers);
+        clusterBusiness.publish(request);
+    }
+
+    private TransactionResponse transaction(final Transaction request, final Set<QName> modifiedLayers) throws CstlServiceException {
         LOGGER.log(Level.FINE, "Transaction request processing\n");
         final long startTime = System.currentTimeMillis();
         assertTransactionnal("Transaction");
@@ -1454,6 +1575,7 @@ public class DefaultWFSWorker extends LayerWorker implements WFSWorker {
                     } catch (Exception ex) {
                         throw new CstlServiceException(UNKNOW_TYPENAME + typeName);
                     }
+                    modifiedLayers.add(layer.getName());
                     final FeatureData data = (FeatureData) layer.getData();
                     try {
                         final FeatureType type = data.getType();
@@ -1525,6 +1647,7 @@ public class DefaultWFSWorker extends LayerWorker implements WFSWorker {
                 } catch (CstlServiceException ex) {
                     throw new CstlServiceException(UNKNOW_TYPENAME + deleteRequest.getTypeName(), INVALID_PARAMETER_VALUE, "typename");
                 }
+                modifiedLayers.add(layer.getName());
                 final FeatureData data = (FeatureData) layer.getData();
                 try {
                     final FeatureType ft = data.getType();
@@ -1576,6 +1699,7 @@ public class DefaultWFSWorker extends LayerWorker implements WFSWorker {
                 } catch (CstlServiceException ex) {
                     throw new CstlServiceException(UNKNOW_TYPENAME + updateRequest.getTypeName(), INVALID_PARAMETER_VALUE, "typename");
                 }
+                modifiedLayers.add(layer.getName());
                 final FeatureData data = (FeatureData) layer.getData();
                 try {
                     final FeatureType ft = data.getType();
@@ -1746,6 +1870,7 @@ public class DefaultWFSWorker extends LayerWorker implements WFSWorker {
                 } catch (CstlServiceException ex) {
                     throw new CstlServiceException(UNKNOW_TYPENAME + typeName);
                 }
+                modifiedLayers.add(layer.getName());
 
                 try {
                     final FeatureData data = (FeatureData) layer.getData();
@@ -2381,7 +2506,11 @@ public class DefaultWFSWorker extends LayerWorker implements WFSWorker {
             if (query != null) {
                 fs = fs.subset(query);
             }
-            Integer nbMatched =  includedMatched ? FeatureStoreUtilities.getCount(fs).intValue() : null;
+            Integer nbMatched = null;
+            if (includedMatched) {
+                final Long count = featureCounts.getCount(layer.getName(), fs, filter, false);
+                nbMatched = count != null ? count.intValue() : null;
+            }
 
            /*
             * Apply paging
@@ -0,0 +1,215 @@
+/*
+ *    Examind Community - An open source and standard compliant SDI
+ *    https://community.examind.com/
+ *
+ * Copyright 2026 Geomatys.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.constellation.wfs.core;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.xml.namespace.QName;
+import org.apache.sis.cql.CQL;
+import org.apache.sis.storage.DataStoreException;
+import org.apache.sis.storage.FeatureSet;
+import org.geotoolkit.storage.feature.FeatureStoreUtilities;
+import org.opengis.filter.Filter;
+import org.opengis.metadata.content.ContentInformation;
+import org.opengis.metadata.content.FeatureCatalogueDescription;
+import org.opengis.metadata.content.FeatureTypeInfo;
+
+/**
+ * Compute the number of features matched by a request (numberMatched), following the count mode of the service:
+ * <ul>
+ *   <li>{@link Mode#EXACT}: the exact count, cached by layer and filter until the layer is modified.</li>
+ *   <li>{@link Mode#ESTIMATE}: the last count computed for the layer and filter, even if its time to live is exceeded.
+ *       When nothing is cached for an unfiltered request, the feature instance count declared in the metadata
+ *       of the feature set is used without running the query. The filtered requests, and the feature sets declaring
+ *       no count, pay the exact count once by layer and filter. The estimations are not cached, so they never
+ *       replace an exact count.</li>
+ *   <li>{@link Mode#UNKNOWN}: no count at all, unless the client explicitly ask for it (resultType=hits).</li>
+ * </ul>
+ * <p>
+ * The filters are identified by their CQL encoding, the counts of the filters that can not be encoded are not cached.
+ * A count is only added to the cache if no invalidation happened since the count started, as it may reflect the
+ * state of the layer before its modification.
+ * </p>
+ *
+ * This class is thread-safe.
+ */
+final class FeatureCountCache {
+
+    private static final Logger LOGGER = Logger.getLogger("org.constellation.wfs.core");
+
+    /**
+     * Maximum number of cached filters by layer. When reached, the counts of the layer are cleared.
+     */
+    private static final int MAX_FILTERS_BY_LAYER = 100;
+
+    enum Mode {
+        EXACT, ESTIMATE, UNKNOWN;
+
+        /**
+         * Parse the count mode from a service property value, {@link #EXACT} if the value is not set or not valid.
+         */
+        static Mode parse(final String value) {
+            if (value != null && !value.isEmpty()) {
+                try {
+                    return Mode.valueOf(value.trim().toUpperCase());
+                } catch (IllegalArgumentException ex) {
+                    LOGGER.log(Level.WARNING, "Invalid numberMatched mode: {0}", value);
+                }
+            }
+            return EXACT;
+        }
+    }
+
+    private final Mode mode;
+
+    /**
+     * Time to live of the cached counts in milliseconds, or 0 for no expiration.
+     * This protect against the modifications made directly on the data source, without going through the service.
+     */
+    private final long timeToLive;
+
+    /**
+     * Cached counts, by layer then by filter key.
+     */
+    private final Map<QName, Map<String, CachedCount>> counts = new ConcurrentHashMap<>();
+
+    /**
+     * Incremented by each invalidation. Guarded by {@link #counts}.
+     */
+    private long generation;
+
+    FeatureCountCache(final Mode mode, final long timeToLive) {
+        this.mode       = mode;
+        this.timeToLive = timeToLive;
+    }
+
+    /**
+     * Return the number of features matched by a request.
+     *
+     * @param layer Name of the requested layer.
+     * @param fs The feature set filtered by the request, without pagination.
+     * @param filter The filter applied on the layer, used as cache key. can be {@code null}.
+     * @param required {@code true} if the client explicitly requested the count (resultType=hits).
+     *
+     * @return The number of features matched, or {@code null} if unknown.
+     * @throws DataStoreException If the count of the feature set fails.
+     */
+    Long getCount(final QName layer, final FeatureSet fs, final Filter filter, final boolean required) throws DataStoreException {
+        if (!required && mode == Mode.UNKNOWN) {
+            return null;
+        }
+        final String key = filterKey(filter);
+        if (key == null) {
+            return FeatureStoreUtilities.getCount(fs);
+        }
+        final long now = System.currentTimeMillis();
+        final Map<String, CachedCount> layerCounts = counts.get(layer);
+        final CachedCount cached = layerCounts != null ? layerCounts.get(key) : null;
+        if (cached != null && ((!required && mode == Mode.ESTIMATE) || timeToLive <= 0 || now - cached.creation() <= timeToLive)) {
+            return cached.count();
+        }
+        if (!required && mode == Mode.ESTIMATE && key.isEmpty()) {
+            // the declared count is the size of the whole layer, meaningless for a filtered request
+            final Long estimation = estimateCount(fs);
+            if (estimation != null) {
+                return estimation;
+            }
+        }
+        final long readGeneration;
+        synchronized (counts) {
+            readGeneration = generation;
+        }
+        final Long count = FeatureStoreUtilities.getCount(fs);
+        synchronized (counts) {
+            if (readGeneration == generation) {
+                final Map<String, CachedCount> newCounts = counts.computeIfAbsent(layer, k -> new ConcurrentHashMap<>());
+                if (newCounts.size() >= MAX_FILTERS_BY_LAYER) {
+                    newCounts.clear();
+                }
+                newCounts.put(key, new CachedCount(count, now));
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Return the feature instance count declared in the metadata of the feature set, or {@code null} if none.
+     * The stores usually fill it from their own statistics (file header, database catalog, ...),
+     * so it is not computed by running the query.
+     */
+    private static Long estimateCount(final FeatureSet fs) {
+        try {
+            for (ContentInformation content : fs.getMetadata().getContentInfo()) {
+                if (content instanceof FeatureCatalogueDescription description) {
+                    for (FeatureTypeInfo info : description.getFeatureTypeInfo()) {
+                        final Integer count = info.getFeatureInstanceCount();
+                        if (count != null && count >= 0) {
+                            return count.longValue();
+                        }
+                    }
+                }
+            }
+        } catch (DataStoreException | RuntimeException ex) {
+            LOGGER.log(Level.FINE, "Unable to read the feature count from the metadata", ex);
+        }
+        return null;
+    }
+
+    /**
+     * Return a key identifying the filter, or {@code null} if the filter can not be encoded.
+     */
+    private static String filterKey(final Filter filter) {
+        if (filter == null || filter == Filter.include()) {
+            return "";
+        }
+        try {
+            return CQL.write(filter);
+        } catch (RuntimeException ex) {
+            LOGGER.log(Level.FINE, "Unable to encode the filter as a count cache key", ex);
+            return null;
+        }
+    }
+
+    /**
+     * Remove the cached counts of the specified layers.
+     */
+    void invalidate(final Collection<QName> layers) {
+        synchronized (counts) {
+            generation++;
+            for (QName layer : layers) {
+                counts.remove(layer);
+            }
+        }
+    }
+
+    /**
+     * Remove all the cached counts.
+     */
+    void clear() {
+        synchronized (counts) {
+            generation++;
+            counts.clear();
+        }
+    }
+
+    private record CachedCount(Long count, long creation) {}
+}
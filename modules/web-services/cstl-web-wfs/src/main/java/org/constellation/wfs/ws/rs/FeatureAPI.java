@@ -326,7 +326,14 @@ public class FeatureAPI extends GridWebService<WFSWorker> {
                 } else {
                     media = MediaType.APPLICATION_XML;
                 }
-                if ((offset + fsc.getNbReturned()) < fsc.getNbMatched()) {
+                // when the number of matched features is unknown, a full page means that there may be a next one.
+                final boolean hasNext;
+                if (fsc.getNbMatched() != null) {
+                    hasNext = (offset + fsc.getNbReturned()) < fsc.getNbMatched();
+                } else {
+                    hasNext = fsc.getNbReturned() >= limit;
+                }
+                if (hasNext) {
                     Link linkNext = new Link(url + "?offset=" + (offset + limit) + "&limit=" + limit + (bbox != null ? "&bbox=" + bbox : "") + (bbox_crs != null ? "&bbox-crs=" + bbox_crs : "") + (cqlFilter != null ? "&filter=" + cqlFilter : "") + "&f=" + format, "next", format, "next page");
                     links.add(linkNext);
                 }
@@ -0,0 +1,202 @@
+/*
+ *    Examind Community - An open source and standard compliant SDI
+ *    https://community.examind.com/
+ *
+ * Copyright 2026 Geomatys.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.constellation.wfs.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+import javax.xml.namespace.QName;
+import org.apache.sis.feature.builder.FeatureTypeBuilder;
+import org.apache.sis.metadata.iso.DefaultMetadata;
+import org.apache.sis.metadata.iso.content.DefaultFeatureCatalogueDescription;
+import org.apache.sis.metadata.iso.content.DefaultFeatureTypeInfo;
+import org.apache.sis.storage.DataStoreException;
+import org.apache.sis.storage.FeatureQuery;
+import org.apache.sis.storage.FeatureSet;
+import org.apache.sis.storage.event.StoreEvent;
+import org.apache.sis.storage.event.StoreListener;
+import org.geotoolkit.filter.FilterUtilities;
+import org.geotoolkit.storage.memory.InMemoryFeatureSet;
+import org.junit.Assert;
+import org.junit.Test;
+import org.opengis.feature.Feature;
+import org.opengis.feature.FeatureType;
+import org.opengis.filter.Filter;
+import org.opengis.geometry.Envelope;
+import org.opengis.metadata.Metadata;
+import org.opengis.util.GenericName;
+
+public class FeatureCountCacheTest {
+
+    private static final QName LAYER = new QName("http://test", "layer");
+
+    private static FeatureSet buildFeatureSet(int nbFeatures) {
+        final FeatureTypeBuilder builder = new FeatureTypeBuilder();
+        builder.addAttribute(String.class).setName("name");
+        final FeatureType type = builder.setName("layer").build();
+        final List<Feature> features = new ArrayList<>();
+        for (int i = 0; i < nbFeatures; i++) {
+            final Feature f = type.newInstance();
+            f.setPropertyValue("name", "f" + i);
+            features.add(f);
+        }
+        return new InMemoryFeatureSet(type, features);
+    }
+
+    @Test
+    public void exactCountTest() throws Exception {
+        final FeatureCountCache cache = new FeatureCountCache(FeatureCountCache.Mode.EXACT, 0);
+        final Filter filter = FilterUtilities.FF.equal(FilterUtilities.FF.property("name"), FilterUtilities.FF.literal("f1"));
+
+        Assert.assertEquals(Long.valueOf(3), cache.getCount(LAYER, buildFeatureSet(3), null, false));
+
+        // the count is cached by layer and filter
+        Assert.assertEquals(Long.valueOf(3), cache.getCount(LAYER, buildFeatureSet(5), null, false));
+        Assert.assertEquals(Long.valueOf(5), cache.getCount(LAYER, buildFeatureSet(5), filter, false));
+
+        // a modification of the layer remove its counts
+        cache.invalidate(Set.of(LAYER));
+        Assert.assertEquals(Long.valueOf(5), cache.getCount(LAYER, buildFeatureSet(5), null, false));
+
+        cache.clear();
+        Assert.assertEquals(Long.valueOf(2), cache.getCount(LAYER, buildFeatureSet(2), null, false));
+    }
+
+    @Test
+    public void estimateCountTest() throws Exception {
+        final FeatureCountCache cache = new FeatureCountCache(FeatureCountCache.Mode.ESTIMATE, 1);
+        final Filter filter = FilterUtilities.FF.equal(FilterUtilities.FF.property("name"), FilterUtilities.FF.literal("f1"));
+        final FeatureQuery query = new FeatureQuery();
+        query.setSelection(filter);
+
+        // the count of a filtered subset is the filtered count, not the size of the layer
+        Assert.assertEquals(Long.valueOf(1), cache.getCount(LAYER, buildFeatureSet(3).subset(query), filter, false));
+
+        // an expired count is still used as an estimation
+        Thread.sleep(10);
+        Assert.assertEquals(Long.valueOf(3), cache.getCount(LAYER, buildFeatureSet(3), null, false));
+        Thread.sleep(10);
+        Assert.assertEquals(Long.valueOf(3), cache.getCount(LAYER, buildFeatureSet(5), null, false));
+
+        // but not when the client explicitly ask for the count
+        Assert.assertEquals(Long.valueOf(5), cache.getCount(LAYER, buildFeatureSet(5), null, true));
+
+        // an equal filter built separately share the same cached count
+        final Filter same = FilterUtilities.FF.equal(FilterUtilities.FF.property("name"), FilterUtilities.FF.literal("f1"));
+        Assert.assertEquals(Long.valueOf(1), cache.getCount(LAYER, buildFeatureSet(5), same, false));
+    }
+
+    @Test
+    public void declaredCountTest() throws Exception {
+        // the metadata declares 10 features while the set contains 3
+        final FeatureSet fs = new DeclaredCountFeatureSet(buildFeatureSet(3), 10);
+
+        // the declared count is used as estimation, without running the query
+        final FeatureCountCache estimate = new FeatureCountCache(FeatureCountCache.Mode.ESTIMATE, 0);
+        Assert.assertEquals(Long.valueOf(10), estimate.getCount(LAYER, fs, null, false));
+        // but not when the client explicitly ask for the count, and the exact count is then preferred
+        Assert.assertEquals(Long.valueOf(3), estimate.getCount(LAYER, fs, null, true));
+        Assert.assertEquals(Long.valueOf(3), estimate.getCount(LAYER, fs, null, false));
+
+        // the declared count of the layer is not an estimation of a filtered request
+        final Filter filter = FilterUtilities.FF.equal(FilterUtilities.FF.property("name"), FilterUtilities.FF.literal("f1"));
+        final FeatureQuery query = new FeatureQuery();
+        query.setSelection(filter);
+        final FeatureSet filtered = new DeclaredCountFeatureSet(buildFeatureSet(3).subset(query), 10);
+        Assert.assertEquals(Long.valueOf(1), new FeatureCountCache(FeatureCountCache.Mode.ESTIMATE, 0).getCount(LAYER, filtered, filter, false));
+
+        // the exact mode ignores the declared count
+        final FeatureCountCache exact = new FeatureCountCache(FeatureCountCache.Mode.EXACT, 0);
+        Assert.assertEquals(Long.valueOf(3), exact.getCount(LAYER, fs, null, false));
+    }
+
+    @Test
+    public void unknownCountTest() throws Exception {
+        final FeatureCountCache cache = new FeatureCountCache(FeatureCountCache.Mode.UNKNOWN, 0);
+
+        Assert.assertNull(cache.getCount(LAYER, buildFeatureSet(3), null, false));
+
+        // the count is still computed when explicitly requested
+        Assert.assertEquals(Long.valueOf(3), cache.getCount(LAYER, buildFeatureSet(3), null, true));
+    }
+
+    @Test
+    public void parseModeTest() {
+        Assert.assertEquals(FeatureCountCache.Mode.EXACT,    FeatureCountCache.Mode.parse(null));
+        Assert.assertEquals(FeatureCountCache.Mode.EXACT,    FeatureCountCache.Mode.parse("something"));
+        Assert.assertEquals(FeatureCountCache.Mode.ESTIMATE, FeatureCountCache.Mode.parse("estimate"));
+        Assert.assertEquals(FeatureCountCache.Mode.UNKNOWN,  FeatureCountCache.Mode.parse("Unknown"));
+    }
+
+    /**
+     * A feature set declaring a feature count in its metadata.
+     */
+    private static final class DeclaredCountFeatureSet implements FeatureSet {
+
+        private final FeatureSet source;
+
+        private final Metadata metadata;
+
+        private DeclaredCountFeatureSet(final FeatureSet source, final int declaredCount) throws DataStoreException {
+            this.source = source;
+            final DefaultFeatureTypeInfo info = new DefaultFeatureTypeInfo();
+            info.setFeatureInstanceCount(declaredCount);
+            final DefaultFeatureCatalogueDescription description = new DefaultFeatureCatalogueDescription();
+            description.setFeatureTypeInfo(List.of(info));
+            final DefaultMetadata md = new DefaultMetadata();
+            md.setContentInfo(List.of(description));
+            this.metadata = md;
+        }
+
+        @Override
+        public Optional<GenericName> getIdentifier() throws DataStoreException {
+            return source.getIdentifier();
+        }
+
+        @Override
+        public Metadata getMetadata() {
+            return metadata;
+        }
+
+        @Override
+        public Optional<Envelope> getEnvelope() throws DataStoreException {
+            return source.getEnvelope();
+        }
+
+        @Override
+        public FeatureType getType() throws DataStoreException {
+            return source.getType();
+        }
+
+        @Override
+        public Stream<Feature> features(final boolean parallel) throws DataStoreException {
+            return source.features(parallel);
+        }
+
+        @Override
+        public <T extends StoreEvent> void addListener(final Class<T> eventType, final StoreListener<? super T> listener) {
+        }
+
+        @Override
+        public <T extends StoreEvent> void removeListener(final Class<T> eventType, final StoreListener<? super T> listener) {
+        }
+    }
+}
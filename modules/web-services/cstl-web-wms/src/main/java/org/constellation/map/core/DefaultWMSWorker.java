@@ -25,7 +25,9 @@ import java.awt.Graphics2D;
 import java.awt.Rectangle;
 import java.awt.RenderingHints;
 import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
 import java.io.FileNotFoundException;
+import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.text.DateFormat;
@@ -64,6 +66,7 @@ import org.constellation.map.featureinfo.FeatureInfoFormat;
 import org.constellation.map.featureinfo.FeatureInfoUtilities;
 import org.constellation.portrayal.CstlPortrayalService;
 import org.constellation.portrayal.PortrayalResponse;
+import org.constellation.portrayal.RenderedTileCache;
 import org.constellation.provider.CoverageData;
 import org.constellation.provider.Data;
 import org.constellation.util.Util;
@@ -1086,6 +1089,26 @@ public class DefaultWMSWorker extends LayerWorker implements WMSWorker {
         final String mime = getMap.getFormat();
         final OutputDef odef = mapPortrayal.getOutputDef(mime);
 
+        // look for a previously rendered image
+        final String cacheKey = getRenderedTileKey(getMap, layersCache, refEnv, odef);
+        if (cacheKey != null) {
+            final byte[] cached = renderedTileCache.get(cacheKey);
+            if (cached != null) {
+                return new PortrayalResponse(cached, odef);
+            }
+            // read before rendering, so an image rendered with a configuration cleared meanwhile is not cached.
+            final long epoch = renderedTileCache.epoch();
+            try (final ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+                odef.setOutput(out);
+                CstlPortrayalService.getInstance().portray(sdef, cdef, odef);
+                final byte[] rendered = out.toByteArray();
+                renderedTileCache.put(cacheKey, epoch, rendered);
+                return new PortrayalResponse(rendered, odef);
+            } catch (PortrayalException | IOException ex) {
+                return handleExceptions(getMap, errorInImage, errorBlank, ex, NO_APPLICABLE_CODE, null);
+            }
+        }
+
         final PortrayalResponse response = new PortrayalResponse(cdef, sdef, odef);
         if (!mapPortrayal.isCoverageWriter() && DefaultPortrayalService.isImageFormat(odef.getMime())) {
             try {
@@ -1098,6 +1121,42 @@ public class DefaultWMSWorker extends LayerWorker implements WMSWorker {
         return response;
     }
 
+    /**
+     * Build the rendered tile cache key of a GetMap request.
+     * Only the requests fully described by their parameters can be cached:
+     * requests with a SLD body or a XML filter are excluded.
+     *
+     * @param getMap The GetMap request.
+     * @param layers The requested layers.
+     * @param refEnv The view envelope, including the default dimension values.
+     * @param odef The output definition.
+     *
+     * @return A cache key, or {@code null} if the cache is disabled or if the request can not be cached.
+     */
+    private String getRenderedTileKey(final GetMap getMap, final List<LayerCache> layers, final Envelope refEnv, final OutputDef odef) {
+        if (renderedTileCache == null || getMap.getSld() != null
+                || mapPortrayal.isCoverageWriter() || !DefaultPortrayalService.isImageFormat(odef.getMime())) {
+            return null;
+        }
+        final Map<String, Object> extraParams = getMap.getParameters();
+        if (extraParams.containsKey(WMSConstant.KEY_FILTER)) {
+            return null;
+        }
+        final List<Integer> layerIds = layers.stream().map(LayerCache::getId).toList();
+        return RenderedTileCache.key(layerIds,
+                                     getMap.getStyles(),
+                                     IdentifiedObjects.getIdentifierOrName(refEnv.getCoordinateReferenceSystem()),
+                                     Arrays.toString(refEnv.getLowerCorner().getCoordinates()),
+                                     Arrays.toString(refEnv.getUpperCorner().getCoordinates()),
+                                     getMap.getSize(),
+                                     getMap.getFormat(),
+                                     getMap.getTransparent(),
+                                     getMap.getBackground(),
+                                     getMap.getAzimuth(),
+                                     getMap.getVersion(),
+                                     new TreeMap<>(extraParams));
+    }
+
     /**
      * Try to force easting/northing orientation on older WMS versions (< 1.3.0).
      * In 1.3.0, the standard clearly states that the service must interpret CRS codes according to their definition,
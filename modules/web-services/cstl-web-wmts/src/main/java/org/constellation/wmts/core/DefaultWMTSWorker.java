@@ -35,6 +35,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.TimeZone;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.logging.Level;
 import javax.xml.namespace.QName;
@@ -164,6 +165,18 @@ public class DefaultWMTSWorker extends LayerWorker implements WMTSWorker {
     private final HashMap<String, HashSet<String>> tmsIdBinding = new HashMap<>();
     private final ReentrantReadWriteLock tmsBindingLock = new ReentrantReadWriteLock();
 
+    /**
+     * Index of the tile matrix sets and tile matrices of each tiled layer, by layer identifier.
+     * Avoid to browse all the pyramids levels at each GetTile request.
+     */
+    private final Map<Integer, TileMatrixIndex> tileMatrixIndexes = new ConcurrentHashMap<>();
+
+    /**
+     * Minimal delay in milliseconds between two rebuilds of the index of a layer caused by an unknown tile matrix,
+     * so the requests with an invalid tile matrix set or tile matrix do not rebuild the index each time.
+     */
+    private static final long TILE_MATRIX_INDEX_REFRESH_DELAY = 10_000;
+
     public DefaultWMTSWorker(final String id) {
         super(id, ServiceDef.Specification.WMTS);
         started();
@@ -732,7 +745,8 @@ public class DefaultWMTSWorker extends LayerWorker implements WMTSWorker {
         }
 
         try {
-            final Data data = getLayerCache(userLogin, layerName).getData();
+            final LayerCache layer = getLayerCache(userLogin, layerName);
+            final Data data = layer.getData();
             if (data == null) {
                 throw new CstlServiceException("Operation request contains an invalid parameter value, "
                         + "No layer for name : " + layerName,
@@ -742,26 +756,22 @@ public class DefaultWMTSWorker extends LayerWorker implements WMTSWorker {
             final Resource origin = data.getOrigin();
             if (origin == null) throw new CstlServiceException("Invalid layer: no resource associated", INVALID_PARAMETER_VALUE, "layerName");
             else if (!(origin instanceof TiledResource)) throw new CstlServiceException("Invalid layer: not a tiled resource", INVALID_PARAMETER_VALUE, "layerName");
-            org.apache.sis.storage.tiling.TileMatrixSet pyramid = null;
-            for (org.apache.sis.storage.tiling.TileMatrixSet pr : ((TiledResource) origin).getTileMatrixSets()) {
-                if (validPyramidNames.contains(pr.getIdentifier().toString())) {
-                    pyramid = pr;
-                    break;
-                }
+
+            TileMatrixIndex index = getTileMatrixIndex(layer.getId(), (TiledResource) origin, false);
+            TileMatrixIndex.IndexedTileMatrixSet indexedSet = index.getTileMatrixSet(validPyramidNames);
+            org.apache.sis.storage.tiling.TileMatrix mosaic = indexedSet != null ? indexedSet.getTileMatrix(level) : null;
+            if (mosaic == null) {
+                // the pyramid may have been modified since the index creation
+                index = getTileMatrixIndex(layer.getId(), (TiledResource) origin, true);
+                indexedSet = index.getTileMatrixSet(validPyramidNames);
+                mosaic = indexedSet != null ? indexedSet.getTileMatrix(level) : null;
             }
-            if (pyramid == null) {
+            if (indexedSet == null) {
                 throw new CstlServiceException("Operation request contains an invalid parameter value,"
                         + " undefined matrixSet: " + matrixSetName + " for layer: " + layerName,
                         INVALID_PARAMETER_VALUE, "tilematrixset");
             }
-
-            org.apache.sis.storage.tiling.TileMatrix mosaic = null;
-            for (org.apache.sis.storage.tiling.TileMatrix gm : pyramid.getTileMatrices().values()) {
-                if (gm.getIdentifier().toString().equals(level)) {
-                    mosaic = gm;
-                    break;
-                }
-            }
+            final org.apache.sis.storage.tiling.TileMatrixSet pyramid = indexedSet.set();
 
             // 4. If we found a base mosaic and user specified additional dimensions, we try to switch on the right slice.
             final List<DimensionNameValue> dimensions = request.getDimensionNameValue();
@@ -806,6 +816,35 @@ public class DefaultWMTSWorker extends LayerWorker implements WMTSWorker {
         }
     }
 
+    /**
+     * Return the tile matrix index of a tiled layer, building it if needed.
+     *
+     * @param layerId Identifier of the layer.
+     * @param origin The tiled resource of the layer.
+     * @param refresh If {@code true} a new index will be built even if one is already present,
+     *                unless the present one has been built less than {@link #TILE_MATRIX_INDEX_REFRESH_DELAY} ago.
+     *
+     * @return The tile matrix index of the layer.
+     * @throws DataStoreException If an error occurs while reading the tile matrix sets of the resource.
+     */
+    private TileMatrixIndex getTileMatrixIndex(final Integer layerId, final TiledResource origin, final boolean refresh) throws DataStoreException {
+        TileMatrixIndex index = tileMatrixIndexes.get(layerId);
+        if (index == null || !index.isIndexOf(origin) || (refresh && index.isOlderThan(TILE_MATRIX_INDEX_REFRESH_DELAY))) {
+            index = new TileMatrixIndex(origin);
+            tileMatrixIndexes.put(layerId, index);
+        }
+        return index;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clearCapabilitiesCache() {
+        super.clearCapabilitiesCache();
+        tileMatrixIndexes.clear();
+    }
+
     /**
      * Create empty TileReference with black image as input.
      * @param mosaic
@@ -0,0 +1,132 @@
+/*
+ *    Examind Community - An open source and standard compliant SDI
+ *    https://community.examind.com/
+ *
+ * Copyright 2026 Geomatys.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.constellation.wmts.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.apache.sis.storage.DataStoreException;
+import org.apache.sis.storage.tiling.TileMatrix;
+import org.apache.sis.storage.tiling.TileMatrixSet;
+import org.apache.sis.storage.tiling.TiledResource;
+
+/**
+ * Index of the tile matrix sets and tile matrices of a tiled layer,
+ * by tile matrix set identifier and tile matrix identifier.
+ * It avoid to browse all the pyramids and all their levels at each GetTile request.
+ *
+ * This object is immutable. If a matrix set or a matrix is added to the resource,
+ * a new index must be built.
+ */
+final class TileMatrixIndex {
+
+    /**
+     * Indexed tile matrix sets, in the order of the resource.
+     */
+    private final List<IndexedTileMatrixSet> sets;
+
+    /**
+     * Indexed tile matrix sets by identifier.
+     * If multiple sets share the same identifier, the first one is kept.
+     */
+    private final Map<String, IndexedTileMatrixSet> setsById;
+
+    /**
+     * The indexed resource.
+     */
+    private final TiledResource resource;
+
+    /**
+     * Creation time of the index, in milliseconds.
+     */
+    private final long creation = System.currentTimeMillis();
+
+    TileMatrixIndex(final TiledResource resource) throws DataStoreException {
+        this.resource = resource;
+        final List<IndexedTileMatrixSet> indexed = new ArrayList<>();
+        final Map<String, IndexedTileMatrixSet> byId = new HashMap<>();
+        for (TileMatrixSet tms : resource.getTileMatrixSets()) {
+            final Map<String, TileMatrix> matrices = new HashMap<>();
+            for (TileMatrix tm : tms.getTileMatrices().values()) {
+                matrices.putIfAbsent(tm.getIdentifier().toString(), tm);
+            }
+            final IndexedTileMatrixSet its = new IndexedTileMatrixSet(tms, Collections.unmodifiableMap(matrices));
+            indexed.add(its);
+            byId.putIfAbsent(tms.getIdentifier().toString(), its);
+        }
+        this.sets = Collections.unmodifiableList(indexed);
+        this.setsById = Collections.unmodifiableMap(byId);
+    }
+
+    /**
+     * Return {@code true} if this index has been built on the specified resource instance.
+     */
+    boolean isIndexOf(final TiledResource candidate) {
+        return resource == candidate;
+    }
+
+    /**
+     * Return {@code true} if this index has been built more than the specified delay ago.
+     *
+     * @param delay A delay in milliseconds.
+     */
+    boolean isOlderThan(final long delay) {
+        return System.currentTimeMillis() - creation > delay;
+    }
+
+    /**
+     * Return the first tile matrix set (in the resource order) having one of the specified identifiers.
+     *
+     * @param ids Accepted tile matrix set identifiers.
+     * @return A tile matrix set or {@code null} if none match.
+     */
+    IndexedTileMatrixSet getTileMatrixSet(final Set<String> ids) {
+        if (ids.size() == 1) {
+            return setsById.get(ids.iterator().next());
+        }
+        for (IndexedTileMatrixSet its : sets) {
+            if (ids.contains(its.set().getIdentifier().toString())) {
+                return its;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * A tile matrix set with its tile matrices indexed by identifier.
+     *
+     * @param set The tile matrix set.
+     * @param matrices The tile matrices of the set, by identifier.
+     */
+    record IndexedTileMatrixSet(TileMatrixSet set, Map<String, TileMatrix> matrices) {
+
+        /**
+         * Return the tile matrix with the specified identifier.
+         *
+         * @param level Identifier of the tile matrix.
+         * @return A tile matrix or {@code null} if not found.
+         */
+        TileMatrix getTileMatrix(final String level) {
+            return matrices.get(level);
+        }
+    }
+}
@@ -23,10 +23,18 @@ import java.awt.image.RenderedImage;
 import java.io.File;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Logger;
 import javax.imageio.ImageIO;
 import javax.imageio.spi.ImageReaderSpi;
@@ -52,6 +60,12 @@ public class StreamResponseWriter implements HttpMessageConverter<Tile>  {
 
     private static final Logger LOGGER = Logger.getLogger("org.constellation.map.ws.rs");
 
+    /**
+     * Media types of the tile files, by file extension.
+     * An empty string means that the media type of the extension can not be determined.
+     */
+    private static final Map<String, String> FILE_TYPES = new ConcurrentHashMap<>();
+
     @Override
     public boolean canRead(Class<?> type, MediaType mt) {
         return false;
@@ -119,20 +133,28 @@ public class StreamResponseWriter implements HttpMessageConverter<Tile>  {
             if (spi != null && isCompatible(mt, spi)) {
                 final Object input = it.getInput();
                 if (input instanceof byte[] bytes) {
+                    hom.getHeaders().setContentLength(bytes.length);
                     hom.getBody().write(bytes);
                     return true;
                 } else if (input instanceof ByteBuffer buffer) {
                     assert buffer.hasRemaining() : "Empty/consumed buffer received as tile input !";
-                    // Note: a tile should be a little object, so we do not bother loading/writing block by block.
-                    final byte[] bytes = new byte[buffer.remaining()];
-                    buffer.get(bytes);
-                    hom.getBody().write(bytes);
+                    // work on a view, to not consume the tile buffer
+                    final ByteBuffer view = buffer.duplicate();
+                    hom.getHeaders().setContentLength(view.remaining());
+                    if (view.hasArray()) {
+                        hom.getBody().write(view.array(), view.arrayOffset() + view.position(), view.remaining());
+                    } else {
+                        final WritableByteChannel output = Channels.newChannel(hom.getBody());
+                        while (view.hasRemaining()) {
+                            output.write(view);
+                        }
+                    }
                     return true;
                 } else if (input instanceof Path file) {
-                    Files.copy(file, hom.getBody());
+                    transfer(file, hom);
                     return true;
                 } else if (input instanceof File file) {
-                    Files.copy(file.toPath(), hom.getBody());
+                    transfer(file.toPath(), hom);
                     return true;
                 } else if (input instanceof ImageInputStream iis) {
                     final byte[] buffer = new byte[65536];
@@ -146,6 +168,7 @@ public class StreamResponseWriter implements HttpMessageConverter<Tile>  {
                             throw new HttpMessageNotWritableException("Cannot read from input stream");
                         }
                     } while (read >= 0);
+                    return true;
                 }
             } else {
                 throw new HttpMessageNotWritableException("Tile image SPI in undefined");
@@ -156,7 +179,7 @@ public class StreamResponseWriter implements HttpMessageConverter<Tile>  {
             if (files.length == 1) {
                 final Path file = files[0];
                 if (match(file, mt)) {
-                    Files.copy(file, hom.getBody());
+                    transfer(file, hom);
                     return true;
                 }
             }
@@ -165,11 +188,84 @@ public class StreamResponseWriter implements HttpMessageConverter<Tile>  {
         return false;
     }
 
+    /**
+     * Write the content of a file in the response, letting the file channel transfer the bytes
+     * without copying them in an intermediate heap buffer when possible.
+     */
+    private static void transfer(Path file, HttpOutputMessage hom) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            hom.getHeaders().setContentLength(size);
+            // do not close this channel, it would close the response stream.
+            final WritableByteChannel output = Channels.newChannel(hom.getBody());
+            long position = 0;
+            while (position < size) {
+                position += channel.transferTo(position, size - position, output);
+            }
+        }
+    }
+
     private static boolean match(Path file, MediaType mediaType) throws IOException {
-        final String fileType = Files.probeContentType(file);
+        final String fileType = getContentType(file);
         return fileType != null && mediaType.isCompatibleWith(new MediaType(fileType));
     }
 
+    /**
+     * Return the content type of a file. the result is cached by file extension,
+     * as tiles of a pyramid generally all share the same one.
+     *
+     * @param file A tile file.
+     * @return The content type of the file, or {@code null} if it can not be determined.
+     */
+    private static String getContentType(Path file) throws IOException {
+        final String fileName = String.valueOf(file.getFileName());
+        final int dot = fileName.lastIndexOf('.');
+        if (dot < 0) {
+            return Files.probeContentType(file);
+        }
+        final String extension = fileName.substring(dot + 1);
+        String fileType = FILE_TYPES.get(extension);
+        if (fileType == null) {
+            fileType = Files.probeContentType(file);
+            if (fileType == null) fileType = "";
+            FILE_TYPES.put(extension, fileType);
+        }
+        return fileType.isEmpty() ? null : fileType;
+    }
+
+    /**
+     * Return the file containing the tile data, if the tile is backed by a single file.
+     *
+     * @param t A tile.
+     * @return The tile file, or an empty optional if the tile is not backed by a single file.
+     */
+    public static Optional<Path> getTileFile(Tile t) throws DataStoreException {
+        if (t instanceof DefaultImageTile it) {
+            final Object input = it.getInput();
+            if (input instanceof Path file) {
+                return Optional.of(file);
+            } else if (input instanceof File file) {
+                return Optional.of(file.toPath());
+            }
+        } else if (t instanceof Resource r && r.getFileSet().isPresent()) {
+            final Resource.FileSet fs = r.getFileSet().get();
+            if (fs.getPaths().size() == 1) {
+                return Optional.of(fs.getPaths().iterator().next());
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Build an entity tag from the attributes of a tile file.
+     *
+     * @param attributes The attributes of the tile file.
+     * @return A strong entity tag, including quotes.
+     */
+    public static String getETag(BasicFileAttributes attributes) {
+        return "\"" + Long.toHexString(attributes.size()) + '-' + Long.toHexString(attributes.lastModifiedTime().toMillis()) + "\"";
+    }
+
     private static boolean isCompatible(final MediaType mediaType, final ImageReaderSpi spi) {
         for (var mime : spi.getMIMETypes()) {
             if (mediaType.isCompatibleWith(MediaType.valueOf(mime))) return true;
@@ -18,7 +18,16 @@
  */
 package org.constellation.wmts.ws.rs;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
 import java.util.Locale;
+import java.util.Optional;
+import org.apache.sis.storage.DataStoreException;
+import org.apache.sis.storage.tiling.Tile;
+import org.apache.sis.storage.tiling.TileStatus;
 import org.constellation.api.ServiceDef;
 import org.constellation.api.ServiceDef.Specification;
 import org.constellation.wmts.core.WMTSWorker;
@@ -41,6 +50,9 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.StringTokenizer;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
 import java.util.logging.Level;
 
 import static org.constellation.api.QueryConstants.ACCEPT_FORMATS_PARAMETER;
@@ -61,6 +73,7 @@ import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import static org.constellation.api.ServiceConstants.GET_CAPABILITIES;
 import org.springframework.http.HttpStatus;
@@ -116,7 +129,7 @@ public class WMTSService extends GridWebService<WMTSWorker> {
             }
             if (request instanceof GetTile) {
                 final GetTile gt = (GetTile) request;
-                return new ResponseObject(worker.getTile(gt), gt.getFormat());
+                return buildTileResponse(worker.getTile(gt), gt.getFormat());
             }
             if (request instanceof GetFeatureInfo) {
                 final GetFeatureInfo gf = (GetFeatureInfo) request;
@@ -135,6 +148,80 @@ public class WMTSService extends GridWebService<WMTSWorker> {
         }
     }
 
+    /**
+     * Build the response of a GetTile request.
+     * If the tile is backed by a file, the ETag and Last-Modified headers are added to the response
+     * and a "304 Not Modified" response is returned if the client already has the current version of the tile.
+     *
+     * @param tile The requested tile.
+     * @param format The requested output format.
+     *
+     * @return A response for the tile.
+     */
+    private ResponseObject buildTileResponse(final Tile tile, final String format) {
+        if (tile.getStatus() != TileStatus.EXISTS) {
+            return new ResponseObject(tile, format);
+        }
+        final BasicFileAttributes attributes;
+        try {
+            final Optional<Path> file = StreamResponseWriter.getTileFile(tile);
+            if (file.isEmpty()) {
+                return new ResponseObject(tile, format);
+            }
+            attributes = Files.readAttributes(file.get(), BasicFileAttributes.class);
+        } catch (IOException | DataStoreException ex) {
+            LOGGER.log(Level.FINER, "Unable to read tile file attributes", ex);
+            return new ResponseObject(tile, format);
+        }
+        final String eTag = StreamResponseWriter.getETag(attributes);
+        final long lastModified = attributes.lastModifiedTime().toMillis();
+        final Map<String, String> headers = new HashMap<>();
+        headers.put("ETag", eTag);
+        headers.put("Last-Modified", DateTimeFormatter.RFC_1123_DATE_TIME.format(Instant.ofEpochMilli(lastModified).atZone(ZoneOffset.UTC)));
+
+        if (isNotModified(eTag, lastModified)) {
+            return new ResponseObject(HttpStatus.NOT_MODIFIED, headers);
+        }
+        return new ResponseObject(tile, format, headers);
+    }
+
+    /**
+     * Look at the conditional headers of the current request to determine if the client already has the resource.
+     * As specified by RFC 7232, the "If-Modified-Since" header is ignored if a "If-None-Match" header is present.
+     *
+     * @param eTag Entity tag of the current resource.
+     * @param lastModified Last modification date of the current resource, in milliseconds.
+     *
+     * @return {@code true} if the resource has not been modified since the client version.
+     */
+    private boolean isNotModified(final String eTag, final long lastModified) {
+        final String ifNoneMatch = getHeaderValue("If-None-Match");
+        if (ifNoneMatch != null) {
+            for (String candidate : ifNoneMatch.split(",")) {
+                candidate = candidate.trim();
+                if (candidate.startsWith("W/")) {
+                    candidate = candidate.substring(2);
+                }
+                if (candidate.equals("*") || candidate.equals(eTag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        final HttpServletRequest httpRequest = getHttpServletRequest();
+        if (httpRequest == null) {
+            return false;
+        }
+        try {
+            final long ifModifiedSince = httpRequest.getDateHeader("If-Modified-Since");
+            // HTTP dates have a precision of one second
+            return ifModifiedSince != -1 && lastModified / 1000 <= ifModifiedSince / 1000;
+        } catch (IllegalArgumentException ex) {
+            LOGGER.log(Level.FINER, "Malformed If-Modified-Since header", ex);
+            return false;
+        }
+    }
+
     /**
      * Build request object fom KVP parameters.
      *
@@ -53,6 +53,7 @@ import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -868,23 +869,11 @@ public class DefaultWPSWorker extends AbstractWorker<ProcessContext> implements
 
                 if(directRun) {
                     //run process in asynchronous
-                    new Thread(new Runnable() {
-                        @Override
-                        public void run() {
-                            try {
-                                // Prepare and launch process in a separate thread.
-                                jobExecutor.submit(process);
-                            } catch (Exception e) {
-                                // If we've got an exception, input parsing must have failed.
-                                XMLGregorianCalendar creationTime = WPSUtils.getCurrentXMLGregorianCalendar();
-                                ExceptionResponse exceptionReport = new ExceptionReport(Exceptions.formatStackTrace(e), null, null, ServiceDef.WPS_1_0_0.exceptionVersion.toString());
-
-                                StatusInfo status = new StatusInfo(Status.FAILED, creationTime, exceptionReport.toString(), jobId);
-                                WPSUtils.storeResponse(status, productFolderPath, jobId);
-                                execInfo.setStatus(jobId, status);
-                            }
-                        }
-                    }).start();
+                    try {
+                        submitJob(process, processDesc, SimpleJobExecutor.NORMAL_PRIORITY);
+                    } catch (RejectedExecutionException ex) {
+                        return rejectedRawJob(request, jobId, ex);
+                    }
 
                     return new StatusInfo(Status.ACCEPTED, creationTime, "Process " + request.getIdentifier().getValue() + " accepted.", jobId);
                 } else {
@@ -897,14 +886,24 @@ public class DefaultWPSWorker extends AbstractWorker<ProcessContext> implements
                 }
 
             ////////
-            // RAW Sync no timeout
+            // RAW Sync
             ////////
             } else {
                 ParameterValueGroup result;
-                final Future<ParameterValueGroup> future = jobExecutor.submit(process);
+                Future<ParameterValueGroup> future = null;
                 try {
-                    result = future.get();
+                    future = submitJob(process, processDesc, SimpleJobExecutor.HIGH_PRIORITY);
+                    result = future.get(TIMEOUT, TimeUnit.SECONDS);
 
+                } catch (TimeoutException ex) {
+                    if (process instanceof AbstractProcess ap) {
+                        ap.dismissProcess();
+                    }
+                    future.cancel(true);
+                    throw new CstlServiceException("Process execution timeout. This process is too long and had been canceled,"
+                            + " re-run request with status set to true.", ex, NO_APPLICABLE_CODE);
+                } catch (RejectedExecutionException ex) {
+                    throw new CstlServiceException("Process " + request.getIdentifier().getValue() + " rejected: " + ex.getMessage(), ex, NO_APPLICABLE_CODE);
                 } catch (InterruptedException ex) {
                     throw new CstlServiceException("Process interrupted.", ex, NO_APPLICABLE_CODE);
                 } catch (ExecutionException ex) {
@@ -971,20 +970,25 @@ public class DefaultWPSWorker extends AbstractWorker<ProcessContext> implements
 
                 if(directRun) {
                     //run process in asynchronous
-                    jobExecutor.submit(() -> {
-                        try {
-                            // Prepare and launch process in a separate thread.
-                            process.call();
-                        } catch (Exception e) {
-                            LOGGER.log(Level.WARNING, "Error while executing synchronous process", e);
-                            // If we've got an exception, input parsing must have failed.
-                            XMLGregorianCalendar creationTime1 = WPSUtils.getCurrentXMLGregorianCalendar();
-                            ExceptionResponse exceptionReport = new ExceptionReport(Exceptions.formatStackTrace(e), null, null, ServiceDef.WPS_1_0_0.exceptionVersion.toString());
-                            StatusInfo status1 = new StatusInfo(Status.FAILED, creationTime1, exceptionReport.toString(), jobId);
-                            final Result response1 = new Result(WPS_SERVICE, version, lang.toLanguageTag(), serviceInstance, procSum, inputsResponse, outputsResponse, null, status1, jobId);
-                            WPSUtils.storeResponse(response1, productFolderPath, jobId);
-                        }
-                    });
+                    try {
+                        submitJob(() -> {
+                            try {
+                                // Prepare and launch process in a separate thread.
+                                process.call();
+                            } catch (Exception e) {
+                                LOGGER.log(Level.WARNING, "Error while executing synchronous process", e);
+                                // If we've got an exception, input parsing must have failed.
+                                XMLGregorianCalendar creationTime1 = WPSUtils.getCurrentXMLGregorianCalendar();
+                                ExceptionResponse exceptionReport = new ExceptionReport(Exceptions.formatStackTrace(e), null, null, ServiceDef.WPS_1_0_0.exceptionVersion.toString());
+                                StatusInfo status1 = new StatusInfo(Status.FAILED, creationTime1, exceptionReport.toString(), jobId);
+                                final Result response1 = new Result(WPS_SERVICE, version, lang.toLanguageTag(), serviceInstance, procSum, inputsResponse, outputsResponse, null, status1, jobId);
+                                WPSUtils.storeResponse(response1, productFolderPath, jobId);
+                            }
+                            return null;
+                        }, processDesc, SimpleJobExecutor.NORMAL_PRIORITY);
+                    } catch (RejectedExecutionException ex) {
+                        return rejectedDocJob(request, jobId, version, lang, serviceInstance, procSum, inputsResponse, outputsResponse, ex);
+                    }
 
                     StatusInfo status = new StatusInfo(Status.ACCEPTED, creationTime, "Process " + request.getIdentifier().getValue() + " accepted.", jobId);
                     final Result response = new Result(WPS_SERVICE, version, lang.toLanguageTag(), serviceInstance, procSum, inputsResponse, outputsResponse, null, status, jobId);
@@ -1013,14 +1017,17 @@ public class DefaultWPSWorker extends AbstractWorker<ProcessContext> implements
             ////////////////////////
             } else {
 
-                final Future<ParameterValueGroup> future = jobExecutor.submit(process);
-
+                Future<ParameterValueGroup> future = null;
                 ParameterValueGroup result = null;
                 ExceptionResponse report = null;
                 // timeout
                 try {
                     //run process
+                    future = submitJob(process, processDesc, SimpleJobExecutor.HIGH_PRIORITY);
                     result = future.get(TIMEOUT, TimeUnit.SECONDS);
+                } catch (RejectedExecutionException ex) {
+                    LOGGER.log(Level.WARNING, "Process {0} rejected: {1}", new Object[]{processDesc.getIdentifier().getValue(), ex.getMessage()});
+                    report = new ExceptionReport("Process rejected : " + ex.getMessage(), null, null, null);
                 } catch (InterruptedException ex) {
                     LOGGER.log(Level.WARNING, "Process " + processDesc.getIdentifier() + " interrupted.", ex);
                     report = new ExceptionReport(ex.getLocalizedMessage(), null, null, null);
@@ -1120,23 +1127,12 @@ public class DefaultWPSWorker extends AbstractWorker<ProcessContext> implements
         final String serviceInstance = getServiceUrl() + "SERVICE=WPS&REQUEST=GetCapabilities";
 
         if (isOutputRaw) {
-            new Thread(new Runnable() {
-                @Override
-                public void run() {
-                    try {
-                        // Prepare and launch process in a separate thread.
-                        jobExecutor.submit(process);
-                    } catch (Exception e) {
-                        // If we've got an exception, input parsing must have failed.
-                        XMLGregorianCalendar creationTime = WPSUtils.getCurrentXMLGregorianCalendar();
-                        ExceptionResponse exceptionReport = new ExceptionReport(Exceptions.formatStackTrace(e), null, null, ServiceDef.WPS_1_0_0.exceptionVersion.toString());
-
-                        StatusInfo status = new StatusInfo(Status.FAILED, creationTime, exceptionReport.toString(), jobId);
-                        WPSUtils.storeResponse(status, productFolderPath, jobId);
-                        execInfo.setStatus(jobId, status);
-                    }
-                }
-            }).start();
+            try {
+                submitJob(process, processDesc, SimpleJobExecutor.NORMAL_PRIORITY);
+            } catch (RejectedExecutionException ex) {
+                executeRequestToBeRun.remove(jobId);
+                return rejectedRawJob(request, jobId, ex);
+            }
 
             executeRequestToBeRun.remove(jobId);
 
@@ -1151,20 +1147,26 @@ public class DefaultWPSWorker extends AbstractWorker<ProcessContext> implements
 
         } else {
             //run process in asynchronous
-            jobExecutor.submit(() -> {
-                try {
-                    // Prepare and launch process in a separate thread.
-                    process.call();
-                } catch (Exception e) {
-                    LOGGER.log(Level.WARNING, "Error while executing synchronous process", e);
-                    // If we've got an exception, input parsing must have failed.
-                    XMLGregorianCalendar creationTime1 = WPSUtils.getCurrentXMLGregorianCalendar();
-                    ExceptionResponse exceptionReport = new ExceptionReport(Exceptions.formatStackTrace(e), null, null, ServiceDef.WPS_1_0_0.exceptionVersion.toString());
-                    StatusInfo status1 = new StatusInfo(Status.FAILED, creationTime1, exceptionReport.toString(), jobId);
-                    final Result response1 = new Result(WPS_SERVICE, version, lang.toLanguageTag(), serviceInstance, procSum, inputsResponse, outputsResponse, null, status1, jobId);
-                    WPSUtils.storeResponse(response1, productFolderPath, jobId);
-                }
-            });
+            try {
+                submitJob(() -> {
+                    try {
+                        // Prepare and launch process in a separate thread.
+                        process.call();
+                    } catch (Exception e) {
+                        LOGGER.log(Level.WARNING, "Error while executing synchronous process", e);
+                        // If we've got an exception, input parsing must have failed.
+                        XMLGregorianCalendar creationTime1 = WPSUtils.getCurrentXMLGregorianCalendar();
+                        ExceptionResponse exceptionReport = new ExceptionReport(Exceptions.formatStackTrace(e), null, null, ServiceDef.WPS_1_0_0.exceptionVersion.toString());
+                        StatusInfo status1 = new StatusInfo(Status.FAILED, creationTime1, exceptionReport.toString(), jobId);
+                        final Result response1 = new Result(WPS_SERVICE, version, lang.toLanguageTag(), serviceInstance, procSum, inputsResponse, outputsResponse, null, status1, jobId);
+                        WPSUtils.storeResponse(response1, productFolderPath, jobId);
+                    }
+                    return null;
+                }, processDesc, SimpleJobExecutor.NORMAL_PRIORITY);
+            } catch (RejectedExecutionException ex) {
+                executeRequestToBeRun.remove(jobId);
+                return rejectedDocJob(request, jobId, version, lang, serviceInstance, procSum, inputsResponse, outputsResponse, ex);
+            }
 
             executeRequestToBeRun.remove(jobId);
 
@@ -1191,6 +1193,53 @@ public class DefaultWPSWorker extends AbstractWorker<ProcessContext> implements
         }
     }
 
+    /**
+     * Submit a job to the scheduler, within the quotas of the process and of the current user.
+     *
+     * @throws RejectedExecutionException if the scheduler is overloaded.
+     */
+    private <T> Future<T> submitJob(final Callable<T> job, final WPSProcess processDesc, final int priority) {
+        String login = null;
+        try {
+            login = getUserLogin();
+        } catch (RuntimeException ex) {
+            // no security manager, the user quota does not apply
+        }
+        return jobExecutor.submit(job, processDesc.getIdentifier().getValue(), login, priority);
+    }
+
+    /**
+     * Store and return a failed status for an asynchronous raw job rejected by the scheduler.
+     */
+    private StatusInfo rejectedRawJob(final Execute request, final String jobId, final RejectedExecutionException ex) {
+        LOGGER.log(Level.WARNING, "Process {0} rejected: {1}", new Object[]{request.getIdentifier().getValue(), ex.getMessage()});
+        final StatusInfo status = new StatusInfo(Status.FAILED, WPSUtils.getCurrentXMLGregorianCalendar(),
+                "Process " + request.getIdentifier().getValue() + " rejected: " + ex.getMessage(), jobId);
+        WPSUtils.storeResponse(status, productFolderPath, jobId);
+        execInfo.setStatus(jobId, status);
+        return status;
+    }
+
+    /**
+     * Store and return a failed response document for an asynchronous job rejected by the scheduler.
+     */
+    private Object rejectedDocJob(final Execute request, final String jobId, final String version, final Locale lang, final String serviceInstance,
+            final ProcessSummary procSum, final List<DataInput> inputsResponse, final List<OutputDefinition> outputsResponse, final RejectedExecutionException ex) {
+        LOGGER.log(Level.WARNING, "Process {0} rejected: {1}", new Object[]{request.getIdentifier().getValue(), ex.getMessage()});
+        final StatusInfo status = new StatusInfo(Status.FAILED, WPSUtils.getCurrentXMLGregorianCalendar(),
+                "Process " + request.getIdentifier().getValue() + " rejected: " + ex.getMessage(), jobId);
+        final Result response = new Result(WPS_SERVICE, version, lang.toLanguageTag(), serviceInstance, procSum, inputsResponse, outputsResponse, null, status, jobId);
+        response.setStatusLocation(productURL + "/" + jobId);
+        WPSUtils.storeResponse(response, productFolderPath, jobId);
+        execInfo.setStatus(jobId, status);
+
+        // for WPS 2.0 return status instead of response document
+        if ("2.0.0".equals(version)) {
+            return status;
+        }
+        return response;
+    }
+
     private Map<String, Object> buildParametersMap(final String layerName, final String jobId) {
         final Map<String, Object> parameters = new HashMap<>();
         parameters.put(WPSConvertersUtils.OUT_STORAGE_DIR, productFolderPath);
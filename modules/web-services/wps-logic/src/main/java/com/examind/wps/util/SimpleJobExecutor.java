@@ -1,46 +1,250 @@
 package com.examind.wps.util;
 
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import jakarta.annotation.PreDestroy;
+import org.constellation.configuration.AppProperty;
+import org.constellation.configuration.Application;
 import org.springframework.stereotype.Component;
 
 /**
- * TODO: Set number of concurrent execution configurable.
+ * Scheduler of the WPS jobs.
+ * <p>
+ * The jobs are executed on a bounded pool of threads. A submitted job waits in a priority queue
+ * until it can be admitted, which requires a free slot in the global, the user and the process quotas.
+ * When the queue is full, the new jobs are rejected with a {@link RejectedExecutionException}.
+ * </p><p>
+ * The limits are read from the application properties:
+ * <ul>
+ *   <li>{@link AppProperty#EXA_WPS_JOB_MAX_RUNNING}: maximum number of jobs running at the same time (default: number of processors).</li>
+ *   <li>{@link AppProperty#EXA_WPS_JOB_MAX_RUNNING_USER}: maximum number of jobs running at the same time for a user (default: no limit).</li>
+ *   <li>{@link AppProperty#EXA_WPS_JOB_MAX_RUNNING_PROCESS}: maximum number of jobs running at the same time for a process (default: no limit).</li>
+ *   <li>{@link AppProperty#EXA_WPS_JOB_MAX_QUEUED}: maximum number of jobs waiting for execution (default: 100).</li>
+ *   <li>{@link AppProperty#EXA_WPS_JOB_RESERVED_SYNC}: number of running slots reserved to the jobs of {@link #HIGH_PRIORITY} (default: 1).</li>
+ * </ul>
  *
  * @author Alexis Manin (Geomatys)
  */
 @Component
 public class SimpleJobExecutor implements AutoCloseable {
 
+    private static final Logger LOGGER = Logger.getLogger("com.examind.wps.util");
+
     /**
-     * Executor thread pool.
+     * Priority of the jobs for which a client is waiting the response (synchronous execution).
+     */
+    public static final int HIGH_PRIORITY = 10;
+
+    /**
+     * Priority of the asynchronous jobs.
+     */
+    public static final int NORMAL_PRIORITY = 0;
+
+    private static final String DEFAULT_PROCESS = "default";
+
+    /**
+     * Executor thread pool, never holding more tasks than its number of threads.
      */
     private final ExecutorService executor;
 
+    private final int maxRunning;
+    private final int maxRunningByUser;
+    private final int maxRunningByProcess;
+    private final int maxQueued;
+
+    /**
+     * Maximum number of jobs of a priority lower than {@link #HIGH_PRIORITY} running at the same time.
+     */
+    private final int maxRunningLowPriority;
+
+    /**
+     * Jobs waiting for execution, ordered by priority then by submission. Guarded by {@code this}.
+     */
+    private final NavigableSet<Job<?>> queue = new TreeSet<>();
+    private final Map<String, Integer> runningByUser    = new HashMap<>();
+    private final Map<String, Integer> runningByProcess = new HashMap<>();
+    private int running;
+    private long sequence;
+
+    /*
+     * Statistics. Guarded by {@code this}.
+     */
+    private long submitted;
+    private long rejected;
+    private long completed;
+    private long totalWaitTime;
+    private long maxWaitTime;
+    private long totalRunTime;
+    private long maxRunTime;
+
     private SimpleJobExecutor() {
-        // TODO: change executor type according to concurrent job limitation (i.e create a fixedthreadpool, etc.)
-        executor = Executors.newCachedThreadPool(new SimpleThreadFactory());
+        this(Application.getIntegerProperty(AppProperty.EXA_WPS_JOB_MAX_RUNNING, Runtime.getRuntime().availableProcessors()),
+             Application.getIntegerProperty(AppProperty.EXA_WPS_JOB_MAX_RUNNING_USER, 0),
+             Application.getIntegerProperty(AppProperty.EXA_WPS_JOB_MAX_RUNNING_PROCESS, 0),
+             Application.getIntegerProperty(AppProperty.EXA_WPS_JOB_MAX_QUEUED, 100),
+             Application.getIntegerProperty(AppProperty.EXA_WPS_JOB_RESERVED_SYNC, 1));
+    }
+
+    /**
+     * @param maxRunning Maximum number of jobs running at the same time.
+     * @param maxRunningByUser Maximum number of jobs running at the same time for a user, or 0 for no limit.
+     * @param maxRunningByProcess Maximum number of jobs running at the same time for a process, or 0 for no limit.
+     * @param maxQueued Maximum number of jobs waiting for execution.
+     * @param reservedHighPriority Number of running slots reserved to the jobs of {@link #HIGH_PRIORITY}.
+     *        At least one slot stays available for the other jobs.
+     */
+    SimpleJobExecutor(int maxRunning, int maxRunningByUser, int maxRunningByProcess, int maxQueued, int reservedHighPriority) {
+        this.maxRunning          = Math.max(1, maxRunning);
+        this.maxRunningByUser    = maxRunningByUser    > 0 ? maxRunningByUser    : Integer.MAX_VALUE;
+        this.maxRunningByProcess = maxRunningByProcess > 0 ? maxRunningByProcess : Integer.MAX_VALUE;
+        this.maxQueued           = Math.max(0, maxQueued);
+        this.maxRunningLowPriority = Math.max(1, this.maxRunning - Math.max(0, reservedHighPriority));
+        this.executor            = Executors.newFixedThreadPool(this.maxRunning, new SimpleThreadFactory());
     }
 
     public <T> Future<T> submit(final Callable<T> job) {
-        return executor.submit(job);
+        return submit(job, null, null, NORMAL_PRIORITY);
     }
 
     public Future<?> submit(final Runnable job) {
-        return executor.submit(job);
+        return submit(Executors.callable(job), null, null, NORMAL_PRIORITY);
+    }
+
+    /**
+     * Submit a job for execution.
+     *
+     * @param job The job to execute.
+     * @param processId Identifier of the executed process, used for the process quota. Can be {@code null}.
+     * @param user Login of the user executing the process, used for the user quota. Can be {@code null}.
+     * @param priority Priority of the job, the jobs with the highest priority are executed first.
+     *
+     * @return The future result of the job. Cancelling a job waiting in the queue remove it from the queue.
+     * @throws RejectedExecutionException if the queue is full or if the executor is closed.
+     */
+    public <T> Future<T> submit(final Callable<T> job, final String processId, final String user, final int priority) {
+        final Job<T> task;
+        synchronized (this) {
+            if (executor.isShutdown()) {
+                rejected++;
+                throw new RejectedExecutionException("The WPS job executor is closed.");
+            }
+            purgeCancelled();
+            task = new Job<>(job, processId != null ? processId : DEFAULT_PROCESS, user, priority, sequence++);
+            queue.add(task);
+            dispatch();
+            // the job has not been started and the queue is full.
+            if (queue.size() > maxQueued && queue.remove(task)) {
+                rejected++;
+                LOGGER.log(Level.WARNING, "WPS job rejected: {0} jobs running and {1} jobs waiting.", new Object[]{running, queue.size()});
+                throw new RejectedExecutionException("The server is overloaded (" + queue.size() + " jobs waiting for execution), please retry later.");
+            }
+            submitted++;
+        }
+        return task;
+    }
+
+    /**
+     * Return the current statistics of the executor.
+     */
+    public synchronized Statistics getStatistics() {
+        return new Statistics(queue.size(), running, submitted, rejected, completed,
+                              completed > 0 ? totalWaitTime / completed : 0, maxWaitTime,
+                              completed > 0 ? totalRunTime  / completed : 0, maxRunTime);
+    }
+
+    /**
+     * Start the jobs of the queue which can be admitted, by priority.
+     * Must be called while holding the lock.
+     */
+    private void dispatch() {
+        final Iterator<Job<?>> it = queue.iterator();
+        while (it.hasNext() && running < maxRunning) {
+            final Job<?> job = it.next();
+            if (job.isCancelled()) {
+                it.remove();
+            } else if (canRun(job)) {
+                it.remove();
+                start(job);
+            }
+        }
+    }
+
+    private boolean canRun(final Job<?> job) {
+        return running < (job.priority >= HIGH_PRIORITY ? maxRunning : maxRunningLowPriority)
+            && (job.user == null || runningByUser.getOrDefault(job.user, 0) < maxRunningByUser)
+            && runningByProcess.getOrDefault(job.processId, 0) < maxRunningByProcess;
+    }
+
+    private void purgeCancelled() {
+        queue.removeIf(Job::isCancelled);
+    }
+
+    private void start(final Job<?> job) {
+        running++;
+        if (job.user != null) {
+            runningByUser.merge(job.user, 1, Integer::sum);
+        }
+        runningByProcess.merge(job.processId, 1, Integer::sum);
+        job.started = System.currentTimeMillis();
+        try {
+            executor.execute(job);
+        } catch (RejectedExecutionException ex) {
+            // the executor has been closed.
+            release(job);
+            job.cancel(false);
+        }
+    }
+
+    private void release(final Job<?> job) {
+        running--;
+        if (job.user != null) {
+            runningByUser.computeIfPresent(job.user, (k, v) -> v > 1 ? v - 1 : null);
+        }
+        runningByProcess.computeIfPresent(job.processId, (k, v) -> v > 1 ? v - 1 : null);
+    }
+
+    private synchronized void finished(final Job<?> job) {
+        release(job);
+        final long end = System.currentTimeMillis();
+        final long waitTime = job.started - job.submission;
+        final long runTime  = end - job.started;
+        completed++;
+        totalWaitTime += waitTime;
+        totalRunTime  += runTime;
+        maxWaitTime = Math.max(maxWaitTime, waitTime);
+        maxRunTime  = Math.max(maxRunTime, runTime);
+        LOGGER.log(Level.FINE, "WPS job {0} finished (waited {1} ms, ran {2} ms). {3} jobs running, {4} jobs waiting.",
+                new Object[]{job.processId, waitTime, runTime, running, queue.size()});
+        if (!executor.isShutdown()) {
+            dispatch();
+        }
     }
 
     @PreDestroy
     @Override
     public void close() throws Exception {
-        try {
+        synchronized (this) {
+            for (Job<?> job : queue) {
+                job.cancel(false);
+            }
+            queue.clear();
             executor.shutdown();
+        }
+        try {
             executor.awaitTermination(2, TimeUnit.SECONDS);
         } finally {
             // in case there's tasks which didn't finished in specified timeout.
@@ -48,6 +252,60 @@ public class SimpleJobExecutor implements AutoCloseable {
         }
     }
 
+    /**
+     * Statistics of the executor.
+     *
+     * @param queued Number of jobs waiting for execution.
+     * @param running Number of jobs currently running.
+     * @param submitted Number of jobs accepted since the start.
+     * @param rejected Number of jobs rejected since the start.
+     * @param completed Number of jobs finished (successfully or not) since the start.
+     * @param meanWaitTime Mean time spent in the queue by the completed jobs, in milliseconds.
+     * @param maxWaitTime Maximum time spent in the queue by a completed job, in milliseconds.
+     * @param meanRunTime Mean execution time of the completed jobs, in milliseconds.
+     * @param maxRunTime Maximum execution time of a completed job, in milliseconds.
+     */
+    public record Statistics(int queued, int running, long submitted, long rejected, long completed,
+                             long meanWaitTime, long maxWaitTime, long meanRunTime, long maxRunTime) {}
+
+    /**
+     * A job waiting for execution or running.
+     */
+    private final class Job<T> extends FutureTask<T> implements Comparable<Job<?>> {
+
+        private final String processId;
+        private final String user;
+        private final int priority;
+        private final long order;
+        private final long submission = System.currentTimeMillis();
+        private long started;
+
+        private Job(Callable<T> callable, String processId, String user, int priority, long order) {
+            super(callable);
+            this.processId = processId;
+            this.user      = user;
+            this.priority  = priority;
+            this.order     = order;
+        }
+
+        @Override
+        public void run() {
+            try {
+                super.run();
+            } finally {
+                finished(this);
+            }
+        }
+
+        @Override
+        public int compareTo(Job<?> other) {
+            if (priority != other.priority) {
+                return Integer.compare(other.priority, priority);
+            }
+            return Long.compare(order, other.order);
+        }
+    }
+
     private static final String THREAD_NAME_PREFIX = "wps-simple-";
 
     /**
@@ -0,0 +1,128 @@
+/*
+ *    Examind Community - An open source and standard compliant SDI
+ *    https://community.examind.com/
+ *
+ * Copyright 2026 Geomatys.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.examind.wps.util;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SimpleJobExecutorTest {
+
+    /**
+     * Wait for the executor to count the specified number of completed jobs.
+     * The counters are updated after the completion of the job future.
+     */
+    private static SimpleJobExecutor.Statistics awaitCompleted(SimpleJobExecutor executor, long completed) throws InterruptedException {
+        final long limit = System.currentTimeMillis() + 5000;
+        SimpleJobExecutor.Statistics stats = executor.getStatistics();
+        while (stats.completed() < completed && System.currentTimeMillis() < limit) {
+            Thread.sleep(10);
+            stats = executor.getStatistics();
+        }
+        return stats;
+    }
+
+    @Test
+    public void priorityAndRejectionTest() throws Exception {
+        final SimpleJobExecutor executor = new SimpleJobExecutor(1, 0, 0, 2, 0);
+        try {
+            final CountDownLatch release = new CountDownLatch(1);
+            final List<String> order = new CopyOnWriteArrayList<>();
+
+            final Future<?> blocking = executor.submit(() -> {release.await(); return null;}, "p1", "user1", SimpleJobExecutor.NORMAL_PRIORITY);
+            final Future<?> low  = executor.submit(() -> order.add("low"),  "p1", "user1", SimpleJobExecutor.NORMAL_PRIORITY);
+            final Future<?> high = executor.submit(() -> order.add("high"), "p1", "user1", SimpleJobExecutor.HIGH_PRIORITY);
+
+            // the queue is full
+            try {
+                executor.submit(() -> order.add("rejected"), "p1", "user1", SimpleJobExecutor.NORMAL_PRIORITY);
+                Assert.fail("The job should have been rejected.");
+            } catch (RejectedExecutionException ex) {
+                // expected
+            }
+            SimpleJobExecutor.Statistics stats = executor.getStatistics();
+            Assert.assertEquals(1, stats.running());
+            Assert.assertEquals(2, stats.queued());
+            Assert.assertEquals(1, stats.rejected());
+
+            release.countDown();
+            blocking.get(5, TimeUnit.SECONDS);
+            low.get(5, TimeUnit.SECONDS);
+            high.get(5, TimeUnit.SECONDS);
+
+            // the job with the highest priority is executed first
+            Assert.assertEquals(List.of("high", "low"), order);
+            stats = awaitCompleted(executor, 3);
+            Assert.assertEquals(3, stats.submitted());
+            Assert.assertEquals(3, stats.completed());
+            Assert.assertEquals(0, stats.queued());
+        } finally {
+            executor.close();
+        }
+    }
+
+    @Test
+    public void quotaTest() throws Exception {
+        final SimpleJobExecutor executor = new SimpleJobExecutor(4, 1, 0, 10, 0);
+        try {
+            final CountDownLatch release = new CountDownLatch(1);
+            final Future<?> job1 = executor.submit(() -> {release.await(); return null;}, "p1", "user1", SimpleJobExecutor.NORMAL_PRIORITY);
+            final Future<?> job2 = executor.submit(() -> null, "p1", "user1", SimpleJobExecutor.NORMAL_PRIORITY);
+            final Future<?> job3 = executor.submit(() -> null, "p1", "user2", SimpleJobExecutor.NORMAL_PRIORITY);
+
+            // the second job of user1 wait for the first one, the job of user2 run immediately
+            job3.get(5, TimeUnit.SECONDS);
+            Assert.assertFalse(job2.isDone());
+            Assert.assertEquals(1, executor.getStatistics().queued());
+
+            release.countDown();
+            job1.get(5, TimeUnit.SECONDS);
+            job2.get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.close();
+        }
+    }
+
+    @Test
+    public void reservedHighPriorityTest() throws Exception {
+        final SimpleJobExecutor executor = new SimpleJobExecutor(2, 0, 0, 10, 1);
+        try {
+            final CountDownLatch release = new CountDownLatch(1);
+            final Future<?> async1 = executor.submit(() -> {release.await(); return null;}, "p1", "user1", SimpleJobExecutor.NORMAL_PRIORITY);
+            final Future<?> async2 = executor.submit(() -> null, "p1", "user1", SimpleJobExecutor.NORMAL_PRIORITY);
+            final Future<?> sync   = executor.submit(() -> null, "p1", "user1", SimpleJobExecutor.HIGH_PRIORITY);
+
+            // the second asynchronous job wait, the remaining slot is kept for the synchronous one
+            sync.get(5, TimeUnit.SECONDS);
+            Assert.assertFalse(async2.isDone());
+
+            release.countDown();
+            async1.get(5, TimeUnit.SECONDS);
+            async2.get(5, TimeUnit.SECONDS);
+            Assert.assertEquals(0, awaitCompleted(executor, 3).queued());
+        } finally {
+            executor.close();
+        }
+    }
+}